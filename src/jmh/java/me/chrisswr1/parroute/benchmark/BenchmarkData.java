@@ -0,0 +1,131 @@
+package me.chrisswr1.parroute.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+import org.openstreetmap.osmosis.core.container.v0_6.EntityContainer;
+import org.openstreetmap.osmosis.core.domain.v0_6.Entity;
+import org.openstreetmap.osmosis.core.task.v0_6.Sink;
+import org.openstreetmap.osmosis.osmbinary.file.BlockOutputStream;
+import org.openstreetmap.osmosis.xml.common.CompressionMethod;
+import org.openstreetmap.osmosis.xml.v0_6.XmlReader;
+
+import crosby.binary.osmosis.OsmosisSerializer;
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.io.OsmFileFormat;
+import me.chrisswr1.parroute.io.OsmFileReceiver;
+
+/**
+ * provides the data, which is shared by the benchmarks
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class BenchmarkData
+{
+	/**
+	 * the path of the default OSM XML file to run the benchmarks on
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final String	DEFAULT_FILE	= "src/test/resources/kuhviertel.osm";
+	/**
+	 * the id of the start {@link org.openstreetmap.osmosis.core.domain.v0_6.Node}
+	 * of the benchmarked routes
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final long	START_ID		= 962137765;
+	/**
+	 * the id of the destination
+	 * {@link org.openstreetmap.osmosis.core.domain.v0_6.Node} of the
+	 * benchmarked routes
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final long	DEST_ID			= 42907635;
+												
+	/**
+	 * private standard constructor, to prevent initialization
+	 * 
+	 * @since 0.0.1
+	 */
+	private BenchmarkData()
+	{
+	}
+	
+	/**
+	 * loads all {@link Entity}s of an OSM XML file into a new
+	 * {@link DataHandler}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param file the OSM XML file to load
+	 * @return the {@link DataHandler}, which contains all {@link Entity}s of
+	 *         {@code file}
+	 * @throws IOException if {@code file} couldn't be read
+	 */
+	public static DataHandler load(File file)
+	throws IOException
+	{
+		OsmFileReceiver receiver = new OsmFileReceiver(file, OsmFileFormat.XML, CompressionMethod.None, true);
+		DataHandler res = new DataHandler(receiver);
+		receiver.setStore(res);
+		
+		// the first lookup builds the index and stores all entities
+		receiver.getNode(BenchmarkData.START_ID);
+		
+		return res;
+	}
+	
+	/**
+	 * converts an OSM XML file into a temporary PBF file
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param file the OSM XML file to convert
+	 * @return the written PBF file, which will be deleted on exit
+	 * @throws IOException if the PBF file couldn't be written
+	 */
+	public static File toPbf(File file)
+	throws IOException
+	{
+		File res = File.createTempFile("parroute-benchmark", ".osm.pbf");
+		res.deleteOnExit();
+		
+		final OsmosisSerializer serializer = new OsmosisSerializer(new BlockOutputStream(new FileOutputStream(res)));
+		XmlReader reader = new XmlReader(file, true, CompressionMethod.None);
+		reader.setSink(new Sink()
+		{
+			@Override
+			public void release()
+			{
+				serializer.release();
+			}
+			
+			@Override
+			public void complete()
+			{
+				serializer.complete();
+			}
+			
+			@Override
+			public void initialize(Map<String, Object> metaData)
+			{
+				serializer.initialize(metaData);
+			}
+			
+			@Override
+			public void process(EntityContainer entityContainer)
+			{
+				serializer.process(entityContainer);
+			}
+		});
+		reader.run();
+		
+		return res;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+package me.chrisswr1.parroute.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openstreetmap.osmosis.core.container.v0_6.EntityContainer;
+import org.openstreetmap.osmosis.core.domain.v0_6.Entity;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+import org.openstreetmap.osmosis.core.domain.v0_6.Way;
+
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.entities.Oneway;
+
+/**
+ * benchmarks the storage and the adjacency lookups of the
+ * {@link DataHandler}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DataHandlerBenchmark
+{
+	/**
+	 * the OSM XML file to load the {@link Entity}s from
+	 * 
+	 * @since 0.0.1
+	 */
+	@Param(BenchmarkData.DEFAULT_FILE)
+	public String			file;
+							
+	/**
+	 * the {@link DataHandler} with all {@link Entity}s of
+	 * {@link DataHandlerBenchmark#file}
+	 * 
+	 * @since 0.0.1
+	 */
+	private DataHandler		dataHandler;
+	/**
+	 * all {@link Entity}s of {@link DataHandlerBenchmark#file}
+	 * 
+	 * @since 0.0.1
+	 */
+	private List<Entity>	entities;
+	/**
+	 * all {@link Node}s, which are part of a {@link Way}
+	 * 
+	 * @since 0.0.1
+	 */
+	private List<Node>		wayNodes;
+	/**
+	 * all {@link Way}s of {@link DataHandlerBenchmark#file}
+	 * 
+	 * @since 0.0.1
+	 */
+	private List<Way>		ways;
+							
+	/**
+	 * loads the {@link Entity}s
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @throws IOException if the file couldn't be read
+	 */
+	@Setup
+	public void setup()
+	throws IOException
+	{
+		this.dataHandler = BenchmarkData.load(new File(this.file));
+		this.entities = new ArrayList<>();
+		this.wayNodes = new ArrayList<>();
+		this.ways = new ArrayList<>();
+		
+		for (EntityContainer container : this.dataHandler.getContainers())
+		{
+			Entity entity = container.getEntity();
+			this.entities.add(entity);
+			
+			if (entity instanceof Way)
+			{
+				this.ways.add((Way)entity);
+			}
+			else if (entity instanceof Node && ! (this.dataHandler.getWaysOf((Node)entity).isEmpty()))
+			{
+				this.wayNodes.add((Node)entity);
+			}
+		}
+	}
+	
+	/**
+	 * stores all {@link Entity}s into a new {@link DataHandler}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the filled {@link DataHandler}
+	 */
+	@Benchmark
+	public DataHandler store()
+	{
+		DataHandler res = new DataHandler(this.dataHandler.getReceiver());
+		res.store(this.entities);
+		
+		return res;
+	}
+	
+	/**
+	 * gives the neighbors of all {@link Node}s, which are part of a
+	 * {@link Way}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param blackhole the {@link Blackhole} to consume the neighbors
+	 */
+	@Benchmark
+	public void getNeighbors(Blackhole blackhole)
+	{
+		for (Node node : this.wayNodes)
+		{
+			blackhole.consume(this.dataHandler.getNeighbors(node, (Node)null));
+		}
+	}
+	
+	/**
+	 * parses the {@link Oneway} status of all {@link Way}s
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param blackhole the {@link Blackhole} to consume the status
+	 */
+	@Benchmark
+	public void getOneway(Blackhole blackhole)
+	{
+		for (Way way : this.ways)
+		{
+			blackhole.consume(Oneway.get(way));
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package me.chrisswr1.parroute.benchmark;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openstreetmap.osmosis.core.domain.v0_6.CommonEntityData;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+import org.openstreetmap.osmosis.core.domain.v0_6.OsmUser;
+
+import me.chrisswr1.parroute.util.DistanceMode;
+import me.chrisswr1.parroute.util.GeoUtils;
+
+/**
+ * benchmarks the distance calculations of {@link GeoUtils}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class GeoUtilsBenchmark
+{
+	/**
+	 * the first {@link Node}
+	 * 
+	 * @since 0.0.1
+	 */
+	private Node	node1;
+	/**
+	 * the second {@link Node}
+	 * 
+	 * @since 0.0.1
+	 */
+	private Node	node2;
+					
+	/**
+	 * holds the {@link DistanceMode} of
+	 * {@link GeoUtilsBenchmark#getDistanceOfMode(ModeState)}
+	 * 
+	 * @version 0.0.1
+	 * @author ChrissW-R1
+	 * @since 0.0.1
+	 */
+	@State(Scope.Thread)
+	public static class ModeState
+	{
+		/**
+		 * the {@link DistanceMode} to benchmark
+		 * 
+		 * @since 0.0.1
+		 */
+		@Param({"VINCENTY", "HAVERSINE", "EQUIRECTANGULAR"})
+		public DistanceMode mode;
+	}
+	
+	/**
+	 * creates the {@link Node}s
+	 * 
+	 * @since 0.0.1
+	 */
+	@Setup
+	public void setup()
+	{
+		this.node1 = new Node(new CommonEntityData(1, 1, new Date(), OsmUser.NONE, 0), 51.9607, 7.6261);
+		this.node2 = new Node(new CommonEntityData(2, 1, new Date(), OsmUser.NONE, 0), 51.9664, 7.6158);
+	}
+	
+	/**
+	 * calculates the distance over {@link GeoUtils#toPosition(Node)}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the distance
+	 */
+	@Benchmark
+	public double getDistance()
+	{
+		return GeoUtils.getDistance(GeoUtils.toPosition(this.node1), GeoUtils.toPosition(this.node2));
+	}
+	
+	/**
+	 * calculates the distance on the raw coordinates
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param state the {@link ModeState} with the {@link DistanceMode} to use
+	 * @return the distance
+	 */
+	@Benchmark
+	public double getDistanceOfMode(ModeState state)
+	{
+		return GeoUtils.getDistance(this.node1, this.node2, state.mode);
+	}
+}
\ No newline at end of file
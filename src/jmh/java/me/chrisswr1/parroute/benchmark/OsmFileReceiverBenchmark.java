@@ -0,0 +1,91 @@
+package me.chrisswr1.parroute.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+import org.openstreetmap.osmosis.xml.common.CompressionMethod;
+
+import me.chrisswr1.parroute.io.OsmFileFormat;
+import me.chrisswr1.parroute.io.OsmFileReceiver;
+
+/**
+ * benchmarks the parsing of an OSM file by the {@link OsmFileReceiver}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OsmFileReceiverBenchmark
+{
+	/**
+	 * the OSM XML file to parse
+	 * 
+	 * @since 0.0.1
+	 */
+	@Param(BenchmarkData.DEFAULT_FILE)
+	public String			file;
+	/**
+	 * the {@link OsmFileFormat} to parse
+	 * 
+	 * @since 0.0.1
+	 */
+	@Param({"XML", "PBF"})
+	public OsmFileFormat	format;
+							
+	/**
+	 * the {@link File} of {@link OsmFileReceiverBenchmark#format}
+	 * 
+	 * @since 0.0.1
+	 */
+	private File			input;
+							
+	/**
+	 * converts the file, if necessary
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @throws IOException if the file couldn't be converted
+	 */
+	@Setup
+	public void setup()
+	throws IOException
+	{
+		File xml = new File(this.file);
+		this.input = this.format == OsmFileFormat.PBF ? BenchmarkData.toPbf(xml) : xml;
+	}
+	
+	/**
+	 * parses the whole file and builds the indexes of the
+	 * {@link OsmFileReceiver}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the first requested {@link Node}
+	 * @throws IOException if the file couldn't be read
+	 */
+	@Benchmark
+	public Node parse()
+	throws IOException
+	{
+		return new OsmFileReceiver(this.input, this.format, CompressionMethod.None, true).getNode(BenchmarkData.START_ID);
+	}
+}
\ No newline at end of file
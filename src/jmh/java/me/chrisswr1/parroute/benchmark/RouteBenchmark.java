@@ -0,0 +1,150 @@
+package me.chrisswr1.parroute.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.graph.RoutingGraph;
+import me.chrisswr1.parroute.route.Route;
+import me.chrisswr1.parroute.util.DistanceMode;
+
+/**
+ * benchmarks the calculation of a {@link Route}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RouteBenchmark
+{
+	/**
+	 * the OSM XML file to route on
+	 * 
+	 * @since 0.0.1
+	 */
+	@Param(BenchmarkData.DEFAULT_FILE)
+	public String			file;
+							
+	/**
+	 * the {@link DataHandler} with all {@link Node}s of
+	 * {@link RouteBenchmark#file}
+	 * 
+	 * @since 0.0.1
+	 */
+	private DataHandler		dataHandler;
+	/**
+	 * the compiled {@link RoutingGraph} of {@link RouteBenchmark#dataHandler}
+	 * 
+	 * @since 0.0.1
+	 */
+	private RoutingGraph	graph;
+	/**
+	 * the start {@link Node}
+	 * 
+	 * @since 0.0.1
+	 */
+	private Node			start;
+	/**
+	 * the destination {@link Node}
+	 * 
+	 * @since 0.0.1
+	 */
+	private Node			dest;
+							
+	/**
+	 * loads the data and compiles the {@link RoutingGraph}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @throws IOException if the file couldn't be read
+	 */
+	@Setup
+	public void setup()
+	throws IOException
+	{
+		this.dataHandler = BenchmarkData.load(new File(this.file));
+		this.graph = RoutingGraph.compile(this.dataHandler);
+		this.start = this.dataHandler.getNode(BenchmarkData.START_ID);
+		this.dest = this.dataHandler.getNode(BenchmarkData.DEST_ID);
+	}
+	
+	/**
+	 * calculates the {@link Route} by deriving the neighbors from the
+	 * {@link DataHandler}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the found {@link Route}
+	 * @throws IOException if some entities couldn't got from the
+	 *             {@link DataHandler}
+	 */
+	@Benchmark
+	public Route calc()
+	throws IOException
+	{
+		Route res = new Route(this.dataHandler, this.start, this.dest);
+		res.calc();
+		
+		return res;
+	}
+	
+	/**
+	 * calculates the {@link Route} on the {@link RoutingGraph}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the found {@link Route}
+	 * @throws IOException if some entities couldn't got from the
+	 *             {@link DataHandler}
+	 */
+	@Benchmark
+	public Route calcOnGraph()
+	throws IOException
+	{
+		Route res = new Route(this.dataHandler, this.graph, this.start, this.dest);
+		res.calc();
+		
+		return res;
+	}
+	
+	/**
+	 * calculates the {@link Route} on the {@link RoutingGraph} with the
+	 * {@link DistanceMode#EQUIRECTANGULAR} heuristic
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the found {@link Route}
+	 * @throws IOException if some entities couldn't got from the
+	 *             {@link DataHandler}
+	 */
+	@Benchmark
+	public Route calcOnGraphEquirectangular()
+	throws IOException
+	{
+		Route res = new Route(this.dataHandler, this.graph, this.start, this.dest);
+		res.setDistanceMode(DistanceMode.EQUIRECTANGULAR);
+		res.calc();
+		
+		return res;
+	}
+}
\ No newline at end of file
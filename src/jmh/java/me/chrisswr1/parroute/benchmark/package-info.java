@@ -0,0 +1,9 @@
+/**
+ * package of the JMH benchmarks, which are run by the
+ * <code>benchmark</code> profile
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+package me.chrisswr1.parroute.benchmark;
\ No newline at end of file
@@ -0,0 +1,320 @@
+package me.chrisswr1.parroute;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openstreetmap.osmosis.core.domain.v0_6.Entity;
+import org.openstreetmap.osmosis.core.domain.v0_6.EntityType;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+import org.openstreetmap.osmosis.core.domain.v0_6.Relation;
+import org.openstreetmap.osmosis.core.domain.v0_6.Way;
+
+import me.chrisswr1.parroute.io.DataReceiver;
+
+/**
+ * a {@link DataHandler}, which could be used by many {@link Thread}s at
+ * once<br>
+ * The {@link Entity}s and indices are kept in the stores of the
+ * {@link DataHandler}, which are read without any lock, so a loaded
+ * {@link Entity} is given without waiting for other {@link Thread}s.
+ * Additionally a miss is loaded by only one {@link Thread}: Every other
+ * {@link Thread}, which asks for the same missing {@link Entity} meanwhile,
+ * waits for the running request, instead of sending its own one to the
+ * {@link DataReceiver}. Batch requests of
+ * {@link DataHandler#prefetch(java.util.Collection)} are not de-duplicated
+ * between {@link Thread}s, but storing an {@link Entity} twice is harmless.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class ConcurrentDataHandler
+extends DataHandler
+{
+	/**
+	 * the {@link Logger} of this class
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Logger												LOGGER		= LogManager.getLogger(ConcurrentDataHandler.class);
+																						
+	/**
+	 * the running requests of {@link Node}s
+	 * 
+	 * @since 0.0.1
+	 */
+	private final ConcurrentMap<Long, FutureTask<Void>>						nodeLoads	= new ConcurrentHashMap<>();
+	/**
+	 * the running requests of {@link Way}s
+	 * 
+	 * @since 0.0.1
+	 */
+	private final ConcurrentMap<Long, FutureTask<Void>>						wayLoads	= new ConcurrentHashMap<>();
+	/**
+	 * the running requests of {@link Relation}s
+	 * 
+	 * @since 0.0.1
+	 */
+	private final ConcurrentMap<Long, FutureTask<Void>>						relLoads	= new ConcurrentHashMap<>();
+	/**
+	 * the running requests of the {@link Way}s of {@link Node}s
+	 * 
+	 * @since 0.0.1
+	 */
+	private final ConcurrentMap<Long, FutureTask<Void>>						waysOfLoads	= new ConcurrentHashMap<>();
+	/**
+	 * the running requests of the {@link Relation}s of {@link Entity}s
+	 * 
+	 * @since 0.0.1
+	 */
+	private final Map<EntityType, ConcurrentMap<Long, FutureTask<Void>>>	relsOfLoads	= new TreeMap<>();
+																						
+	/**
+	 * constructor, with given {@link DataReceiver}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param receiver the {@link DataReceiver} to get the {@link Entity}s from
+	 */
+	public ConcurrentDataHandler(DataReceiver receiver)
+	{
+		super(receiver);
+		
+		for (EntityType type : Arrays.asList(EntityType.Node, EntityType.Way, EntityType.Relation))
+		{
+			this.relsOfLoads.put(type, new ConcurrentHashMap<Long, FutureTask<Void>>());
+		}
+	}
+	
+	/**
+	 * runs a request to the {@link DataReceiver}, if no other {@link Thread}
+	 * runs it already, and waits until it's finished
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param loads the running requests of the same kind
+	 * @param id the id of the requested {@link Entity}
+	 * @param request the request, which should check itself, if the
+	 *            {@link Entity} was stored meanwhile
+	 * @param description the description of the request for the log
+	 */
+	private void load(ConcurrentMap<Long, FutureTask<Void>> loads, long id, Callable<Void> request, String description)
+	{
+		FutureTask<Void> task = new FutureTask<>(request);
+		FutureTask<Void> running = loads.putIfAbsent(id, task);
+		
+		if (running == null)
+		{
+			try
+			{
+				task.run();
+			}
+			finally
+			{
+				loads.remove(id, task);
+			}
+			
+			running = task;
+		}
+		else
+		{
+			ConcurrentDataHandler.LOGGER.trace("Waiting for the running request of " + description + ".");
+		}
+		
+		boolean interrupted = false;
+		while (true)
+		{
+			try
+			{
+				running.get();
+				break;
+			}
+			catch (InterruptedException e)
+			{
+				interrupted = true;
+			}
+			catch (ExecutionException e)
+			{
+				ConcurrentDataHandler.LOGGER.error("Couldn't receive " + description + " from " + this.getReceiver() + "!", e.getCause());
+				break;
+			}
+		}
+		
+		if (interrupted)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	@Override
+	public Node getNode(final long id)
+	{
+		Node res = this.getStoredNode(id);
+		
+		final DataReceiver receiver = this.getReceiver();
+		if (res == null && ! (receiver.isAllStored()))
+		{
+			this.load(this.nodeLoads, id, new Callable<Void>()
+			{
+				@Override
+				public Void call()
+				throws IOException
+				{
+					if (ConcurrentDataHandler.this.getStoredNode(id) == null)
+					{
+						ConcurrentDataHandler.LOGGER.debug("Node with id " + id + " is currently not stored. Requesting it.");
+						ConcurrentDataHandler.this.store(receiver.getNode(id));
+					}
+					
+					return null;
+				}
+			}, "node " + id);
+			
+			res = this.getStoredNode(id);
+		}
+		
+		return res;
+	}
+	
+	@Override
+	public Way getWay(final long id)
+	{
+		Way res = this.getStoredWay(id);
+		
+		final DataReceiver receiver = this.getReceiver();
+		if (res == null && ! (receiver.isAllStored()))
+		{
+			this.load(this.wayLoads, id, new Callable<Void>()
+			{
+				@Override
+				public Void call()
+				throws IOException
+				{
+					if (ConcurrentDataHandler.this.getStoredWay(id) == null)
+					{
+						ConcurrentDataHandler.LOGGER.debug("Way with id " + id + " is currently not stored. Requesting it.");
+						ConcurrentDataHandler.this.store(receiver.getWay(id));
+					}
+					
+					return null;
+				}
+			}, "way " + id);
+			
+			res = this.getStoredWay(id);
+		}
+		
+		return res;
+	}
+	
+	@Override
+	public Relation getRel(final long id)
+	{
+		Relation res = this.getStoredRel(id);
+		
+		final DataReceiver receiver = this.getReceiver();
+		if (res == null && ! (receiver.isAllStored()))
+		{
+			this.load(this.relLoads, id, new Callable<Void>()
+			{
+				@Override
+				public Void call()
+				throws IOException
+				{
+					if (ConcurrentDataHandler.this.getStoredRel(id) == null)
+					{
+						ConcurrentDataHandler.LOGGER.debug("Relation with id " + id + " is currently not stored. Requesting it.");
+						ConcurrentDataHandler.this.store(receiver.getRel(id));
+					}
+					
+					return null;
+				}
+			}, "relation " + id);
+			
+			res = this.getStoredRel(id);
+		}
+		
+		return res;
+	}
+	
+	@Override
+	public Set<Way> getWaysOf(final Node node)
+	{
+		final long id = node.getId();
+		
+		final DataReceiver receiver = this.getReceiver();
+		if ( ! (receiver.isAllStored() || receiver.isAllStored(node) || this.isAllWaysOfStored(id)))
+		{
+			this.load(this.waysOfLoads, id, new Callable<Void>()
+			{
+				@Override
+				public Void call()
+				throws IOException
+				{
+					if ( ! (ConcurrentDataHandler.this.isAllWaysOfStored(id)))
+					{
+						ConcurrentDataHandler.LOGGER.debug("Not sure, if all ways of " + node + " were stored. Requesting them.");
+						ConcurrentDataHandler.this.store(receiver.getWaysOf(node));
+						ConcurrentDataHandler.this.setAllWaysOfStored(id);
+					}
+					
+					return null;
+				}
+			}, "ways of " + node);
+		}
+		
+		Set<Way> res = new HashSet<>();
+		for (long wayId : this.getStoredWaysOf(id))
+		{
+			res.add(this.getWay(wayId));
+		}
+		
+		return res;
+	}
+	
+	@Override
+	public Set<Relation> getRelsOf(final Entity entity)
+	{
+		final long id = entity.getId();
+		final EntityType type = entity.getType();
+		
+		final DataReceiver receiver = this.getReceiver();
+		if ( ! (receiver.isAllStored() || (entity instanceof Node && receiver.isAllStored((Node)entity)) || this.isAllRelsOfStored(type, id)))
+		{
+			this.load(this.relsOfLoads.get(type), id, new Callable<Void>()
+			{
+				@Override
+				public Void call()
+				throws IOException
+				{
+					if ( ! (ConcurrentDataHandler.this.isAllRelsOfStored(type, id)))
+					{
+						ConcurrentDataHandler.LOGGER.debug("Not sure, if all relations of " + entity + " were stored. Requesting them.");
+						ConcurrentDataHandler.this.store(receiver.getRelsOf(entity));
+						ConcurrentDataHandler.this.setAllRelsOfStored(type, id);
+					}
+					
+					return null;
+				}
+			}, "relations of " + entity);
+		}
+		
+		Set<Relation> res = new HashSet<>();
+		for (long relId : this.getStoredRelsOf(type, id))
+		{
+			res.add(this.getRel(relId));
+		}
+		
+		return res;
+	}
+}
\ No newline at end of file
@@ -1,17 +1,21 @@
 package me.chrisswr1.parroute;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.TreeSet;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
-import org.apache.commons.collections4.SetValuedMap;
-import org.apache.commons.collections4.multimap.HashSetValuedHashMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openstreetmap.osmosis.core.container.v0_6.EntityContainer;
@@ -30,11 +34,28 @@ import org.openstreetmap.osmosis.core.domain.v0_6.WayNode;
 import me.chrisswr1.parroute.entities.Oneway;
 import me.chrisswr1.parroute.entities.RelationType;
 import me.chrisswr1.parroute.entities.RestrictionRelation;
+import me.chrisswr1.parroute.graph.CoordinateStore;
+import me.chrisswr1.parroute.graph.RoutingProfile;
+import me.chrisswr1.parroute.io.AsyncDataReceiver;
+import me.chrisswr1.parroute.io.AsyncReceiverAdapter;
 import me.chrisswr1.parroute.io.DataReceiver;
+import me.chrisswr1.parroute.util.ConcurrentLongObjectHashMap;
+import me.chrisswr1.parroute.util.LongHashSet;
+import me.chrisswr1.parroute.util.LongSetMultimap;
 import me.chrisswr1.parroute.util.StringUtils;
 
 /**
  * stores all received OpenStreetMap features and provides additional methods
+ * <br>
+ * All {@link Entity}s and indices are kept in primitive <code>long</code> keyed
+ * hash tables, so no id will be boxed. Storing an {@link Entity} holds the
+ * write lock of a {@link ReadWriteLock}, but the tables are
+ * {@link ConcurrentLongObjectHashMap}s, so reading a stored {@link Entity} or
+ * index needs no lock at all. Only the lookups in the {@link CoordinateStore}
+ * and the snapshot of {@link DataHandler#getContainers()} take the read lock.
+ * Requests to the {@link DataReceiver} are made outside of the lock, but
+ * aren't de-duplicated between {@link Thread}s (see
+ * {@link ConcurrentDataHandler}).
  * 
  * @version 0.0.1
  * @author ChrissW-R1
@@ -47,61 +68,94 @@ public class DataHandler
 	 * 
 	 * @since 0.0.1
 	 */
-	public static final Logger								LOGGER					= LogManager.getLogger(DataHandler.class);
-																					
+	public static final Logger											LOGGER					= LogManager.getLogger(DataHandler.class);
+																								
 	/**
 	 * the {@link DataReceiver} to get the OpenStreetMap features from
 	 * 
 	 * @since 0.0.1
 	 */
-	private final DataReceiver								receiver;
-															
+	private final DataReceiver											receiver;
+	/**
+	 * the {@link AsyncDataReceiver}, which requests the {@link Entity}s of a
+	 * search frontier concurrently
+	 * 
+	 * @since 0.0.1
+	 */
+	private volatile AsyncDataReceiver									asyncReceiver			= null;
+	/**
+	 * the {@link RoutingProfile}s, which evaluate every stored {@link Way}
+	 * 
+	 * @since 0.0.1
+	 */
+	private volatile List<RoutingProfile>								profiles				= Collections.emptyList();
+	/**
+	 * serializes the writers of all stores and indices and guards the lookups
+	 * in the {@link CoordinateStore}
+	 * 
+	 * @since 0.0.1
+	 */
+	private final ReadWriteLock											lock					= new ReentrantReadWriteLock();
+																								
 	/**
 	 * stores all received {@link Node}s
 	 * 
 	 * @since 0.0.1
 	 */
-	private final Map<Long, Node>							nodes					= new TreeMap<>();
+	private final ConcurrentLongObjectHashMap<Node>						nodes					= new ConcurrentLongObjectHashMap<>();
 	/**
 	 * stores all received {@link Way}s
 	 * 
 	 * @since 0.0.1
 	 */
-	private final Map<Long, Way>							ways					= new TreeMap<>();
+	private final ConcurrentLongObjectHashMap<Way>						ways					= new ConcurrentLongObjectHashMap<>();
 	/**
 	 * stores all received {@link Relation}s
 	 * 
 	 * @since 0.0.1
 	 */
-	private final Map<Long, Relation>						rels					= new TreeMap<>();
+	private final ConcurrentLongObjectHashMap<Relation>					rels					= new ConcurrentLongObjectHashMap<>();
+	/**
+	 * stores the coordinates of all received {@link Node}s
+	 * 
+	 * @since 0.0.1
+	 */
+	private final CoordinateStore										coordinates				= new CoordinateStore();
 	/**
 	 * stores mappings of {@link Way}s, which a {@link Node} is a member of
 	 * 
 	 * @since 0.0.1
 	 */
-	private final SetValuedMap<Long, Long>					waysOfNode				= new HashSetValuedHashMap<>();
+	private final LongSetMultimap										waysOfNode				= new LongSetMultimap();
 	/**
 	 * stores mappings of {@link Relation}s, which an {@link Entity} is a member
 	 * of
 	 * 
 	 * @since 0.0.1
 	 */
-	private final Map<EntityType, SetValuedMap<Long, Long>>	relsOfEntity			= new TreeMap<>();
-																					
+	private final Map<EntityType, LongSetMultimap>						relsOfEntity			= new TreeMap<>();
+	/**
+	 * stores the values of {@link DataHandler#profiles} of every stored
+	 * {@link Way}
+	 * 
+	 * @since 0.0.1
+	 */
+	private final ConcurrentLongObjectHashMap<int[]>					profileValues			= new ConcurrentLongObjectHashMap<>();
+																								
 	/**
 	 * stores, from which {@link Node}s the {@link Way}s were already received
 	 * 
 	 * @since 0.0.1
 	 */
-	private final Set<Long>									allWaysOfNodeStored		= new TreeSet<>();
+	private final ConcurrentLongObjectHashMap<Boolean>					allWaysOfNodeStored		= new ConcurrentLongObjectHashMap<>();
 	/**
 	 * stores, from which {@link Entity}s the {@link Relation}s were already
 	 * received
 	 * 
 	 * @since 0.0.1
 	 */
-	private final Map<EntityType, Set<Long>>				allRelsOfEntityStored	= new TreeMap<>();
-																					
+	private final Map<EntityType, ConcurrentLongObjectHashMap<Boolean>>	allRelsOfEntityStored	= new TreeMap<>();
+																								
 	/**
 	 * constructor, with given {@link DataReceiver}
 	 * 
@@ -113,13 +167,13 @@ public class DataHandler
 	{
 		this.receiver = receiver;
 		
-		this.relsOfEntity.put(EntityType.Node, new HashSetValuedHashMap<Long, Long>());
-		this.relsOfEntity.put(EntityType.Way, new HashSetValuedHashMap<Long, Long>());
-		this.relsOfEntity.put(EntityType.Relation, new HashSetValuedHashMap<Long, Long>());
+		this.relsOfEntity.put(EntityType.Node, new LongSetMultimap());
+		this.relsOfEntity.put(EntityType.Way, new LongSetMultimap());
+		this.relsOfEntity.put(EntityType.Relation, new LongSetMultimap());
 		
-		this.allRelsOfEntityStored.put(EntityType.Node, new TreeSet<Long>());
-		this.allRelsOfEntityStored.put(EntityType.Way, new TreeSet<Long>());
-		this.allRelsOfEntityStored.put(EntityType.Relation, new TreeSet<Long>());
+		this.allRelsOfEntityStored.put(EntityType.Node, new ConcurrentLongObjectHashMap<Boolean>());
+		this.allRelsOfEntityStored.put(EntityType.Way, new ConcurrentLongObjectHashMap<Boolean>());
+		this.allRelsOfEntityStored.put(EntityType.Relation, new ConcurrentLongObjectHashMap<Boolean>());
 	}
 	
 	/**
@@ -168,15 +222,22 @@ public class DataHandler
 	 * @since 0.0.1
 	 * 		
 	 * @param rel the {@link Relation} to get the {@link RelationType} from
-	 * @return the {@link RelationType} of {@code rel}
+	 * @return the {@link RelationType} of {@code rel} or
+	 *         {@link RelationType#UNKNOWN}, if it has no or an unknown type
 	 */
 	public static RelationType getRelType(Relation rel)
 	{
 		RelationType res = RelationType.UNKNOWN;
 		
+		String type = DataHandler.getTagValue(rel, "type");
+		if (type == null)
+		{
+			return res;
+		}
+		
 		try
 		{
-			res = RelationType.valueOf(DataHandler.getTagValue(rel, "type").toUpperCase());
+			res = RelationType.valueOf(type.toUpperCase());
 		}
 		catch (IllegalArgumentException e)
 		{
@@ -232,6 +293,23 @@ public class DataHandler
 		return (wayNodes.get(0).getNodeId() == nodeId) || (wayNodes.get(wayNodes.size() - 1).getNodeId() == nodeId);
 	}
 	
+	/**
+	 * gives all keys of a {@link ConcurrentLongObjectHashMap} in ascending
+	 * order
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param map the {@link ConcurrentLongObjectHashMap} to get the keys from
+	 * @return the sorted keys of {@code map}
+	 */
+	private static long[] sortedKeys(ConcurrentLongObjectHashMap<?> map)
+	{
+		long[] res = map.keys();
+		Arrays.sort(res);
+		
+		return res;
+	}
+	
 	/**
 	 * gives the {@link DataReceiver}
 	 * 
@@ -245,7 +323,398 @@ public class DataHandler
 	}
 	
 	/**
-	 * stores an {@link Entity} and all indices of it
+	 * gives the {@link AsyncDataReceiver}, which requests the {@link Entity}s
+	 * of a search frontier concurrently
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link AsyncDataReceiver} or <code>null</code>, if the
+	 *         requests are sent one after another
+	 */
+	public AsyncDataReceiver getAsyncReceiver()
+	{
+		return this.asyncReceiver;
+	}
+	
+	/**
+	 * sets the {@link AsyncDataReceiver}, which requests the {@link Entity}s of
+	 * a search frontier concurrently<br>
+	 * It should wrap the {@link DataReceiver} of this {@link DataHandler}. If
+	 * that stores the received {@link Entity}s itself, this
+	 * {@link DataHandler} has to be a {@link ConcurrentDataHandler}.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param asyncReceiver the {@link AsyncDataReceiver} or <code>null</code>
+	 *            to send the requests one after another
+	 * 			
+	 * @see DataHandler#prefetch(Collection)
+	 */
+	public void setAsyncReceiver(AsyncDataReceiver asyncReceiver)
+	{
+		this.asyncReceiver = asyncReceiver;
+	}
+	
+	/**
+	 * gives the {@link RoutingProfile}s
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link RoutingProfile}s, which evaluate every stored
+	 *         {@link Way}
+	 */
+	public List<RoutingProfile> getProfiles()
+	{
+		return this.profiles;
+	}
+	
+	/**
+	 * sets the {@link RoutingProfile}s, which evaluate every stored
+	 * {@link Way}<br>
+	 * The already stored {@link Way}s are evaluated immediately, all other
+	 * ones when they are stored. A
+	 * {@link me.chrisswr1.parroute.graph.RoutingGraph} compiles the values
+	 * into an own weight and flag array per profile.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param profiles the {@link RoutingProfile}s to use
+	 */
+	public void setProfiles(List<RoutingProfile> profiles)
+	{
+		this.profiles = Collections.unmodifiableList(new ArrayList<>(profiles));
+		
+		for (long wayId : this.getWayIds())
+		{
+			this.storeProfileValues(wayId, this.evaluateProfiles(this.getWay(wayId)));
+		}
+	}
+	
+	/**
+	 * evaluates a {@link Way} by all {@link RoutingProfile}s
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param way the {@link Way} to evaluate
+	 * @return the result of {@link RoutingProfile#evaluate(Way)} of every
+	 *         profile in order of {@link DataHandler#getProfiles()}
+	 */
+	protected int[] evaluateProfiles(Way way)
+	{
+		List<RoutingProfile> profiles = this.getProfiles();
+		int[] res = new int[profiles.size()];
+		
+		for (int i = 0; i < res.length; i++)
+		{
+			res[i] = profiles.get(i).evaluate(way);
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * stores the values of all {@link RoutingProfile}s of a {@link Way}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param wayId the id of the {@link Way}
+	 * @param values the values in order of {@link DataHandler#getProfiles()}
+	 */
+	protected void storeProfileValues(long wayId, int[] values)
+	{
+		Lock writeLock = this.lock.writeLock();
+		writeLock.lock();
+		try
+		{
+			this.profileValues.put(wayId, values);
+		}
+		finally
+		{
+			writeLock.unlock();
+		}
+	}
+	
+	/**
+	 * gives the values of all {@link RoutingProfile}s of a stored {@link Way}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param wayId the id of the {@link Way}
+	 * @return the result of {@link RoutingProfile#evaluate(Way)} of every
+	 *         profile in order of {@link DataHandler#getProfiles()} or
+	 *         <code>null</code>, if the {@link Way} isn't stored
+	 */
+	public int[] getProfileValues(long wayId)
+	{
+		return this.profileValues.get(wayId);
+	}
+	
+	/**
+	 * gives the {@link CoordinateStore} of all stored {@link Node}s
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the coordinates of all stored {@link Node}s
+	 */
+	public CoordinateStore getCoordinates()
+	{
+		return this.coordinates;
+	}
+	
+	/**
+	 * gives the index of a {@link Node} in the {@link CoordinateStore}<br>
+	 * If the coordinates of {@code node} are not stored until yet, they will be
+	 * added
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param node the {@link Node} to get the index of
+	 * @return the index of {@code node} in {@link DataHandler#getCoordinates()}
+	 */
+	public int getCoordIndex(Node node)
+	{
+		CoordinateStore coordinates = this.getCoordinates();
+		int res;
+		
+		Lock readLock = this.lock.readLock();
+		readLock.lock();
+		try
+		{
+			res = coordinates.indexOf(node.getId());
+		}
+		finally
+		{
+			readLock.unlock();
+		}
+		
+		if (res == CoordinateStore.NO_INDEX)
+		{
+			Lock writeLock = this.lock.writeLock();
+			writeLock.lock();
+			try
+			{
+				res = coordinates.add(node);
+			}
+			finally
+			{
+				writeLock.unlock();
+			}
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * gives the index of a {@link Node} in the {@link CoordinateStore}, without
+	 * adding its coordinates
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param nodeId the id of the {@link Node}
+	 * @return the index in {@link DataHandler#getCoordinates()} or
+	 *         {@link CoordinateStore#NO_INDEX}, if the coordinates of the
+	 *         {@link Node} aren't stored
+	 */
+	public int getStoredCoordIndex(long nodeId)
+	{
+		Lock readLock = this.lock.readLock();
+		readLock.lock();
+		try
+		{
+			return this.coordinates.indexOf(nodeId);
+		}
+		finally
+		{
+			readLock.unlock();
+		}
+	}
+	
+	/**
+	 * gives the ids of all currently stored {@link Way}s
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the ids of the stored {@link Way}s in ascending order
+	 */
+	public long[] getWayIds()
+	{
+		return DataHandler.sortedKeys(this.ways);
+	}
+	
+	/**
+	 * gives the ids of all currently stored {@link Relation}s
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the ids of the stored {@link Relation}s in ascending order
+	 */
+	public long[] getRelIds()
+	{
+		return DataHandler.sortedKeys(this.rels);
+	}
+	
+	/**
+	 * gives a {@link Node}, which is already stored
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param id the id of the {@link Node}
+	 * @return the {@link Node} with id {@code id} or <code>null</code>, if it
+	 *         isn't stored
+	 */
+	public Node getStoredNode(long id)
+	{
+		return this.nodes.get(id);
+	}
+	
+	/**
+	 * gives a {@link Way}, which is already stored
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param id the id of the {@link Way}
+	 * @return the {@link Way} with id {@code id} or <code>null</code>, if it
+	 *         isn't stored
+	 */
+	public Way getStoredWay(long id)
+	{
+		return this.ways.get(id);
+	}
+	
+	/**
+	 * gives a {@link Relation}, which is already stored
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param id the id of the {@link Relation}
+	 * @return the {@link Relation} with id {@code id} or <code>null</code>, if
+	 *         it isn't stored
+	 */
+	public Relation getStoredRel(long id)
+	{
+		return this.rels.get(id);
+	}
+	
+	/**
+	 * gives the ids of all stored {@link Way}s, which a {@link Node} is a
+	 * member of
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param nodeId the id of the {@link Node}
+	 * @return a copy of the ids of the {@link Way}s
+	 */
+	public long[] getStoredWaysOf(long nodeId)
+	{
+		return this.waysOfNode.get(nodeId).clone();
+	}
+	
+	/**
+	 * gives the ids of all stored {@link Relation}s, which an {@link Entity} is
+	 * a member of
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param type the {@link EntityType} of the {@link Entity}
+	 * @param id the id of the {@link Entity}
+	 * @return a copy of the ids of the {@link Relation}s
+	 */
+	public long[] getStoredRelsOf(EntityType type, long id)
+	{
+		return this.relsOfEntity.get(type).get(id).clone();
+	}
+	
+	/**
+	 * checks if a {@link Node} is already stored
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param id the id of the {@link Node}
+	 * @return <code>true</code> if the {@link Node} with id {@code id} is
+	 *         stored, <code>false</code> otherwise
+	 */
+	protected boolean isNodeStored(long id)
+	{
+		return this.getStoredNode(id) != null;
+	}
+	
+	/**
+	 * checks if all {@link Way}s of a {@link Node} were already received
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param nodeId the id of the {@link Node}
+	 * @return <code>true</code> if all {@link Way}s of the {@link Node} are
+	 *         stored, <code>false</code> otherwise
+	 */
+	protected boolean isAllWaysOfStored(long nodeId)
+	{
+		return this.allWaysOfNodeStored.containsKey(nodeId);
+	}
+	
+	/**
+	 * marks all {@link Way}s of a {@link Node} as received
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param nodeId the id of the {@link Node}
+	 */
+	protected void setAllWaysOfStored(long nodeId)
+	{
+		Lock writeLock = this.lock.writeLock();
+		writeLock.lock();
+		try
+		{
+			this.allWaysOfNodeStored.put(nodeId, Boolean.TRUE);
+		}
+		finally
+		{
+			writeLock.unlock();
+		}
+	}
+	
+	/**
+	 * checks if all {@link Relation}s of an {@link Entity} were already
+	 * received
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param type the {@link EntityType} of the {@link Entity}
+	 * @param id the id of the {@link Entity}
+	 * @return <code>true</code> if all {@link Relation}s of the {@link Entity}
+	 *         are stored, <code>false</code> otherwise
+	 */
+	protected boolean isAllRelsOfStored(EntityType type, long id)
+	{
+		return this.allRelsOfEntityStored.get(type).containsKey(id);
+	}
+	
+	/**
+	 * marks all {@link Relation}s of an {@link Entity} as received
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param type the {@link EntityType} of the {@link Entity}
+	 * @param id the id of the {@link Entity}
+	 */
+	protected void setAllRelsOfStored(EntityType type, long id)
+	{
+		Lock writeLock = this.lock.writeLock();
+		writeLock.lock();
+		try
+		{
+			this.allRelsOfEntityStored.get(type).put(id, Boolean.TRUE);
+		}
+		finally
+		{
+			writeLock.unlock();
+		}
+	}
+	
+	/**
+	 * stores an {@link Entity} and all indices of it<br>
+	 * The stores are locked exclusively, but a {@link Way} is evaluated by the
+	 * {@link RoutingProfile}s before.
 	 * 
 	 * @since 0.0.1
 	 * 
@@ -269,41 +738,88 @@ public class DataHandler
 				DataHandler.LOGGER.trace("Found node with id " + id + ".");
 				Node node = (Node)entity;
 				
-				DataHandler.LOGGER.trace("Saving " + node + " itself.");
-				return this.nodes.put(id, node);
+				Lock writeLock = this.lock.writeLock();
+				writeLock.lock();
+				try
+				{
+					DataHandler.LOGGER.trace("Saving coordinates of " + node + ".");
+					this.coordinates.add(node);
+					
+					DataHandler.LOGGER.trace("Saving " + node + " itself.");
+					return this.nodes.put(id, node);
+				}
+				finally
+				{
+					writeLock.unlock();
+				}
 			}
 			if (entity instanceof Way)
 			{
 				DataHandler.LOGGER.trace("Found way with id " + id + ".");
 				Way way = (Way)entity;
 				
-				for (WayNode wayNode : way.getWayNodes())
+				int[] values = null;
+				if ( ! (this.getProfiles().isEmpty()))
 				{
-					long nodeId = wayNode.getNodeId();
-					
-					DataHandler.LOGGER.trace("Store node with id " + nodeId + " as a member of " + way + ".");
-					this.waysOfNode.put(nodeId, id);
+					DataHandler.LOGGER.trace("Evaluate " + way + " by all profiles.");
+					values = this.evaluateProfiles(way);
 				}
 				
-				DataHandler.LOGGER.trace("Saving " + way + " itself.");
-				return this.ways.put(id, way);
+				Lock writeLock = this.lock.writeLock();
+				writeLock.lock();
+				try
+				{
+					// the way itself first, so a lock-free reader of the index finds it
+					DataHandler.LOGGER.trace("Saving " + way + " itself.");
+					Way res = this.ways.put(id, way);
+					
+					if (values != null)
+					{
+						this.storeProfileValues(id, values);
+					}
+					
+					for (WayNode wayNode : way.getWayNodes())
+					{
+						long nodeId = wayNode.getNodeId();
+						
+						DataHandler.LOGGER.trace("Store node with id " + nodeId + " as a member of " + way + ".");
+						this.waysOfNode.put(nodeId, id);
+					}
+					
+					return res;
+				}
+				finally
+				{
+					writeLock.unlock();
+				}
 			}
 			if (entity instanceof Relation)
 			{
 				DataHandler.LOGGER.trace("Found relation with id " + id + ".");
 				Relation rel = (Relation)entity;
 				
-				for (RelationMember member : rel.getMembers())
+				Lock writeLock = this.lock.writeLock();
+				writeLock.lock();
+				try
 				{
-					EntityType memberType = member.getMemberType();
-					long memberId = member.getMemberId();
+					DataHandler.LOGGER.trace("Saving " + rel + " itself.");
+					Relation res = this.rels.put(id, rel);
+					
+					for (RelationMember member : rel.getMembers())
+					{
+						EntityType memberType = member.getMemberType();
+						long memberId = member.getMemberId();
+						
+						DataHandler.LOGGER.trace("Store " + memberType + " with id " + memberId + " as a member of " + rel + ".");
+						this.relsOfEntity.get(memberType).put(memberId, id);
+					}
 					
-					DataHandler.LOGGER.trace("Store " + memberType + " with id " + memberId + " as a member of " + rel + ".");
-					this.relsOfEntity.get(memberType).put(memberId, id);
+					return res;
+				}
+				finally
+				{
+					writeLock.unlock();
 				}
-				
-				DataHandler.LOGGER.trace("Saving " + rel + " itself.");
-				return this.rels.put(id, rel);
 			}
 		}
 		
@@ -342,7 +858,7 @@ public class DataHandler
 		DataHandler.LOGGER.trace("Get node with id " + id + ".");
 		
 		DataReceiver receiver = this.getReceiver();
-		if ( ! (receiver.isAllStored() || this.nodes.containsKey(id)))
+		if ( ! (receiver.isAllStored() || this.getStoredNode(id) != null))
 		{
 			try
 			{
@@ -355,7 +871,7 @@ public class DataHandler
 			}
 		}
 		
-		return this.nodes.get(id);
+		return this.getStoredNode(id);
 	}
 	
 	/**
@@ -372,7 +888,7 @@ public class DataHandler
 		DataHandler.LOGGER.trace("Get way with id " + id + ".");
 		
 		DataReceiver receiver = this.getReceiver();
-		if ( ! (receiver.isAllStored() || this.ways.containsKey(id)))
+		if ( ! (receiver.isAllStored() || this.getStoredWay(id) != null))
 		{
 			try
 			{
@@ -385,7 +901,7 @@ public class DataHandler
 			}
 		}
 		
-		return this.ways.get(id);
+		return this.getStoredWay(id);
 	}
 	
 	/**
@@ -402,7 +918,7 @@ public class DataHandler
 		DataHandler.LOGGER.trace("Get relation with id " + id + ".");
 		
 		DataReceiver receiver = this.getReceiver();
-		if ( ! (receiver.isAllStored() || this.rels.containsKey(id)))
+		if ( ! (receiver.isAllStored() || this.getStoredRel(id) != null))
 		{
 			try
 			{
@@ -415,7 +931,7 @@ public class DataHandler
 			}
 		}
 		
-		return this.rels.get(id);
+		return this.getStoredRel(id);
 	}
 	
 	/**
@@ -433,7 +949,7 @@ public class DataHandler
 		long id = node.getId();
 		
 		DataReceiver receiver = this.getReceiver();
-		if ( ! (receiver.isAllStored() || this.allWaysOfNodeStored.contains(id)))
+		if ( ! (receiver.isAllStored() || receiver.isAllStored(node) || this.isAllWaysOfStored(id)))
 		{
 			try
 			{
@@ -441,7 +957,7 @@ public class DataHandler
 				this.store(receiver.getWaysOf(node));
 				
 				DataHandler.LOGGER.trace("Mark all ways of " + node + " as already stored.");
-				this.allWaysOfNodeStored.add(id);
+				this.setAllWaysOfStored(id);
 			}
 			catch (IOException e)
 			{
@@ -450,7 +966,7 @@ public class DataHandler
 		}
 		
 		Set<Way> res = new HashSet<>();
-		for (long wayId : this.waysOfNode.get(id))
+		for (long wayId : this.getStoredWaysOf(id))
 		{
 			res.add(this.getWay(wayId));
 		}
@@ -475,8 +991,7 @@ public class DataHandler
 		EntityType type = entity.getType();
 		
 		DataReceiver receiver = this.getReceiver();
-		Set<Long> allStoredSet = this.allRelsOfEntityStored.get(type);
-		if ( ! (receiver.isAllStored() || allStoredSet.contains(id)))
+		if ( ! (receiver.isAllStored() || (entity instanceof Node && receiver.isAllStored((Node)entity)) || this.isAllRelsOfStored(type, id)))
 		{
 			try
 			{
@@ -484,7 +999,7 @@ public class DataHandler
 				this.store(receiver.getRelsOf(entity));
 				
 				DataHandler.LOGGER.trace("Mark all relations of " + entity + " as already stored.");
-				allStoredSet.add(id);
+				this.setAllRelsOfStored(type, id);
 			}
 			catch (IOException e)
 			{
@@ -493,7 +1008,7 @@ public class DataHandler
 		}
 		
 		Set<Relation> res = new HashSet<>();
-		for (long relId : this.relsOfEntity.get(type).get(id))
+		for (long relId : this.getStoredRelsOf(type, id))
 		{
 			res.add(this.getRel(relId));
 		}
@@ -501,6 +1016,232 @@ public class DataHandler
 		return res;
 	}
 	
+	/**
+	 * requests all {@link Node}s of a {@link Way}, which are not stored until
+	 * yet, in a single request
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param way the {@link Way} to get the {@link Node}s of
+	 * 
+	 * @see DataHandler#prefetchNodes(long[])
+	 */
+	public void prefetchNodes(Way way)
+	{
+		List<WayNode> wayNodes = way.getWayNodes();
+		long[] ids = new long[wayNodes.size()];
+		int idx = 0;
+		for (WayNode wayNode : wayNodes)
+		{
+			ids[idx++] = wayNode.getNodeId();
+		}
+		
+		this.prefetchNodes(ids);
+	}
+	
+	/**
+	 * requests all {@link Node}s, which are not stored until yet, in a single
+	 * request
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param ids the ids of the {@link Node}s
+	 */
+	public void prefetchNodes(long[] ids)
+	{
+		DataReceiver receiver = this.getReceiver();
+		if (receiver.isAllStored())
+		{
+			return;
+		}
+		
+		LongHashSet missing = new LongHashSet();
+		for (long id : ids)
+		{
+			if ( ! (this.isNodeStored(id)))
+			{
+				missing.add(id);
+			}
+		}
+		
+		if (missing.isEmpty())
+		{
+			return;
+		}
+		
+		try
+		{
+			DataHandler.LOGGER.debug(missing.size() + " nodes are currently not stored. Requesting them at once.");
+			this.store(receiver.getNodes(missing.toArray()));
+		}
+		catch (IOException e)
+		{
+			DataHandler.LOGGER.error("Couldn't receive " + missing.size() + " nodes from " + receiver + "!", e);
+		}
+	}
+	
+	/**
+	 * requests the {@link Way}s and {@link Relation}s of all {@link Node}s of a
+	 * search frontier and the missing {@link Node}s of these {@link Way}s<br>
+	 * Every kind of {@link Entity} is received in a single request, instead of
+	 * one request per {@link Node}. If an {@link AsyncDataReceiver} was set,
+	 * the {@link Way}s, the {@link Relation}s and the missing neighbors of all
+	 * {@link Node}s, which {@link Way}s are already stored, are requested
+	 * concurrently. Only the neighbors on the newly received {@link Way}s are
+	 * requested afterwards.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param frontier the {@link Node}s, which will be expanded next
+	 */
+	public void prefetch(Collection<? extends Node> frontier)
+	{
+		DataReceiver receiver = this.getReceiver();
+		if (receiver.isAllStored() || frontier.isEmpty())
+		{
+			return;
+		}
+		
+		LongHashSet waysMissing = new LongHashSet(frontier.size());
+		LongHashSet relsMissing = new LongHashSet(frontier.size());
+		for (Node node : frontier)
+		{
+			long id = node.getId();
+			
+			if (receiver.isAllStored(node))
+			{
+				continue;
+			}
+			
+			if ( ! (this.isAllWaysOfStored(id)))
+			{
+				waysMissing.add(id);
+			}
+			if ( ! (this.isAllRelsOfStored(EntityType.Node, id)))
+			{
+				relsMissing.add(id);
+			}
+		}
+		
+		long[] waysIds = waysMissing.toArray();
+		long[] relsIds = relsMissing.toArray();
+		
+		Future<Set<Way>> waysOf = null;
+		Future<Set<Relation>> relsOf = null;
+		Future<Set<Node>> neighbors = null;
+		AsyncDataReceiver asyncReceiver = this.getAsyncReceiver();
+		if (asyncReceiver != null)
+		{
+			if (waysIds.length > 0)
+			{
+				waysOf = asyncReceiver.getWaysOf(waysIds);
+			}
+			if (relsIds.length > 0)
+			{
+				relsOf = asyncReceiver.getRelsOf(EntityType.Node, relsIds);
+			}
+			
+			LongHashSet nodesMissing = new LongHashSet();
+			for (Node node : frontier)
+			{
+				if (waysMissing.contains(node.getId()))
+				{
+					continue;
+				}
+				
+				for (Way way : this.getWaysOf(node))
+				{
+					if (way == null)
+					{
+						continue;
+					}
+					
+					for (WayNode wayNode : way.getWayNodes())
+					{
+						long id = wayNode.getNodeId();
+						
+						if ( ! (this.isNodeStored(id)))
+						{
+							nodesMissing.add(id);
+						}
+					}
+				}
+			}
+			
+			if ( ! (nodesMissing.isEmpty()))
+			{
+				DataHandler.LOGGER.debug("Requesting " + nodesMissing.size() + " neighbors concurrently.");
+				neighbors = asyncReceiver.getNodes(nodesMissing.toArray());
+			}
+		}
+		
+		if (waysIds.length > 0)
+		{
+			try
+			{
+				DataHandler.LOGGER.debug("Requesting the ways of " + waysIds.length + " nodes at once.");
+				this.store(waysOf != null ? AsyncReceiverAdapter.getResult(waysOf) : receiver.getWaysOf(waysIds));
+				
+				for (long id : waysIds)
+				{
+					this.setAllWaysOfStored(id);
+				}
+			}
+			catch (IOException e)
+			{
+				DataHandler.LOGGER.error("Couldn't receive the ways of " + waysIds.length + " nodes from " + receiver + "!", e);
+			}
+		}
+		
+		if (relsIds.length > 0)
+		{
+			try
+			{
+				DataHandler.LOGGER.debug("Requesting the relations of " + relsIds.length + " nodes at once.");
+				this.store(relsOf != null ? AsyncReceiverAdapter.getResult(relsOf) : receiver.getRelsOf(EntityType.Node, relsIds));
+				
+				for (long id : relsIds)
+				{
+					this.setAllRelsOfStored(EntityType.Node, id);
+				}
+			}
+			catch (IOException e)
+			{
+				DataHandler.LOGGER.error("Couldn't receive the relations of " + relsIds.length + " nodes from " + receiver + "!", e);
+			}
+		}
+		
+		if (neighbors != null)
+		{
+			try
+			{
+				this.store(AsyncReceiverAdapter.getResult(neighbors));
+			}
+			catch (IOException e)
+			{
+				DataHandler.LOGGER.error("Couldn't receive the neighbors of " + frontier.size() + " nodes from " + receiver + "!", e);
+			}
+		}
+		
+		LongHashSet nodeIds = new LongHashSet();
+		for (Node node : frontier)
+		{
+			for (Way way : this.getWaysOf(node))
+			{
+				if (way == null)
+				{
+					continue;
+				}
+				
+				for (WayNode wayNode : way.getWayNodes())
+				{
+					nodeIds.add(wayNode.getNodeId());
+				}
+			}
+		}
+		this.prefetchNodes(nodeIds.toArray());
+	}
+	
 	/**
 	 * gives all direct neighbors of a {@link Node} in a specific {@link Way}
 	 * 
@@ -514,6 +1255,8 @@ public class DataHandler
 	{
 		DataHandler.LOGGER.trace("Get all direct neighbors of " + node + " in " + way + ".");
 		
+		this.prefetchNodes(way);
+		
 		Set<Node> res = new HashSet<>();
 		Oneway oneway = Oneway.get(way);
 		
@@ -563,7 +1306,10 @@ public class DataHandler
 	
 	/**
 	 * gives all {@link Node}s, which could reached directly from a specific
-	 * {@link Node}
+	 * {@link Node}<br>
+	 * Only the turn restrictions with {@code via} as via member are respected.
+	 * A search on an {@link me.chrisswr1.parroute.graph.EdgeBasedGraph} also
+	 * respects the ones with a {@link Way} as via member.
 	 * 
 	 * @since 0.0.1
 	 * 
@@ -614,7 +1360,7 @@ public class DataHandler
 				}
 			}
 			
-			dirBased = ! (commandmentRels.isEmpty() || prohibitionRels.isEmpty());
+			dirBased = ! (commandmentRels.isEmpty() && prohibitionRels.isEmpty());
 		}
 		
 		Set<Node> res = new HashSet<>();
@@ -686,17 +1432,26 @@ public class DataHandler
 	{
 		Set<EntityContainer> res = new LinkedHashSet<>();
 		
-		for (Node node : this.nodes.values())
-		{
-			res.add(new NodeContainer(node));
-		}
-		for (Way way : this.ways.values())
+		Lock readLock = this.lock.readLock();
+		readLock.lock();
+		try
 		{
-			res.add(new WayContainer(way));
+			for (long id : DataHandler.sortedKeys(this.nodes))
+			{
+				res.add(new NodeContainer(this.nodes.get(id)));
+			}
+			for (long id : DataHandler.sortedKeys(this.ways))
+			{
+				res.add(new WayContainer(this.ways.get(id)));
+			}
+			for (long id : DataHandler.sortedKeys(this.rels))
+			{
+				res.add(new RelationContainer(this.rels.get(id)));
+			}
 		}
-		for (Relation rel : this.rels.values())
+		finally
 		{
-			res.add(new RelationContainer(rel));
+			readLock.unlock();
 		}
 		
 		return res;
@@ -57,11 +57,35 @@ public enum Oneway
 	 */
 	public static Oneway get(Way way)
 	{
-		Oneway.LOGGER.trace("Parsing oneway tag of " + way + ".");
+		Oneway res = Oneway.get(way, "oneway");
+		
+		if (res == null)
+		{
+			Oneway.LOGGER.trace(way + ": No oneway tag found. Returning " + NO + ".");
+			return NO;
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * gives the {@link Oneway} status of a {@link Way}, which is defined by a
+	 * specific {@link Tag} (e.g. <code>oneway:bicycle</code>)
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param way the {@link Way} to get the status of
+	 * @param key the key of the {@link Tag}
+	 * @return the {@link Oneway} status of {@code way} or <code>null</code>, if
+	 *         {@code way} has no parsable {@link Tag} with {@code key}
+	 */
+	public static Oneway get(Way way, String key)
+	{
+		Oneway.LOGGER.trace("Parsing " + key + " tag of " + way + ".");
 		
 		for (Tag tag : way.getTags())
 		{
-			if (tag.getKey().equals("oneway"))
+			if (tag.getKey().equals(key))
 			{
 				String value = tag.getValue();
 				Oneway.LOGGER.trace(way + ": oneway value is '" + value + "'.");
@@ -109,11 +133,10 @@ public enum Oneway
 					return REVERSIBLE;
 				}
 				
-				Oneway.LOGGER.warn(way + ": Found oneway tag, but couldn't parse it: " + value);
+				Oneway.LOGGER.warn(way + ": Found " + key + " tag, but couldn't parse it: " + value);
 			}
 		}
 		
-		Oneway.LOGGER.trace(way + ": No oneway tag found. Returning " + NO + ".");
-		return NO;
+		return null;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,347 @@
+package me.chrisswr1.parroute.graph;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import me.chrisswr1.parroute.util.IntArrayList;
+
+/**
+ * a Contraction Hierarchy of a {@link RoutingGraph}, which answers shortest
+ * path queries by two searches, that only follow edges to higher ranked nodes
+ * <br>
+ * Every node keeps its edges to higher ranked nodes (upward edges, for the
+ * forward search) and the edges from higher ranked nodes to itself (downward
+ * edges, for the backward search). A shortcut stores the contracted node it
+ * bypasses, so it could be unpacked into the original nodes.<br>
+ * A shortcut replaces the path over a contracted node by a single edge, so it
+ * can't tell over which edge that node was reached. Therefore turn
+ * restrictions can't be contracted and are ignored by the queries. Routes,
+ * which have to obey them, are calculated by a
+ * {@link me.chrisswr1.parroute.route.Route} on an {@link EdgeBasedGraph}.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class ContractionHierarchy
+{
+	/**
+	 * the contracted {@link RoutingGraph}
+	 * 
+	 * @since 0.0.1
+	 */
+	private final RoutingGraph	graph;
+	/**
+	 * the rank (contraction order) of every node
+	 * 
+	 * @since 0.0.1
+	 */
+	private final int[]			ranks;
+	/**
+	 * the index of the first upward edge of every node (with one additional
+	 * entry for the end of the last node)
+	 * 
+	 * @since 0.0.1
+	 */
+	private final int[]			firstUpEdges;
+	/**
+	 * the target of every upward edge
+	 * 
+	 * @since 0.0.1
+	 */
+	private final int[]			upTargets;
+	/**
+	 * the length of every upward edge
+	 * 
+	 * @since 0.0.1
+	 */
+	private final double[]		upWeights;
+	/**
+	 * the bypassed node of every upward edge or
+	 * {@link CoordinateStore#NO_INDEX} for an original edge
+	 * 
+	 * @since 0.0.1
+	 */
+	private final int[]			upMiddles;
+	/**
+	 * the index of the first downward edge of every node (with one additional
+	 * entry for the end of the last node)
+	 * 
+	 * @since 0.0.1
+	 */
+	private final int[]			firstDownEdges;
+	/**
+	 * the source of every downward edge
+	 * 
+	 * @since 0.0.1
+	 */
+	private final int[]			downSources;
+	/**
+	 * the length of every downward edge
+	 * 
+	 * @since 0.0.1
+	 */
+	private final double[]		downWeights;
+	/**
+	 * the bypassed node of every downward edge or
+	 * {@link CoordinateStore#NO_INDEX} for an original edge
+	 * 
+	 * @since 0.0.1
+	 */
+	private final int[]			downMiddles;
+								
+	/**
+	 * constructor, with all given arrays
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param graph the contracted {@link RoutingGraph}
+	 * @param ranks the rank of every node
+	 * @param firstUpEdges the index of the first upward edge of every node
+	 * @param upTargets the target of every upward edge
+	 * @param upWeights the length of every upward edge
+	 * @param upMiddles the bypassed node of every upward edge
+	 * @param firstDownEdges the index of the first downward edge of every node
+	 * @param downSources the source of every downward edge
+	 * @param downWeights the length of every downward edge
+	 * @param downMiddles the bypassed node of every downward edge
+	 */
+	ContractionHierarchy(RoutingGraph graph, int[] ranks, int[] firstUpEdges, int[] upTargets, double[] upWeights, int[] upMiddles, int[] firstDownEdges, int[] downSources, double[] downWeights, int[] downMiddles)
+	{
+		this.graph = graph;
+		this.ranks = ranks;
+		this.firstUpEdges = firstUpEdges;
+		this.upTargets = upTargets;
+		this.upWeights = upWeights;
+		this.upMiddles = upMiddles;
+		this.firstDownEdges = firstDownEdges;
+		this.downSources = downSources;
+		this.downWeights = downWeights;
+		this.downMiddles = downMiddles;
+	}
+	
+	/**
+	 * contracts a {@link RoutingGraph} with as many {@link Thread}s as
+	 * processors are available
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param graph the {@link RoutingGraph} to contract
+	 * @return the built {@link ContractionHierarchy}
+	 * @throws InterruptedException if the current {@link Thread} was
+	 *             interrupted during the contraction
+	 */
+	public static ContractionHierarchy build(RoutingGraph graph)
+	throws InterruptedException
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		
+		try
+		{
+			return ContractionHierarchy.build(graph, executor);
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+	
+	/**
+	 * contracts a {@link RoutingGraph}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param graph the {@link RoutingGraph} to contract
+	 * @param executor the {@link ExecutorService} to run the parallel parts of
+	 *            the contraction on
+	 * @return the built {@link ContractionHierarchy}
+	 * @throws InterruptedException if the current {@link Thread} was
+	 *             interrupted during the contraction
+	 */
+	public static ContractionHierarchy build(RoutingGraph graph, ExecutorService executor)
+	throws InterruptedException
+	{
+		return new Contractor(graph, executor).contract();
+	}
+	
+	/**
+	 * gives the contracted {@link RoutingGraph}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link RoutingGraph}, which node indices are used
+	 */
+	public RoutingGraph getGraph()
+	{
+		return this.graph;
+	}
+	
+	/**
+	 * gives the rank of a node
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param node the index of the node
+	 * @return the position of {@code node} in the contraction order
+	 */
+	public int getRank(int node)
+	{
+		return this.ranks[node];
+	}
+	
+	/**
+	 * gives the index of the first upward edge of a node
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param node the index of the node
+	 * @return the index of the first upward edge of {@code node}, which is also
+	 *         the end (exclusive) of the upward edges of the previous node
+	 */
+	public int getFirstUpEdge(int node)
+	{
+		return this.firstUpEdges[node];
+	}
+	
+	/**
+	 * gives the target of an upward edge
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param edge the index of the upward edge
+	 * @return the index of the higher ranked target node
+	 */
+	public int getUpTarget(int edge)
+	{
+		return this.upTargets[edge];
+	}
+	
+	/**
+	 * gives the length of an upward edge
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param edge the index of the upward edge
+	 * @return the length of {@code edge} in meters
+	 */
+	public double getUpWeight(int edge)
+	{
+		return this.upWeights[edge];
+	}
+	
+	/**
+	 * gives the index of the first downward edge of a node
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param node the index of the node
+	 * @return the index of the first downward edge of {@code node}, which is
+	 *         also the end (exclusive) of the downward edges of the previous
+	 *         node
+	 */
+	public int getFirstDownEdge(int node)
+	{
+		return this.firstDownEdges[node];
+	}
+	
+	/**
+	 * gives the source of a downward edge
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param edge the index of the downward edge
+	 * @return the index of the higher ranked source node
+	 */
+	public int getDownSource(int edge)
+	{
+		return this.downSources[edge];
+	}
+	
+	/**
+	 * gives the length of a downward edge
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param edge the index of the downward edge
+	 * @return the length of {@code edge} in meters
+	 */
+	public double getDownWeight(int edge)
+	{
+		return this.downWeights[edge];
+	}
+	
+	/**
+	 * gives the node, which is bypassed by the edge between two nodes
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param source the source node of the edge
+	 * @param target the target node of the edge
+	 * @return the bypassed node or {@link CoordinateStore#NO_INDEX}, if the
+	 *         edge is an original one
+	 */
+	private int getMiddle(int source, int target)
+	{
+		if (this.ranks[source] < this.ranks[target])
+		{
+			int end = this.firstUpEdges[source + 1];
+			for (int edge = this.firstUpEdges[source]; edge < end; edge++)
+			{
+				if (this.upTargets[edge] == target)
+				{
+					return this.upMiddles[edge];
+				}
+			}
+		}
+		else
+		{
+			int end = this.firstDownEdges[target + 1];
+			for (int edge = this.firstDownEdges[target]; edge < end; edge++)
+			{
+				if (this.downSources[edge] == source)
+				{
+					return this.downMiddles[edge];
+				}
+			}
+		}
+		
+		return CoordinateStore.NO_INDEX;
+	}
+	
+	/**
+	 * unpacks an edge of the hierarchy into the nodes of the original
+	 * {@link RoutingGraph}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param source the source node of the edge
+	 * @param target the target node of the edge
+	 * @param path the list to append all nodes after {@code source} up to
+	 *            (inclusive) {@code target} to
+	 */
+	public void unpack(int source, int target, IntArrayList path)
+	{
+		IntArrayList stack = new IntArrayList();
+		stack.add(target);
+		stack.add(source);
+		
+		while ( ! (stack.isEmpty()))
+		{
+			int from = stack.removeLast();
+			int to = stack.removeLast();
+			int middle = this.getMiddle(from, to);
+			
+			if (middle == CoordinateStore.NO_INDEX)
+			{
+				path.add(to);
+				continue;
+			}
+			
+			// the first half is processed before the second one
+			stack.add(to);
+			stack.add(middle);
+			stack.add(middle);
+			stack.add(from);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,752 @@
+package me.chrisswr1.parroute.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import me.chrisswr1.parroute.util.HashUtils;
+import me.chrisswr1.parroute.util.IntArrayList;
+import me.chrisswr1.parroute.util.LongMinHeap;
+
+/**
+ * contracts the {@link RoutingGraph#FORWARD} edges of a {@link RoutingGraph}
+ * into a {@link ContractionHierarchy}<br>
+ * The nodes are contracted in rounds: Every round selects an independent set
+ * of nodes, which have a lower priority (edge difference plus count of
+ * contracted neighbors) than all their neighbors. The shortcuts of these
+ * nodes are calculated in parallel, because their witness searches only read
+ * the remaining graph and avoid all nodes of the current round. Afterwards the
+ * shortcuts are inserted and the priorities of the neighbors are updated.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+class Contractor
+{
+	/**
+	 * the {@link Logger} of this class
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Logger					LOGGER					= LogManager.getLogger(Contractor.class);
+	/**
+	 * the maximum count of settled nodes of a witness search
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final int						WITNESS_SETTLE_LIMIT	= 500;
+	/**
+	 * the count of nodes, which are processed by one parallel task
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final int						CHUNK_SIZE				= 256;
+																		
+	/**
+	 * the {@link RoutingGraph} to contract
+	 * 
+	 * @since 0.0.1
+	 */
+	private final RoutingGraph					graph;
+	/**
+	 * the {@link ExecutorService} to run the parallel tasks
+	 * 
+	 * @since 0.0.1
+	 */
+	private final ExecutorService				executor;
+	/**
+	 * the outgoing edges of every not contracted node
+	 * 
+	 * @since 0.0.1
+	 */
+	private final List<List<Edge>>				outEdges;
+	/**
+	 * the incoming edges of every not contracted node
+	 * 
+	 * @since 0.0.1
+	 */
+	private final List<List<Edge>>				inEdges;
+	/**
+	 * the edges to higher nodes of every contracted node
+	 * 
+	 * @since 0.0.1
+	 */
+	private final List<List<Edge>>				upEdges;
+	/**
+	 * the edges from higher nodes of every contracted node
+	 * 
+	 * @since 0.0.1
+	 */
+	private final List<List<Edge>>				downEdges;
+	/**
+	 * is a node already contracted?
+	 * 
+	 * @since 0.0.1
+	 */
+	private final boolean[]						contracted;
+	/**
+	 * is a node part of the current round?
+	 * 
+	 * @since 0.0.1
+	 */
+	private final boolean[]						contracting;
+	/**
+	 * the count of already contracted neighbors of every node
+	 * 
+	 * @since 0.0.1
+	 */
+	private final int[]							deletedNeighbors;
+	/**
+	 * the current priority of every node
+	 * 
+	 * @since 0.0.1
+	 */
+	private final int[]							priorities;
+	/**
+	 * the rank (contraction order) of every node
+	 * 
+	 * @since 0.0.1
+	 */
+	private final int[]							ranks;
+	/**
+	 * the witness search of every {@link Thread}
+	 * 
+	 * @since 0.0.1
+	 */
+	private final ThreadLocal<WitnessSearch>	witnessSearches;
+												
+	/**
+	 * defines a directed edge of the contracted graph
+	 * 
+	 * @version 0.0.1
+	 * @author ChrissW-R1
+	 * @since 0.0.1
+	 */
+	private static class Edge
+	{
+		/**
+		 * the source node
+		 * 
+		 * @since 0.0.1
+		 */
+		private final int	source;
+		/**
+		 * the target node
+		 * 
+		 * @since 0.0.1
+		 */
+		private final int	target;
+		/**
+		 * the length of the edge
+		 * 
+		 * @since 0.0.1
+		 */
+		private double		weight;
+		/**
+		 * the contracted node of a shortcut or {@link CoordinateStore#NO_INDEX}
+		 * for an original edge
+		 * 
+		 * @since 0.0.1
+		 */
+		private int			middle;
+							
+		/**
+		 * standard constructor
+		 * 
+		 * @since 0.0.1
+		 * 
+		 * @param source the source node
+		 * @param target the target node
+		 * @param weight the length of the edge
+		 * @param middle the contracted node of a shortcut or
+		 *            {@link CoordinateStore#NO_INDEX}
+		 */
+		private Edge(int source, int target, double weight, int middle)
+		{
+			this.source = source;
+			this.target = target;
+			this.weight = weight;
+			this.middle = middle;
+		}
+	}
+	
+	/**
+	 * defines a local Dijkstra search, to find witness paths, which make a
+	 * shortcut unnecessary
+	 * 
+	 * @version 0.0.1
+	 * @author ChrissW-R1
+	 * @since 0.0.1
+	 */
+	private class WitnessSearch
+	{
+		/**
+		 * the costs of every node or {@link Double#POSITIVE_INFINITY}, if it
+		 * wasn't reached
+		 * 
+		 * @since 0.0.1
+		 */
+		private final double[]		costs;
+		/**
+		 * the nodes, of which the costs were set
+		 * 
+		 * @since 0.0.1
+		 */
+		private final IntArrayList	touched		= new IntArrayList();
+		/**
+		 * the open list of the search
+		 * 
+		 * @since 0.0.1
+		 */
+		private final LongMinHeap	openList	= new LongMinHeap();
+												
+		/**
+		 * standard constructor
+		 * 
+		 * @since 0.0.1
+		 */
+		private WitnessSearch()
+		{
+			this.costs = new double[Contractor.this.graph.getNodeCount()];
+			Arrays.fill(this.costs, Double.POSITIVE_INFINITY);
+		}
+		
+		/**
+		 * searches the shortest paths from a node, without passing another one
+		 * 
+		 * @since 0.0.1
+		 * 
+		 * @param source the node to start from
+		 * @param ignored the node, which should not be passed
+		 * @param limit the maximum costs to search for
+		 */
+		private void run(int source, int ignored, double limit)
+		{
+			this.reset();
+			
+			this.costs[source] = 0;
+			this.touched.add(source);
+			this.openList.put(source, 0);
+			
+			int settled = 0;
+			while ( ! (this.openList.isEmpty()) && this.openList.peekPriority() <= limit && settled++ < Contractor.WITNESS_SETTLE_LIMIT)
+			{
+				int current = (int)this.openList.poll();
+				double currentCosts = this.costs[current];
+				
+				for (Edge edge : Contractor.this.outEdges.get(current))
+				{
+					int target = edge.target;
+					if (target == ignored || Contractor.this.contracting[target])
+					{
+						continue;
+					}
+					
+					double tentativeCosts = currentCosts + edge.weight;
+					if (tentativeCosts < this.costs[target])
+					{
+						if (this.costs[target] == Double.POSITIVE_INFINITY)
+						{
+							this.touched.add(target);
+						}
+						
+						this.costs[target] = tentativeCosts;
+						this.openList.put(target, tentativeCosts);
+					}
+				}
+			}
+		}
+		
+		/**
+		 * resets all costs of the last search
+		 * 
+		 * @since 0.0.1
+		 */
+		private void reset()
+		{
+			while ( ! (this.touched.isEmpty()))
+			{
+				this.costs[this.touched.removeLast()] = Double.POSITIVE_INFINITY;
+			}
+			this.openList.clear();
+		}
+	}
+	
+	/**
+	 * defines a task, which is run for every node of a round
+	 * 
+	 * @version 0.0.1
+	 * @author ChrissW-R1
+	 * @since 0.0.1
+	 */
+	private interface NodeTask
+	{
+		/**
+		 * runs the task for a node
+		 * 
+		 * @since 0.0.1
+		 * 
+		 * @param idx the position of {@code node} in the processed array
+		 * @param node the node to process
+		 */
+		public void run(int idx, int node);
+	}
+	
+	/**
+	 * standard constructor
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param graph the {@link RoutingGraph} to contract
+	 * @param executor the {@link ExecutorService} to run the parallel tasks
+	 */
+	Contractor(RoutingGraph graph, ExecutorService executor)
+	{
+		this.graph = graph;
+		this.executor = executor;
+		
+		int nodeCount = graph.getNodeCount();
+		this.outEdges = new ArrayList<>(nodeCount);
+		this.inEdges = new ArrayList<>(nodeCount);
+		this.upEdges = new ArrayList<>(nodeCount);
+		this.downEdges = new ArrayList<>(nodeCount);
+		for (int node = 0; node < nodeCount; node++)
+		{
+			this.outEdges.add(new ArrayList<Edge>());
+			this.inEdges.add(new ArrayList<Edge>());
+			this.upEdges.add(null);
+			this.downEdges.add(null);
+		}
+		
+		this.contracted = new boolean[nodeCount];
+		this.contracting = new boolean[nodeCount];
+		this.deletedNeighbors = new int[nodeCount];
+		this.priorities = new int[nodeCount];
+		this.ranks = new int[nodeCount];
+		this.witnessSearches = new ThreadLocal<WitnessSearch>()
+		{
+			@Override
+			protected WitnessSearch initialValue()
+			{
+				return new WitnessSearch();
+			}
+		};
+		
+		for (int node = 0; node < nodeCount; node++)
+		{
+			int end = graph.getFirstEdge(node + 1);
+			for (int edge = graph.getFirstEdge(node); edge < end; edge++)
+			{
+				if (graph.isForward(edge))
+				{
+					this.addEdge(node, graph.getTarget(edge), graph.getWeight(edge), CoordinateStore.NO_INDEX);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * adds an edge or decreases the length of an existing one
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param source the source node
+	 * @param target the target node
+	 * @param weight the length of the edge
+	 * @param middle the contracted node of a shortcut or
+	 *            {@link CoordinateStore#NO_INDEX}
+	 */
+	private void addEdge(int source, int target, double weight, int middle)
+	{
+		if (source == target)
+		{
+			return;
+		}
+		
+		for (Edge edge : this.outEdges.get(source))
+		{
+			if (edge.target == target)
+			{
+				if (weight < edge.weight)
+				{
+					edge.weight = weight;
+					edge.middle = middle;
+				}
+				
+				return;
+			}
+		}
+		
+		Edge edge = new Edge(source, target, weight, middle);
+		this.outEdges.get(source).add(edge);
+		this.inEdges.get(target).add(edge);
+	}
+	
+	/**
+	 * calculates the shortcuts, which are necessary to contract a node
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param node the node to contract
+	 * @return the necessary shortcuts
+	 */
+	private List<Edge> calcShortcuts(int node)
+	{
+		List<Edge> res = new ArrayList<>();
+		WitnessSearch search = this.witnessSearches.get();
+		List<Edge> outs = this.outEdges.get(node);
+		
+		for (Edge in : this.inEdges.get(node))
+		{
+			int source = in.source;
+			
+			double maxOut = Double.NEGATIVE_INFINITY;
+			for (Edge out : outs)
+			{
+				if (out.target != source)
+				{
+					maxOut = Math.max(maxOut, out.weight);
+				}
+			}
+			if (maxOut == Double.NEGATIVE_INFINITY)
+			{
+				continue;
+			}
+			
+			search.run(source, node, in.weight + maxOut);
+			for (Edge out : outs)
+			{
+				int target = out.target;
+				double weight = in.weight + out.weight;
+				
+				if (target != source && search.costs[target] > weight)
+				{
+					res.add(new Edge(source, target, weight, node));
+				}
+			}
+		}
+		search.reset();
+		
+		return res;
+	}
+	
+	/**
+	 * calculates the priority of a node
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param node the node to calculate the priority of
+	 * @return the edge difference of the contraction of {@code node} plus its
+	 *         count of contracted neighbors
+	 */
+	private int calcPriority(int node)
+	{
+		int shortcuts = this.calcShortcuts(node).size();
+		
+		return shortcuts - this.outEdges.get(node).size() - this.inEdges.get(node).size() + this.deletedNeighbors[node];
+	}
+	
+	/**
+	 * checks if a node should be contracted before another one
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param node1 the first node
+	 * @param node2 the second node
+	 * @return <code>true</code> if {@code node1} has a lower priority than
+	 *         {@code node2}
+	 */
+	private boolean isLower(int node1, int node2)
+	{
+		int prio1 = this.priorities[node1];
+		int prio2 = this.priorities[node2];
+		
+		if (prio1 != prio2)
+		{
+			return prio1 < prio2;
+		}
+		
+		// break ties pseudo-randomly, to avoid contracting regions one by one
+		int hash1 = HashUtils.hash(node1);
+		int hash2 = HashUtils.hash(node2);
+		
+		return hash1 != hash2 ? hash1 < hash2 : node1 < node2;
+	}
+	
+	/**
+	 * runs a {@link NodeTask} for an array of nodes on
+	 * {@link Contractor#executor}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param nodes the nodes to process
+	 * @param task the {@link NodeTask} to run
+	 * @throws InterruptedException if the current {@link Thread} was
+	 *             interrupted during the waiting
+	 */
+	private void runParallel(final int[] nodes, final NodeTask task)
+	throws InterruptedException
+	{
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int chunk = 0; chunk < nodes.length; chunk += Contractor.CHUNK_SIZE)
+		{
+			final int begin = chunk;
+			final int end = Math.min(chunk + Contractor.CHUNK_SIZE, nodes.length);
+			tasks.add(new Callable<Void>()
+			{
+				@Override
+				public Void call()
+				{
+					for (int i = begin; i < end; i++)
+					{
+						task.run(i, nodes[i]);
+					}
+					
+					return null;
+				}
+			});
+		}
+		
+		for (Future<Void> future : this.executor.invokeAll(tasks))
+		{
+			try
+			{
+				future.get();
+			}
+			catch (ExecutionException e)
+			{
+				String msg = "Couldn't contract the routing graph!";
+				Contractor.LOGGER.error(msg, e);
+				throw new IllegalStateException(msg, e.getCause());
+			}
+		}
+	}
+	
+	/**
+	 * contracts all nodes
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the built {@link ContractionHierarchy}
+	 * @throws InterruptedException if the current {@link Thread} was
+	 *             interrupted during the waiting for the parallel tasks
+	 */
+	ContractionHierarchy contract()
+	throws InterruptedException
+	{
+		final int nodeCount = this.graph.getNodeCount();
+		Contractor.LOGGER.info("Contract routing graph with " + nodeCount + " nodes.");
+		
+		int[] allNodes = new int[nodeCount];
+		for (int node = 0; node < nodeCount; node++)
+		{
+			allNodes[node] = node;
+		}
+		this.runParallel(allNodes, new NodeTask()
+		{
+			@Override
+			public void run(int idx, int node)
+			{
+				Contractor.this.priorities[node] = Contractor.this.calcPriority(node);
+			}
+		});
+		
+		int rank = 0;
+		int round = 0;
+		boolean[] marked = new boolean[nodeCount];
+		while (rank < nodeCount)
+		{
+			// select the independent set of local minimums
+			IntArrayList set = new IntArrayList();
+			for (int node = 0; node < nodeCount; node++)
+			{
+				if ( ! (this.contracted[node]) && this.isLocalMinimum(node))
+				{
+					set.add(node);
+				}
+			}
+			final int[] nodes = set.toArray();
+			for (int node : nodes)
+			{
+				this.contracting[node] = true;
+			}
+			
+			final List<List<Edge>> shortcuts = new ArrayList<>(Collections.nCopies(nodes.length, (List<Edge>)null));
+			this.runParallel(nodes, new NodeTask()
+			{
+				@Override
+				public void run(int idx, int node)
+				{
+					shortcuts.set(idx, Contractor.this.calcShortcuts(node));
+				}
+			});
+			
+			IntArrayList neighbors = new IntArrayList();
+			for (int node : nodes)
+			{
+				this.ranks[node] = rank++;
+				this.contracted[node] = true;
+				this.contracting[node] = false;
+				
+				List<Edge> outs = this.outEdges.get(node);
+				List<Edge> ins = this.inEdges.get(node);
+				this.upEdges.set(node, outs);
+				this.downEdges.set(node, ins);
+				this.outEdges.set(node, Collections.<Edge> emptyList());
+				this.inEdges.set(node, Collections.<Edge> emptyList());
+				
+				for (Edge out : outs)
+				{
+					this.inEdges.get(out.target).remove(out);
+					this.markNeighbor(out.target, marked, neighbors);
+				}
+				for (Edge in : ins)
+				{
+					this.outEdges.get(in.source).remove(in);
+					this.markNeighbor(in.source, marked, neighbors);
+				}
+			}
+			for (List<Edge> nodeShortcuts : shortcuts)
+			{
+				for (Edge shortcut : nodeShortcuts)
+				{
+					this.addEdge(shortcut.source, shortcut.target, shortcut.weight, shortcut.middle);
+				}
+			}
+			
+			int[] updates = neighbors.toArray();
+			for (int node : updates)
+			{
+				marked[node] = false;
+			}
+			this.runParallel(updates, new NodeTask()
+			{
+				@Override
+				public void run(int idx, int node)
+				{
+					Contractor.this.priorities[node] = Contractor.this.calcPriority(node);
+				}
+			});
+			
+			round++;
+			Contractor.LOGGER.debug("Contracted " + nodes.length + " nodes in round " + round + ". " + (nodeCount - rank) + " nodes remaining.");
+		}
+		
+		Contractor.LOGGER.info("Contracted routing graph in " + round + " rounds.");
+		
+		return this.toHierarchy();
+	}
+	
+	/**
+	 * checks if a node has a lower priority than all its neighbors
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param node the node to check
+	 * @return <code>true</code> if {@code node} could be contracted in the
+	 *         current round
+	 */
+	private boolean isLocalMinimum(int node)
+	{
+		for (Edge out : this.outEdges.get(node))
+		{
+			if ( ! (this.isLower(node, out.target)))
+			{
+				return false;
+			}
+		}
+		for (Edge in : this.inEdges.get(node))
+		{
+			if ( ! (this.isLower(node, in.source)))
+			{
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * increases the count of contracted neighbors of a node and marks it for
+	 * the update of its priority
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param node the neighbor of a contracted node
+	 * @param marked the already marked nodes
+	 * @param neighbors the list of marked nodes
+	 */
+	private void markNeighbor(int node, boolean[] marked, IntArrayList neighbors)
+	{
+		this.deletedNeighbors[node]++;
+		
+		if ( ! (marked[node]))
+		{
+			marked[node] = true;
+			neighbors.add(node);
+		}
+	}
+	
+	/**
+	 * compresses the edges of all contracted nodes into a
+	 * {@link ContractionHierarchy}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link ContractionHierarchy}
+	 */
+	private ContractionHierarchy toHierarchy()
+	{
+		int nodeCount = this.graph.getNodeCount();
+		int[] firstUpEdges = new int[nodeCount + 1];
+		int[] firstDownEdges = new int[nodeCount + 1];
+		for (int node = 0; node < nodeCount; node++)
+		{
+			firstUpEdges[node + 1] = firstUpEdges[node] + this.upEdges.get(node).size();
+			firstDownEdges[node + 1] = firstDownEdges[node] + this.downEdges.get(node).size();
+		}
+		
+		int upCount = firstUpEdges[nodeCount];
+		int[] upTargets = new int[upCount];
+		double[] upWeights = new double[upCount];
+		int[] upMiddles = new int[upCount];
+		int downCount = firstDownEdges[nodeCount];
+		int[] downSources = new int[downCount];
+		double[] downWeights = new double[downCount];
+		int[] downMiddles = new int[downCount];
+		
+		for (int node = 0; node < nodeCount; node++)
+		{
+			int pos = firstUpEdges[node];
+			for (Edge edge : this.upEdges.get(node))
+			{
+				upTargets[pos] = edge.target;
+				upWeights[pos] = edge.weight;
+				upMiddles[pos] = edge.middle;
+				pos++;
+			}
+			
+			pos = firstDownEdges[node];
+			for (Edge edge : this.downEdges.get(node))
+			{
+				downSources[pos] = edge.source;
+				downWeights[pos] = edge.weight;
+				downMiddles[pos] = edge.middle;
+				pos++;
+			}
+		}
+		
+		Contractor.LOGGER.info("Built contraction hierarchy with " + upCount + " upward and " + downCount + " downward edges.");
+		
+		return new ContractionHierarchy(this.graph, this.ranks, firstUpEdges, upTargets, upWeights, upMiddles, firstDownEdges, downSources, downWeights, downMiddles);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,386 @@
+package me.chrisswr1.parroute.graph;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+
+import me.chrisswr1.parroute.util.LongIntHashMap;
+
+/**
+ * stores the coordinates of {@link Node}s in flat arrays<br>
+ * Every {@link Node} gets a dense internal index on insertion. The latitude
+ * and longitude are held as fixed-point <code>int</code>s (with a precision of
+ * 10<sup>-7</sup> degrees, like in the OpenStreetMap database), so the
+ * coordinates could be read without materializing a {@link Node}.<br>
+ * A store of {@link GraphSnapshot#load(java.io.File)} is read-only and backed
+ * by views of the mapped file. Its indices are looked up by a binary search
+ * over the sorted ids, instead of a hash map, which would have to be filled on
+ * loading.<br>
+ * Additions have to be synchronized externally (like the lock of the
+ * {@link me.chrisswr1.parroute.DataHandler} does). The columns are replaced on
+ * growing and published by a <code>volatile</code> reference afterwards, as
+ * well as the size after each addition. So an index, which was given by
+ * {@link CoordinateStore#add(long, double, double)} or is lower than
+ * {@link CoordinateStore#size()}, could be read by any {@link Thread} without
+ * a lock. Only the coordinates of a {@link Node}, which are overwritten
+ * concurrently, could be read half old and half new.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class CoordinateStore
+{
+	/**
+	 * the factor to convert a coordinate in degrees to its fixed-point
+	 * representation
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final double		FIXED_POINT_SCALE	= 1E7;
+	/**
+	 * the index, which is returned for unknown {@link Node} ids
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final int			NO_INDEX			= -1;
+														
+	/**
+	 * maps the {@link Node} ids to their internal index or <code>null</code>,
+	 * if the store is read-only
+	 * 
+	 * @since 0.0.1
+	 */
+	private final LongIntHashMap	indices;
+	/**
+	 * all {@link Node} ids in ascending order or <code>null</code>, if the
+	 * store isn't read-only
+	 * 
+	 * @since 0.0.1
+	 */
+	private final LongBuffer		sortedIds;
+	/**
+	 * the internal index of every id of {@link CoordinateStore#sortedIds}
+	 * 
+	 * @since 0.0.1
+	 */
+	private final IntBuffer			sortedIndices;
+	/**
+	 * the ids and coordinates by the internal index
+	 * 
+	 * @since 0.0.1
+	 */
+	private volatile Columns		columns;
+	/**
+	 * the count of stored coordinates
+	 * 
+	 * @since 0.0.1
+	 */
+	private volatile int			size				= 0;
+														
+	/**
+	 * standard constructor
+	 * 
+	 * @since 0.0.1
+	 */
+	public CoordinateStore()
+	{
+		this(LongIntHashMap.DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * constructor, with given expected size
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param expectedSize the count of {@link Node}s, which should fit into the
+	 *            store without resizing
+	 */
+	public CoordinateStore(int expectedSize)
+	{
+		int capacity = Math.max(expectedSize, 2);
+		
+		this.indices = new LongIntHashMap(capacity, CoordinateStore.NO_INDEX);
+		this.sortedIds = null;
+		this.sortedIndices = null;
+		this.columns = new Columns(LongBuffer.wrap(new long[capacity]), IntBuffer.wrap(new int[capacity]), IntBuffer.wrap(new int[capacity]));
+	}
+	
+	/**
+	 * constructor, for a read-only store with already filled columns<br>
+	 * The {@link java.nio.Buffer}s are read by their absolute index only, so
+	 * their positions don't matter.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param ids the ids of the {@link Node}s by their index
+	 * @param lats the fixed-point latitudes by the index
+	 * @param lons the fixed-point longitudes by the index
+	 * @param sortedIds the ids of the {@link Node}s in ascending order
+	 * @param sortedIndices the index of every id of {@code sortedIds}
+	 */
+	CoordinateStore(LongBuffer ids, IntBuffer lats, IntBuffer lons, LongBuffer sortedIds, IntBuffer sortedIndices)
+	{
+		this.indices = null;
+		this.sortedIds = sortedIds;
+		this.sortedIndices = sortedIndices;
+		this.columns = new Columns(ids, lats, lons);
+		this.size = ids.limit();
+	}
+	
+	/**
+	 * converts a coordinate to its fixed-point representation
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param degrees the coordinate in degrees
+	 * @return the fixed-point representation of {@code degrees}
+	 */
+	public static int toFixed(double degrees)
+	{
+		return (int)Math.round(degrees * CoordinateStore.FIXED_POINT_SCALE);
+	}
+	
+	/**
+	 * converts a fixed-point coordinate to degrees
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param fixed the fixed-point representation of the coordinate
+	 * @return the coordinate in degrees
+	 */
+	public static double toDegrees(int fixed)
+	{
+		return fixed / CoordinateStore.FIXED_POINT_SCALE;
+	}
+	
+	/**
+	 * gives the count of stored coordinates
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the count of {@link Node}s in the store
+	 */
+	public int size()
+	{
+		return this.size;
+	}
+	
+	/**
+	 * stores the coordinates of a {@link Node}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param node the {@link Node} to store
+	 * @return the internal index of {@code node}
+	 * @throws UnsupportedOperationException if the store is read-only
+	 */
+	public int add(Node node)
+	throws UnsupportedOperationException
+	{
+		return this.add(node.getId(), node.getLatitude(), node.getLongitude());
+	}
+	
+	/**
+	 * stores the coordinates of a {@link Node}<br>
+	 * If the id is already known, its coordinates will be overwritten and the
+	 * index will stay the same
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param id the id of the {@link Node}
+	 * @param lat the latitude in degrees
+	 * @param lon the longitude in degrees
+	 * @return the internal index of the {@link Node}
+	 * @throws UnsupportedOperationException if the store is read-only
+	 */
+	public int add(long id, double lat, double lon)
+	throws UnsupportedOperationException
+	{
+		if (this.indices == null)
+		{
+			throw new UnsupportedOperationException("The coordinate store is read-only!");
+		}
+		
+		Columns columns = this.columns;
+		int idx = this.indices.get(id);
+		
+		if (idx == CoordinateStore.NO_INDEX)
+		{
+			idx = this.size;
+			
+			if (idx == columns.ids.limit())
+			{
+				int capacity = idx << 1;
+				columns = new Columns(LongBuffer.wrap(Arrays.copyOf(columns.ids.array(), capacity)), IntBuffer.wrap(Arrays.copyOf(columns.lats.array(), capacity)), IntBuffer.wrap(Arrays.copyOf(columns.lons.array(), capacity)));
+				this.columns = columns;
+			}
+			
+			columns.ids.put(idx, id);
+			columns.lats.put(idx, CoordinateStore.toFixed(lat));
+			columns.lons.put(idx, CoordinateStore.toFixed(lon));
+			this.indices.put(id, idx);
+			this.size = idx + 1;
+		}
+		else
+		{
+			columns.lats.put(idx, CoordinateStore.toFixed(lat));
+			columns.lons.put(idx, CoordinateStore.toFixed(lon));
+		}
+		
+		return idx;
+	}
+	
+	/**
+	 * gives the internal index of a {@link Node}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param id the id of the {@link Node}
+	 * @return the internal index or {@link CoordinateStore#NO_INDEX}, if the
+	 *         {@link Node} isn't stored
+	 */
+	public int indexOf(long id)
+	{
+		if (this.indices != null)
+		{
+			return this.indices.get(id);
+		}
+		
+		int low = 0;
+		int high = this.size - 1;
+		while (low <= high)
+		{
+			int mid = (low + high) >>> 1;
+			long midId = this.sortedIds.get(mid);
+			
+			if (midId < id)
+			{
+				low = mid + 1;
+			}
+			else if (midId > id)
+			{
+				high = mid - 1;
+			}
+			else
+			{
+				return this.sortedIndices.get(mid);
+			}
+		}
+		
+		return CoordinateStore.NO_INDEX;
+	}
+	
+	/**
+	 * gives the {@link Node} id of an internal index
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param idx the internal index
+	 * @return the id of the {@link Node}
+	 */
+	public long getId(int idx)
+	{
+		return this.columns.ids.get(idx);
+	}
+	
+	/**
+	 * gives the fixed-point latitude of an internal index
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param idx the internal index
+	 * @return the latitude in 10<sup>-7</sup> degrees
+	 */
+	public int getFixedLatitude(int idx)
+	{
+		return this.columns.lats.get(idx);
+	}
+	
+	/**
+	 * gives the fixed-point longitude of an internal index
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param idx the internal index
+	 * @return the longitude in 10<sup>-7</sup> degrees
+	 */
+	public int getFixedLongitude(int idx)
+	{
+		return this.columns.lons.get(idx);
+	}
+	
+	/**
+	 * gives the latitude of an internal index
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param idx the internal index
+	 * @return the latitude in degrees
+	 */
+	public double getLatitude(int idx)
+	{
+		return CoordinateStore.toDegrees(this.columns.lats.get(idx));
+	}
+	
+	/**
+	 * gives the longitude of an internal index
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param idx the internal index
+	 * @return the longitude in degrees
+	 */
+	public double getLongitude(int idx)
+	{
+		return CoordinateStore.toDegrees(this.columns.lons.get(idx));
+	}
+	
+	/**
+	 * the columns of a {@link CoordinateStore}, which are replaced together on
+	 * growing
+	 * 
+	 * @version 0.0.1
+	 * @author ChrissW-R1
+	 * @since 0.0.1
+	 */
+	private static class Columns
+	{
+		/**
+		 * the {@link Node} ids by their internal index
+		 * 
+		 * @since 0.0.1
+		 */
+		private final LongBuffer	ids;
+		/**
+		 * the fixed-point latitudes by the internal index
+		 * 
+		 * @since 0.0.1
+		 */
+		private final IntBuffer		lats;
+		/**
+		 * the fixed-point longitudes by the internal index
+		 * 
+		 * @since 0.0.1
+		 */
+		private final IntBuffer		lons;
+									
+		/**
+		 * constructor, with all given columns
+		 * 
+		 * @since 0.0.1
+		 * 
+		 * @param ids the {@link Node} ids by their internal index
+		 * @param lats the fixed-point latitudes by the internal index
+		 * @param lons the fixed-point longitudes by the internal index
+		 */
+		private Columns(LongBuffer ids, IntBuffer lats, IntBuffer lons)
+		{
+			this.ids = ids;
+			this.lats = lats;
+			this.lons = lons;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,638 @@
+package me.chrisswr1.parroute.graph;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openstreetmap.osmosis.core.domain.v0_6.EntityType;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+import org.openstreetmap.osmosis.core.domain.v0_6.Relation;
+import org.openstreetmap.osmosis.core.domain.v0_6.RelationMember;
+import org.openstreetmap.osmosis.core.domain.v0_6.Way;
+import org.openstreetmap.osmosis.core.domain.v0_6.WayNode;
+
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.entities.RestrictionRelation;
+import me.chrisswr1.parroute.util.IntArrayList;
+import me.chrisswr1.parroute.util.LongHashSet;
+import me.chrisswr1.parroute.util.LongIntHashMap;
+
+/**
+ * an edge-expanded view of a {@link RoutingGraph}, in which the turn
+ * restrictions are compiled into forbidden turns<br>
+ * A search on this graph settles states instead of {@link Node}s. Every edge
+ * of the {@link RoutingGraph} is a state (with the same index) and a turn
+ * leads from a state over the target {@link Node} of its edge into one of the
+ * outgoing edges of that {@link Node}. Turns, which a restriction with a
+ * {@link Node} as via member forbids, are stored as forbidden pair of state
+ * and edge. A restriction with a {@link Way} as via member is compiled by
+ * duplicating the states along the via {@link Way}: the turn from the
+ * &quot;from&quot; {@link Way} is redirected into the duplicates, which only
+ * differ from the original states by the forbidden turns at the end of the via
+ * {@link Way}. After all restrictions were compiled, every duplicate inherits
+ * the rules of its original state, so overlapping restrictions are applied
+ * independent of their order. Only the states, which have such rules, are
+ * looked up in the tables during a search.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class EdgeBasedGraph
+{
+	/**
+	 * the {@link Logger} of this class
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Logger		LOGGER			= LogManager.getLogger(EdgeBasedGraph.class);
+													
+	/**
+	 * the {@link RoutingGraph}, which was expanded
+	 * 
+	 * @since 0.0.1
+	 */
+	private final RoutingGraph		graph;
+	/**
+	 * the source {@link Node} of every edge
+	 * 
+	 * @since 0.0.1
+	 */
+	private final int[]				sources;
+	/**
+	 * the edge of every duplicated state (the state
+	 * {@link RoutingGraph#getEdgeCount()} is the first one)
+	 * 
+	 * @since 0.0.1
+	 */
+	private final IntArrayList		duplicateEdges	= new IntArrayList();
+	/**
+	 * the states, which have forbidden or redirected turns
+	 * 
+	 * @since 0.0.1
+	 */
+	private final BitSet			ruledStates		= new BitSet();
+	/**
+	 * the forbidden turns as key of state and edge
+	 * 
+	 * @since 0.0.1
+	 */
+	private final LongHashSet		forbiddenTurns	= new LongHashSet();
+	/**
+	 * the redirected turns from the key of state and edge to the state, which
+	 * is reached instead of the edge
+	 * 
+	 * @since 0.0.1
+	 */
+	private final LongIntHashMap	redirectedTurns	= new LongIntHashMap(CoordinateStore.NO_INDEX);
+													
+	/**
+	 * constructor, with given {@link RoutingGraph} without any restriction
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param graph the {@link RoutingGraph} to expand
+	 */
+	EdgeBasedGraph(RoutingGraph graph)
+	{
+		this.graph = graph;
+		
+		int nodeCount = graph.getNodeCount();
+		this.sources = new int[graph.getEdgeCount()];
+		for (int node = 0; node < nodeCount; node++)
+		{
+			int end = graph.getFirstEdge(node + 1);
+			for (int edge = graph.getFirstEdge(node); edge < end; edge++)
+			{
+				this.sources[edge] = node;
+			}
+		}
+	}
+	
+	/**
+	 * compiles the turn restrictions of all {@link Relation}s, which are
+	 * stored in a {@link DataHandler}, into an {@link EdgeBasedGraph}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param dataHandler the {@link DataHandler} to get the {@link Relation}s
+	 *            and the via {@link Way}s from
+	 * @param graph the {@link RoutingGraph}, which was compiled from
+	 *            {@code dataHandler}
+	 * @return the compiled {@link EdgeBasedGraph}
+	 */
+	public static EdgeBasedGraph compile(DataHandler dataHandler, RoutingGraph graph)
+	{
+		EdgeBasedGraph res = new EdgeBasedGraph(graph);
+		
+		LongIntHashMap wayIndices = new LongIntHashMap(graph.getWayCount(), CoordinateStore.NO_INDEX);
+		for (int way = 0; way < graph.getWayCount(); way++)
+		{
+			wayIndices.put(graph.getWayId(way), way);
+		}
+		
+		// the via ways are compiled last, because they need the stored via way
+		List<RestrictionRelation> viaWayRels = new ArrayList<>();
+		int viaNodeCount = 0;
+		for (long relId : dataHandler.getRelIds())
+		{
+			Relation rel = dataHandler.getRel(relId);
+			
+			try
+			{
+				RestrictionRelation restrictRel = new RestrictionRelation(rel);
+				if (DataHandler.getTagValue(rel, "restriction") == null)
+				{
+					EdgeBasedGraph.LOGGER.debug(rel + " has no restriction tag. Ignoring it.");
+					continue;
+				}
+				
+				RelationMember from = restrictRel.getFrom();
+				RelationMember via = restrictRel.getVia();
+				RelationMember to = restrictRel.getTo();
+				
+				if (from == null || via == null || to == null || from.getMemberType() != EntityType.Way || to.getMemberType() != EntityType.Way)
+				{
+					EdgeBasedGraph.LOGGER.debug(rel + " is an incomplete restriction. Ignoring it.");
+					continue;
+				}
+				if (via.getMemberType() == EntityType.Way)
+				{
+					viaWayRels.add(restrictRel);
+					continue;
+				}
+				
+				int viaIdx = graph.indexOf(via.getMemberId());
+				int fromIdx = wayIndices.get(from.getMemberId());
+				int toIdx = wayIndices.get(to.getMemberId());
+				if (via.getMemberType() != EntityType.Node || viaIdx == CoordinateStore.NO_INDEX || fromIdx == CoordinateStore.NO_INDEX || toIdx == CoordinateStore.NO_INDEX)
+				{
+					EdgeBasedGraph.LOGGER.debug("Not all members of " + rel + " are part of the graph. Ignoring it.");
+					continue;
+				}
+				
+				for (int inEdge : res.getIncomingEdges(viaIdx, fromIdx))
+				{
+					res.restrict(inEdge, toIdx, restrictRel.isCommandment());
+				}
+				viaNodeCount++;
+			}
+			catch (IllegalArgumentException e)
+			{
+				EdgeBasedGraph.LOGGER.trace(rel + " is no valid restriction relation. Ignoring it.");
+			}
+		}
+		
+		int viaWayCount = 0;
+		for (RestrictionRelation restrictRel : viaWayRels)
+		{
+			Relation rel = restrictRel.getRel();
+			int fromIdx = wayIndices.get(restrictRel.getFrom().getMemberId());
+			int toIdx = wayIndices.get(restrictRel.getTo().getMemberId());
+			Way via = dataHandler.getWay(restrictRel.getVia().getMemberId());
+			int viaIdx = via == null ? CoordinateStore.NO_INDEX : wayIndices.get(via.getId());
+			if (fromIdx == CoordinateStore.NO_INDEX || toIdx == CoordinateStore.NO_INDEX || viaIdx == CoordinateStore.NO_INDEX)
+			{
+				EdgeBasedGraph.LOGGER.debug("Not all members of " + rel + " are part of the graph. Ignoring it.");
+				continue;
+			}
+			
+			int[] viaEdges = res.getViaEdges(via, viaIdx, fromIdx, toIdx);
+			if (viaEdges == null)
+			{
+				EdgeBasedGraph.LOGGER.debug("The via way of " + rel + " doesn't connect the from and to way. Ignoring it.");
+				continue;
+			}
+			
+			for (int inEdge : res.getIncomingEdges(res.sources[viaEdges[0]], fromIdx))
+			{
+				int state = inEdge;
+				for (int viaEdge : viaEdges)
+				{
+					int next = res.getNextState(state, viaEdge);
+					if (next == CoordinateStore.NO_INDEX)
+					{
+						break;
+					}
+					
+					if (next < graph.getEdgeCount())
+					{
+						next = res.duplicate(next);
+						res.redirect(state, viaEdge, next);
+					}
+					state = next;
+				}
+				
+				if (state != inEdge)
+				{
+					res.restrict(state, toIdx, restrictRel.isCommandment());
+				}
+			}
+			viaWayCount++;
+		}
+		
+		res.inheritRules();
+		
+		EdgeBasedGraph.LOGGER.info("Compiled edge based graph with " + viaNodeCount + " via node and " + viaWayCount + " via way restrictions into " + res.getStateCount() + " states.");
+		
+		return res;
+	}
+	
+	/**
+	 * gives the key of a turn
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param state the state, from which the turn starts
+	 * @param edge the edge, into which the turn leads
+	 * @return the key of the turn
+	 */
+	private static long getTurnKey(int state, int edge)
+	{
+		return ((long)state << 32) | edge;
+	}
+	
+	/**
+	 * gives all passable edges of a {@link Way}, which lead into a
+	 * {@link Node}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param node the index of the {@link Node}
+	 * @param way the index of the {@link Way}
+	 * @return the indices of the incoming edges
+	 */
+	private int[] getIncomingEdges(int node, int way)
+	{
+		RoutingGraph graph = this.getGraph();
+		IntArrayList res = new IntArrayList();
+		
+		int end = graph.getFirstEdge(node + 1);
+		for (int edge = graph.getFirstEdge(node); edge < end; edge++)
+		{
+			if (graph.getWay(edge) != way || ! (graph.isBackward(edge)))
+			{
+				continue;
+			}
+			
+			int reverse = this.findEdge(graph.getTarget(edge), node, way);
+			if (reverse != CoordinateStore.NO_INDEX)
+			{
+				res.add(reverse);
+			}
+		}
+		
+		return res.toArray();
+	}
+	
+	/**
+	 * searches the edge between two {@link Node}s on a {@link Way}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param from the index of the source {@link Node}
+	 * @param to the index of the target {@link Node}
+	 * @param way the index of the {@link Way}
+	 * @return the index of the passable edge or
+	 *         {@link CoordinateStore#NO_INDEX}, if there is none
+	 */
+	private int findEdge(int from, int to, int way)
+	{
+		RoutingGraph graph = this.getGraph();
+		
+		int end = graph.getFirstEdge(from + 1);
+		for (int edge = graph.getFirstEdge(from); edge < end; edge++)
+		{
+			if (graph.getTarget(edge) == to && graph.getWay(edge) == way && graph.isForward(edge))
+			{
+				return edge;
+			}
+		}
+		
+		return CoordinateStore.NO_INDEX;
+	}
+	
+	/**
+	 * checks if a {@link Way} has an edge at a {@link Node}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param node the index of the {@link Node}
+	 * @param way the index of the {@link Way}
+	 * @return <code>true</code> if {@code way} passes {@code node}
+	 */
+	private boolean isOnWay(int node, int way)
+	{
+		RoutingGraph graph = this.getGraph();
+		
+		int end = graph.getFirstEdge(node + 1);
+		for (int edge = graph.getFirstEdge(node); edge < end; edge++)
+		{
+			if (graph.getWay(edge) == way)
+			{
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * gives the edges along a via {@link Way} from the {@link Node}, where it
+	 * meets the &quot;from&quot; {@link Way}, to the {@link Node}, where it
+	 * meets the &quot;to&quot; {@link Way}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param via the via {@link Way}
+	 * @param viaIdx the index of {@code via}
+	 * @param fromIdx the index of the &quot;from&quot; {@link Way}
+	 * @param toIdx the index of the &quot;to&quot; {@link Way}
+	 * @return the indices of the edges in driving order or <code>null</code>,
+	 *         if the {@link Way}s don't meet or the via {@link Way} couldn't
+	 *         be passed in this direction
+	 */
+	private int[] getViaEdges(Way via, int viaIdx, int fromIdx, int toIdx)
+	{
+		IntArrayList nodes = new IntArrayList();
+		for (WayNode wayNode : via.getWayNodes())
+		{
+			int node = this.getGraph().indexOf(wayNode.getNodeId());
+			if (node != CoordinateStore.NO_INDEX && (nodes.isEmpty() || nodes.get(nodes.size() - 1) != node))
+			{
+				nodes.add(node);
+			}
+		}
+		
+		int first = -1;
+		int last = -1;
+		for (int i = 0; i < nodes.size(); i++)
+		{
+			if (first < 0 && this.isOnWay(nodes.get(i), fromIdx))
+			{
+				first = i;
+			}
+			if (this.isOnWay(nodes.get(i), toIdx) && (last < 0 || last == first))
+			{
+				last = i;
+			}
+		}
+		if (first < 0 || last < 0 || first == last)
+		{
+			return null;
+		}
+		
+		int step = first < last ? 1 : -1;
+		int[] res = new int[Math.abs(last - first)];
+		for (int i = 0; i < res.length; i++)
+		{
+			int pos = first + i * step;
+			res[i] = this.findEdge(nodes.get(pos), nodes.get(pos + step), viaIdx);
+			if (res[i] == CoordinateStore.NO_INDEX)
+			{
+				return null;
+			}
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * forbids turns at the end of a state
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param state the state, from which the turns start
+	 * @param toWay the index of the &quot;to&quot; {@link Way}
+	 * @param only <code>true</code> to forbid all turns into other
+	 *            {@link Way}s (&quot;only_*&quot;), <code>false</code> to
+	 *            forbid the turns into {@code toWay} (&quot;no_*&quot;)
+	 */
+	private void restrict(int state, int toWay, boolean only)
+	{
+		RoutingGraph graph = this.getGraph();
+		int node = graph.getTarget(this.getEdge(state));
+		
+		int end = graph.getFirstEdge(node + 1);
+		for (int edge = graph.getFirstEdge(node); edge < end; edge++)
+		{
+			if (graph.isForward(edge) && (graph.getWay(edge) == toWay) != only)
+			{
+				this.forbid(state, edge);
+			}
+		}
+	}
+	
+	/**
+	 * forbids a turn
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param state the state, from which the turn starts
+	 * @param edge the edge, into which the turn leads
+	 * @return <code>true</code> if the turn wasn't forbidden before
+	 */
+	private boolean forbid(int state, int edge)
+	{
+		this.ruledStates.set(state);
+		
+		return this.forbiddenTurns.add(EdgeBasedGraph.getTurnKey(state, edge));
+	}
+	
+	/**
+	 * redirects a turn into another state
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param state the state, from which the turn starts
+	 * @param edge the edge, into which the turn leads
+	 * @param target the state, which should be reached instead of
+	 *            {@code edge}
+	 */
+	private void redirect(int state, int edge, int target)
+	{
+		this.redirectedTurns.put(EdgeBasedGraph.getTurnKey(state, edge), target);
+		this.ruledStates.set(state);
+	}
+	
+	/**
+	 * creates a new state with the edge of another state<br>
+	 * The rules of the original state are inherited by
+	 * {@link EdgeBasedGraph#inheritRules()}.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param state the state to duplicate
+	 * @return the new state
+	 */
+	private int duplicate(int state)
+	{
+		int res = this.getStateCount();
+		this.duplicateEdges.add(this.getEdge(state));
+		
+		return res;
+	}
+	
+	/**
+	 * copies the rules of every original state into all of its duplicates,
+	 * until no rule is added anymore<br>
+	 * A restriction, which was compiled after a state was duplicated, is
+	 * applied on the duplicate, too. If a turn is redirected on both states,
+	 * the rules of the redirected states are merged.
+	 * 
+	 * @since 0.0.1
+	 */
+	private void inheritRules()
+	{
+		boolean changed = true;
+		while (changed)
+		{
+			changed = false;
+			
+			LongHashSet merged = new LongHashSet();
+			for (int state = this.sources.length; state < this.getStateCount(); state++)
+			{
+				changed |= this.inheritRules(this.getEdge(state), state, merged);
+			}
+		}
+	}
+	
+	/**
+	 * copies the rules of a state into another state with the same edge
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param source the state to copy the rules from
+	 * @param target the state to copy the rules into
+	 * @param merged the keys of the pairs of states, which were already merged
+	 *            in this pass
+	 * @return <code>true</code> if a rule was added to {@code target} or one
+	 *         of its redirected states
+	 */
+	private boolean inheritRules(int source, int target, LongHashSet merged)
+	{
+		if (source == target || ! (this.ruledStates.get(source)) || ! (merged.add(EdgeBasedGraph.getTurnKey(source, target))))
+		{
+			return false;
+		}
+		
+		RoutingGraph graph = this.getGraph();
+		boolean res = false;
+		
+		int node = graph.getTarget(this.getEdge(source));
+		int end = graph.getFirstEdge(node + 1);
+		for (int next = graph.getFirstEdge(node); next < end; next++)
+		{
+			long key = EdgeBasedGraph.getTurnKey(source, next);
+			if (this.forbiddenTurns.contains(key))
+			{
+				res |= this.forbid(target, next);
+			}
+			
+			int redirected = this.redirectedTurns.get(key);
+			if (redirected == CoordinateStore.NO_INDEX)
+			{
+				continue;
+			}
+			
+			int existing = this.redirectedTurns.get(EdgeBasedGraph.getTurnKey(target, next));
+			if (existing == CoordinateStore.NO_INDEX)
+			{
+				this.redirect(target, next, redirected);
+				res = true;
+			}
+			else
+			{
+				res |= this.inheritRules(redirected, existing, merged);
+			}
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * gives the {@link RoutingGraph}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the expanded {@link RoutingGraph}
+	 */
+	public RoutingGraph getGraph()
+	{
+		return this.graph;
+	}
+	
+	/**
+	 * gives the count of states
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the count of edges plus the count of duplicated states
+	 */
+	public int getStateCount()
+	{
+		return this.sources.length + this.duplicateEdges.size();
+	}
+	
+	/**
+	 * gives the edge of a state
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param state the index of the state
+	 * @return the index of the edge in the {@link RoutingGraph}
+	 */
+	public int getEdge(int state)
+	{
+		if (state < this.sources.length)
+		{
+			return state;
+		}
+		
+		return this.duplicateEdges.get(state - this.sources.length);
+	}
+	
+	/**
+	 * gives the source {@link Node} of an edge
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param edge the index of the edge
+	 * @return the index of the {@link Node}, which {@code edge} belongs to
+	 */
+	public int getSource(int edge)
+	{
+		return this.sources[edge];
+	}
+	
+	/**
+	 * gives the state, which is reached by a turn<br>
+	 * The direction flag of {@code edge} isn't checked.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param state the state, from which the turn starts
+	 * @param edge an outgoing edge of the target {@link Node} of
+	 *            {@code state}
+	 * @return the reached state or {@link CoordinateStore#NO_INDEX}, if the
+	 *         turn is forbidden
+	 */
+	public int getNextState(int state, int edge)
+	{
+		if ( ! (this.ruledStates.get(state)))
+		{
+			return edge;
+		}
+		
+		long key = EdgeBasedGraph.getTurnKey(state, edge);
+		if (this.forbiddenTurns.contains(key))
+		{
+			return CoordinateStore.NO_INDEX;
+		}
+		
+		int res = this.redirectedTurns.get(key);
+		return res == CoordinateStore.NO_INDEX ? edge : res;
+	}
+}
\ No newline at end of file
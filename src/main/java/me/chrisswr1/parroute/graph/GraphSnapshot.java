@@ -0,0 +1,440 @@
+package me.chrisswr1.parroute.graph;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import me.chrisswr1.parroute.entities.ModeOfTransport;
+
+/**
+ * writes a {@link RoutingGraph} into a binary file and loads it again<br>
+ * The file starts with a header (magic number, format version and the counts
+ * of nodes, edges, ways, turn restrictions and {@link RoutingProfile}s),
+ * followed by all arrays of the {@link RoutingGraph} in little-endian byte
+ * order. The ids of the nodes are additionally stored in ascending order, so
+ * a node could be found by a binary search.<br>
+ * Every array is mapped with {@link FileChannel#map(MapMode, long, long)} on
+ * loading and the loaded {@link RoutingGraph} reads directly from these
+ * mappings. So loading doesn't depend on the size of the graph and only the
+ * touched pages are read from disk. A single array mustn't exceed
+ * {@link Integer#MAX_VALUE} bytes.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class GraphSnapshot
+{
+	/**
+	 * the {@link Logger} of this class
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Logger		LOGGER		= LogManager.getLogger(GraphSnapshot.class);
+	/**
+	 * the magic number at the beginning of every snapshot (&quot;PRGS&quot;)
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final int			MAGIC		= 0x50524753;
+	/**
+	 * the version of the file format
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final int			VERSION		= 2;
+	/**
+	 * the size of the header in bytes
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final int			HEADER_SIZE	= 7 * 4;
+	/**
+	 * the byte order of the snapshot files
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final ByteOrder	BYTE_ORDER	= ByteOrder.LITTLE_ENDIAN;
+	/**
+	 * the size of the buffer to write a snapshot
+	 * 
+	 * @since 0.0.1
+	 */
+	private static final int		BUFFER_SIZE	= 1 << 16;
+												
+	/**
+	 * private standard constructor, to prevent initialization
+	 * 
+	 * @since 0.0.1
+	 */
+	private GraphSnapshot()
+	{
+	}
+	
+	/**
+	 * writes a {@link RoutingGraph} into a file<br>
+	 * The weights and flags of all {@link RoutingGraph#getProfiles()} are
+	 * written, too. A view of
+	 * {@link RoutingGraph#getProfileGraph(RoutingProfile)} couldn't be
+	 * written, because its weights aren't the lengths of the edges.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param graph the {@link RoutingGraph} to write
+	 * @param file the file to write into (will be overwritten)
+	 * @throws IOException if the file couldn't be written
+	 * @throws IllegalArgumentException if {@code graph} is the view of a
+	 *             {@link RoutingProfile}
+	 */
+	public static void write(RoutingGraph graph, File file)
+	throws IOException, IllegalArgumentException
+	{
+		if (graph.getProfile() != null)
+		{
+			throw new IllegalArgumentException("The view of " + graph.getProfile() + " couldn't be written, only the graph it was given by!");
+		}
+		
+		int nodeCount = graph.getNodeCount();
+		int edgeCount = graph.getEdgeCount();
+		int wayCount = graph.getWayCount();
+		int restrictionCount = graph.getRestrictionCount();
+		List<RoutingProfile> profiles = graph.getProfiles();
+		int profileCount = profiles.size();
+		CoordinateStore coordinates = graph.getCoordinates();
+		
+		long[] sortedIds = new long[nodeCount];
+		for (int node = 0; node < nodeCount; node++)
+		{
+			sortedIds[node] = coordinates.getId(node);
+		}
+		Arrays.sort(sortedIds);
+		
+		GraphSnapshot.LOGGER.info("Write snapshot of routing graph with " + nodeCount + " nodes and " + edgeCount + " edges into " + file + ".");
+		
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel())
+		{
+			channel.truncate(0);
+			ByteBuffer buffer = ByteBuffer.allocateDirect(GraphSnapshot.BUFFER_SIZE).order(GraphSnapshot.BYTE_ORDER);
+			
+			buffer.putInt(GraphSnapshot.MAGIC);
+			buffer.putInt(GraphSnapshot.VERSION);
+			buffer.putInt(nodeCount);
+			buffer.putInt(edgeCount);
+			buffer.putInt(wayCount);
+			buffer.putInt(restrictionCount);
+			buffer.putInt(profileCount);
+			
+			for (int node = 0; node < nodeCount; node++)
+			{
+				GraphSnapshot.ensureRemaining(channel, buffer, 8).putLong(coordinates.getId(node));
+			}
+			for (int node = 0; node < nodeCount; node++)
+			{
+				GraphSnapshot.ensureRemaining(channel, buffer, 4).putInt(coordinates.getFixedLatitude(node));
+			}
+			for (int node = 0; node < nodeCount; node++)
+			{
+				GraphSnapshot.ensureRemaining(channel, buffer, 4).putInt(coordinates.getFixedLongitude(node));
+			}
+			for (int node = 0; node < nodeCount; node++)
+			{
+				GraphSnapshot.ensureRemaining(channel, buffer, 8).putLong(sortedIds[node]);
+			}
+			for (int node = 0; node < nodeCount; node++)
+			{
+				GraphSnapshot.ensureRemaining(channel, buffer, 4).putInt(coordinates.indexOf(sortedIds[node]));
+			}
+			for (int node = 0; node <= nodeCount; node++)
+			{
+				GraphSnapshot.ensureRemaining(channel, buffer, 4).putInt(graph.getFirstEdge(node));
+			}
+			for (int edge = 0; edge < edgeCount; edge++)
+			{
+				GraphSnapshot.ensureRemaining(channel, buffer, 4).putInt(graph.getTarget(edge));
+			}
+			for (int edge = 0; edge < edgeCount; edge++)
+			{
+				GraphSnapshot.ensureRemaining(channel, buffer, 4).putFloat((float)graph.getWeight(edge));
+			}
+			for (int edge = 0; edge < edgeCount; edge++)
+			{
+				GraphSnapshot.ensureRemaining(channel, buffer, 4).putInt(graph.getWay(edge));
+			}
+			for (int way = 0; way < wayCount; way++)
+			{
+				GraphSnapshot.ensureRemaining(channel, buffer, 8).putLong(graph.getWayId(way));
+			}
+			for (int node = 0; node <= nodeCount; node++)
+			{
+				GraphSnapshot.ensureRemaining(channel, buffer, 4).putInt(graph.getFirstRestriction(node));
+			}
+			for (int restriction = 0; restriction < restrictionCount; restriction++)
+			{
+				GraphSnapshot.ensureRemaining(channel, buffer, 4).putInt(graph.getRestrictionFrom(restriction));
+			}
+			for (int restriction = 0; restriction < restrictionCount; restriction++)
+			{
+				GraphSnapshot.ensureRemaining(channel, buffer, 4).putInt(graph.getRestrictionTo(restriction));
+			}
+			for (RoutingProfile profile : profiles)
+			{
+				GraphSnapshot.ensureRemaining(channel, buffer, 4).putInt(profile.getMode().ordinal());
+			}
+			for (RoutingProfile profile : profiles)
+			{
+				GraphSnapshot.ensureRemaining(channel, buffer, 4).putInt(profile.getMaxSpeed());
+			}
+			for (RoutingProfile profile : profiles)
+			{
+				RoutingGraph view = graph.getProfileGraph(profile);
+				for (int edge = 0; edge < edgeCount; edge++)
+				{
+					GraphSnapshot.ensureRemaining(channel, buffer, 4).putFloat((float)view.getWeight(edge));
+				}
+			}
+			for (int edge = 0; edge < edgeCount; edge++)
+			{
+				GraphSnapshot.ensureRemaining(channel, buffer, 1).put(graph.getFlags(edge));
+			}
+			for (int restriction = 0; restriction < restrictionCount; restriction++)
+			{
+				GraphSnapshot.ensureRemaining(channel, buffer, 1).put(graph.isRestrictionOnly(restriction) ? (byte)1 : (byte)0);
+			}
+			for (RoutingProfile profile : profiles)
+			{
+				RoutingGraph view = graph.getProfileGraph(profile);
+				for (int edge = 0; edge < edgeCount; edge++)
+				{
+					GraphSnapshot.ensureRemaining(channel, buffer, 1).put(view.getFlags(edge));
+				}
+			}
+			
+			GraphSnapshot.flush(channel, buffer);
+			channel.force(false);
+		}
+	}
+	
+	/**
+	 * writes the content of a buffer into a {@link FileChannel}, if it hasn't
+	 * enough space left
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param channel the {@link FileChannel} to write into
+	 * @param buffer the buffer to check
+	 * @param bytes the count of bytes, which should be put into {@code buffer}
+	 * @return {@code buffer}
+	 * @throws IOException if the buffer couldn't be written
+	 */
+	private static ByteBuffer ensureRemaining(FileChannel channel, ByteBuffer buffer, int bytes)
+	throws IOException
+	{
+		if (buffer.remaining() < bytes)
+		{
+			GraphSnapshot.flush(channel, buffer);
+		}
+		
+		return buffer;
+	}
+	
+	/**
+	 * writes the whole content of a buffer into a {@link FileChannel}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param channel the {@link FileChannel} to write into
+	 * @param buffer the buffer to write
+	 * @throws IOException if the buffer couldn't be written
+	 */
+	private static void flush(FileChannel channel, ByteBuffer buffer)
+	throws IOException
+	{
+		buffer.flip();
+		while (buffer.hasRemaining())
+		{
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+	
+	/**
+	 * loads a {@link RoutingGraph} from a snapshot file<br>
+	 * The compiled {@link RoutingProfile}s of the file are ignored.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param file the snapshot file, which was written by
+	 *            {@link GraphSnapshot#write(RoutingGraph, File)}
+	 * @return the loaded {@link RoutingGraph}
+	 * @throws IOException if the file couldn't be read or isn't a valid
+	 *             snapshot
+	 */
+	public static RoutingGraph load(File file)
+	throws IOException
+	{
+		return GraphSnapshot.load(file, Collections.<RoutingProfile> emptyList());
+	}
+	
+	/**
+	 * loads a {@link RoutingGraph} with its compiled {@link RoutingProfile}s
+	 * from a snapshot file<br>
+	 * The {@link RoutingProfile}s themselves aren't stored in the file, so they
+	 * have to be given in the same order as on writing. They are checked by
+	 * their {@link ModeOfTransport} and maximum speed only.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param file the snapshot file, which was written by
+	 *            {@link GraphSnapshot#write(RoutingGraph, File)}
+	 * @param profiles the {@link RoutingProfile}s of the written graph or an
+	 *            empty {@link List} to ignore them
+	 * @return the loaded {@link RoutingGraph}
+	 * @throws IOException if the file couldn't be read or isn't a valid
+	 *             snapshot
+	 * @throws IllegalArgumentException if {@code profiles} don't match the
+	 *             stored ones
+	 */
+	public static RoutingGraph load(File file, List<RoutingProfile> profiles)
+	throws IOException, IllegalArgumentException
+	{
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel())
+		{
+			long fileSize = channel.size();
+			if (fileSize < GraphSnapshot.HEADER_SIZE)
+			{
+				throw new IOException(file + " is too small to be a graph snapshot!");
+			}
+			
+			MappedByteBuffer header = GraphSnapshot.map(channel, 0, GraphSnapshot.HEADER_SIZE);
+			if (header.getInt() != GraphSnapshot.MAGIC)
+			{
+				throw new IOException(file + " isn't a graph snapshot!");
+			}
+			int version = header.getInt();
+			if (version != GraphSnapshot.VERSION)
+			{
+				throw new IOException(file + " has the unsupported snapshot version " + version + "!");
+			}
+			int nodeCount = header.getInt();
+			int edgeCount = header.getInt();
+			int wayCount = header.getInt();
+			int restrictionCount = header.getInt();
+			int profileCount = header.getInt();
+			
+			long expectedSize = GraphSnapshot.HEADER_SIZE + 36L * nodeCount + 8L + 13L * edgeCount + 8L * wayCount + 9L * restrictionCount + 8L * profileCount + 5L * profileCount * edgeCount;
+			if (nodeCount < 0 || edgeCount < 0 || wayCount < 0 || restrictionCount < 0 || profileCount < 0 || fileSize != expectedSize)
+			{
+				throw new IOException(file + " is a truncated or corrupted graph snapshot!");
+			}
+			
+			long pos = GraphSnapshot.HEADER_SIZE;
+			LongBuffer ids = GraphSnapshot.map(channel, pos, 8L * nodeCount).asLongBuffer();
+			pos += 8L * nodeCount;
+			IntBuffer lats = GraphSnapshot.map(channel, pos, 4L * nodeCount).asIntBuffer();
+			pos += 4L * nodeCount;
+			IntBuffer lons = GraphSnapshot.map(channel, pos, 4L * nodeCount).asIntBuffer();
+			pos += 4L * nodeCount;
+			LongBuffer sortedIds = GraphSnapshot.map(channel, pos, 8L * nodeCount).asLongBuffer();
+			pos += 8L * nodeCount;
+			IntBuffer sortedIndices = GraphSnapshot.map(channel, pos, 4L * nodeCount).asIntBuffer();
+			pos += 4L * nodeCount;
+			IntBuffer firstEdges = GraphSnapshot.map(channel, pos, 4L * (nodeCount + 1)).asIntBuffer();
+			pos += 4L * (nodeCount + 1);
+			IntBuffer targets = GraphSnapshot.map(channel, pos, 4L * edgeCount).asIntBuffer();
+			pos += 4L * edgeCount;
+			FloatBuffer weights = GraphSnapshot.map(channel, pos, 4L * edgeCount).asFloatBuffer();
+			pos += 4L * edgeCount;
+			IntBuffer edgeWays = GraphSnapshot.map(channel, pos, 4L * edgeCount).asIntBuffer();
+			pos += 4L * edgeCount;
+			LongBuffer wayIds = GraphSnapshot.map(channel, pos, 8L * wayCount).asLongBuffer();
+			pos += 8L * wayCount;
+			IntBuffer firstRestrictions = GraphSnapshot.map(channel, pos, 4L * (nodeCount + 1)).asIntBuffer();
+			pos += 4L * (nodeCount + 1);
+			IntBuffer restrictionFroms = GraphSnapshot.map(channel, pos, 4L * restrictionCount).asIntBuffer();
+			pos += 4L * restrictionCount;
+			IntBuffer restrictionTos = GraphSnapshot.map(channel, pos, 4L * restrictionCount).asIntBuffer();
+			pos += 4L * restrictionCount;
+			IntBuffer profileModes = GraphSnapshot.map(channel, pos, 4L * profileCount).asIntBuffer();
+			pos += 4L * profileCount;
+			IntBuffer profileMaxSpeeds = GraphSnapshot.map(channel, pos, 4L * profileCount).asIntBuffer();
+			pos += 4L * profileCount;
+			long profileWeightsPos = pos;
+			pos += 4L * profileCount * edgeCount;
+			ByteBuffer flags = GraphSnapshot.map(channel, pos, edgeCount);
+			pos += edgeCount;
+			ByteBuffer restrictionOnlys = GraphSnapshot.map(channel, pos, restrictionCount);
+			pos += restrictionCount;
+			long profileFlagsPos = pos;
+			
+			if ( ! (profiles.isEmpty()))
+			{
+				if (profiles.size() != profileCount)
+				{
+					throw new IllegalArgumentException(file + " contains " + profileCount + " routing profiles, but " + profiles.size() + " were given!");
+				}
+				
+				for (int profile = 0; profile < profileCount; profile++)
+				{
+					RoutingProfile routingProfile = profiles.get(profile);
+					if (routingProfile.getMode().ordinal() != profileModes.get(profile) || routingProfile.getMaxSpeed() != profileMaxSpeeds.get(profile))
+					{
+						throw new IllegalArgumentException(routingProfile + " doesn't match the routing profile " + profile + " of " + file + "!");
+					}
+				}
+			}
+			
+			FloatBuffer[] profileWeights = new FloatBuffer[profiles.size()];
+			ByteBuffer[] profileFlags = new ByteBuffer[profiles.size()];
+			for (int profile = 0; profile < profileWeights.length; profile++)
+			{
+				profileWeights[profile] = GraphSnapshot.map(channel, profileWeightsPos + 4L * profile * edgeCount, 4L * edgeCount).asFloatBuffer();
+				profileFlags[profile] = GraphSnapshot.map(channel, profileFlagsPos + (long)profile * edgeCount, edgeCount);
+			}
+			
+			GraphSnapshot.LOGGER.info("Loaded snapshot of routing graph with " + nodeCount + " nodes and " + edgeCount + " edges from " + file + ".");
+			
+			CoordinateStore coordinates = new CoordinateStore(ids, lats, lons, sortedIds, sortedIndices);
+			return new RoutingGraph(coordinates, firstEdges, targets, weights, flags, edgeWays, wayIds, firstRestrictions, restrictionFroms, restrictionTos, restrictionOnlys, null, profiles, profileWeights, profileFlags);
+		}
+	}
+	
+	/**
+	 * maps a region of a {@link FileChannel} read-only<br>
+	 * The mapping stays valid after the {@link FileChannel} was closed.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param channel the {@link FileChannel} to map
+	 * @param pos the position of the region
+	 * @param size the size of the region in bytes
+	 * @return the mapped region in {@link GraphSnapshot#BYTE_ORDER}
+	 * @throws IOException if the region couldn't be mapped
+	 */
+	private static MappedByteBuffer map(FileChannel channel, long pos, long size)
+	throws IOException
+	{
+		if (size > Integer.MAX_VALUE)
+		{
+			throw new IOException("An array of " + size + " bytes is too large to be mapped!");
+		}
+		
+		MappedByteBuffer res = channel.map(MapMode.READ_ONLY, pos, size);
+		res.order(GraphSnapshot.BYTE_ORDER);
+		
+		return res;
+	}
+}
\ No newline at end of file
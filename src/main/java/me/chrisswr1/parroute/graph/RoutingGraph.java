@@ -0,0 +1,899 @@
+package me.chrisswr1.parroute.graph;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.geotools.referencing.GeodeticCalculator;
+import org.openstreetmap.osmosis.core.domain.v0_6.EntityType;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+import org.openstreetmap.osmosis.core.domain.v0_6.Relation;
+import org.openstreetmap.osmosis.core.domain.v0_6.RelationMember;
+import org.openstreetmap.osmosis.core.domain.v0_6.Way;
+import org.openstreetmap.osmosis.core.domain.v0_6.WayNode;
+
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.entities.Oneway;
+import me.chrisswr1.parroute.entities.RestrictionRelation;
+import me.chrisswr1.parroute.util.LongIntHashMap;
+
+/**
+ * a routing graph, which is compiled once from the {@link Way}s of a
+ * {@link DataHandler}<br>
+ * The adjacency is stored in compressed sparse row format: The edges of a
+ * {@link Node} are the entries from {@link RoutingGraph#getFirstEdge(int)} up
+ * to (exclusive) {@link RoutingGraph#getFirstEdge(int)} of the next
+ * {@link Node}. Every segment of a {@link Way} is stored as two edges, one for
+ * each of its {@link Node}s, and the direction flags define, in which
+ * direction an edge could be passed. So the outgoing edges of a {@link Node}
+ * are its edges with the {@link RoutingGraph#FORWARD} flag and its incoming
+ * edges the ones with the {@link RoutingGraph#BACKWARD} flag.<br>
+ * Turn restrictions with a {@link Node} as via member are compiled into a
+ * table per via {@link Node}.<br>
+ * If the {@link DataHandler} has {@link RoutingProfile}s, a weight and a flag
+ * array is compiled for each of them.
+ * {@link RoutingGraph#getProfileGraph(RoutingProfile)} gives a view on the
+ * same topology, which uses these arrays, so every search could run on it
+ * without parsing any
+ * {@link org.openstreetmap.osmosis.core.domain.v0_6.Tag}.<br>
+ * All columns are held as {@link java.nio.Buffer}s, which are read only by
+ * their absolute index. A compiled graph wraps its arrays, a graph of
+ * {@link GraphSnapshot#load(java.io.File)} uses views of the mapped file, so
+ * the file content isn't copied into the heap.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class RoutingGraph
+{
+	/**
+	 * the {@link Logger} of this class
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Logger			LOGGER				= LogManager.getLogger(RoutingGraph.class);
+	/**
+	 * flag of an edge, which could be passed from its source to its target
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final byte			FORWARD				= 1;
+	/**
+	 * flag of an edge, which could be passed from its target to its source
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final byte			BACKWARD			= 2;
+															
+	/**
+	 * the coordinates and ids of all {@link Node}s of the graph
+	 * 
+	 * @since 0.0.1
+	 */
+	private final CoordinateStore		coordinates;
+	/**
+	 * the index of the first edge of every {@link Node} (with one additional
+	 * entry for the end of the last {@link Node})
+	 * 
+	 * @since 0.0.1
+	 */
+	private final IntBuffer				firstEdges;
+	/**
+	 * the target {@link Node} of every edge
+	 * 
+	 * @since 0.0.1
+	 */
+	private final IntBuffer				targets;
+	/**
+	 * the weight of every edge (its length in meters, if no profile is used)
+	 * 
+	 * @since 0.0.1
+	 */
+	private final FloatBuffer			weights;
+	/**
+	 * the direction flags of every edge
+	 * 
+	 * @since 0.0.1
+	 */
+	private final ByteBuffer			flags;
+	/**
+	 * the index of the {@link Way} of every edge
+	 * 
+	 * @since 0.0.1
+	 */
+	private final IntBuffer				edgeWays;
+	/**
+	 * the ids of all {@link Way}s by their index
+	 * 
+	 * @since 0.0.1
+	 */
+	private final LongBuffer			wayIds;
+	/**
+	 * the index of the first turn restriction of every {@link Node} (with one
+	 * additional entry for the end of the last {@link Node})
+	 * 
+	 * @since 0.0.1
+	 */
+	private final IntBuffer				firstRestrictions;
+	/**
+	 * the index of the &quot;from&quot; {@link Way} of every turn restriction
+	 * 
+	 * @since 0.0.1
+	 */
+	private final IntBuffer				restrictionFroms;
+	/**
+	 * the index of the &quot;to&quot; {@link Way} of every turn restriction
+	 * 
+	 * @since 0.0.1
+	 */
+	private final IntBuffer				restrictionTos;
+	/**
+	 * is the turn restriction a commandment (&quot;only_*&quot;)? (1 for
+	 * <code>true</code>, 0 for <code>false</code>)
+	 * 
+	 * @since 0.0.1
+	 */
+	private final ByteBuffer			restrictionOnlys;
+	/**
+	 * the {@link RoutingProfile}, which weights and flags are used, or
+	 * <code>null</code>, if the edges are weighted by their length
+	 * 
+	 * @since 0.0.1
+	 */
+	private final RoutingProfile		profile;
+	/**
+	 * all {@link RoutingProfile}s, which were compiled
+	 * 
+	 * @since 0.0.1
+	 */
+	private final List<RoutingProfile>	profiles;
+	/**
+	 * the weight of every edge for every {@link RoutingProfile}
+	 * 
+	 * @since 0.0.1
+	 */
+	private final FloatBuffer[]			profileWeights;
+	/**
+	 * the direction flags of every edge for every {@link RoutingProfile}
+	 * 
+	 * @since 0.0.1
+	 */
+	private final ByteBuffer[]			profileFlags;
+										
+	/**
+	 * constructor, with all given arrays<br>
+	 * The arrays are wrapped, so they mustn't be changed afterwards.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param coordinates the coordinates of all {@link Node}s
+	 * @param firstEdges the index of the first edge of every {@link Node}
+	 * @param targets the target {@link Node} of every edge
+	 * @param weights the length of every edge
+	 * @param flags the direction flags of every edge
+	 * @param edgeWays the {@link Way} index of every edge
+	 * @param wayIds the ids of all {@link Way}s
+	 * @param firstRestrictions the index of the first turn restriction of every
+	 *            {@link Node}
+	 * @param restrictionFroms the &quot;from&quot; {@link Way} index of every
+	 *            turn restriction
+	 * @param restrictionTos the &quot;to&quot; {@link Way} index of every turn
+	 *            restriction
+	 * @param restrictionOnlys the commandment flag of every turn restriction
+	 */
+	RoutingGraph(CoordinateStore coordinates, int[] firstEdges, int[] targets, float[] weights, byte[] flags, int[] edgeWays, long[] wayIds, int[] firstRestrictions, int[] restrictionFroms, int[] restrictionTos, boolean[] restrictionOnlys)
+	{
+		this(coordinates, IntBuffer.wrap(firstEdges), IntBuffer.wrap(targets), FloatBuffer.wrap(weights), ByteBuffer.wrap(flags), IntBuffer.wrap(edgeWays), LongBuffer.wrap(wayIds), IntBuffer.wrap(firstRestrictions), IntBuffer.wrap(restrictionFroms), IntBuffer.wrap(restrictionTos), RoutingGraph.wrap(restrictionOnlys), null, Collections.<RoutingProfile> emptyList(), new FloatBuffer[0], new ByteBuffer[0]);
+	}
+	
+	/**
+	 * constructor, with all given columns and {@link RoutingProfile}s<br>
+	 * The {@link java.nio.Buffer}s are read by their absolute index only, so
+	 * their positions don't matter.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param coordinates the coordinates of all {@link Node}s
+	 * @param firstEdges the index of the first edge of every {@link Node}
+	 * @param targets the target {@link Node} of every edge
+	 * @param weights the weight of every edge
+	 * @param flags the direction flags of every edge
+	 * @param edgeWays the {@link Way} index of every edge
+	 * @param wayIds the ids of all {@link Way}s
+	 * @param firstRestrictions the index of the first turn restriction of every
+	 *            {@link Node}
+	 * @param restrictionFroms the &quot;from&quot; {@link Way} index of every
+	 *            turn restriction
+	 * @param restrictionTos the &quot;to&quot; {@link Way} index of every turn
+	 *            restriction
+	 * @param restrictionOnlys the commandment flag of every turn restriction
+	 *            (1 for a commandment, 0 otherwise)
+	 * @param profile the {@link RoutingProfile} of {@code weights} and
+	 *            {@code flags} or <code>null</code>, if {@code weights} are the
+	 *            lengths of the edges
+	 * @param profiles all compiled {@link RoutingProfile}s
+	 * @param profileWeights the weights of every edge for every profile
+	 * @param profileFlags the direction flags of every edge for every profile
+	 */
+	RoutingGraph(CoordinateStore coordinates, IntBuffer firstEdges, IntBuffer targets, FloatBuffer weights, ByteBuffer flags, IntBuffer edgeWays, LongBuffer wayIds, IntBuffer firstRestrictions, IntBuffer restrictionFroms, IntBuffer restrictionTos, ByteBuffer restrictionOnlys, RoutingProfile profile, List<RoutingProfile> profiles, FloatBuffer[] profileWeights, ByteBuffer[] profileFlags)
+	{
+		this.coordinates = coordinates;
+		this.firstEdges = firstEdges;
+		this.targets = targets;
+		this.weights = weights;
+		this.flags = flags;
+		this.edgeWays = edgeWays;
+		this.wayIds = wayIds;
+		this.firstRestrictions = firstRestrictions;
+		this.restrictionFroms = restrictionFroms;
+		this.restrictionTos = restrictionTos;
+		this.restrictionOnlys = restrictionOnlys;
+		this.profile = profile;
+		this.profiles = profiles;
+		this.profileWeights = profileWeights;
+		this.profileFlags = profileFlags;
+	}
+	
+	/**
+	 * compiles all {@link Way}s, which are stored in a {@link DataHandler},
+	 * into a {@link RoutingGraph}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param dataHandler the {@link DataHandler} to get the {@link Way}s and
+	 *            {@link Relation}s from
+	 * @return the compiled {@link RoutingGraph}
+	 */
+	public static RoutingGraph compile(DataHandler dataHandler)
+	{
+		long[] storedWays = dataHandler.getWayIds();
+		RoutingGraph.LOGGER.info("Compile routing graph of " + storedWays.length + " ways.");
+		
+		CoordinateStore coordinates = new CoordinateStore();
+		LongIntHashMap wayIndices = new LongIntHashMap(storedWays.length, CoordinateStore.NO_INDEX);
+		long[] wayIds = new long[storedWays.length];
+		int wayCount = 0;
+		
+		// count the segments and assign the node indices
+		int segmentCount = 0;
+		for (long wayId : storedWays)
+		{
+			Way way = dataHandler.getWay(wayId);
+			List<WayNode> wayNodes = way.getWayNodes();
+			dataHandler.prefetchNodes(way);
+			
+			long lastId = 0;
+			boolean first = true;
+			for (WayNode wayNode : wayNodes)
+			{
+				long nodeId = wayNode.getNodeId();
+				
+				if (coordinates.indexOf(nodeId) == CoordinateStore.NO_INDEX)
+				{
+					Node node = dataHandler.getNode(nodeId);
+					if (node == null)
+					{
+						RoutingGraph.LOGGER.warn("Node with id " + nodeId + " of " + way + " couldn't found. Ignoring it.");
+						continue;
+					}
+					
+					coordinates.add(node);
+				}
+				
+				if ( ! (first) && nodeId != lastId)
+				{
+					segmentCount++;
+				}
+				
+				lastId = nodeId;
+				first = false;
+			}
+			
+			wayIndices.put(wayId, wayCount);
+			wayIds[wayCount++] = wayId;
+		}
+		
+		int nodeCount = coordinates.size();
+		int edgeCount = segmentCount * 2;
+		int[] sources = new int[edgeCount];
+		int[] targets = new int[edgeCount];
+		byte[] flags = new byte[edgeCount];
+		int[] edgeWays = new int[edgeCount];
+		
+		// collect both edges of every segment
+		int edge = 0;
+		for (long wayId : storedWays)
+		{
+			Way way = dataHandler.getWay(wayId);
+			int wayIdx = wayIndices.get(wayId);
+			
+			byte forward = RoutingGraph.FORWARD | RoutingGraph.BACKWARD;
+			Oneway oneway = Oneway.get(way);
+			if (oneway == Oneway.INDICATED)
+			{
+				forward = RoutingGraph.FORWARD;
+			}
+			else if (oneway == Oneway.OPPOSITE)
+			{
+				forward = RoutingGraph.BACKWARD;
+			}
+			byte backward = RoutingGraph.reverse(forward);
+			
+			int lastIdx = CoordinateStore.NO_INDEX;
+			for (WayNode wayNode : way.getWayNodes())
+			{
+				int idx = coordinates.indexOf(wayNode.getNodeId());
+				
+				if (idx == CoordinateStore.NO_INDEX)
+				{
+					continue;
+				}
+				
+				if (lastIdx != CoordinateStore.NO_INDEX && idx != lastIdx)
+				{
+					sources[edge] = lastIdx;
+					targets[edge] = idx;
+					flags[edge] = forward;
+					edgeWays[edge] = wayIdx;
+					edge++;
+					
+					sources[edge] = idx;
+					targets[edge] = lastIdx;
+					flags[edge] = backward;
+					edgeWays[edge] = wayIdx;
+					edge++;
+				}
+				
+				lastIdx = idx;
+			}
+		}
+		
+		// sort the edges by their source
+		int[] firstEdges = new int[nodeCount + 1];
+		for (int i = 0; i < edgeCount; i++)
+		{
+			firstEdges[sources[i] + 1]++;
+		}
+		for (int i = 0; i < nodeCount; i++)
+		{
+			firstEdges[i + 1] += firstEdges[i];
+		}
+		
+		// the values of the profiles were evaluated, when the ways were stored
+		List<RoutingProfile> profiles = dataHandler.getProfiles();
+		int profileCount = profiles.size();
+		int[][] wayValues = new int[wayCount][];
+		for (int way = 0; way < wayCount && profileCount > 0; way++)
+		{
+			wayValues[way] = dataHandler.getProfileValues(wayIds[way]);
+			if (wayValues[way] == null || wayValues[way].length != profileCount)
+			{
+				wayValues[way] = new int[profileCount];
+				for (int profile = 0; profile < profileCount; profile++)
+				{
+					wayValues[way][profile] = profiles.get(profile).evaluate(dataHandler.getWay(wayIds[way]));
+				}
+			}
+		}
+		
+		int[] sortedTargets = new int[edgeCount];
+		float[] sortedWeights = new float[edgeCount];
+		byte[] sortedFlags = new byte[edgeCount];
+		int[] sortedWays = new int[edgeCount];
+		float[][] profileWeights = new float[profileCount][edgeCount];
+		byte[][] profileFlags = new byte[profileCount][edgeCount];
+		int[] fill = Arrays.copyOf(firstEdges, nodeCount);
+		GeodeticCalculator calculator = new GeodeticCalculator();
+		for (int i = 0; i < edgeCount; i++)
+		{
+			int source = sources[i];
+			int target = targets[i];
+			int pos = fill[source]++;
+			
+			calculator.setStartingGeographicPoint(coordinates.getLongitude(source), coordinates.getLatitude(source));
+			calculator.setDestinationGeographicPoint(coordinates.getLongitude(target), coordinates.getLatitude(target));
+			
+			double length = calculator.getOrthodromicDistance();
+			
+			sortedTargets[pos] = target;
+			sortedWeights[pos] = (float)length;
+			sortedFlags[pos] = flags[i];
+			sortedWays[pos] = edgeWays[i];
+			
+			for (int profile = 0; profile < profileCount; profile++)
+			{
+				int value = wayValues[edgeWays[i]][profile];
+				
+				// every odd edge runs against the direction of its way
+				byte profileFlag = RoutingProfile.getFlags(value);
+				if ((i & 1) != 0)
+				{
+					profileFlag = RoutingGraph.reverse(profileFlag);
+				}
+				
+				profileFlags[profile][pos] = profileFlag;
+				profileWeights[profile][pos] = profileFlag == 0 ? Float.POSITIVE_INFINITY : profiles.get(profile).getWeight(length, value);
+			}
+		}
+		
+		// compile the turn restrictions
+		int[] restrictionCounts = new int[nodeCount + 1];
+		int restrictionCount = 0;
+		long[] storedRels = dataHandler.getRelIds();
+		int[] relVias = new int[storedRels.length];
+		int[] relFroms = new int[storedRels.length];
+		int[] relTos = new int[storedRels.length];
+		boolean[] relOnlys = new boolean[storedRels.length];
+		for (long relId : storedRels)
+		{
+			Relation rel = dataHandler.getRel(relId);
+			
+			try
+			{
+				RestrictionRelation restrictRel = new RestrictionRelation(rel);
+				if (DataHandler.getTagValue(rel, "restriction") == null)
+				{
+					RoutingGraph.LOGGER.debug(rel + " has no restriction tag. Ignoring it.");
+					continue;
+				}
+				
+				RelationMember from = restrictRel.getFrom();
+				RelationMember via = restrictRel.getVia();
+				RelationMember to = restrictRel.getTo();
+				
+				if (from == null || via == null || to == null || from.getMemberType() != EntityType.Way || to.getMemberType() != EntityType.Way)
+				{
+					RoutingGraph.LOGGER.debug(rel + " is an incomplete restriction. Ignoring it.");
+					continue;
+				}
+				if (via.getMemberType() != EntityType.Node)
+				{
+					RoutingGraph.LOGGER.debug(rel + " doesn't have a node as via member. Ignoring it.");
+					continue;
+				}
+				
+				int viaIdx = coordinates.indexOf(via.getMemberId());
+				int fromIdx = wayIndices.get(from.getMemberId());
+				int toIdx = wayIndices.get(to.getMemberId());
+				if (viaIdx == CoordinateStore.NO_INDEX || fromIdx == CoordinateStore.NO_INDEX || toIdx == CoordinateStore.NO_INDEX)
+				{
+					RoutingGraph.LOGGER.debug("Not all members of " + rel + " are part of the graph. Ignoring it.");
+					continue;
+				}
+				
+				relVias[restrictionCount] = viaIdx;
+				relFroms[restrictionCount] = fromIdx;
+				relTos[restrictionCount] = toIdx;
+				relOnlys[restrictionCount] = restrictRel.isCommandment();
+				restrictionCounts[viaIdx + 1]++;
+				restrictionCount++;
+			}
+			catch (IllegalArgumentException e)
+			{
+				RoutingGraph.LOGGER.trace(rel + " is no valid restriction relation. Ignoring it.");
+			}
+		}
+		
+		for (int i = 0; i < nodeCount; i++)
+		{
+			restrictionCounts[i + 1] += restrictionCounts[i];
+		}
+		int[] restrictionFroms = new int[restrictionCount];
+		int[] restrictionTos = new int[restrictionCount];
+		boolean[] restrictionOnlys = new boolean[restrictionCount];
+		fill = Arrays.copyOf(restrictionCounts, nodeCount);
+		for (int i = 0; i < restrictionCount; i++)
+		{
+			int pos = fill[relVias[i]]++;
+			restrictionFroms[pos] = relFroms[i];
+			restrictionTos[pos] = relTos[i];
+			restrictionOnlys[pos] = relOnlys[i];
+		}
+		
+		RoutingGraph.LOGGER.info("Compiled routing graph with " + nodeCount + " nodes, " + edgeCount + " edges, " + restrictionCount + " turn restrictions and " + profileCount + " profiles.");
+		
+		FloatBuffer[] profileWeightBuffers = new FloatBuffer[profileCount];
+		ByteBuffer[] profileFlagBuffers = new ByteBuffer[profileCount];
+		for (int profile = 0; profile < profileCount; profile++)
+		{
+			profileWeightBuffers[profile] = FloatBuffer.wrap(profileWeights[profile]);
+			profileFlagBuffers[profile] = ByteBuffer.wrap(profileFlags[profile]);
+		}
+		
+		return new RoutingGraph(coordinates, IntBuffer.wrap(firstEdges), IntBuffer.wrap(sortedTargets), FloatBuffer.wrap(sortedWeights), ByteBuffer.wrap(sortedFlags), IntBuffer.wrap(sortedWays), LongBuffer.wrap(Arrays.copyOf(wayIds, wayCount)), IntBuffer.wrap(restrictionCounts), IntBuffer.wrap(restrictionFroms), IntBuffer.wrap(restrictionTos), RoutingGraph.wrap(restrictionOnlys), null, profiles, profileWeightBuffers, profileFlagBuffers);
+	}
+	
+	/**
+	 * wraps the commandment flags of turn restrictions into a
+	 * {@link ByteBuffer}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param restrictionOnlys the commandment flag of every turn restriction
+	 * @return the flags as {@link ByteBuffer} (1 for a commandment, 0
+	 *         otherwise)
+	 */
+	private static ByteBuffer wrap(boolean[] restrictionOnlys)
+	{
+		byte[] res = new byte[restrictionOnlys.length];
+		for (int restriction = 0; restriction < restrictionOnlys.length; restriction++)
+		{
+			res[restriction] = restrictionOnlys[restriction] ? (byte)1 : (byte)0;
+		}
+		
+		return ByteBuffer.wrap(res);
+	}
+	
+	/**
+	 * swaps the {@link RoutingGraph#FORWARD} and {@link RoutingGraph#BACKWARD}
+	 * flag
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param flags the direction flags to reverse
+	 * @return the direction flags for the opposite edge
+	 */
+	private static byte reverse(byte flags)
+	{
+		byte res = 0;
+		
+		if ((flags & RoutingGraph.FORWARD) != 0)
+		{
+			res |= RoutingGraph.BACKWARD;
+		}
+		if ((flags & RoutingGraph.BACKWARD) != 0)
+		{
+			res |= RoutingGraph.FORWARD;
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * gives a view on this graph, which uses the weights and flags of a
+	 * {@link RoutingProfile}<br>
+	 * The view shares all other arrays with this graph.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param profile one of {@link RoutingGraph#getProfiles()}
+	 * @return the view, which weights are given by {@code profile}
+	 * @throws IllegalArgumentException if {@code profile} wasn't compiled
+	 */
+	public RoutingGraph getProfileGraph(RoutingProfile profile)
+	throws IllegalArgumentException
+	{
+		int idx = this.profiles.indexOf(profile);
+		if (idx < 0)
+		{
+			throw new IllegalArgumentException(profile + " wasn't compiled into the routing graph!");
+		}
+		
+		return new RoutingGraph(this.coordinates, this.firstEdges, this.targets, this.profileWeights[idx], this.profileFlags[idx], this.edgeWays, this.wayIds, this.firstRestrictions, this.restrictionFroms, this.restrictionTos, this.restrictionOnlys, profile, this.profiles, this.profileWeights, this.profileFlags);
+	}
+	
+	/**
+	 * gives all compiled {@link RoutingProfile}s
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link RoutingProfile}s, which could be used by
+	 *         {@link RoutingGraph#getProfileGraph(RoutingProfile)}
+	 */
+	public List<RoutingProfile> getProfiles()
+	{
+		return this.profiles;
+	}
+	
+	/**
+	 * gives the {@link RoutingProfile} of the weights
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link RoutingProfile} or <code>null</code>, if the edges
+	 *         are weighted by their length
+	 */
+	public RoutingProfile getProfile()
+	{
+		return this.profile;
+	}
+	
+	/**
+	 * gives the coordinates and ids of all {@link Node}s of the graph
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link CoordinateStore}, which indices are the {@link Node}
+	 *         indices of the graph
+	 */
+	public CoordinateStore getCoordinates()
+	{
+		return this.coordinates;
+	}
+	
+	/**
+	 * gives the count of {@link Node}s
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the count of {@link Node}s
+	 */
+	public int getNodeCount()
+	{
+		return this.firstEdges.limit() - 1;
+	}
+	
+	/**
+	 * gives the count of edges
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the count of edges (two per {@link Way} segment)
+	 */
+	public int getEdgeCount()
+	{
+		return this.targets.limit();
+	}
+	
+	/**
+	 * gives the index of a {@link Node} in the graph
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param id the id of the {@link Node}
+	 * @return the index of the {@link Node} or {@link CoordinateStore#NO_INDEX}
+	 *         , if it isn't part of the graph
+	 */
+	public int indexOf(long id)
+	{
+		return this.coordinates.indexOf(id);
+	}
+	
+	/**
+	 * gives the id of a {@link Node}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param node the index of the {@link Node}
+	 * @return the id of the {@link Node}
+	 */
+	public long getNodeId(int node)
+	{
+		return this.coordinates.getId(node);
+	}
+	
+	/**
+	 * gives the index of the first edge of a {@link Node}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param node the index of the {@link Node}
+	 * @return the index of the first edge of {@code node}, which is also the
+	 *         end (exclusive) of the edges of the previous {@link Node}
+	 */
+	public int getFirstEdge(int node)
+	{
+		return this.firstEdges.get(node);
+	}
+	
+	/**
+	 * gives the target {@link Node} of an edge
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param edge the index of the edge
+	 * @return the index of the target {@link Node}
+	 */
+	public int getTarget(int edge)
+	{
+		return this.targets.get(edge);
+	}
+	
+	/**
+	 * gives the weight of an edge
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param edge the index of the edge
+	 * @return the length of {@code edge} in meters or the weight of
+	 *         {@link RoutingGraph#getProfile()}
+	 */
+	public double getWeight(int edge)
+	{
+		return this.weights.get(edge);
+	}
+	
+	/**
+	 * gives the direction flags of an edge
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param edge the index of the edge
+	 * @return the combination of {@link RoutingGraph#FORWARD} and
+	 *         {@link RoutingGraph#BACKWARD}
+	 */
+	public byte getFlags(int edge)
+	{
+		return this.flags.get(edge);
+	}
+	
+	/**
+	 * checks if an edge could be passed from its source to its target
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param edge the index of the edge
+	 * @return <code>true</code> if {@code edge} is an outgoing edge of its
+	 *         source
+	 */
+	public boolean isForward(int edge)
+	{
+		return (this.flags.get(edge) & RoutingGraph.FORWARD) != 0;
+	}
+	
+	/**
+	 * checks if an edge could be passed from its target to its source
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param edge the index of the edge
+	 * @return <code>true</code> if {@code edge} is an incoming edge of its
+	 *         source
+	 */
+	public boolean isBackward(int edge)
+	{
+		return (this.flags.get(edge) & RoutingGraph.BACKWARD) != 0;
+	}
+	
+	/**
+	 * gives the {@link Way} index of an edge
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param edge the index of the edge
+	 * @return the index of the {@link Way}, from which {@code edge} was
+	 *         compiled
+	 */
+	public int getWay(int edge)
+	{
+		return this.edgeWays.get(edge);
+	}
+	
+	/**
+	 * gives the id of a {@link Way}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param way the index of the {@link Way}
+	 * @return the id of the {@link Way}
+	 */
+	public long getWayId(int way)
+	{
+		return this.wayIds.get(way);
+	}
+	
+	/**
+	 * gives the count of {@link Way}s
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the count of {@link Way}s, which have at least one edge
+	 */
+	public int getWayCount()
+	{
+		return this.wayIds.limit();
+	}
+	
+	/**
+	 * gives the count of turn restrictions
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the count of compiled turn restrictions
+	 */
+	public int getRestrictionCount()
+	{
+		return this.restrictionFroms.limit();
+	}
+	
+	/**
+	 * gives the index of the first turn restriction of a {@link Node}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param node the index of the via {@link Node} (or the count of
+	 *            {@link Node}s, to get the end of the last {@link Node})
+	 * @return the index of the first turn restriction of {@code node}
+	 */
+	public int getFirstRestriction(int node)
+	{
+		return this.firstRestrictions.get(node);
+	}
+	
+	/**
+	 * gives the &quot;from&quot; {@link Way} of a turn restriction
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param restriction the index of the turn restriction
+	 * @return the index of the &quot;from&quot; {@link Way}
+	 */
+	public int getRestrictionFrom(int restriction)
+	{
+		return this.restrictionFroms.get(restriction);
+	}
+	
+	/**
+	 * gives the &quot;to&quot; {@link Way} of a turn restriction
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param restriction the index of the turn restriction
+	 * @return the index of the &quot;to&quot; {@link Way}
+	 */
+	public int getRestrictionTo(int restriction)
+	{
+		return this.restrictionTos.get(restriction);
+	}
+	
+	/**
+	 * checks if a turn restriction is a commandment
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param restriction the index of the turn restriction
+	 * @return <code>true</code> if the turn restriction is an
+	 *         &quot;only_*&quot; one, <code>false</code> if it's a prohibition
+	 */
+	public boolean isRestrictionOnly(int restriction)
+	{
+		return this.restrictionOnlys.get(restriction) != 0;
+	}
+	
+	/**
+	 * checks if a turn from one {@link Way} into another is allowed at a
+	 * {@link Node}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param fromWay the index of the {@link Way}, on which {@code via} is
+	 *            reached
+	 * @param via the index of the {@link Node}, at which the turn happens
+	 * @param toWay the index of the {@link Way}, on which {@code via} is left
+	 * @return <code>false</code> if a turn restriction forbids the turn,
+	 *         <code>true</code> otherwise
+	 */
+	public boolean isTurnAllowed(int fromWay, int via, int toWay)
+	{
+		int end = this.firstRestrictions.get(via + 1);
+		boolean commanded = false;
+		boolean commandmentFound = false;
+		
+		for (int i = this.firstRestrictions.get(via); i < end; i++)
+		{
+			if (this.restrictionFroms.get(i) != fromWay)
+			{
+				continue;
+			}
+			
+			if (this.restrictionOnlys.get(i) != 0)
+			{
+				commandmentFound = true;
+				commanded |= this.restrictionTos.get(i) == toWay;
+			}
+			else if (this.restrictionTos.get(i) == toWay)
+			{
+				return false;
+			}
+		}
+		
+		return commanded || ! (commandmentFound);
+	}
+}
\ No newline at end of file
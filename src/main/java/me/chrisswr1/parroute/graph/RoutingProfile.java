@@ -0,0 +1,461 @@
+package me.chrisswr1.parroute.graph;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.openstreetmap.osmosis.core.domain.v0_6.Tag;
+import org.openstreetmap.osmosis.core.domain.v0_6.Way;
+
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.entities.ModeOfTransport;
+import me.chrisswr1.parroute.entities.Oneway;
+import me.chrisswr1.parroute.io.RoutableFilter;
+
+/**
+ * defines, how a {@link ModeOfTransport} could use a {@link Way}<br>
+ * The access, the speed and the oneway status of a {@link Way} are evaluated
+ * once by {@link RoutingProfile#evaluate(Way)}, when the {@link Way} is stored
+ * in a {@link DataHandler}, and packed into a single <code>int</code>. A
+ * {@link RoutingGraph} compiles these values into a weight and a flag array per
+ * profile, which share the topology of the graph. The weight of an edge is its
+ * travel time, expressed as the distance, which could be passed at
+ * {@link RoutingProfile#getMaxSpeed()} in that time. So it's never shorter than
+ * the length of the edge and the straight-line distance stays an admissible
+ * estimate.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class RoutingProfile
+{
+	/**
+	 * the default speeds of a motor vehicle by the <code>highway</code> value
+	 * (in km/h)
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Map<String, Integer>	MOTOR_SPEEDS;
+	/**
+	 * the default speeds of a bicycle by the <code>highway</code> value (in
+	 * km/h)
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Map<String, Integer>	BICYCLE_SPEEDS;
+	/**
+	 * the count of bits of the flags in an evaluated value
+	 * 
+	 * @since 0.0.1
+	 */
+	private static final int					FLAG_BITS		= 2;
+																
+	static
+	{
+		Map<String, Integer> motorSpeeds = new HashMap<>();
+		motorSpeeds.put("motorway", 120);
+		motorSpeeds.put("motorway_link", 60);
+		motorSpeeds.put("trunk", 100);
+		motorSpeeds.put("trunk_link", 50);
+		motorSpeeds.put("primary", 80);
+		motorSpeeds.put("primary_link", 40);
+		motorSpeeds.put("secondary", 70);
+		motorSpeeds.put("secondary_link", 35);
+		motorSpeeds.put("tertiary", 60);
+		motorSpeeds.put("tertiary_link", 30);
+		motorSpeeds.put("unclassified", 50);
+		motorSpeeds.put("residential", 30);
+		motorSpeeds.put("living_street", 7);
+		motorSpeeds.put("service", 20);
+		motorSpeeds.put("track", 15);
+		MOTOR_SPEEDS = Collections.unmodifiableMap(motorSpeeds);
+		
+		Map<String, Integer> bicycleSpeeds = new HashMap<>();
+		bicycleSpeeds.put("cycleway", 18);
+		bicycleSpeeds.put("track", 12);
+		bicycleSpeeds.put("path", 12);
+		bicycleSpeeds.put("footway", 6);
+		bicycleSpeeds.put("pedestrian", 6);
+		bicycleSpeeds.put("steps", 2);
+		BICYCLE_SPEEDS = Collections.unmodifiableMap(bicycleSpeeds);
+	}
+	
+	/**
+	 * the {@link RoutableFilter}, which decides about the access
+	 * 
+	 * @since 0.0.1
+	 */
+	private final RoutableFilter				filter;
+	/**
+	 * the speeds by the <code>highway</code> value (in km/h)
+	 * 
+	 * @since 0.0.1
+	 */
+	private final Map<String, Integer>			speeds;
+	/**
+	 * the speed of {@link Way}s, which aren't in {@link RoutingProfile#speeds}
+	 * (in km/h)
+	 * 
+	 * @since 0.0.1
+	 */
+	private final int							defaultSpeed;
+	/**
+	 * the maximum speed (in km/h)
+	 * 
+	 * @since 0.0.1
+	 */
+	private final int							maxSpeed;
+	/**
+	 * the keys of the oneway {@link Tag}s, which apply to the
+	 * {@link ModeOfTransport}, starting with the most specific one
+	 * 
+	 * @since 0.0.1
+	 */
+	private final String[]						onewayKeys;
+												
+	/**
+	 * constructor, with the default speeds of a {@link ModeOfTransport}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param mode the {@link ModeOfTransport} of the profile
+	 */
+	public RoutingProfile(ModeOfTransport mode)
+	{
+		this(mode, RoutingProfile.getDefaultSpeeds(mode), RoutingProfile.getDefaultSpeed(mode), RoutingProfile.getDefaultMaxSpeed(mode));
+	}
+	
+	/**
+	 * constructor, with all given speeds
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param mode the {@link ModeOfTransport} of the profile
+	 * @param speeds the speeds by the <code>highway</code> value (in km/h)
+	 * @param defaultSpeed the speed of all other {@link Way}s (in km/h)
+	 * @param maxSpeed the maximum speed, which also limits the
+	 *            <code>maxspeed</code> {@link Tag}s (in km/h)
+	 * @throws IllegalArgumentException if a speed isn't positive or higher
+	 *             than {@code maxSpeed}
+	 */
+	public RoutingProfile(ModeOfTransport mode, Map<String, Integer> speeds, int defaultSpeed, int maxSpeed)
+	throws IllegalArgumentException
+	{
+		if (defaultSpeed < 1 || maxSpeed < defaultSpeed)
+		{
+			throw new IllegalArgumentException("Invalid speeds of profile " + mode + ": " + defaultSpeed + " km/h default and " + maxSpeed + " km/h maximum");
+		}
+		for (int speed : speeds.values())
+		{
+			if (speed < 1 || speed > maxSpeed)
+			{
+				throw new IllegalArgumentException("Invalid speed of profile " + mode + ": " + speed + " km/h");
+			}
+		}
+		
+		this.filter = new RoutableFilter(mode);
+		this.speeds = new HashMap<>(speeds);
+		this.defaultSpeed = defaultSpeed;
+		this.maxSpeed = maxSpeed;
+		
+		Set<String> keys = mode.keys();
+		this.onewayKeys = new String[keys.size() + 1];
+		int idx = 0;
+		for (String key : keys)
+		{
+			this.onewayKeys[idx++] = "oneway:" + key;
+		}
+		this.onewayKeys[idx] = "oneway";
+	}
+	
+	/**
+	 * gives the default speeds by the <code>highway</code> value
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param mode the {@link ModeOfTransport}
+	 * @return the speeds (in km/h)
+	 */
+	private static Map<String, Integer> getDefaultSpeeds(ModeOfTransport mode)
+	{
+		if (mode.is(ModeOfTransport.MOTOR_VEHICLE))
+		{
+			return RoutingProfile.MOTOR_SPEEDS;
+		}
+		if (mode.is(ModeOfTransport.NON_MOTORIZED_VEHICLE))
+		{
+			return RoutingProfile.BICYCLE_SPEEDS;
+		}
+		
+		return Collections.emptyMap();
+	}
+	
+	/**
+	 * gives the default speed of the {@link Way}s, which aren't in the default
+	 * speeds
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param mode the {@link ModeOfTransport}
+	 * @return the speed (in km/h)
+	 */
+	private static int getDefaultSpeed(ModeOfTransport mode)
+	{
+		if (mode.is(ModeOfTransport.MOTOR_VEHICLE))
+		{
+			return 30;
+		}
+		if (mode.is(ModeOfTransport.NON_MOTORIZED_VEHICLE))
+		{
+			return 15;
+		}
+		if (mode.is(ModeOfTransport.RAIL))
+		{
+			return 80;
+		}
+		if (mode.is(ModeOfTransport.WATER))
+		{
+			return 15;
+		}
+		
+		return 5;
+	}
+	
+	/**
+	 * gives the default maximum speed
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param mode the {@link ModeOfTransport}
+	 * @return the maximum speed (in km/h)
+	 */
+	private static int getDefaultMaxSpeed(ModeOfTransport mode)
+	{
+		if (mode.is(ModeOfTransport.MOTOR_VEHICLE))
+		{
+			return 130;
+		}
+		if (mode.is(ModeOfTransport.NON_MOTORIZED_VEHICLE))
+		{
+			return 25;
+		}
+		if (mode.is(ModeOfTransport.RAIL))
+		{
+			return 160;
+		}
+		
+		return RoutingProfile.getDefaultSpeed(mode);
+	}
+	
+	/**
+	 * parses the value of a <code>maxspeed</code> {@link Tag}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param value the value of the {@link Tag} or <code>null</code>
+	 * @return the speed (in km/h) or <code>-1</code>, if {@code value} isn't a
+	 *         numeric speed
+	 */
+	public static int parseMaxSpeed(String value)
+	{
+		if (value == null)
+		{
+			return -1;
+		}
+		
+		value = value.trim().toLowerCase();
+		double factor = 1;
+		if (value.endsWith("mph"))
+		{
+			factor = 1.609344;
+			value = value.substring(0, value.length() - 3).trim();
+		}
+		else if (value.endsWith("km/h"))
+		{
+			value = value.substring(0, value.length() - 4).trim();
+		}
+		
+		try
+		{
+			int res = (int)Math.round(Double.parseDouble(value) * factor);
+			return res > 0 ? res : -1;
+		}
+		catch (NumberFormatException e)
+		{
+			return -1;
+		}
+	}
+	
+	/**
+	 * evaluates, how the {@link ModeOfTransport} of this profile could use a
+	 * {@link Way}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param way the {@link Way} to evaluate
+	 * @return the packed speed and direction flags, which could be read by
+	 *         {@link RoutingProfile#getSpeed(int)} and
+	 *         {@link RoutingProfile#getFlags(int)}, or <code>0</code>, if
+	 *         {@code way} isn't accessible
+	 */
+	public int evaluate(Way way)
+	{
+		if ( ! (this.filter.isRoutable(way)))
+		{
+			return 0;
+		}
+		
+		Oneway oneway = null;
+		for (String key : this.onewayKeys)
+		{
+			// the general oneway tag only applies to vehicles
+			if (key.equals("oneway") && ! (this.getMode().is(ModeOfTransport.VEHICLE)))
+			{
+				break;
+			}
+			
+			oneway = Oneway.get(way, key);
+			if (oneway != null)
+			{
+				break;
+			}
+		}
+		if (oneway == null && this.getMode().is(ModeOfTransport.VEHICLE) && "roundabout".equals(RoutableFilter.getTagValue(way, "junction")))
+		{
+			oneway = Oneway.INDICATED;
+		}
+		
+		int flags = RoutingGraph.FORWARD | RoutingGraph.BACKWARD;
+		if (oneway == Oneway.INDICATED)
+		{
+			flags = RoutingGraph.FORWARD;
+		}
+		else if (oneway == Oneway.OPPOSITE)
+		{
+			flags = RoutingGraph.BACKWARD;
+		}
+		
+		Integer highwaySpeed = this.speeds.get(RoutableFilter.getTagValue(way, "highway"));
+		int speed = highwaySpeed == null ? this.defaultSpeed : highwaySpeed;
+		
+		// only motor vehicles are expected to drive at the allowed speed
+		int allowedSpeed = RoutingProfile.parseMaxSpeed(RoutableFilter.getTagValue(way, "maxspeed"));
+		if (allowedSpeed > 0)
+		{
+			speed = this.getMode().is(ModeOfTransport.MOTOR_VEHICLE) ? allowedSpeed : Math.min(speed, allowedSpeed);
+		}
+		speed = Math.min(speed, this.getMaxSpeed());
+		
+		return (speed << RoutingProfile.FLAG_BITS) | flags;
+	}
+	
+	/**
+	 * gives the speed of an evaluated value
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param value the result of {@link RoutingProfile#evaluate(Way)}
+	 * @return the speed (in km/h)
+	 */
+	public static int getSpeed(int value)
+	{
+		return value >>> RoutingProfile.FLAG_BITS;
+	}
+	
+	/**
+	 * gives the direction flags of an evaluated value
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param value the result of {@link RoutingProfile#evaluate(Way)}
+	 * @return the combination of {@link RoutingGraph#FORWARD} and
+	 *         {@link RoutingGraph#BACKWARD} in the direction of the
+	 *         {@link Way}
+	 */
+	public static byte getFlags(int value)
+	{
+		return (byte)(value & ((1 << RoutingProfile.FLAG_BITS) - 1));
+	}
+	
+	/**
+	 * gives the weight of an edge
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param length the length of the edge (in meters)
+	 * @param value the result of {@link RoutingProfile#evaluate(Way)} for the
+	 *            {@link Way} of the edge
+	 * @return the distance, which could be passed at
+	 *         {@link RoutingProfile#getMaxSpeed()} in the time to pass the
+	 *         edge, or {@link Float#POSITIVE_INFINITY}, if the edge isn't
+	 *         accessible
+	 */
+	public float getWeight(double length, int value)
+	{
+		int speed = RoutingProfile.getSpeed(value);
+		if (speed <= 0)
+		{
+			return Float.POSITIVE_INFINITY;
+		}
+		
+		return (float)(length * this.getMaxSpeed() / speed);
+	}
+	
+	/**
+	 * converts a weight into a travel time
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param weight the weight of an edge or path
+	 * @return the travel time (in seconds)
+	 */
+	public double toSeconds(double weight)
+	{
+		return weight * 3.6 / this.getMaxSpeed();
+	}
+	
+	/**
+	 * converts a travel time into a weight
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param seconds the travel time (in seconds)
+	 * @return the weight, which is passed in {@code seconds}
+	 */
+	public double toWeight(double seconds)
+	{
+		return seconds * this.getMaxSpeed() / 3.6;
+	}
+	
+	/**
+	 * gives the {@link ModeOfTransport}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link ModeOfTransport} of the profile
+	 */
+	public ModeOfTransport getMode()
+	{
+		return this.filter.getMode();
+	}
+	
+	/**
+	 * gives the maximum speed
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the maximum speed (in km/h)
+	 */
+	public int getMaxSpeed()
+	{
+		return this.maxSpeed;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "RoutingProfile(" + this.getMode() + ")";
+	}
+}
\ No newline at end of file
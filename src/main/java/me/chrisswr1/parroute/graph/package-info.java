@@ -0,0 +1,8 @@
+/**
+ * package of compact data structures for the routing algorithms
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+package me.chrisswr1.parroute.graph;
\ No newline at end of file
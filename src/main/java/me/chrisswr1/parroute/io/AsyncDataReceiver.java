@@ -0,0 +1,158 @@
+package me.chrisswr1.parroute.io;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.openstreetmap.osmosis.core.domain.v0_6.Entity;
+import org.openstreetmap.osmosis.core.domain.v0_6.EntityType;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+import org.openstreetmap.osmosis.core.domain.v0_6.Relation;
+import org.openstreetmap.osmosis.core.domain.v0_6.Way;
+
+/**
+ * defines a receiver of OpenStreetMap features, which doesn't block the
+ * requesting {@link Thread}<br>
+ * Every request returns immediately a {@link Future} of the result of the
+ * according method of {@link DataReceiver}. If the request failed,
+ * {@link Future#get()} throws an {@link ExecutionException}, which is caused
+ * by the {@link IOException}.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ * 		
+ * @see AsyncReceiverAdapter
+ */
+public interface AsyncDataReceiver
+{
+	/**
+	 * gives the {@link DataReceiver}, which answers the requests
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link DataReceiver}
+	 */
+	public DataReceiver getReceiver();
+	
+	/**
+	 * requests a {@link Node}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param id the id of the {@link Node}
+	 * @return the {@link Future} of the {@link Node} with id {@code id} or of
+	 *         <code>null</code>, if it doesn't exist
+	 * 		
+	 * @see DataReceiver#getNode(long)
+	 */
+	public Future<Node> getNode(long id);
+	
+	/**
+	 * requests a {@link Way}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param id the id of the {@link Way}
+	 * @return the {@link Future} of the {@link Way} with id {@code id} or of
+	 *         <code>null</code>, if it doesn't exist
+	 * 		
+	 * @see DataReceiver#getWay(long)
+	 */
+	public Future<Way> getWay(long id);
+	
+	/**
+	 * requests a {@link Relation}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param id the id of the {@link Relation}
+	 * @return the {@link Future} of the {@link Relation} with id {@code id} or
+	 *         of <code>null</code>, if it doesn't exist
+	 * 		
+	 * @see DataReceiver#getRel(long)
+	 */
+	public Future<Relation> getRel(long id);
+	
+	/**
+	 * requests all {@link Way}s, which a {@link Node} is a part of
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param node the {@link Node} to get the {@link Way}s of
+	 * @return the {@link Future} of a {@link Set} of all {@link Way}s, which
+	 *         contain {@code node}
+	 * 		
+	 * @see DataReceiver#getWaysOf(Node)
+	 */
+	public Future<Set<Way>> getWaysOf(Node node);
+	
+	/**
+	 * requests all {@link Relation}s, which an {@link Entity} is a member of
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param entity the {@link Entity} to get the {@link Relation}s of
+	 * @return the {@link Future} of a {@link Set} of all {@link Relation}s,
+	 *         which contain {@code entity}
+	 * 		
+	 * @see DataReceiver#getRelsOf(Entity)
+	 */
+	public Future<Set<Relation>> getRelsOf(Entity entity);
+	
+	/**
+	 * requests many {@link Node}s at once
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param ids the ids of the {@link Node}s
+	 * @return the {@link Future} of a {@link Set} of all existing {@link Node}s
+	 *         with one of the ids
+	 * 		
+	 * @see DataReceiver#getNodes(long[])
+	 */
+	public Future<Set<Node>> getNodes(long[] ids);
+	
+	/**
+	 * requests many {@link Way}s at once
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param ids the ids of the {@link Way}s
+	 * @return the {@link Future} of a {@link Set} of all existing {@link Way}s
+	 *         with one of the ids
+	 * 		
+	 * @see DataReceiver#getWays(long[])
+	 */
+	public Future<Set<Way>> getWays(long[] ids);
+	
+	/**
+	 * requests all {@link Way}s, which one of many {@link Node}s is a part of,
+	 * at once
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param nodeIds the ids of the {@link Node}s
+	 * @return the {@link Future} of a {@link Set} of all {@link Way}s, which
+	 *         contain at least one of the {@link Node}s
+	 * 		
+	 * @see DataReceiver#getWaysOf(long[])
+	 */
+	public Future<Set<Way>> getWaysOf(long[] nodeIds);
+	
+	/**
+	 * requests all {@link Relation}s, which one of many {@link Entity}s of the
+	 * same {@link EntityType} is a member of, at once
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param type the {@link EntityType} of the members
+	 * @param ids the ids of the members
+	 * @return the {@link Future} of a {@link Set} of all {@link Relation}s,
+	 *         which contain at least one of the members
+	 * 		
+	 * @see DataReceiver#getRelsOf(EntityType, long[])
+	 */
+	public Future<Set<Relation>> getRelsOf(EntityType type, long[] ids);
+}
\ No newline at end of file
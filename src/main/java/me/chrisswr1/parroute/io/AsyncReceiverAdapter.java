@@ -0,0 +1,496 @@
+package me.chrisswr1.parroute.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openstreetmap.osmosis.core.domain.v0_6.Entity;
+import org.openstreetmap.osmosis.core.domain.v0_6.EntityType;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+import org.openstreetmap.osmosis.core.domain.v0_6.Relation;
+import org.openstreetmap.osmosis.core.domain.v0_6.Way;
+
+import me.chrisswr1.parroute.ConcurrentDataHandler;
+import me.chrisswr1.parroute.DataHandler;
+
+/**
+ * an {@link AsyncDataReceiver}, which runs the requests of a blocking
+ * {@link DataReceiver} on a {@link ScheduledExecutorService}<br>
+ * If a request throws a {@link RetryableException}, the next attempt is
+ * scheduled after the delay of the {@link RetryPolicy}, so no {@link Thread}
+ * of the {@link ScheduledExecutorService} sleeps in the meantime. The
+ * {@link DataReceiver} is used by many {@link Thread}s at once, so a
+ * {@link DataHandler}, in which it stores the received {@link Entity}s, should
+ * be a {@link ConcurrentDataHandler}.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class AsyncReceiverAdapter
+implements AsyncDataReceiver
+{
+	/**
+	 * the {@link Logger} of this class
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Logger				LOGGER		= LogManager.getLogger(AsyncReceiverAdapter.class);
+														
+	/**
+	 * the {@link DataReceiver}, which answers the requests
+	 * 
+	 * @since 0.0.1
+	 */
+	private final DataReceiver				receiver;
+	/**
+	 * the {@link ScheduledExecutorService}, which runs the requests
+	 * 
+	 * @since 0.0.1
+	 */
+	private final ScheduledExecutorService	executor;
+	/**
+	 * the {@link RetryPolicy}, which schedules the attempts after a
+	 * {@link RetryableException}
+	 * 
+	 * @since 0.0.1
+	 */
+	private final RetryPolicy				retryPolicy;
+											
+	/**
+	 * constructor, with given {@link DataReceiver},
+	 * {@link ScheduledExecutorService} and {@link RetryPolicy}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param receiver the {@link DataReceiver}, which answers the requests
+	 * @param executor the {@link ScheduledExecutorService}, which runs the
+	 *            requests
+	 * @param retryPolicy the {@link RetryPolicy}, which schedules the attempts
+	 *            after a {@link RetryableException}
+	 */
+	public AsyncReceiverAdapter(DataReceiver receiver, ScheduledExecutorService executor, RetryPolicy retryPolicy)
+	{
+		this.receiver = receiver;
+		this.executor = executor;
+		this.retryPolicy = retryPolicy;
+	}
+	
+	/**
+	 * constructor, with given {@link DataReceiver} and
+	 * {@link ScheduledExecutorService}, which doesn't retry any request
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param receiver the {@link DataReceiver}, which answers the requests
+	 * @param executor the {@link ScheduledExecutorService}, which runs the
+	 *            requests
+	 */
+	public AsyncReceiverAdapter(DataReceiver receiver, ScheduledExecutorService executor)
+	{
+		this(receiver, executor, new RetryPolicy(1, RetryPolicy.DEFAULT_TIMEOUT, RetryPolicy.DEFAULT_BASE_DELAY, RetryPolicy.DEFAULT_MAX_DELAY));
+	}
+	
+	/**
+	 * creates an {@link AsyncReceiverAdapter} of an {@link OverpassReceiver}
+	 * <br>
+	 * The retries are moved from the {@link OverpassReceiver} to the
+	 * {@link AsyncReceiverAdapter}: Every attempt runs by
+	 * {@link OverpassReceiver#requestOnce(Callable)} and the
+	 * {@link RetryPolicy} of the {@link OverpassReceiver} schedules the further
+	 * attempts. The {@link OverpassReceiver} itself isn't changed.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param receiver the {@link OverpassReceiver}, which answers the requests
+	 * @param executor the {@link ScheduledExecutorService}, which runs the
+	 *            requests
+	 * @return the {@link AsyncReceiverAdapter} of {@code receiver}
+	 */
+	public static AsyncReceiverAdapter of(final OverpassReceiver receiver, ScheduledExecutorService executor)
+	{
+		return new AsyncReceiverAdapter(receiver, executor, receiver.getRetryPolicy())
+		{
+			@Override
+			protected <V> V attempt(Callable<V> request)
+			throws Exception
+			{
+				return receiver.requestOnce(request);
+			}
+		};
+	}
+	
+	/**
+	 * creates an {@link AsyncReceiverAdapter} of an {@link OsmFileReceiver}
+	 * <br>
+	 * A file couldn't fail temporarily, so no request is retried.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param receiver the {@link OsmFileReceiver}, which answers the requests
+	 * @param executor the {@link ScheduledExecutorService}, which runs the
+	 *            requests
+	 * @return the {@link AsyncReceiverAdapter} of {@code receiver}
+	 */
+	public static AsyncReceiverAdapter of(OsmFileReceiver receiver, ScheduledExecutorService executor)
+	{
+		return new AsyncReceiverAdapter(receiver, executor);
+	}
+	
+	/**
+	 * waits for the result of a request
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param <V> the type of the result
+	 * @param future the {@link Future} of the request
+	 * @return the result of the request
+	 * @throws IOException if the request failed or the waiting {@link Thread}
+	 *             was interrupted
+	 */
+	public static <V> V getResult(Future<V> future)
+	throws IOException
+	{
+		try
+		{
+			return future.get();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			
+			InterruptedIOException ex = new InterruptedIOException("Interrupted during waiting for the result of a request!");
+			ex.initCause(e);
+			throw ex;
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException)
+			{
+				throw (IOException)cause;
+			}
+			
+			throw new IOException("The request failed!", cause);
+		}
+	}
+	
+	/**
+	 * runs a request on the {@link AsyncReceiverAdapter#executor}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param <V> the type of the result
+	 * @param request the request to the {@link DataReceiver}
+	 * @param description the description of the request for the log
+	 * @return the {@link Future} of the result of {@code request}
+	 */
+	private <V> Future<V> submit(Callable<V> request, String description)
+	{
+		Request<V> res = new Request<>(request, description);
+		res.schedule(0);
+		
+		return res;
+	}
+	
+	@Override
+	public DataReceiver getReceiver()
+	{
+		return this.receiver;
+	}
+	
+	/**
+	 * gives the {@link ScheduledExecutorService}, which runs the requests
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link ScheduledExecutorService}
+	 */
+	public ScheduledExecutorService getExecutor()
+	{
+		return this.executor;
+	}
+	
+	/**
+	 * gives the {@link RetryPolicy}, which schedules the attempts after a
+	 * {@link RetryableException}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link RetryPolicy}
+	 */
+	public RetryPolicy getRetryPolicy()
+	{
+		return this.retryPolicy;
+	}
+	
+	/**
+	 * runs a single attempt of a request<br>
+	 * Could be overwritten to limit the retries of the {@link DataReceiver}
+	 * itself.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param <V> the type of the result
+	 * @param request the request to the {@link DataReceiver}
+	 * @return the result of {@code request}
+	 * @throws Exception if {@code request} failed
+	 */
+	protected <V> V attempt(Callable<V> request)
+	throws Exception
+	{
+		return request.call();
+	}
+	
+	@Override
+	public Future<Node> getNode(final long id)
+	{
+		return this.submit(new Callable<Node>()
+		{
+			@Override
+			public Node call()
+			throws IOException
+			{
+				return AsyncReceiverAdapter.this.getReceiver().getNode(id);
+			}
+		}, "node " + id);
+	}
+	
+	@Override
+	public Future<Way> getWay(final long id)
+	{
+		return this.submit(new Callable<Way>()
+		{
+			@Override
+			public Way call()
+			throws IOException
+			{
+				return AsyncReceiverAdapter.this.getReceiver().getWay(id);
+			}
+		}, "way " + id);
+	}
+	
+	@Override
+	public Future<Relation> getRel(final long id)
+	{
+		return this.submit(new Callable<Relation>()
+		{
+			@Override
+			public Relation call()
+			throws IOException
+			{
+				return AsyncReceiverAdapter.this.getReceiver().getRel(id);
+			}
+		}, "relation " + id);
+	}
+	
+	@Override
+	public Future<Set<Way>> getWaysOf(final Node node)
+	{
+		return this.submit(new Callable<Set<Way>>()
+		{
+			@Override
+			public Set<Way> call()
+			throws IOException
+			{
+				return AsyncReceiverAdapter.this.getReceiver().getWaysOf(node);
+			}
+		}, "the ways of " + node);
+	}
+	
+	@Override
+	public Future<Set<Relation>> getRelsOf(final Entity entity)
+	{
+		return this.submit(new Callable<Set<Relation>>()
+		{
+			@Override
+			public Set<Relation> call()
+			throws IOException
+			{
+				return AsyncReceiverAdapter.this.getReceiver().getRelsOf(entity);
+			}
+		}, "the relations of " + entity);
+	}
+	
+	@Override
+	public Future<Set<Node>> getNodes(final long[] ids)
+	{
+		return this.submit(new Callable<Set<Node>>()
+		{
+			@Override
+			public Set<Node> call()
+			throws IOException
+			{
+				return AsyncReceiverAdapter.this.getReceiver().getNodes(ids);
+			}
+		}, ids.length + " nodes");
+	}
+	
+	@Override
+	public Future<Set<Way>> getWays(final long[] ids)
+	{
+		return this.submit(new Callable<Set<Way>>()
+		{
+			@Override
+			public Set<Way> call()
+			throws IOException
+			{
+				return AsyncReceiverAdapter.this.getReceiver().getWays(ids);
+			}
+		}, ids.length + " ways");
+	}
+	
+	@Override
+	public Future<Set<Way>> getWaysOf(final long[] nodeIds)
+	{
+		return this.submit(new Callable<Set<Way>>()
+		{
+			@Override
+			public Set<Way> call()
+			throws IOException
+			{
+				return AsyncReceiverAdapter.this.getReceiver().getWaysOf(nodeIds);
+			}
+		}, "the ways of " + nodeIds.length + " nodes");
+	}
+	
+	@Override
+	public Future<Set<Relation>> getRelsOf(final EntityType type, final long[] ids)
+	{
+		return this.submit(new Callable<Set<Relation>>()
+		{
+			@Override
+			public Set<Relation> call()
+			throws IOException
+			{
+				return AsyncReceiverAdapter.this.getReceiver().getRelsOf(type, ids);
+			}
+		}, "the relations of " + ids.length + " members of type " + type);
+	}
+	
+	/**
+	 * a request, which could be attempted several times
+	 * 
+	 * @version 0.0.1
+	 * @author ChrissW-R1
+	 * @since 0.0.1
+	 * 		
+	 * @param <V> the type of the result
+	 */
+	private final class Request<V>
+	extends FutureTask<V>
+	{
+		/**
+		 * the request to the {@link DataReceiver}
+		 * 
+		 * @since 0.0.1
+		 */
+		private final Callable<V>	request;
+		/**
+		 * the description of the request for the log
+		 * 
+		 * @since 0.0.1
+		 */
+		private final String		description;
+		/**
+		 * the count of failed attempts
+		 * 
+		 * @since 0.0.1
+		 */
+		private int					failed	= 0;
+											
+		/**
+		 * constructor, with given request and description
+		 * 
+		 * @since 0.0.1
+		 * 
+		 * @param request the request to the {@link DataReceiver}
+		 * @param description the description of the request for the log
+		 */
+		public Request(Callable<V> request, String description)
+		{
+			super(request);
+			
+			this.request = request;
+			this.description = description;
+		}
+		
+		/**
+		 * schedules the next attempt
+		 * 
+		 * @since 0.0.1
+		 * 
+		 * @param delay the delay before the attempt (in milliseconds)
+		 */
+		public void schedule(long delay)
+		{
+			Runnable attempt = new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					Request.this.attempt();
+				}
+			};
+			
+			try
+			{
+				AsyncReceiverAdapter.this.getExecutor().schedule(attempt, delay, TimeUnit.MILLISECONDS);
+			}
+			catch (RejectedExecutionException e)
+			{
+				this.setException(e);
+			}
+		}
+		
+		/**
+		 * runs the request once and sets its result or schedules the next
+		 * attempt
+		 * 
+		 * @since 0.0.1
+		 */
+		private void attempt()
+		{
+			if (this.isDone())
+			{
+				return;
+			}
+			
+			try
+			{
+				this.set(AsyncReceiverAdapter.this.attempt(this.request));
+			}
+			catch (RetryableException e)
+			{
+				RetryPolicy retryPolicy = AsyncReceiverAdapter.this.getRetryPolicy();
+				
+				if (this.failed + 1 < retryPolicy.getAttempts())
+				{
+					long delay = retryPolicy.getDelay(this.failed++, e.getRetryAfter());
+					AsyncReceiverAdapter.LOGGER.debug("The request of " + this.description + " failed temporarily. Retry after " + delay + " milliseconds.");
+					
+					this.schedule(delay);
+				}
+				else
+				{
+					AsyncReceiverAdapter.LOGGER.error("Couldn't receive " + this.description + " after " + retryPolicy.getAttempts() + " attempts!", e);
+					this.setException(e);
+				}
+			}
+			catch (Exception e)
+			{
+				AsyncReceiverAdapter.LOGGER.error("Couldn't receive " + this.description + "!", e);
+				this.setException(e);
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.util.Set;
 
 import org.openstreetmap.osmosis.core.domain.v0_6.Entity;
+import org.openstreetmap.osmosis.core.domain.v0_6.EntityType;
 import org.openstreetmap.osmosis.core.domain.v0_6.Node;
 import org.openstreetmap.osmosis.core.domain.v0_6.Relation;
 import org.openstreetmap.osmosis.core.domain.v0_6.Way;
@@ -30,6 +31,18 @@ public interface DataReceiver
 	 */
 	public boolean isAllStored();
 	
+	/**
+	 * were all {@link Way}s and {@link Relation}s of a {@link Node} from this
+	 * source already stored in the {@link DataHandler}?
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param node the {@link Node} to check
+	 * @return <code>true</code> if all {@link Way}s and {@link Relation}s of
+	 *         {@code node} were stored, <code>false</code> otherwise
+	 */
+	public boolean isAllStored(Node node);
+	
 	/**
 	 * requests a {@link Node}
 	 * 
@@ -98,4 +111,61 @@ public interface DataReceiver
 	 */
 	public Set<Relation> getRelsOf(Entity entity)
 	throws IOException;
+	
+	/**
+	 * requests multiple {@link Node}s at once
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param ids the ids of the {@link Node}s
+	 * @return all {@link Node}s with an id of {@code ids}, which exist
+	 * @throws IOException if the connection couldn't established or the parsing
+	 *             failed
+	 */
+	public Set<Node> getNodes(long[] ids)
+	throws IOException;
+	
+	/**
+	 * requests multiple {@link Way}s at once
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param ids the ids of the {@link Way}s
+	 * @return all {@link Way}s with an id of {@code ids}, which exist
+	 * @throws IOException if the connection couldn't established or the parsing
+	 *             failed
+	 */
+	public Set<Way> getWays(long[] ids)
+	throws IOException;
+	
+	/**
+	 * requests all {@link Way}s on which at least one of multiple {@link Node}s
+	 * is a part from
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param nodeIds the ids of the {@link Node}s to get the {@link Way}s from
+	 * @return the {@link Way}s which contains any {@link Node} of
+	 *         {@code nodeIds}
+	 * @throws IOException if the connection couldn't established or the
+	 *             response couldn't parsed
+	 */
+	public Set<Way> getWaysOf(long[] nodeIds)
+	throws IOException;
+	
+	/**
+	 * gives all {@link Relation}s of which at least one of multiple
+	 * {@link Entity}s is a member
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param type the {@link EntityType} of the members
+	 * @param ids the ids of the members
+	 * @return a {@link Set} of all {@link Relation}s, which have any
+	 *         {@link Entity} of {@code type} and {@code ids} as a member
+	 * @throws IOException if the connection couldn't established or the parsing
+	 *             failed
+	 */
+	public Set<Relation> getRelsOf(EntityType type, long[] ids)
+	throws IOException;
 }
\ No newline at end of file
@@ -0,0 +1,808 @@
+package me.chrisswr1.parroute.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openstreetmap.osmosis.core.domain.v0_6.CommonEntityData;
+import org.openstreetmap.osmosis.core.domain.v0_6.Entity;
+import org.openstreetmap.osmosis.core.domain.v0_6.EntityType;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+import org.openstreetmap.osmosis.core.domain.v0_6.OsmUser;
+import org.openstreetmap.osmosis.core.domain.v0_6.Relation;
+import org.openstreetmap.osmosis.core.domain.v0_6.RelationMember;
+import org.openstreetmap.osmosis.core.domain.v0_6.Tag;
+import org.openstreetmap.osmosis.core.domain.v0_6.Way;
+import org.openstreetmap.osmosis.core.domain.v0_6.WayNode;
+
+import me.chrisswr1.parroute.graph.CoordinateStore;
+
+/**
+ * caches lists of {@link Entity}s in a directory, e.g. the parsed responses of
+ * the Overpass API<br>
+ * Every entry is written into its own GZIP compressed file, named by the
+ * SHA-1 hash of its key. The {@link Entity}s are encoded in a compact binary
+ * form (variable length integers, delta coded {@link WayNode}s and fixed-point
+ * coordinates), so a hit needs neither a request nor XML parsing. Entries
+ * older than the time to live are ignored and the least recently used entries
+ * are deleted, if the total size of all files exceeds the maximum size.
+ * Failures of the cache are only logged, so a broken cache never breaks a
+ * request.<br>
+ * The cache is thread-safe. Only the bookkeeping of the least recently used
+ * entries, the renaming and the deletion of files are guarded by a lock, so
+ * entries are read and written in parallel. A new entry is written into its
+ * own temporary file first and replaces the old one by renaming it.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class EntityCache
+{
+	/**
+	 * the {@link Logger} of this class
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Logger						LOGGER				= LogManager.getLogger(EntityCache.class);
+	/**
+	 * the magic number at the beginning of every entry (&quot;PREC&quot;)
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final int							MAGIC				= 0x50524543;
+	/**
+	 * the version of the file format
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final int							VERSION				= 2;
+	/**
+	 * the file extension of the entries
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final String						EXTENSION			= ".osmc";
+	/**
+	 * the default maximum size of all entries in bytes
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final long						DEFAULT_MAX_SIZE	= 256L * 1024 * 1024;
+	/**
+	 * the default time to live of an entry in milliseconds
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final long						DEFAULT_TTL			= 7L * 24 * 60 * 60 * 1000;
+	/**
+	 * the type code of a {@link Node}
+	 * 
+	 * @since 0.0.1
+	 */
+	private static final byte						TYPE_NODE			= 0;
+	/**
+	 * the type code of a {@link Way}
+	 * 
+	 * @since 0.0.1
+	 */
+	private static final byte						TYPE_WAY			= 1;
+	/**
+	 * the type code of a {@link Relation}
+	 * 
+	 * @since 0.0.1
+	 */
+	private static final byte						TYPE_RELATION		= 2;
+	/**
+	 * the size of the buffers to read and write an entry
+	 * 
+	 * @since 0.0.1
+	 */
+	private static final int						BUFFER_SIZE			= 1 << 16;
+																		
+	/**
+	 * the directory of the entries
+	 * 
+	 * @since 0.0.1
+	 */
+	private final File								directory;
+	/**
+	 * the maximum size of all entries in bytes
+	 * 
+	 * @since 0.0.1
+	 */
+	private final long								maxSize;
+	/**
+	 * the time to live of an entry in milliseconds
+	 * 
+	 * @since 0.0.1
+	 */
+	private final long								ttl;
+	/**
+	 * all entries by their file names, from the least to the most recently used
+	 * one<br>
+	 * It is also the lock of the bookkeeping.
+	 * 
+	 * @since 0.0.1
+	 */
+	private final LinkedHashMap<String, CacheEntry>	entries				= new LinkedHashMap<>(16, 0.75F, true);
+	/**
+	 * the total size of all entries in bytes
+	 * 
+	 * @since 0.0.1
+	 */
+	private long									size				= 0;
+																		
+	/**
+	 * constructor, with given directory and the default limits
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param directory the directory of the entries
+	 * @throws IOException if the directory couldn't be created
+	 */
+	public EntityCache(File directory)
+	throws IOException
+	{
+		this(directory, EntityCache.DEFAULT_MAX_SIZE, EntityCache.DEFAULT_TTL);
+	}
+	
+	/**
+	 * constructor, with given directory and limits<br>
+	 * Already existing entries of {@code directory} will be used, ordered by
+	 * their last access.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param directory the directory of the entries
+	 * @param maxSize the maximum size of all entries in bytes
+	 * @param ttl the time to live of an entry in milliseconds
+	 * @throws IOException if the directory couldn't be created
+	 */
+	public EntityCache(File directory, long maxSize, long ttl)
+	throws IOException
+	{
+		this.directory = directory;
+		this.maxSize = maxSize;
+		this.ttl = ttl;
+		
+		if ( ! (directory.isDirectory() || directory.mkdirs()))
+		{
+			throw new IOException("Couldn't create the cache directory " + directory + "!");
+		}
+		
+		File[] files = directory.listFiles();
+		Arrays.sort(files, new Comparator<File>()
+		{
+			@Override
+			public int compare(File file1, File file2)
+			{
+				return Long.compare(file1.lastModified(), file2.lastModified());
+			}
+		});
+		for (File file : files)
+		{
+			if (file.isFile() && file.getName().endsWith(EntityCache.EXTENSION))
+			{
+				long length = file.length();
+				this.entries.put(file.getName(), new CacheEntry(length));
+				this.size += length;
+			}
+		}
+		
+		EntityCache.LOGGER.debug("Found " + this.entries.size() + " cache entries with " + this.size + " bytes in " + directory + ".");
+	}
+	
+	/**
+	 * normalizes a key, by trimming it and collapsing all whitespace outside of
+	 * quotes into a single space
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to normalize
+	 * @return the normalized key
+	 */
+	public static String normalize(String key)
+	{
+		StringBuilder res = new StringBuilder(key.length());
+		char quote = 0;
+		boolean whitespace = false;
+		
+		for (int i = 0; i < key.length(); i++)
+		{
+			char c = key.charAt(i);
+			
+			if (quote == 0 && Character.isWhitespace(c))
+			{
+				whitespace = true;
+				continue;
+			}
+			
+			if (whitespace && res.length() > 0)
+			{
+				res.append(' ');
+			}
+			whitespace = false;
+			
+			if (quote == 0 && (c == '"' || c == '\''))
+			{
+				quote = c;
+			}
+			else if (quote != 0 && c == quote && key.charAt(i - 1) != '\\')
+			{
+				quote = 0;
+			}
+			
+			res.append(c);
+		}
+		
+		return res.toString();
+	}
+	
+	/**
+	 * gives the file name of an entry
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key of the entry
+	 * @return the name of the file of {@code key}
+	 */
+	private static String getFileName(String key)
+	{
+		try
+		{
+			byte[] hash = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+			
+			StringBuilder res = new StringBuilder(hash.length * 2 + EntityCache.EXTENSION.length());
+			for (byte b : hash)
+			{
+				res.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			
+			return res.append(EntityCache.EXTENSION).toString();
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			throw new IllegalStateException("SHA-1 is not supported!", e);
+		}
+	}
+	
+	/**
+	 * gives the cached {@link Entity}s of a key
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key of the entry
+	 * @return the {@link Entity}s in order of
+	 *         {@link EntityCache#put(String, Collection)} or <code>null</code>,
+	 *         if no valid entry exists
+	 */
+	public List<Entity> get(String key)
+	{
+		String fileName = EntityCache.getFileName(key);
+		CacheEntry entry;
+		synchronized (this.entries)
+		{
+			// get instead of containsKey, to mark the entry as recently used
+			entry = this.entries.get(fileName);
+		}
+		if (entry == null)
+		{
+			return null;
+		}
+		
+		File file = new File(this.getDirectory(), fileName);
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file), EntityCache.BUFFER_SIZE))))
+		{
+			if (input.readInt() != EntityCache.MAGIC || input.readInt() != EntityCache.VERSION)
+			{
+				throw new IOException(file + " is no cache entry of this version!");
+			}
+			
+			long created = input.readLong();
+			if (created + this.getTtl() <= System.currentTimeMillis())
+			{
+				EntityCache.LOGGER.debug("Cache entry " + fileName + " is expired.");
+				this.remove(fileName, entry);
+				
+				return null;
+			}
+			
+			if ( ! (key.equals(input.readUTF())))
+			{
+				EntityCache.LOGGER.debug("Cache entry " + fileName + " belongs to another key.");
+				
+				return null;
+			}
+			
+			int count = input.readInt();
+			List<Entity> res = new ArrayList<>(count);
+			for (int i = 0; i < count; i++)
+			{
+				res.add(EntityCache.readEntity(input));
+			}
+			
+			if ( ! (file.setLastModified(System.currentTimeMillis())))
+			{
+				EntityCache.LOGGER.trace("Couldn't update the access time of " + file + ".");
+			}
+			
+			EntityCache.LOGGER.debug("Read " + count + " entities from cache entry " + fileName + ".");
+			return res;
+		}
+		catch (IOException | RuntimeException e)
+		{
+			EntityCache.LOGGER.warn("Couldn't read cache entry " + file + ". Removing it.", e);
+			this.remove(fileName, entry);
+			
+			return null;
+		}
+	}
+	
+	/**
+	 * caches {@link Entity}s under a key and removes the least recently used
+	 * entries, if the maximum size is exceeded
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key of the entry
+	 * @param entities the {@link Entity}s to cache
+	 */
+	public void put(String key, Collection<? extends Entity> entities)
+	{
+		String fileName = EntityCache.getFileName(key);
+		File file = new File(this.getDirectory(), fileName);
+		File tmpFile = null;
+		long length;
+		
+		try
+		{
+			// an own file for every writer, so the same key could be put in parallel
+			tmpFile = File.createTempFile(fileName, ".tmp", this.getDirectory());
+			
+			try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tmpFile), EntityCache.BUFFER_SIZE))))
+			{
+				output.writeInt(EntityCache.MAGIC);
+				output.writeInt(EntityCache.VERSION);
+				output.writeLong(System.currentTimeMillis());
+				output.writeUTF(key);
+				output.writeInt(entities.size());
+				
+				for (Entity entity : entities)
+				{
+					EntityCache.writeEntity(output, entity);
+				}
+			}
+			
+			length = tmpFile.length();
+			synchronized (this.entries)
+			{
+				this.remove(fileName, null);
+				if ( ! (tmpFile.renameTo(file)))
+				{
+					throw new IOException("Couldn't rename " + tmpFile + " to " + file + "!");
+				}
+				
+				this.entries.put(fileName, new CacheEntry(length));
+				this.size += length;
+				
+				Iterator<Map.Entry<String, CacheEntry>> iter = this.entries.entrySet().iterator();
+				while (this.size > this.getMaxSize() && iter.hasNext())
+				{
+					Map.Entry<String, CacheEntry> entry = iter.next();
+					if (entry.getKey().equals(fileName))
+					{
+						continue;
+					}
+					
+					EntityCache.LOGGER.debug("Evict least recently used cache entry " + entry.getKey() + ".");
+					
+					iter.remove();
+					this.size -= entry.getValue().length;
+					EntityCache.delete(new File(this.getDirectory(), entry.getKey()));
+				}
+			}
+		}
+		catch (IOException | RuntimeException e)
+		{
+			EntityCache.LOGGER.warn("Couldn't write cache entry " + file + "!", e);
+			
+			if (tmpFile != null)
+			{
+				EntityCache.delete(tmpFile);
+			}
+			
+			return;
+		}
+		
+		EntityCache.LOGGER.debug("Wrote " + entities.size() + " entities with " + length + " bytes into cache entry " + fileName + ".");
+	}
+	
+	/**
+	 * removes an entry, if it wasn't replaced in the meantime
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param fileName the name of the file of the entry
+	 * @param expected the {@link CacheEntry}, which was read or
+	 *            <code>null</code>, to remove the entry in any case
+	 */
+	private void remove(String fileName, CacheEntry expected)
+	{
+		synchronized (this.entries)
+		{
+			CacheEntry entry = this.entries.get(fileName);
+			if (expected != null && entry != expected)
+			{
+				return;
+			}
+			
+			if (entry != null)
+			{
+				this.entries.remove(fileName);
+				this.size -= entry.length;
+			}
+			
+			EntityCache.delete(new File(this.getDirectory(), fileName));
+		}
+	}
+	
+	/**
+	 * deletes a file, if it exists
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param file the file to delete
+	 */
+	private static void delete(File file)
+	{
+		if (file.exists() && ! (file.delete()))
+		{
+			EntityCache.LOGGER.warn("Couldn't delete " + file + "!");
+		}
+	}
+	
+	/**
+	 * writes an {@link Entity}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param output the {@link DataOutput} to write into
+	 * @param entity the {@link Entity} to write
+	 * @throws IOException if the {@link Entity} couldn't be written
+	 */
+	private static void writeEntity(DataOutput output, Entity entity)
+	throws IOException
+	{
+		if (entity instanceof Node)
+		{
+			output.writeByte(EntityCache.TYPE_NODE);
+		}
+		else if (entity instanceof Way)
+		{
+			output.writeByte(EntityCache.TYPE_WAY);
+		}
+		else if (entity instanceof Relation)
+		{
+			output.writeByte(EntityCache.TYPE_RELATION);
+		}
+		else
+		{
+			throw new IOException(entity + " have a unkown type, so it couldn't cached!");
+		}
+		
+		EntityCache.writeSigned(output, entity.getId());
+		EntityCache.writeUnsigned(output, entity.getVersion());
+		Date timestamp = entity.getTimestamp();
+		output.writeBoolean(timestamp != null);
+		if (timestamp != null)
+		{
+			output.writeLong(timestamp.getTime());
+		}
+		OsmUser user = entity.getUser();
+		EntityCache.writeSigned(output, user.getId());
+		output.writeUTF(user.getName());
+		EntityCache.writeSigned(output, entity.getChangesetId());
+		
+		Collection<Tag> tags = entity.getTags();
+		EntityCache.writeUnsigned(output, tags.size());
+		for (Tag tag : tags)
+		{
+			output.writeUTF(tag.getKey());
+			output.writeUTF(tag.getValue());
+		}
+		
+		if (entity instanceof Node)
+		{
+			Node node = (Node)entity;
+			
+			output.writeInt(CoordinateStore.toFixed(node.getLatitude()));
+			output.writeInt(CoordinateStore.toFixed(node.getLongitude()));
+		}
+		else if (entity instanceof Way)
+		{
+			List<WayNode> wayNodes = ((Way)entity).getWayNodes();
+			
+			EntityCache.writeUnsigned(output, wayNodes.size());
+			long lastId = 0;
+			for (WayNode wayNode : wayNodes)
+			{
+				long nodeId = wayNode.getNodeId();
+				EntityCache.writeSigned(output, nodeId - lastId);
+				lastId = nodeId;
+			}
+		}
+		else
+		{
+			List<RelationMember> members = ((Relation)entity).getMembers();
+			
+			EntityCache.writeUnsigned(output, members.size());
+			for (RelationMember member : members)
+			{
+				output.writeByte(member.getMemberType().ordinal());
+				EntityCache.writeSigned(output, member.getMemberId());
+				output.writeUTF(member.getMemberRole());
+			}
+		}
+	}
+	
+	/**
+	 * reads an {@link Entity}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param input the {@link DataInput} to read from
+	 * @return the read {@link Entity}
+	 * @throws IOException if the {@link Entity} couldn't be read
+	 */
+	private static Entity readEntity(DataInput input)
+	throws IOException
+	{
+		byte type = input.readByte();
+		
+		long id = EntityCache.readSigned(input);
+		int version = (int)EntityCache.readUnsigned(input);
+		Date timestamp = input.readBoolean() ? new Date(input.readLong()) : null;
+		int userId = (int)EntityCache.readSigned(input);
+		String userName = input.readUTF();
+		OsmUser user = userId == OsmUser.NONE.getId() ? OsmUser.NONE : new OsmUser(userId, userName);
+		long changesetId = EntityCache.readSigned(input);
+		
+		int tagCount = (int)EntityCache.readUnsigned(input);
+		List<Tag> tags = new ArrayList<>(tagCount);
+		for (int i = 0; i < tagCount; i++)
+		{
+			tags.add(new Tag(input.readUTF(), input.readUTF()));
+		}
+		
+		CommonEntityData data = new CommonEntityData(id, version, timestamp, user, changesetId, tags);
+		
+		if (type == EntityCache.TYPE_NODE)
+		{
+			double lat = CoordinateStore.toDegrees(input.readInt());
+			double lon = CoordinateStore.toDegrees(input.readInt());
+			
+			return new Node(data, lat, lon);
+		}
+		if (type == EntityCache.TYPE_WAY)
+		{
+			int count = (int)EntityCache.readUnsigned(input);
+			List<WayNode> wayNodes = new ArrayList<>(count);
+			long nodeId = 0;
+			for (int i = 0; i < count; i++)
+			{
+				nodeId += EntityCache.readSigned(input);
+				wayNodes.add(new WayNode(nodeId));
+			}
+			
+			return new Way(data, wayNodes);
+		}
+		if (type == EntityCache.TYPE_RELATION)
+		{
+			EntityType[] memberTypes = EntityType.values();
+			int count = (int)EntityCache.readUnsigned(input);
+			List<RelationMember> members = new ArrayList<>(count);
+			for (int i = 0; i < count; i++)
+			{
+				EntityType memberType = memberTypes[input.readByte()];
+				long memberId = EntityCache.readSigned(input);
+				members.add(new RelationMember(memberId, memberType, input.readUTF()));
+			}
+			
+			return new Relation(data, members);
+		}
+		
+		throw new IOException("Unknown entity type " + type + "!");
+	}
+	
+	/**
+	 * writes a non-negative number with a variable length (7 bits per byte)
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param output the {@link DataOutput} to write into
+	 * @param value the number to write
+	 * @throws IOException if the number couldn't be written
+	 */
+	private static void writeUnsigned(DataOutput output, long value)
+	throws IOException
+	{
+		while ((value & ~0x7FL) != 0)
+		{
+			output.writeByte((int)((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		output.writeByte((int)value);
+	}
+	
+	/**
+	 * writes a number with a variable length in zig-zag encoding, so small
+	 * negative numbers are short, too
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param output the {@link DataOutput} to write into
+	 * @param value the number to write
+	 * @throws IOException if the number couldn't be written
+	 */
+	private static void writeSigned(DataOutput output, long value)
+	throws IOException
+	{
+		EntityCache.writeUnsigned(output, (value << 1) ^ (value >> 63));
+	}
+	
+	/**
+	 * reads a number, which was written by
+	 * {@link EntityCache#writeUnsigned(DataOutput, long)}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param input the {@link DataInput} to read from
+	 * @return the read number
+	 * @throws IOException if the number couldn't be read
+	 */
+	private static long readUnsigned(DataInput input)
+	throws IOException
+	{
+		long res = 0;
+		int shift = 0;
+		
+		while (true)
+		{
+			byte b = input.readByte();
+			res |= (long)(b & 0x7F) << shift;
+			
+			if ((b & 0x80) == 0)
+			{
+				return res;
+			}
+			
+			shift += 7;
+			if (shift > 63)
+			{
+				throw new IOException("Malformed variable length number!");
+			}
+		}
+	}
+	
+	/**
+	 * reads a number, which was written by
+	 * {@link EntityCache#writeSigned(DataOutput, long)}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param input the {@link DataInput} to read from
+	 * @return the read number
+	 * @throws IOException if the number couldn't be read
+	 */
+	private static long readSigned(DataInput input)
+	throws IOException
+	{
+		long value = EntityCache.readUnsigned(input);
+		
+		return (value >>> 1) ^ -(value & 1);
+	}
+	
+	/**
+	 * gives the directory of the entries
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the directory
+	 */
+	public File getDirectory()
+	{
+		return this.directory;
+	}
+	
+	/**
+	 * gives the maximum size of all entries
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the maximum size in bytes
+	 */
+	public long getMaxSize()
+	{
+		return this.maxSize;
+	}
+	
+	/**
+	 * gives the time to live of an entry
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the time to live in milliseconds
+	 */
+	public long getTtl()
+	{
+		return this.ttl;
+	}
+	
+	/**
+	 * gives the total size of all entries
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the size in bytes
+	 */
+	public long getSize()
+	{
+		synchronized (this.entries)
+		{
+			return this.size;
+		}
+	}
+	
+	/**
+	 * an entry of the cache
+	 * 
+	 * @version 0.0.1
+	 * @author ChrissW-R1
+	 * @since 0.0.1
+	 */
+	private static final class CacheEntry
+	{
+		/**
+		 * the size of the file in bytes
+		 * 
+		 * @since 0.0.1
+		 */
+		private final long length;
+		
+		/**
+		 * constructor, with given size
+		 * 
+		 * @since 0.0.1
+		 * 
+		 * @param length the size of the file in bytes
+		 */
+		private CacheEntry(long length)
+		{
+			this.length = length;
+		}
+	}
+}
\ No newline at end of file
@@ -7,9 +7,13 @@ import java.io.IOException;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openstreetmap.osmosis.core.container.v0_6.EntityContainer;
 import org.openstreetmap.osmosis.core.domain.v0_6.Entity;
+import org.openstreetmap.osmosis.core.domain.v0_6.EntityType;
 import org.openstreetmap.osmosis.core.domain.v0_6.Node;
 import org.openstreetmap.osmosis.core.domain.v0_6.Relation;
 import org.openstreetmap.osmosis.core.domain.v0_6.RelationMember;
@@ -20,11 +24,16 @@ import org.openstreetmap.osmosis.core.task.v0_6.Sink;
 import org.openstreetmap.osmosis.xml.common.CompressionMethod;
 import org.openstreetmap.osmosis.xml.v0_6.XmlReader;
 
-import crosby.binary.osmosis.OsmosisReader;
 import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.util.LongHashSet;
+import me.chrisswr1.parroute.util.LongObjectHashMap;
+import me.chrisswr1.parroute.util.LongSetMultimap;
 
 /**
- * defines a {@link DataReceiver}, which reads an OSM {@link File}
+ * defines a {@link DataReceiver}, which reads an OSM {@link File}<br>
+ * In the indexed mode the {@link File} is parsed only once and all lookups
+ * will be answered from in-memory indexes afterwards. PBF files are decoded
+ * by a {@link ParallelPbfReader} on all available processors.
  * 
  * @version 0.0.1
  * @author ChrissW-R1
@@ -33,38 +42,86 @@ import me.chrisswr1.parroute.DataHandler;
 public class OsmFileReceiver
 implements DataReceiver
 {
+	/**
+	 * the {@link Logger} of this class
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Logger					LOGGER				= LogManager.getLogger(OsmFileReceiver.class);
+																	
 	/**
 	 * the {@link File} to read the {@link Entity}s from
 	 * 
 	 * @since 0.0.1
 	 */
-	private final File				file;
+	private final File							file;
 	/**
 	 * the {@link OsmFileFormat} of {@link OsmFileReceiver#file}
 	 * 
 	 * @since 0.0.1
 	 */
-	private final OsmFileFormat		format;
+	private final OsmFileFormat					format;
 	/**
 	 * the {@link CompressionMethod} of {@link OsmFileReceiver#file}
 	 * 
 	 * @since 0.0.1
 	 */
-	private final CompressionMethod	compression;
+	private final CompressionMethod				compression;
+	/**
+	 * should the {@link File} be parsed only once and all lookups be answered
+	 * by indexes?
+	 * 
+	 * @since 0.0.1
+	 */
+	private final boolean						indexed;
 	/**
 	 * the {@link DataHandler}, in which the {@link Entity}s should be stored
 	 * 
 	 * @since 0.0.1
 	 */
-	private DataHandler				store		= null;
+	private DataHandler							store				= null;
 	/**
 	 * were all {@link Entity}s already stored in the
 	 * {@link OsmFileReceiver#store}?
 	 * 
 	 * @since 0.0.1
 	 */
-	private boolean					allStored	= false;
-												
+	private volatile boolean					allStored			= false;
+																	
+	/**
+	 * index of all read {@link Node}s by their id (only used in indexed mode)
+	 * 
+	 * @since 0.0.1
+	 */
+	private LongObjectHashMap<Node>				nodeIndex			= null;
+	/**
+	 * index of all read {@link Way}s by their id (only used in indexed mode)
+	 * 
+	 * @since 0.0.1
+	 */
+	private LongObjectHashMap<Way>				wayIndex			= null;
+	/**
+	 * index of all read {@link Relation}s by their id (only used in indexed
+	 * mode)
+	 * 
+	 * @since 0.0.1
+	 */
+	private LongObjectHashMap<Relation>			relIndex			= null;
+	/**
+	 * index of the {@link Way}s, which a {@link Node} is a member of (only used
+	 * in indexed mode)
+	 * 
+	 * @since 0.0.1
+	 */
+	private LongSetMultimap						waysOfNodeIndex		= null;
+	/**
+	 * index of the {@link Relation}s, which an {@link Entity} is a member of
+	 * (only used in indexed mode)
+	 * 
+	 * @since 0.0.1
+	 */
+	private Map<EntityType, LongSetMultimap>	relsOfEntityIndex	= null;
+																	
 	/**
 	 * constructor, with given {@link File}
 	 * 
@@ -75,21 +132,40 @@ implements DataReceiver
 	 * @param compression the {@link CompressionMethod} of {@code file}
 	 */
 	public OsmFileReceiver(File file, OsmFileFormat format, CompressionMethod compression)
+	{
+		this(file, format, compression, false);
+	}
+	
+	/**
+	 * constructor, with given {@link File} and mode
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param file the {@link File} to read the {@link Entity}s from
+	 * @param format the {@link OsmFileFormat} of {@code file}
+	 * @param compression the {@link CompressionMethod} of {@code file}
+	 * @param indexed <code>true</code>, if {@code file} should be parsed only
+	 *            once and all lookups should be answered by indexes,
+	 *            <code>false</code> to parse {@code file} on every lookup
+	 */
+	public OsmFileReceiver(File file, OsmFileFormat format, CompressionMethod compression, boolean indexed)
 	{
 		this.file = file;
 		this.format = format;
 		this.compression = compression;
+		this.indexed = indexed;
 	}
 	
 	/**
-	 * reads the {@link Entity}s from the {@link File}
+	 * reads the {@link Entity}s from the {@link File} and pushes them into a
+	 * {@link Sink}
 	 * 
 	 * @since 0.0.1
-	 * 		
-	 * @return the read {@link Entity}s
+	 * 
+	 * @param sink the {@link Sink} to process the read {@link Entity}s
 	 * @throws FileNotFoundException if the {@link File} doesn't exist
 	 */
-	private Set<Entity> readEntities()
+	private void readEntities(Sink sink)
 	throws FileNotFoundException
 	{
 		File file = this.getFile();
@@ -98,21 +174,87 @@ implements DataReceiver
 			throw new FileNotFoundException(file + " doesn't exist!");
 		}
 		
-		final Set<Entity> res = new HashSet<>();
-		
 		RunnableSource reader;
 		if (this.getFormat() == OsmFileFormat.PBF)
 		{
-			reader = new OsmosisReader(new FileInputStream(file));
+			reader = new ParallelPbfReader(new FileInputStream(file));
 		}
 		else
 		{
 			reader = new XmlReader(file, true, this.getCompression());
 		}
 		
+		reader.setSink(sink);
+		
+		Thread readerThread = new Thread(reader);
+		readerThread.start();
+		
+		while (readerThread.isAlive())
+		{
+			try
+			{
+				readerThread.join();
+			}
+			catch (InterruptedException e)
+			{
+			}
+		}
+	}
+	
+	/**
+	 * reads the {@link Entity}s from the {@link File} and streams them into a
+	 * {@link StoringSink}<br>
+	 * If the {@link StoringSink} stores the {@link Entity}s, all
+	 * {@link Entity}s are marked as stored afterwards.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param sink the {@link StoringSink} to process the read {@link Entity}s
+	 * @throws FileNotFoundException if the {@link File} doesn't exist
+	 */
+	private void streamEntities(StoringSink sink)
+	throws FileNotFoundException
+	{
+		this.readEntities(sink);
+		
+		if (sink.getStore() != null)
+		{
+			this.allStored = true;
+		}
+	}
+	
+	/**
+	 * builds the indexes of all {@link Entity}s in the {@link File}, if they
+	 * don't exist already<br>
+	 * Every lookup calls this method first, so it's synchronized to let
+	 * concurrent lookups wait for a single pass over the {@link File}.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @throws FileNotFoundException if the {@link File} doesn't exist
+	 */
+	private synchronized void buildIndex()
+	throws FileNotFoundException
+	{
+		if (this.nodeIndex != null)
+		{
+			return;
+		}
+		
+		OsmFileReceiver.LOGGER.debug("Building indexes of " + this.getFile() + ".");
+		
+		final LongObjectHashMap<Node> nodes = new LongObjectHashMap<>();
+		final LongObjectHashMap<Way> ways = new LongObjectHashMap<>();
+		final LongObjectHashMap<Relation> rels = new LongObjectHashMap<>();
+		final LongSetMultimap waysOfNode = new LongSetMultimap();
+		final Map<EntityType, LongSetMultimap> relsOfEntity = new TreeMap<>();
+		relsOfEntity.put(EntityType.Node, new LongSetMultimap());
+		relsOfEntity.put(EntityType.Way, new LongSetMultimap());
+		relsOfEntity.put(EntityType.Relation, new LongSetMultimap());
+		
 		final DataHandler store = this.getStore();
 		final boolean storeExist = store != null;
-		Sink sink = new Sink()
+		this.readEntities(new Sink()
 		{
 			@Override
 			public void release()
@@ -133,38 +275,193 @@ implements DataReceiver
 			public void process(EntityContainer entityContainer)
 			{
 				Entity entity = entityContainer.getEntity();
+				long id = entity.getId();
 				
-				res.add(entity);
+				if (entity instanceof Node)
+				{
+					nodes.put(id, (Node)entity);
+				}
+				else if (entity instanceof Way)
+				{
+					Way way = (Way)entity;
+					
+					for (WayNode wayNode : way.getWayNodes())
+					{
+						waysOfNode.put(wayNode.getNodeId(), id);
+					}
+					
+					ways.put(id, way);
+				}
+				else if (entity instanceof Relation)
+				{
+					Relation rel = (Relation)entity;
+					
+					for (RelationMember member : rel.getMembers())
+					{
+						relsOfEntity.get(member.getMemberType()).put(member.getMemberId(), id);
+					}
+					
+					rels.put(id, rel);
+				}
 				
 				if (storeExist)
 				{
 					store.store(entity);
 				}
 			}
-		};
+		});
 		
-		reader.setSink(sink);
+		if (storeExist)
+		{
+			this.allStored = true;
+		}
 		
-		Thread readerThread = new Thread(reader);
-		readerThread.start();
+		this.wayIndex = ways;
+		this.relIndex = rels;
+		this.waysOfNodeIndex = waysOfNode;
+		this.relsOfEntityIndex = relsOfEntity;
+		this.nodeIndex = nodes;
 		
-		while (readerThread.isAlive())
+		OsmFileReceiver.LOGGER.debug("Indexed " + nodes.size() + " nodes, " + ways.size() + " ways and " + rels.size() + " relations of " + this.getFile() + ".");
+	}
+	
+	/**
+	 * stores only the {@link Entity}s, which are needed for routing, in the
+	 * {@link OsmFileReceiver#store}<br>
+	 * The first pass stores the routable {@link Way}s and restriction
+	 * {@link Relation}s and collects the ids of their {@link Node}s, the
+	 * second pass stores only these {@link Node}s. Afterwards all
+	 * {@link Entity}s are marked as stored, so the {@link DataHandler} won't
+	 * request the skipped ones.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param filter the {@link RoutableFilter}, which decides about the
+	 *            {@link Way}s and {@link Relation}s to keep
+	 * @throws FileNotFoundException if the {@link File} doesn't exist
+	 * @throws IllegalStateException if no {@link DataHandler} was set to store
+	 *             the {@link Entity}s in
+	 */
+	public void storeRoutable(final RoutableFilter filter)
+	throws FileNotFoundException, IllegalStateException
+	{
+		final DataHandler store = this.getStore();
+		if (store == null)
 		{
-			try
+			throw new IllegalStateException("No data handler set to store the routable entities in!");
+		}
+		
+		OsmFileReceiver.LOGGER.debug("Storing routable ways and restrictions of " + this.getFile() + " for " + filter.getMode() + ".");
+		
+		final LongHashSet nodeIds = new LongHashSet();
+		final int[] counts = new int[3];
+		this.readEntities(new Sink()
+		{
+			@Override
+			public void release()
 			{
-				readerThread.join();
 			}
-			catch (InterruptedException e)
+			
+			@Override
+			public void complete()
 			{
 			}
-		}
+			
+			@Override
+			public void initialize(Map<String, Object> metaData)
+			{
+			}
+			
+			@Override
+			public void process(EntityContainer entityContainer)
+			{
+				Entity entity = entityContainer.getEntity();
+				
+				if (entity instanceof Way)
+				{
+					Way way = (Way)entity;
+					
+					if (filter.isRoutable(way))
+					{
+						for (WayNode wayNode : way.getWayNodes())
+						{
+							nodeIds.add(wayNode.getNodeId());
+						}
+						
+						store.store(way);
+						counts[1]++;
+					}
+				}
+				else if (entity instanceof Relation && filter.isRoutable((Relation)entity))
+				{
+					store.store(entity);
+					counts[2]++;
+				}
+			}
+		});
 		
-		if (storeExist)
+		OsmFileReceiver.LOGGER.debug("Storing " + nodeIds.size() + " nodes of the routable ways of " + this.getFile() + ".");
+		
+		this.readEntities(new Sink()
 		{
-			this.allStored = true;
+			@Override
+			public void release()
+			{
+			}
+			
+			@Override
+			public void complete()
+			{
+			}
+			
+			@Override
+			public void initialize(Map<String, Object> metaData)
+			{
+			}
+			
+			@Override
+			public void process(EntityContainer entityContainer)
+			{
+				Entity entity = entityContainer.getEntity();
+				
+				if (entity instanceof Node && nodeIds.contains(entity.getId()))
+				{
+					store.store(entity);
+					counts[0]++;
+				}
+			}
+		});
+		
+		this.allStored = true;
+		
+		OsmFileReceiver.LOGGER.debug("Stored " + counts[0] + " nodes, " + counts[1] + " ways and " + counts[2] + " relations of " + this.getFile() + ".");
+	}
+	
+	/**
+	 * streams all {@link Entity}s of the {@link File} into the
+	 * {@link OsmFileReceiver#store}<br>
+	 * No {@link Entity} is collected by the {@link OsmFileReceiver}, so the
+	 * {@link Entity}s have to be queried from the indices of the
+	 * {@link DataHandler} afterwards.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @throws FileNotFoundException if the {@link File} doesn't exist
+	 * @throws IllegalStateException if no {@link DataHandler} was set to store
+	 *             the {@link Entity}s in
+	 */
+	public void storeAll()
+	throws FileNotFoundException, IllegalStateException
+	{
+		DataHandler store = this.getStore();
+		if (store == null)
+		{
+			throw new IllegalStateException("No data handler set to store the entities in!");
 		}
 		
-		return res;
+		OsmFileReceiver.LOGGER.debug("Storing all entities of " + this.getFile() + ".");
+		
+		this.streamEntities(new StoringSink(store));
 	}
 	
 	@Override
@@ -173,101 +470,252 @@ implements DataReceiver
 		return this.allStored;
 	}
 	
+	@Override
+	public boolean isAllStored(Node node)
+	{
+		return this.isAllStored();
+	}
+	
 	@Override
 	public Node getNode(long id)
 	throws IOException
 	{
-		for (Entity entity : this.readEntities())
+		if (this.isIndexed())
 		{
-			if (entity instanceof Node && entity.getId() == id)
-			{
-				return (Node)entity;
-			}
+			this.buildIndex();
+			
+			return this.nodeIndex.get(id);
 		}
 		
-		return null;
+		Set<Node> res = this.getNodes(new long[] {id});
+		return res.isEmpty() ? null : res.iterator().next();
 	}
 	
 	@Override
 	public Way getWay(long id)
 	throws IOException
 	{
-		for (Entity entity : this.readEntities())
+		if (this.isIndexed())
+		{
+			this.buildIndex();
+			
+			return this.wayIndex.get(id);
+		}
+		
+		Set<Way> res = this.getWays(new long[] {id});
+		return res.isEmpty() ? null : res.iterator().next();
+	}
+	
+	@Override
+	public Relation getRel(final long id)
+	throws IOException
+	{
+		if (this.isIndexed())
 		{
-			if (entity instanceof Way && entity.getId() == id)
+			this.buildIndex();
+			
+			return this.relIndex.get(id);
+		}
+		
+		final Set<Relation> res = new HashSet<>();
+		this.streamEntities(new StoringSink(this.getStore())
+		{
+			@Override
+			protected void accept(Entity entity)
 			{
-				return (Way)entity;
+				if (entity instanceof Relation && entity.getId() == id)
+				{
+					res.add((Relation)entity);
+				}
 			}
+		});
+		
+		return res.isEmpty() ? null : res.iterator().next();
+	}
+	
+	@Override
+	public Set<Way> getWaysOf(Node node)
+	throws IOException
+	{
+		return this.getWaysOf(new long[] {node.getId()});
+	}
+	
+	@Override
+	public Set<Relation> getRelsOf(Entity entity)
+	throws IOException
+	{
+		return this.getRelsOf(entity.getType(), new long[] {entity.getId()});
+	}
+	
+	@Override
+	public Set<Node> getNodes(long[] ids)
+	throws IOException
+	{
+		final Set<Node> res = new HashSet<>();
+		
+		if (this.isIndexed())
+		{
+			this.buildIndex();
+			
+			for (long id : ids)
+			{
+				Node node = this.nodeIndex.get(id);
+				if (node != null)
+				{
+					res.add(node);
+				}
+			}
+			
+			return res;
 		}
 		
-		return null;
+		final LongHashSet idSet = new LongHashSet(ids.length);
+		idSet.addAll(ids);
+		this.streamEntities(new StoringSink(this.getStore())
+		{
+			@Override
+			protected void accept(Entity entity)
+			{
+				if (entity instanceof Node && idSet.contains(entity.getId()))
+				{
+					res.add((Node)entity);
+				}
+			}
+		});
+		
+		return res;
 	}
 	
 	@Override
-	public Relation getRel(long id)
+	public Set<Way> getWays(long[] ids)
 	throws IOException
 	{
-		for (Entity entity : this.readEntities())
+		final Set<Way> res = new HashSet<>();
+		
+		if (this.isIndexed())
 		{
-			if (entity instanceof Relation && entity.getId() == id)
+			this.buildIndex();
+			
+			for (long id : ids)
 			{
-				return (Relation)entity;
+				Way way = this.wayIndex.get(id);
+				if (way != null)
+				{
+					res.add(way);
+				}
 			}
+			
+			return res;
 		}
 		
-		return null;
+		final LongHashSet idSet = new LongHashSet(ids.length);
+		idSet.addAll(ids);
+		this.streamEntities(new StoringSink(this.getStore())
+		{
+			@Override
+			protected void accept(Entity entity)
+			{
+				if (entity instanceof Way && idSet.contains(entity.getId()))
+				{
+					res.add((Way)entity);
+				}
+			}
+		});
+		
+		return res;
 	}
 	
 	@Override
-	public Set<Way> getWaysOf(Node node)
+	public Set<Way> getWaysOf(long[] nodeIds)
 	throws IOException
 	{
-		Set<Way> res = new HashSet<>();
+		final Set<Way> res = new HashSet<>();
 		
-		long nodeId = node.getId();
-		for (Entity entity : this.readEntities())
+		if (this.isIndexed())
 		{
-			if (entity instanceof Way)
+			this.buildIndex();
+			
+			for (long nodeId : nodeIds)
 			{
-				Way way = (Way)entity;
-				
-				for (WayNode wayNode : way.getWayNodes())
+				for (long wayId : this.waysOfNodeIndex.get(nodeId))
+				{
+					res.add(this.wayIndex.get(wayId));
+				}
+			}
+			
+			return res;
+		}
+		
+		final LongHashSet idSet = new LongHashSet(nodeIds.length);
+		idSet.addAll(nodeIds);
+		this.streamEntities(new StoringSink(this.getStore())
+		{
+			@Override
+			protected void accept(Entity entity)
+			{
+				if (entity instanceof Way)
 				{
-					if (wayNode.getNodeId() == nodeId)
+					Way way = (Way)entity;
+					
+					for (WayNode wayNode : way.getWayNodes())
 					{
-						res.add(way);
-						break;
+						if (idSet.contains(wayNode.getNodeId()))
+						{
+							res.add(way);
+							break;
+						}
 					}
 				}
 			}
-		}
+		});
 		
 		return res;
 	}
 	
 	@Override
-	public Set<Relation> getRelsOf(Entity entity)
+	public Set<Relation> getRelsOf(final EntityType type, long[] ids)
 	throws IOException
 	{
-		Set<Relation> res = new HashSet<>();
+		final Set<Relation> res = new HashSet<>();
 		
-		long entityId = entity.getId();
-		for (Entity listEntity : this.readEntities())
+		if (this.isIndexed())
 		{
-			if (listEntity instanceof Relation)
+			this.buildIndex();
+			
+			LongSetMultimap relsOfEntity = this.relsOfEntityIndex.get(type);
+			for (long id : ids)
 			{
-				Relation rel = (Relation)listEntity;
-				
-				for (RelationMember member : rel.getMembers())
+				for (long relId : relsOfEntity.get(id))
 				{
-					if (member.getMemberId() == entityId)
+					res.add(this.relIndex.get(relId));
+				}
+			}
+			
+			return res;
+		}
+		
+		final LongHashSet idSet = new LongHashSet(ids.length);
+		idSet.addAll(ids);
+		this.streamEntities(new StoringSink(this.getStore())
+		{
+			@Override
+			protected void accept(Entity entity)
+			{
+				if (entity instanceof Relation)
+				{
+					Relation rel = (Relation)entity;
+					
+					for (RelationMember member : rel.getMembers())
 					{
-						res.add(rel);
-						break;
+						if (member.getMemberType() == type && idSet.contains(member.getMemberId()))
+						{
+							res.add(rel);
+							break;
+						}
 					}
 				}
 			}
-		}
+		});
 		
 		return res;
 	}
@@ -308,6 +756,19 @@ implements DataReceiver
 		return this.format;
 	}
 	
+	/**
+	 * is the {@link File} parsed only once and all lookups answered by indexes?
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return <code>true</code>, if the indexed mode is used,
+	 *         <code>false</code> if the {@link File} is parsed on every lookup
+	 */
+	public boolean isIndexed()
+	{
+		return this.indexed;
+	}
+	
 	/**
 	 * gives the {@link DataHandler}, in which the read {@link Entity}s should
 	 * be stored
@@ -331,5 +792,6 @@ implements DataReceiver
 	 */
 	public void setStore(DataHandler store)
 	{
+		this.store = store;
 	}
 }
\ No newline at end of file
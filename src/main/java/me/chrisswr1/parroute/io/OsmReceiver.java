@@ -5,8 +5,10 @@ import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -213,6 +215,12 @@ implements DataReceiver
 		return false;
 	}
 	
+	@Override
+	public boolean isAllStored(Node node)
+	{
+		return false;
+	}
+	
 	@Override
 	public Node getNode(long id)
 	throws IOException
@@ -275,6 +283,78 @@ implements DataReceiver
 		return res;
 	}
 	
+	@Override
+	public Set<Node> getNodes(long[] ids)
+	throws IOException
+	{
+		Set<Node> res = new HashSet<>();
+		for (Entity entity : this.getEntities(ids, EntityType.Node))
+		{
+			res.add((Node)entity);
+		}
+		
+		return res;
+	}
+	
+	@Override
+	public Set<Way> getWays(long[] ids)
+	throws IOException
+	{
+		Set<Way> res = new HashSet<>();
+		for (Entity entity : this.getEntities(ids, EntityType.Way))
+		{
+			res.add((Way)entity);
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * The API provides no batch request of the {@link Way}s of {@link Node}s,
+	 * so every {@link Node} is requested on its own.
+	 */
+	@Override
+	public Set<Way> getWaysOf(long[] nodeIds)
+	throws IOException
+	{
+		Set<Way> res = new HashSet<>();
+		for (long id : nodeIds)
+		{
+			HttpURLConnection connection = this.getConnection("node/" + id + "/ways");
+			
+			for (Entity entity : OsmReceiver.parseStream(connection.getInputStream(), EntityType.Way, null))
+			{
+				res.add((Way)entity);
+			}
+			IOUtils.close(connection);
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * The API provides no batch request of the {@link Relation}s of
+	 * {@link Entity}s, so every {@link Entity} is requested on its own.
+	 */
+	@Override
+	public Set<Relation> getRelsOf(EntityType type, long[] ids)
+	throws IOException
+	{
+		Set<Relation> res = new HashSet<>();
+		for (long id : ids)
+		{
+			HttpURLConnection connection = this.getConnection(type.toString().toLowerCase() + "/" + id + "/relations");
+			
+			for (Entity entity : OsmReceiver.parseStream(connection.getInputStream(), EntityType.Relation, null))
+			{
+				res.add((Relation)entity);
+			}
+			IOUtils.close(connection);
+		}
+		
+		return res;
+	}
+	
 	/**
 	 * requests a OpenStreetMap feature by its id
 	 * 
@@ -396,4 +476,34 @@ implements DataReceiver
 		
 		return res;
 	}
+	
+	/**
+	 * requests a list of {@link Entity}s
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param ids the ids of the requested {@link Entity}s
+	 * @param type the {@link EntityType} of the requested {@link Entity}s
+	 * @return a {@link Set} of all received {@link Entity}s
+	 * @throws IOException if the connection couldn't established or the parsing
+	 *             failed
+	 * 
+	 * @see OsmReceiver#getEntities(Collection, EntityType)
+	 */
+	public Set<Entity> getEntities(long[] ids, EntityType type)
+	throws IOException
+	{
+		if (ids.length < 1)
+		{
+			return new HashSet<>();
+		}
+		
+		List<Long> idList = new ArrayList<>(ids.length);
+		for (long id : ids)
+		{
+			idList.add(id);
+		}
+		
+		return this.getEntities(idList, type);
+	}
 }
\ No newline at end of file
@@ -7,9 +7,16 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
@@ -18,11 +25,12 @@ import javax.xml.parsers.SAXParserFactory;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.geotools.geometry.GeneralEnvelope;
 import org.opengis.geometry.DirectPosition;
 import org.opengis.geometry.Envelope;
 import org.opengis.referencing.operation.TransformException;
-import org.openstreetmap.osmosis.core.container.v0_6.EntityContainer;
 import org.openstreetmap.osmosis.core.domain.v0_6.Entity;
+import org.openstreetmap.osmosis.core.domain.v0_6.EntityType;
 import org.openstreetmap.osmosis.core.domain.v0_6.Node;
 import org.openstreetmap.osmosis.core.domain.v0_6.Relation;
 import org.openstreetmap.osmosis.core.domain.v0_6.RelationMember;
@@ -33,10 +41,22 @@ import org.openstreetmap.osmosis.xml.v0_6.impl.OsmHandler;
 import org.xml.sax.SAXException;
 
 import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.graph.CoordinateStore;
 import me.chrisswr1.parroute.util.GeoUtils;
+import me.chrisswr1.parroute.util.LongHashSet;
 
 /**
  * defines a {@link DataReceiver}, which requests data from the Overpass API
+ * <br>
+ * In the tile mode the world is split into square tiles of a fixed size. When
+ * the {@link Way}s or {@link Relation}s of a {@link Node} are requested, all
+ * routable {@link Way}s, their {@link Node}s and the turn restrictions of the
+ * tile of the {@link Node} are received by one request. A {@link Node} of an
+ * already loaded tile is reported as completely stored by
+ * {@link OverpassReceiver#isAllStored(Node)} and is answered from the
+ * {@link DataHandler}, instead of requesting it again.<br>
+ * If an {@link EntityCache} is set, the parsed response of every script is
+ * cached, so repeated requests skip the Overpass API and the XML parsing.
  * 
  * @version 0.0.1
  * @author ChrissW-R1
@@ -50,54 +70,127 @@ implements DataReceiver
 	 * 
 	 * @since 0.0.1
 	 */
-	private static URL			offUrl;
-								
+	private static URL									offUrl;
+														
 	/**
 	 * the {@link Logger} of this class
 	 * 
 	 * @since 0.0.1
 	 */
-	public static final Logger	LOGGER			= LogManager.getLogger(OverpassReceiver.class);
+	public static final Logger							LOGGER			= LogManager.getLogger(OverpassReceiver.class);
 	/**
 	 * placeholder for the bbox in a Overpass QL script
 	 * 
 	 * @since 0.0.1
 	 */
-	public static final String	PH_BBOX			= "{{bbox}}";
+	public static final String							PH_BBOX			= "{{bbox}}";
 	/**
 	 * the timeout of an Overpass request (in seconds)
 	 * 
+	 * @deprecated Use {@link RetryPolicy#getTimeout()} instead
+	 * 
 	 * @since 0.0.1
 	 */
-	public static final int		REQUEST_TIMEOUT	= 25;
+	@Deprecated
+	public static final int								REQUEST_TIMEOUT	= RetryPolicy.DEFAULT_TIMEOUT;
 	/**
 	 * count of attempts, how often the {@link OverpassReceiver} should open the
 	 * request
 	 * 
+	 * @deprecated Use {@link RetryPolicy#getAttempts()} instead
+	 * 
 	 * @since 0.0.1
 	 */
-	public static final int		ATTEMPTS		= 3;
+	@Deprecated
+	public static final int								ATTEMPTS		= RetryPolicy.DEFAULT_ATTEMPTS;
 	/**
 	 * the time to wait before retry an Overpass request (in milliseconds)
 	 * 
+	 * @deprecated Use {@link RetryPolicy#getBaseDelay()} instead
+	 * 
+	 * @since 0.0.1
+	 */
+	@Deprecated
+	public static final int								RETRY_DELAY		= (int)RetryPolicy.DEFAULT_BASE_DELAY;
+	/**
+	 * the time (in milliseconds), which the connection waits for a response
+	 * longer than the Overpass API runs the script
+	 * 
 	 * @since 0.0.1
 	 */
-	public static final int		RETRY_DELAY		= 1000;
-												
+	public static final int								TIMEOUT_MARGIN	= 10000;
+	/**
+	 * the maximum count of ids, which are requested in one Overpass request
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final int								BATCH_SIZE		= 500;
+	/**
+	 * the default edge length of a tile (in degrees)
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final double							TILE_SIZE		= 0.05;
+	/**
+	 * the Overpass QL script to request all routable {@link Entity}s of a tile
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final String							TILE_SCRIPT		= "way[highway](" + OverpassReceiver.PH_BBOX + ");way[railway](" + OverpassReceiver.PH_BBOX + ");way[waterway](" + OverpassReceiver.PH_BBOX + ");way[route=ferry](" + OverpassReceiver.PH_BBOX + ");rel[type~\"^restriction\"](" + OverpassReceiver.PH_BBOX + ");";
+	/**
+	 * the tile of an {@link Entity} without known coordinates
+	 * 
+	 * @since 0.0.1
+	 */
+	private static final long							NO_TILE			= -1;
+																		
 	/**
 	 * the {@link DataHandler}, in which all received {@link Entity}s will
 	 * stored
 	 * 
 	 * @since 0.0.1
 	 */
-	private DataHandler			store			= null;
+	private DataHandler									store			= null;
 	/**
 	 * {@link URL} of the Overpass API endpoint
 	 * 
 	 * @since 0.0.1
 	 */
-	private final URL			apiUrl;
-								
+	private final URL									apiUrl;
+	/**
+	 * the edge length of a tile (in degrees) or <code>0</code>, if the tile
+	 * mode is disabled
+	 * 
+	 * @since 0.0.1
+	 */
+	private volatile double								tileSize		= 0;
+	/**
+	 * the running and finished loads of all tiles by their key
+	 * 
+	 * @since 0.0.1
+	 */
+	private final ConcurrentMap<Long, FutureTask<Void>>	tileLoads		= new ConcurrentHashMap<>();
+	/**
+	 * the {@link EntityCache} of the responses or <code>null</code>, if every
+	 * request should be sent to the Overpass API
+	 * 
+	 * @since 0.0.1
+	 */
+	private EntityCache									cache			= null;
+	/**
+	 * the {@link RetryPolicy} of the requests
+	 * 
+	 * @since 0.0.1
+	 */
+	private RetryPolicy									retryPolicy		= new RetryPolicy();
+	/**
+	 * is set for the {@link Thread}s, which run their requests by
+	 * {@link OverpassReceiver#requestOnce(Callable)}
+	 * 
+	 * @since 0.0.1
+	 */
+	private final ThreadLocal<Boolean>					singleAttempt	= new ThreadLocal<>();
+																		
 	static
 	{
 		String offUrlString = "http://overpass-api.de/api/";
@@ -134,18 +227,24 @@ implements DataReceiver
 	}
 	
 	/**
-	 * requests {@link Entity}s from the Overpass API and stores them in
-	 * {@link OverpassReceiver#store}
+	 * requests {@link Entity}s from the Overpass API and streams them into a
+	 * {@link StoringSink}<br>
+	 * The response is parsed {@link Entity} by {@link Entity}, so no
+	 * {@link Entity} is kept by this method, except for the
+	 * {@link EntityCache}, if one was set.
 	 * 
 	 * @since 0.0.1
 	 * 
 	 * @param script the Overpass QL script
 	 * @param bbox the bounding box of the request
-	 * @return a {@link Set} of all received {@link Entity}s
+	 * @param sink the {@link StoringSink} to process the received
+	 *            {@link Entity}s
+	 * @throws RetryableException if the Overpass API was only temporarily
+	 *             unable to answer on every attempt
 	 * @throws IOException if an error occurred on request the data from the
 	 *             Overpass API or the parsing failed
 	 */
-	private Set<Entity> requestEntities(String script, Envelope bbox)
+	private void requestEntities(String script, Envelope bbox, final StoringSink sink)
 	throws IOException
 	{
 		if (bbox != null)
@@ -181,11 +280,35 @@ implements DataReceiver
 			OverpassReceiver.LOGGER.debug("No bounding box was given. Removed all placeholders " + OverpassReceiver.PH_BBOX + ".");
 		}
 		
-		script = "[out:xml][timeout:" + OverpassReceiver.REQUEST_TIMEOUT + "];(" + script + ");out meta;>;out meta qt;";
+		EntityCache cache = this.getCache();
+		String cacheKey = null;
+		if (cache != null)
+		{
+			cacheKey = EntityCache.normalize(script);
+			List<Entity> cached = cache.get(cacheKey);
+			
+			if (cached != null)
+			{
+				OverpassReceiver.LOGGER.debug("Took the response of the following script from the cache: " + cacheKey);
+				
+				for (Entity entity : cached)
+				{
+					sink.process(entity);
+				}
+				
+				return;
+			}
+		}
+		
+		RetryPolicy retryPolicy = this.getRetryPolicy();
+		int attempts = this.singleAttempt.get() == null ? retryPolicy.getAttempts() : 1;
+		int timeout = retryPolicy.getTimeout();
+		script = "[out:xml][timeout:" + timeout + "];(" + script + ");out meta;>;out meta qt;";
 		
+		long retryAfter = -1;
 		try
 		{
-			for (int i = 0; i < OverpassReceiver.ATTEMPTS; i++)
+			for (int i = 0; i < attempts; i++)
 			{
 				OverpassReceiver.LOGGER.debug("Request features by the following script (attempt " + (i + 1) + "): " + script);
 				
@@ -193,6 +316,8 @@ implements DataReceiver
 				OverpassReceiver.LOGGER.trace("Trying to connect to: " + url);
 				
 				URLConnection connection = (new URL(url)).openConnection();
+				connection.setConnectTimeout(timeout * 1000);
+				connection.setReadTimeout(timeout * 1000 + OverpassReceiver.TIMEOUT_MARGIN);
 				connection.connect();
 				
 				if (connection instanceof HttpURLConnection)
@@ -211,16 +336,17 @@ implements DataReceiver
 						OverpassReceiver.LOGGER.error(msg);
 						throw new IOException(msg);
 					}
-					else if (statusCode == 429 || statusCode == 504)
+					else if (retryPolicy.isRetryable(statusCode))
 					{
-						OverpassReceiver.LOGGER.debug("Close connection and retry after " + OverpassReceiver.RETRY_DELAY + " milliseconds.");
-						
+						retryAfter = RetryPolicy.parseRetryAfter(httpConnection.getHeaderField("Retry-After"));
 						IOUtils.close(httpConnection);
 						
-						long stopTime = System.currentTimeMillis() + OverpassReceiver.RETRY_DELAY;
-						while (System.currentTimeMillis() < stopTime)
+						if (i + 1 < attempts)
 						{
-							;
+							long delay = retryPolicy.getDelay(i, retryAfter);
+							OverpassReceiver.LOGGER.debug("Closed connection and retry after " + delay + " milliseconds.");
+							
+							retryPolicy.await(delay);
 						}
 						
 						continue;
@@ -228,47 +354,35 @@ implements DataReceiver
 					
 					InputStream is = httpConnection.getInputStream();
 					SAXParser parser = SAXParserFactory.newInstance().newSAXParser();
-					final Set<Entity> res = new HashSet<>();
 					
-					Sink sink = new Sink()
+					Sink parserSink = sink;
+					final List<Entity> received = new ArrayList<>();
+					if (cache != null)
 					{
-						@Override
-						public void release()
-						{
-						}
-						
-						@Override
-						public void complete()
-						{
-						}
-						
-						@Override
-						public void initialize(Map<String, Object> metaData)
-						{
-						}
-						
-						@Override
-						public void process(EntityContainer entityContainer)
+						// collects the response only for the cache
+						parserSink = new StoringSink(null)
 						{
-							Entity entity = entityContainer.getEntity();
-							
-							DataHandler store = OverpassReceiver.this.getStore();
-							if (store != null)
+							@Override
+							protected void accept(Entity entity)
 							{
-								store.store(entity);
+								received.add(entity);
+								sink.process(entity);
 							}
-							
-							res.add(entity);
-						}
-					};
+						};
+					}
 					
 					OverpassReceiver.LOGGER.trace("Start XML parsing of Overpass API response from " + url);
-					parser.parse(is, new OsmHandler(sink, true));
+					parser.parse(is, new OsmHandler(parserSink, true));
 					
 					OverpassReceiver.LOGGER.trace("Close conntection to " + url + ".");
 					IOUtils.close(httpConnection);
 					
-					return res;
+					if (cache != null)
+					{
+						cache.put(cacheKey, received);
+					}
+					
+					return;
 				}
 				else
 				{
@@ -281,9 +395,14 @@ implements DataReceiver
 				}
 			}
 			
-			String msg = "Couldn't get a valid reponse from the Overpass API after " + OverpassReceiver.ATTEMPTS + " attempts!";
+			String msg = "Couldn't get a valid reponse from the Overpass API after " + attempts + " attempts!";
 			OverpassReceiver.LOGGER.error(msg);
-			throw new IOException(msg);
+			throw new RetryableException(msg, retryAfter);
+		}
+		catch (RetryableException e)
+		{
+			// the caller could schedule further attempts on its own
+			throw e;
 		}
 		catch (IOException e)
 		{
@@ -299,61 +418,553 @@ implements DataReceiver
 		}
 	}
 	
+	/**
+	 * runs requests to this {@link OverpassReceiver} with only one attempt
+	 * each<br>
+	 * The {@link RetryPolicy} isn't changed, so it's still used by all other
+	 * {@link Thread}s. A {@link RetryableException} is thrown after the first
+	 * failed attempt, so the caller could schedule the further attempts on its
+	 * own.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param <V> the type of the result
+	 * @param request the request to run in the current {@link Thread}
+	 * @return the result of {@code request}
+	 * @throws Exception if {@code request} failed
+	 */
+	public <V> V requestOnce(Callable<V> request)
+	throws Exception
+	{
+		Boolean previous = this.singleAttempt.get();
+		this.singleAttempt.set(Boolean.TRUE);
+		
+		try
+		{
+			return request.call();
+		}
+		finally
+		{
+			if (previous == null)
+			{
+				this.singleAttempt.remove();
+			}
+		}
+	}
+	
+	/**
+	 * requests {@link Entity}s by their ids, split into requests of at most
+	 * {@link OverpassReceiver#BATCH_SIZE} ids
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param type the type of the requested {@link Entity}s in Overpass QL
+	 *            (e.g. <code>node</code>)
+	 * @param ids the ids of the requested {@link Entity}s
+	 * @param suffix the statements to append to every id query (e.g.
+	 *            <code>&lt;;</code>)
+	 * @param sink the {@link StoringSink} to process the received
+	 *            {@link Entity}s
+	 * @throws IOException if an error occurred on request the data from the
+	 *             Overpass API or the parsing failed
+	 */
+	private void requestEntities(String type, long[] ids, String suffix, StoringSink sink)
+	throws IOException
+	{
+		for (int start = 0; start < ids.length; start += OverpassReceiver.BATCH_SIZE)
+		{
+			int end = Math.min(start + OverpassReceiver.BATCH_SIZE, ids.length);
+			
+			StringBuilder script = new StringBuilder(type).append("(id:");
+			for (int i = start; i < end; i++)
+			{
+				if (i > start)
+				{
+					script.append(',');
+				}
+				script.append(ids[i]);
+			}
+			script.append(");").append(suffix);
+			
+			this.requestEntities(script.toString(), null, sink);
+		}
+	}
+	
+	/**
+	 * requests {@link Entity}s around {@link Node}s<br>
+	 * The tile of every {@link Node}, which isn't loaded until yet, is loaded
+	 * completely. A {@link Node} of a tile, which was loaded before or by
+	 * another {@link Thread}, is answered from the {@link DataHandler} of
+	 * {@code sink}. All other {@link Node}s are requested by their ids.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param type the type of the requested {@link Entity}s in Overpass QL
+	 *            (e.g. <code>node</code>)
+	 * @param ids the ids of the requested {@link Entity}s
+	 * @param tiles the tiles of the {@link Entity}s in order of {@code ids}
+	 * @param suffix the statements to append to every id query
+	 * @param sink the {@link StoringSink} to process the received
+	 *            {@link Entity}s
+	 * @throws IOException if an error occurred on request the data from the
+	 *             Overpass API or the parsing failed
+	 */
+	private void requestAround(String type, long[] ids, long[] tiles, String suffix, StoringSink sink)
+	throws IOException
+	{
+		Set<Long> requestedTiles = new HashSet<>();
+		
+		long[] remaining = new long[ids.length];
+		int remainingCount = 0;
+		for (int i = 0; i < ids.length; i++)
+		{
+			long tile = tiles[i];
+			
+			if (tile != OverpassReceiver.NO_TILE)
+			{
+				if (requestedTiles.contains(tile) || this.loadTile(tile, sink))
+				{
+					requestedTiles.add(tile);
+					continue;
+				}
+				
+				if (OverpassReceiver.isLoaded(this.tileLoads.get(tile), true) && OverpassReceiver.acceptStored(ids[i], sink))
+				{
+					continue;
+				}
+			}
+			
+			remaining[remainingCount++] = ids[i];
+		}
+		
+		if (remainingCount > 0)
+		{
+			this.requestEntities(type, Arrays.copyOf(remaining, remainingCount), suffix, sink);
+		}
+	}
+	
+	/**
+	 * passes the stored {@link Way}s and {@link Relation}s around a
+	 * {@link Node} of a loaded tile to a {@link StoringSink}<br>
+	 * These are the {@link Way}s of the {@link Node}, the {@link Relation}s of
+	 * the {@link Node} and the {@link Relation}s of these {@link Way}s, like
+	 * they would be received by a request of the {@link Node}.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param nodeId the id of the {@link Node}
+	 * @param sink the {@link StoringSink} to pass the {@link Entity}s to
+	 * @return <code>true</code> if the {@link Entity}s were passed,
+	 *         <code>false</code> if {@code sink} doesn't store its
+	 *         {@link Entity}s
+	 */
+	private static boolean acceptStored(long nodeId, StoringSink sink)
+	{
+		DataHandler store = sink.getStore();
+		if (store == null)
+		{
+			return false;
+		}
+		
+		for (long relId : store.getStoredRelsOf(EntityType.Node, nodeId))
+		{
+			Relation rel = store.getStoredRel(relId);
+			if (rel != null)
+			{
+				sink.accept(rel);
+			}
+		}
+		
+		for (long wayId : store.getStoredWaysOf(nodeId))
+		{
+			Way way = store.getStoredWay(wayId);
+			if (way == null)
+			{
+				continue;
+			}
+			sink.accept(way);
+			
+			for (long relId : store.getStoredRelsOf(EntityType.Way, wayId))
+			{
+				Relation rel = store.getStoredRel(relId);
+				if (rel != null)
+				{
+					sink.accept(rel);
+				}
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * loads all routable {@link Entity}s of a tile, if it isn't loaded already
+	 * <br>
+	 * Every tile is loaded by only one {@link Thread}. Every other
+	 * {@link Thread}, which asks for the same tile meanwhile, waits for the
+	 * running load. A failed load is forgotten, so the tile will be requested
+	 * again next time.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param tile the key of the tile
+	 * @param sink the {@link StoringSink} to process the received
+	 *            {@link Entity}s
+	 * @return <code>true</code> if the tile was loaded into {@code sink},
+	 *         <code>false</code> if it was loaded before or by another
+	 *         {@link Thread}
+	 * @throws IOException if an error occurred on request the data from the
+	 *             Overpass API or the parsing failed
+	 */
+	private boolean loadTile(long tile, final StoringSink sink)
+	throws IOException
+	{
+		final double tileSize = this.getTileSize();
+		final long row = tile >>> 32;
+		final long col = tile & 0xFFFFFFFFL;
+		
+		FutureTask<Void> task = new FutureTask<>(new Callable<Void>()
+		{
+			@Override
+			public Void call()
+			throws IOException
+			{
+				double south = row * tileSize - 90;
+				double west = col * tileSize - 180;
+				
+				OverpassReceiver.LOGGER.debug("Load tile " + row + "/" + col + " with south west corner " + south + "," + west + ".");
+				
+				GeneralEnvelope bbox = new GeneralEnvelope(new double[] {south, west}, new double[] {south + tileSize, west + tileSize});
+				bbox.setCoordinateReferenceSystem(GeoUtils.OSM_CRS);
+				OverpassReceiver.this.requestEntities(OverpassReceiver.TILE_SCRIPT, bbox, sink);
+				
+				return null;
+			}
+		});
+		
+		FutureTask<Void> running = this.tileLoads.putIfAbsent(tile, task);
+		if (running != null)
+		{
+			OverpassReceiver.LOGGER.trace("Tile " + row + "/" + col + " is loaded by another request.");
+			OverpassReceiver.isLoaded(running, true);
+			
+			return false;
+		}
+		
+		task.run();
+		try
+		{
+			task.get();
+		}
+		catch (InterruptedException e)
+		{
+			// the task was run by this thread, so it's finished already
+			Thread.currentThread().interrupt();
+		}
+		catch (ExecutionException e)
+		{
+			this.tileLoads.remove(tile, task);
+			
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException)
+			{
+				throw (IOException)cause;
+			}
+			throw new IOException("Couldn't load tile " + row + "/" + col + "!", cause);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * checks if the load of a tile was finished successfully
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param load the load of the tile
+	 * @param wait <code>true</code> to wait for a running load,
+	 *            <code>false</code> to treat it as not loaded
+	 * @return <code>true</code> if {@code load} has finished successfully,
+	 *         <code>false</code> otherwise
+	 */
+	private static boolean isLoaded(FutureTask<Void> load, boolean wait)
+	{
+		if (load == null || ! (wait || load.isDone()))
+		{
+			return false;
+		}
+		
+		boolean interrupted = false;
+		try
+		{
+			while (true)
+			{
+				try
+				{
+					load.get();
+					return true;
+				}
+				catch (InterruptedException e)
+				{
+					interrupted = true;
+				}
+				catch (ExecutionException e)
+				{
+					return false;
+				}
+			}
+		}
+		finally
+		{
+			if (interrupted)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
+	/**
+	 * gives the tile of a coordinate
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param lat the latitude
+	 * @param lon the longitude
+	 * @return the key of the tile, which contains the coordinate or
+	 *         <code>-1</code>, if the tile mode is disabled
+	 */
+	public long getTile(double lat, double lon)
+	{
+		double tileSize = this.getTileSize();
+		if (tileSize <= 0)
+		{
+			return OverpassReceiver.NO_TILE;
+		}
+		
+		long row = (long)Math.floor((lat + 90) / tileSize);
+		long col = (long)Math.floor((lon + 180) / tileSize);
+		
+		return (row << 32) | col;
+	}
+	
+	/**
+	 * gives the tiles of {@link Node}s, which coordinates are stored in
+	 * {@link OverpassReceiver#store}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param nodeIds the ids of the {@link Node}s
+	 * @return the tiles in order of {@code nodeIds}, <code>-1</code> for every
+	 *         {@link Node} with unknown coordinates
+	 */
+	private long[] getTiles(long[] nodeIds)
+	{
+		long[] res = new long[nodeIds.length];
+		Arrays.fill(res, OverpassReceiver.NO_TILE);
+		
+		DataHandler store = this.getStore();
+		if (this.getTileSize() <= 0 || store == null)
+		{
+			return res;
+		}
+		
+		CoordinateStore coordinates = store.getCoordinates();
+		for (int i = 0; i < nodeIds.length; i++)
+		{
+			int idx = store.getStoredCoordIndex(nodeIds[i]);
+			
+			if (idx != CoordinateStore.NO_INDEX)
+			{
+				res[i] = this.getTile(coordinates.getLatitude(idx), coordinates.getLongitude(idx));
+			}
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * checks if the tile of a coordinate was already loaded
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param lat the latitude
+	 * @param lon the longitude
+	 * @return <code>true</code> if the tile mode is enabled and the tile of the
+	 *         coordinate was loaded, <code>false</code> otherwise
+	 */
+	public boolean isTileLoaded(double lat, double lon)
+	{
+		long tile = this.getTile(lat, lon);
+		
+		return tile != OverpassReceiver.NO_TILE && OverpassReceiver.isLoaded(this.tileLoads.get(tile), false);
+	}
+	
+	/**
+	 * requests {@link Entity}s by an Overpass QL script and streams them into
+	 * {@link OverpassReceiver#store}<br>
+	 * No {@link Entity} is collected, so the received {@link Entity}s have to
+	 * be queried from the indices of the {@link DataHandler} afterwards.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param script the Overpass QL script, which could contain
+	 *            {@link OverpassReceiver#PH_BBOX}
+	 * @param bbox the bounding box of the request or <code>null</code>
+	 * @throws IOException if an error occurred on request the data from the
+	 *             Overpass API or the parsing failed
+	 * @throws IllegalStateException if no {@link DataHandler} was set to store
+	 *             the {@link Entity}s in
+	 */
+	public void store(String script, Envelope bbox)
+	throws IOException
+	{
+		DataHandler store = this.getStore();
+		if (store == null)
+		{
+			throw new IllegalStateException("No data handler was set to store the entities in!");
+		}
+		
+		this.requestEntities(script, bbox, new StoringSink(store));
+	}
+	
 	@Override
 	public boolean isAllStored()
 	{
 		return false;
 	}
 	
+	@Override
+	public boolean isAllStored(Node node)
+	{
+		return this.isTileLoaded(node.getLatitude(), node.getLongitude());
+	}
+	
 	@Override
 	public Node getNode(long id)
 	throws IOException
 	{
 		OverpassReceiver.LOGGER.trace("Request node with id " + id + ".");
 		
-		for (Entity entity : this.requestEntities("node(" + id + ");", null))
+		Set<Node> res = this.getNodes(new long[] {id});
+		return res.isEmpty() ? null : res.iterator().next();
+	}
+	
+	@Override
+	public Way getWay(long id)
+	throws IOException
+	{
+		OverpassReceiver.LOGGER.trace("Request way with id " + id + ".");
+		
+		Set<Way> res = this.getWays(new long[] {id});
+		return res.isEmpty() ? null : res.iterator().next();
+	}
+	
+	@Override
+	public Relation getRel(final long id)
+	throws IOException
+	{
+		OverpassReceiver.LOGGER.trace("Request relation with id " + id + ".");
+		
+		final Set<Relation> res = new HashSet<>();
+		this.requestEntities("relation", new long[] {id}, "", new StoringSink(this.getStore())
 		{
-			if (entity instanceof Node && entity.getId() == id)
+			@Override
+			protected void accept(Entity entity)
 			{
-				return (Node)entity;
+				if (entity instanceof Relation && entity.getId() == id)
+				{
+					res.add((Relation)entity);
+				}
 			}
-		}
+		});
 		
-		return null;
+		return res.isEmpty() ? null : res.iterator().next();
 	}
 	
-	@Override
-	public Way getWay(long id)
+	/**
+	 * requests all {@link Way}s, which one of many {@link Node}s is a part of
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param nodeIds the ids of the {@link Node}s
+	 * @param tiles the tiles of the {@link Node}s in order of {@code nodeIds}
+	 * @return all {@link Way}s, which contain at least one of the {@link Node}s
+	 * @throws IOException if an error occurred on request the data from the
+	 *             Overpass API or the parsing failed
+	 */
+	private Set<Way> getWaysOf(long[] nodeIds, long[] tiles)
 	throws IOException
 	{
-		OverpassReceiver.LOGGER.trace("Request way with id " + id + ".");
+		final LongHashSet idSet = new LongHashSet(nodeIds.length);
+		idSet.addAll(nodeIds);
 		
-		for (Entity entity : this.requestEntities("way(" + id + ");", null))
+		final Set<Way> res = new HashSet<>();
+		this.requestAround("node", nodeIds, tiles, "<;", new StoringSink(this.getStore())
 		{
-			if (entity instanceof Way && entity.getId() == id)
+			@Override
+			protected void accept(Entity entity)
 			{
-				return (Way)entity;
+				if (entity instanceof Way)
+				{
+					Way way = (Way)entity;
+					
+					for (WayNode wayNode : way.getWayNodes())
+					{
+						if (idSet.contains(wayNode.getNodeId()))
+						{
+							res.add(way);
+							break;
+						}
+					}
+				}
 			}
-		}
+		});
 		
-		return null;
+		return res;
 	}
 	
-	@Override
-	public Relation getRel(long id)
+	/**
+	 * requests all {@link Relation}s, which one of many {@link Entity}s of the
+	 * same {@link EntityType} is a member of
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param type the {@link EntityType} of the members
+	 * @param ids the ids of the members
+	 * @param tiles the tiles of the members in order of {@code ids}
+	 * @return all {@link Relation}s, which contain at least one of the members
+	 * @throws IOException if an error occurred on request the data from the
+	 *             Overpass API or the parsing failed
+	 */
+	private Set<Relation> getRelsOf(final EntityType type, long[] ids, long[] tiles)
 	throws IOException
 	{
-		OverpassReceiver.LOGGER.trace("Request relation with id " + id + ".");
+		final LongHashSet idSet = new LongHashSet(ids.length);
+		idSet.addAll(ids);
 		
-		for (Entity entity : this.requestEntities("relation(" + id + ");", null))
+		final Set<Relation> res = new HashSet<>();
+		this.requestAround(type.toString().toLowerCase(), ids, tiles, "<;", new StoringSink(this.getStore())
 		{
-			if (entity instanceof Relation && entity.getId() == id)
+			@Override
+			protected void accept(Entity entity)
 			{
-				return (Relation)entity;
+				if (entity instanceof Relation)
+				{
+					Relation rel = (Relation)entity;
+					
+					for (RelationMember relMember : rel.getMembers())
+					{
+						if (relMember.getMemberType() == type && idSet.contains(relMember.getMemberId()))
+						{
+							res.add(rel);
+							break;
+						}
+					}
+				}
 			}
-		}
+		});
 		
-		return null;
+		return res;
 	}
 	
 	@Override
@@ -362,58 +973,104 @@ implements DataReceiver
 	{
 		OverpassReceiver.LOGGER.trace("Request all ways, on which " + node + " is a part from.");
 		
-		long id = node.getId();
+		return this.getWaysOf(new long[] {node.getId()}, new long[] {this.getTile(node.getLatitude(), node.getLongitude())});
+	}
+	
+	@Override
+	public Set<Relation> getRelsOf(Entity entity)
+	throws IOException
+	{
+		OverpassReceiver.LOGGER.trace("Request all relations, which have " + entity + " as a member.");
+		
+		long[] tiles = {OverpassReceiver.NO_TILE};
+		if (entity instanceof Node)
+		{
+			Node node = (Node)entity;
+			tiles[0] = this.getTile(node.getLatitude(), node.getLongitude());
+		}
+		
+		return this.getRelsOf(entity.getType(), new long[] {entity.getId()}, tiles);
+	}
+	
+	@Override
+	public Set<Node> getNodes(long[] ids)
+	throws IOException
+	{
+		OverpassReceiver.LOGGER.trace("Request " + ids.length + " nodes.");
+		
+		final LongHashSet idSet = new LongHashSet(ids.length);
+		idSet.addAll(ids);
 		
-		Set<Way> res = new HashSet<>();
-		for (Entity entity : this.requestEntities("node(" + id + ");<;", null))
+		final Set<Node> res = new HashSet<>();
+		this.requestEntities("node", ids, "", new StoringSink(this.getStore())
 		{
-			if (entity instanceof Way)
+			@Override
+			protected void accept(Entity entity)
 			{
-				Way way = (Way)entity;
-				
-				for (WayNode wayNode : way.getWayNodes())
+				if (entity instanceof Node && idSet.contains(entity.getId()))
 				{
-					if (wayNode.getNodeId() == id)
-					{
-						res.add(way);
-						break;
-					}
+					res.add((Node)entity);
 				}
 			}
-		}
+		});
 		
 		return res;
 	}
 	
 	@Override
-	public Set<Relation> getRelsOf(Entity entity)
+	public Set<Way> getWays(long[] ids)
 	throws IOException
 	{
-		OverpassReceiver.LOGGER.trace("Request all relations, which have " + entity + " as a member.");
+		OverpassReceiver.LOGGER.trace("Request " + ids.length + " ways.");
 		
-		long id = entity.getId();
+		final LongHashSet idSet = new LongHashSet(ids.length);
+		idSet.addAll(ids);
 		
-		Set<Relation> res = new HashSet<>();
-		for (Entity reqEntity : this.requestEntities(entity.getType().toString().toLowerCase() + "(" + id + ");<;", null))
+		final Set<Way> res = new HashSet<>();
+		this.requestEntities("way", ids, "", new StoringSink(this.getStore())
 		{
-			if (reqEntity instanceof Relation)
+			@Override
+			protected void accept(Entity entity)
 			{
-				Relation rel = (Relation)reqEntity;
-				
-				for (RelationMember relMember : rel.getMembers())
+				if (entity instanceof Way && idSet.contains(entity.getId()))
 				{
-					if (relMember.getMemberId() == id)
-					{
-						res.add(rel);
-						break;
-					}
+					res.add((Way)entity);
 				}
 			}
-		}
+		});
 		
 		return res;
 	}
 	
+	@Override
+	public Set<Way> getWaysOf(long[] nodeIds)
+	throws IOException
+	{
+		OverpassReceiver.LOGGER.trace("Request all ways of " + nodeIds.length + " nodes.");
+		
+		return this.getWaysOf(nodeIds, this.getTiles(nodeIds));
+	}
+	
+	@Override
+	public Set<Relation> getRelsOf(EntityType type, long[] ids)
+	throws IOException
+	{
+		OverpassReceiver.LOGGER.trace("Request all relations of " + ids.length + " " + type + "s.");
+		
+		long[] tiles;
+		if (type == EntityType.Node)
+		{
+			tiles = this.getTiles(ids);
+		}
+		else
+		{
+			tiles = new long[ids.length];
+			Arrays.fill(tiles, OverpassReceiver.NO_TILE);
+		}
+		
+		return this.getRelsOf(type, ids, tiles);
+	}
+	
 	/**
 	 * gives the {@link DataHandler}, in which all {@link Entity}s were stored
 	 * 
@@ -438,4 +1095,82 @@ implements DataReceiver
 	{
 		this.store = store;
 	}
+	
+	/**
+	 * gives the edge length of a tile
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the edge length of a tile (in degrees) or <code>0</code>, if the
+	 *         tile mode is disabled
+	 */
+	public double getTileSize()
+	{
+		return this.tileSize;
+	}
+	
+	/**
+	 * sets the edge length of a tile and enables the tile mode<br>
+	 * All already loaded tiles will be forgotten.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param tileSize the edge length of a tile (in degrees) or <code>0</code>
+	 *            to disable the tile mode
+	 */
+	public void setTileSize(double tileSize)
+	{
+		this.tileSize = Math.max(tileSize, 0);
+		this.tileLoads.clear();
+	}
+	
+	/**
+	 * gives the {@link EntityCache} of the responses
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link EntityCache} or <code>null</code>, if no cache is
+	 *         used
+	 */
+	public EntityCache getCache()
+	{
+		return this.cache;
+	}
+	
+	/**
+	 * sets the {@link EntityCache} of the responses
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param cache the {@link EntityCache} or <code>null</code> to send every
+	 *            request to the Overpass API
+	 */
+	public void setCache(EntityCache cache)
+	{
+		this.cache = cache;
+	}
+	
+	/**
+	 * gives the {@link RetryPolicy} of the requests
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link RetryPolicy}
+	 */
+	public RetryPolicy getRetryPolicy()
+	{
+		return this.retryPolicy;
+	}
+	
+	/**
+	 * sets the {@link RetryPolicy} of the requests
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param retryPolicy the {@link RetryPolicy} to use
+	 */
+	public void setRetryPolicy(RetryPolicy retryPolicy)
+	{
+		this.retryPolicy = retryPolicy;
+	}
 }
\ No newline at end of file
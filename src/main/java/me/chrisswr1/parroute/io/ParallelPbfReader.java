@@ -0,0 +1,379 @@
+package me.chrisswr1.parroute.io;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openstreetmap.osmosis.core.OsmosisRuntimeException;
+import org.openstreetmap.osmosis.core.container.v0_6.EntityContainer;
+import org.openstreetmap.osmosis.core.domain.v0_6.Entity;
+import org.openstreetmap.osmosis.core.task.v0_6.RunnableSource;
+import org.openstreetmap.osmosis.core.task.v0_6.Sink;
+import org.openstreetmap.osmosis.osmbinary.Fileformat.Blob;
+import org.openstreetmap.osmosis.osmbinary.Fileformat.BlobHeader;
+import org.openstreetmap.osmosis.osmbinary.file.FileBlock;
+
+import com.google.protobuf.ByteString;
+
+import crosby.binary.osmosis.OsmosisBinaryParser;
+import crosby.binary.osmosis.OsmosisReader;
+
+/**
+ * defines a {@link RunnableSource}, which reads a PBF stream on multiple
+ * {@link Thread}s<br>
+ * The blobs of a PBF file are compressed independently, so only the framing
+ * is read sequentially. The inflating and decoding of every blob runs as a
+ * task on an {@link ExecutorService}, the decoded {@link Entity}s are pushed
+ * into the {@link Sink} in the order of the file afterwards, like the
+ * {@link OsmosisReader} does.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class ParallelPbfReader
+implements RunnableSource
+{
+	/**
+	 * the {@link Logger} of this class
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Logger		LOGGER				= LogManager.getLogger(ParallelPbfReader.class);
+	/**
+	 * the maximum size of a blob header in bytes
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final int			MAX_HEADER_SIZE		= 64 * 1024;
+	/**
+	 * the maximum size of a blob in bytes
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final int			MAX_BLOB_SIZE		= 32 * 1024 * 1024;
+	/**
+	 * the count of blobs per {@link Thread}, which could be decoded ahead of
+	 * the {@link Sink}
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final int			BLOBS_PER_THREAD	= 4;
+														
+	/**
+	 * the {@link InputStream} to read the PBF data from
+	 * 
+	 * @since 0.0.1
+	 */
+	private final InputStream		input;
+	/**
+	 * the {@link ExecutorService} to decode the blobs on or <code>null</code>,
+	 * if an own one should be created for every run
+	 * 
+	 * @since 0.0.1
+	 */
+	private final ExecutorService	executor;
+	/**
+	 * the count of blobs, which could be decoded ahead of the {@link Sink}
+	 * 
+	 * @since 0.0.1
+	 */
+	private final int				maxPending;
+	/**
+	 * the {@link Sink} to process the read {@link Entity}s
+	 * 
+	 * @since 0.0.1
+	 */
+	private Sink					sink				= null;
+														
+	/**
+	 * constructor, with given {@link InputStream}<br>
+	 * The blobs will be decoded on a {@link Thread} per available processor.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param input the {@link InputStream} to read the PBF data from
+	 */
+	public ParallelPbfReader(InputStream input)
+	{
+		this(input, null, Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * constructor, with given {@link InputStream} and {@link ExecutorService}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param input the {@link InputStream} to read the PBF data from
+	 * @param executor the {@link ExecutorService} to decode the blobs on
+	 * @param threads the count of {@link Thread}s of {@code executor}
+	 */
+	public ParallelPbfReader(InputStream input, ExecutorService executor, int threads)
+	{
+		this.input = input;
+		this.executor = executor;
+		this.maxPending = Math.max(threads, 1) * ParallelPbfReader.BLOBS_PER_THREAD;
+	}
+	
+	@Override
+	public void setSink(Sink sink)
+	{
+		this.sink = sink;
+	}
+	
+	@Override
+	public void run()
+	{
+		Sink sink = this.sink;
+		ExecutorService executor = this.executor;
+		boolean ownExecutor = executor == null;
+		if (ownExecutor)
+		{
+			executor = Executors.newFixedThreadPool(this.maxPending / ParallelPbfReader.BLOBS_PER_THREAD);
+		}
+		
+		try
+		{
+			sink.initialize(Collections.<String, Object> emptyMap());
+			this.read(executor);
+			sink.complete();
+		}
+		catch (IOException e)
+		{
+			throw new OsmosisRuntimeException("Unable to process PBF stream!", e);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new OsmosisRuntimeException("Interrupted during reading the PBF stream!", e);
+		}
+		finally
+		{
+			if (ownExecutor)
+			{
+				executor.shutdownNow();
+			}
+			
+			sink.release();
+			
+			try
+			{
+				this.input.close();
+			}
+			catch (IOException e)
+			{
+				ParallelPbfReader.LOGGER.warn("Couldn't close the PBF stream!", e);
+			}
+		}
+	}
+	
+	/**
+	 * reads all blobs, decodes them on an {@link ExecutorService} and pushes
+	 * the {@link Entity}s into the {@link Sink} in order of the stream
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param executor the {@link ExecutorService} to decode the blobs on
+	 * @throws IOException if the stream couldn't be read or decoded
+	 * @throws InterruptedException if the current {@link Thread} was
+	 *             interrupted during waiting for a decoded blob
+	 */
+	private void read(ExecutorService executor)
+	throws IOException, InterruptedException
+	{
+		DataInputStream input = new DataInputStream(this.input);
+		Deque<Future<List<EntityContainer>>> pending = new ArrayDeque<>();
+		
+		try
+		{
+			while (true)
+			{
+				int headerSize;
+				try
+				{
+					headerSize = input.readInt();
+				}
+				catch (EOFException e)
+				{
+					break;
+				}
+				
+				if (headerSize < 0 || headerSize > ParallelPbfReader.MAX_HEADER_SIZE)
+				{
+					throw new IOException("Invalid size of blob header: " + headerSize);
+				}
+				byte[] headerData = new byte[headerSize];
+				input.readFully(headerData);
+				final BlobHeader header = BlobHeader.parseFrom(headerData);
+				
+				int blobSize = header.getDatasize();
+				if (blobSize < 0 || blobSize > ParallelPbfReader.MAX_BLOB_SIZE)
+				{
+					throw new IOException("Invalid size of blob: " + blobSize);
+				}
+				final byte[] blobData = new byte[blobSize];
+				input.readFully(blobData);
+				
+				pending.addLast(executor.submit(new Callable<List<EntityContainer>>()
+				{
+					@Override
+					public List<EntityContainer> call()
+					throws IOException
+					{
+						return ParallelPbfReader.decode(header, blobData);
+					}
+				}));
+				
+				if (pending.size() >= this.maxPending)
+				{
+					this.drain(pending.removeFirst());
+				}
+			}
+			
+			while ( ! (pending.isEmpty()))
+			{
+				this.drain(pending.removeFirst());
+			}
+		}
+		finally
+		{
+			for (Future<List<EntityContainer>> future : pending)
+			{
+				future.cancel(true);
+			}
+		}
+	}
+	
+	/**
+	 * waits for a decoded blob and pushes its {@link Entity}s into the
+	 * {@link Sink}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param future the {@link Future} of the decoded blob
+	 * @throws IOException if the blob couldn't be decoded
+	 * @throws InterruptedException if the current {@link Thread} was
+	 *             interrupted during waiting
+	 */
+	private void drain(Future<List<EntityContainer>> future)
+	throws IOException, InterruptedException
+	{
+		List<EntityContainer> containers;
+		try
+		{
+			containers = future.get();
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException)
+			{
+				throw (IOException)cause;
+			}
+			
+			throw new IOException("Couldn't decode blob!", cause);
+		}
+		
+		Sink sink = this.sink;
+		for (EntityContainer container : containers)
+		{
+			sink.process(container);
+		}
+	}
+	
+	/**
+	 * inflates and decodes a blob
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param header the header of the blob
+	 * @param blobData the raw data of the blob
+	 * @return the decoded {@link EntityContainer}s in order of the blob
+	 * @throws IOException if the blob couldn't be inflated
+	 */
+	private static List<EntityContainer> decode(BlobHeader header, byte[] blobData)
+	throws IOException
+	{
+		Blob blob = Blob.parseFrom(blobData);
+		
+		ByteString data;
+		if (blob.hasRaw())
+		{
+			data = blob.getRaw();
+		}
+		else if (blob.hasZlibData())
+		{
+			byte[] inflated = new byte[blob.getRawSize()];
+			Inflater inflater = new Inflater();
+			inflater.setInput(blob.getZlibData().toByteArray());
+			
+			try
+			{
+				inflater.inflate(inflated);
+				if ( ! (inflater.finished()))
+				{
+					throw new IOException("Blob is larger than its declared size!");
+				}
+			}
+			catch (DataFormatException e)
+			{
+				throw new IOException("Couldn't inflate blob!", e);
+			}
+			finally
+			{
+				inflater.end();
+			}
+			
+			data = ByteString.copyFrom(inflated);
+		}
+		else
+		{
+			throw new IOException("Unsupported compression of blob!");
+		}
+		
+		final List<EntityContainer> res = new ArrayList<>();
+		OsmosisBinaryParser parser = new OsmosisBinaryParser();
+		parser.setSink(new Sink()
+		{
+			@Override
+			public void release()
+			{
+			}
+			
+			@Override
+			public void complete()
+			{
+			}
+			
+			@Override
+			public void initialize(Map<String, Object> metaData)
+			{
+			}
+			
+			@Override
+			public void process(EntityContainer entityContainer)
+			{
+				res.add(entityContainer);
+			}
+		});
+		parser.handleBlock(FileBlock.newInstance(header.getType(), data, header.getIndexdata()));
+		
+		return res;
+	}
+}
\ No newline at end of file
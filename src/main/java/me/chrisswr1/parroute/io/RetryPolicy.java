@@ -0,0 +1,278 @@
+package me.chrisswr1.parroute.io;
+
+import java.io.InterruptedIOException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * defines, how often and after which delay a failed request should be
+ * retried<br>
+ * The delay grows exponentially with every attempt up to a maximum. Only a
+ * random part of the upper half of the delay is waited (&quot;equal
+ * jitter&quot;), so many {@link Thread}s, which failed at the same time, don't
+ * retry at the same time. A delay, which the server requests by a
+ * <code>Retry-After</code> header, takes precedence, but is capped at the
+ * maximum delay, too, so a misconfigured server can't stall a {@link Thread}
+ * for longer. The waiting {@link Thread} sleeps, instead of spinning.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class RetryPolicy
+{
+	/**
+	 * the default count of attempts
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final int		DEFAULT_ATTEMPTS	= 3;
+	/**
+	 * the default timeout of a request (in seconds)
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final int		DEFAULT_TIMEOUT		= 25;
+	/**
+	 * the default delay before the first retry (in milliseconds)
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final long	DEFAULT_BASE_DELAY	= 1000;
+	/**
+	 * the default maximum delay before a retry (in milliseconds)
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final long	DEFAULT_MAX_DELAY	= 60000;
+	/**
+	 * the format of a <code>Retry-After</code> header with a date
+	 * 
+	 * @since 0.0.1
+	 */
+	private static final String	HTTP_DATE_FORMAT	= "EEE, dd MMM yyyy HH:mm:ss zzz";
+													
+	/**
+	 * the maximum count of attempts of a request
+	 * 
+	 * @since 0.0.1
+	 */
+	private final int			attempts;
+	/**
+	 * the timeout of a request (in seconds)
+	 * 
+	 * @since 0.0.1
+	 */
+	private final int			timeout;
+	/**
+	 * the delay before the first retry (in milliseconds)
+	 * 
+	 * @since 0.0.1
+	 */
+	private final long			baseDelay;
+	/**
+	 * the maximum delay before a retry (in milliseconds)
+	 * 
+	 * @since 0.0.1
+	 */
+	private final long			maxDelay;
+								
+	/**
+	 * standard constructor, which uses the default values
+	 * 
+	 * @since 0.0.1
+	 */
+	public RetryPolicy()
+	{
+		this(RetryPolicy.DEFAULT_ATTEMPTS, RetryPolicy.DEFAULT_TIMEOUT, RetryPolicy.DEFAULT_BASE_DELAY, RetryPolicy.DEFAULT_MAX_DELAY);
+	}
+	
+	/**
+	 * constructor, with given attempts, timeout and delays
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param attempts the maximum count of attempts of a request
+	 * @param timeout the timeout of a request (in seconds)
+	 * @param baseDelay the delay before the first retry (in milliseconds)
+	 * @param maxDelay the maximum delay before a retry (in milliseconds)
+	 */
+	public RetryPolicy(int attempts, int timeout, long baseDelay, long maxDelay)
+	{
+		if (attempts < 1 || timeout < 1 || baseDelay < 0 || maxDelay < baseDelay)
+		{
+			throw new IllegalArgumentException("Invalid retry policy: " + attempts + " attempts, " + timeout + " s timeout, " + baseDelay + " ms to " + maxDelay + " ms delay");
+		}
+		
+		this.attempts = attempts;
+		this.timeout = timeout;
+		this.baseDelay = baseDelay;
+		this.maxDelay = maxDelay;
+	}
+	
+	/**
+	 * parses the value of a <code>Retry-After</code> header
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param value the value of the header (delay in seconds or a HTTP date)
+	 *            or <code>null</code>
+	 * @return the requested delay (in milliseconds) or <code>-1</code>, if
+	 *         {@code value} is missing or invalid
+	 */
+	public static long parseRetryAfter(String value)
+	{
+		if (value == null)
+		{
+			return -1;
+		}
+		
+		value = value.trim();
+		try
+		{
+			long seconds = Long.parseLong(value);
+			
+			return seconds >= Long.MAX_VALUE / 1000 ? Long.MAX_VALUE : Math.max(seconds * 1000, 0);
+		}
+		catch (NumberFormatException e)
+		{
+		}
+		
+		SimpleDateFormat format = new SimpleDateFormat(RetryPolicy.HTTP_DATE_FORMAT, Locale.US);
+		format.setTimeZone(TimeZone.getTimeZone("GMT"));
+		try
+		{
+			return Math.max(format.parse(value).getTime() - System.currentTimeMillis(), 0);
+		}
+		catch (ParseException e)
+		{
+			return -1;
+		}
+	}
+	
+	/**
+	 * checks if a request should be retried after a HTTP status code
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param statusCode the HTTP status code of the response
+	 * @return <code>true</code> if the server is only temporarily unable to
+	 *         answer (<code>429</code>, <code>503</code> or <code>504</code>),
+	 *         <code>false</code> otherwise
+	 */
+	public boolean isRetryable(int statusCode)
+	{
+		return statusCode == 429 || statusCode == 503 || statusCode == 504;
+	}
+	
+	/**
+	 * gives the delay before the next attempt<br>
+	 * A delay, which the server requested, is extended by a random part of up
+	 * to its half, but never exceeds {@link RetryPolicy#getMaxDelay()}.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param attempt the index of the failed attempt (starting at
+	 *            <code>0</code>)
+	 * @param retryAfter the delay, which the server requested (in
+	 *            milliseconds) or a negative value, if it requested none
+	 * @return the delay (in milliseconds)
+	 */
+	public long getDelay(int attempt, long retryAfter)
+	{
+		long maxDelay = this.getMaxDelay();
+		
+		if (retryAfter >= 0)
+		{
+			long delay = Math.min(retryAfter, maxDelay);
+			
+			return delay + ThreadLocalRandom.current().nextLong(Math.min(delay / 2, maxDelay - delay) + 1);
+		}
+		
+		long delay = this.getBaseDelay() << Math.min(attempt, 30);
+		if (delay > maxDelay || delay < 0)
+		{
+			delay = maxDelay;
+		}
+		
+		long half = delay / 2;
+		return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+	}
+	
+	/**
+	 * lets the current {@link Thread} sleep
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param delay the time to sleep (in milliseconds)
+	 * @throws InterruptedIOException if the {@link Thread} was interrupted
+	 *             during the sleep
+	 */
+	public void await(long delay)
+	throws InterruptedIOException
+	{
+		try
+		{
+			Thread.sleep(delay);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			
+			InterruptedIOException ex = new InterruptedIOException("Interrupted during waiting for the next attempt!");
+			ex.initCause(e);
+			throw ex;
+		}
+	}
+	
+	/**
+	 * gives the maximum count of attempts
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the maximum count of attempts of a request
+	 */
+	public int getAttempts()
+	{
+		return this.attempts;
+	}
+	
+	/**
+	 * gives the timeout of a request
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the timeout (in seconds)
+	 */
+	public int getTimeout()
+	{
+		return this.timeout;
+	}
+	
+	/**
+	 * gives the delay before the first retry
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the delay (in milliseconds)
+	 */
+	public long getBaseDelay()
+	{
+		return this.baseDelay;
+	}
+	
+	/**
+	 * gives the maximum delay before a retry
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the maximum delay (in milliseconds)
+	 */
+	public long getMaxDelay()
+	{
+		return this.maxDelay;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package me.chrisswr1.parroute.io;
+
+import java.io.IOException;
+
+/**
+ * signals, that a request failed only temporarily and could be sent again
+ * later<br>
+ * It's thrown after the last attempt of a {@link RetryPolicy}, so a caller,
+ * which doesn't want to wait in the current {@link Thread}, could schedule
+ * further attempts on its own.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class RetryableException
+extends IOException
+{
+	/**
+	 * the serial version UID
+	 * 
+	 * @since 0.0.1
+	 */
+	private static final long	serialVersionUID	= 1L;
+													
+	/**
+	 * the delay, which the server requested (in milliseconds)
+	 * 
+	 * @since 0.0.1
+	 */
+	private final long			retryAfter;
+								
+	/**
+	 * constructor, with given message and requested delay
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param message the detail message
+	 * @param retryAfter the delay, which the server requested (in
+	 *            milliseconds) or a negative value, if it requested none
+	 */
+	public RetryableException(String message, long retryAfter)
+	{
+		super(message);
+		
+		this.retryAfter = retryAfter;
+	}
+	
+	/**
+	 * gives the delay, which the server requested
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the delay (in milliseconds) or a negative value, if the server
+	 *         requested none
+	 */
+	public long getRetryAfter()
+	{
+		return this.retryAfter;
+	}
+}
\ No newline at end of file
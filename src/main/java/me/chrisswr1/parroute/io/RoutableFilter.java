@@ -0,0 +1,271 @@
+package me.chrisswr1.parroute.io;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.openstreetmap.osmosis.core.domain.v0_6.Entity;
+import org.openstreetmap.osmosis.core.domain.v0_6.Relation;
+import org.openstreetmap.osmosis.core.domain.v0_6.Tag;
+import org.openstreetmap.osmosis.core.domain.v0_6.Way;
+
+import me.chrisswr1.parroute.entities.ModeOfTransport;
+
+/**
+ * decides, which {@link Entity}s are needed to route a specific
+ * {@link ModeOfTransport}<br>
+ * A {@link Way} is routable, if it has a tag of the network of the
+ * {@link ModeOfTransport} (e.g. <code>highway</code> for
+ * {@link ModeOfTransport#ROAD}) and the most specific access tag doesn't deny
+ * the access. A {@link Relation} is routable, if it's a turn restriction, which
+ * applies to the {@link ModeOfTransport}. The access keys are resolved only
+ * once, so no key hierarchy has to be walked per {@link Entity}.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class RoutableFilter
+{
+	/**
+	 * the <code>highway</code> values, which aren't usable by any
+	 * {@link ModeOfTransport}
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Set<String>	UNUSABLE_HIGHWAYS	= new HashSet<>(Arrays.asList("proposed", "construction", "abandoned", "disused", "razed", "platform", "bus_stop", "elevator", "rest_area", "services", "no"));
+	/**
+	 * the <code>highway</code> values, which are not usable by vehicles, if no
+	 * access tag allows it
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Set<String>	NO_VEHICLE_HIGHWAYS	= new HashSet<>(Arrays.asList("footway", "pedestrian", "steps", "bridleway", "corridor"));
+	/**
+	 * the <code>highway</code> values, which are not usable by motor vehicles,
+	 * if no access tag allows it
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Set<String>	NO_MOTOR_HIGHWAYS	= new HashSet<>(Arrays.asList("path", "cycleway"));
+	/**
+	 * the <code>highway</code> values, which are reserved for motor vehicles,
+	 * if no access tag allows it
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Set<String>	MOTOR_HIGHWAYS		= new HashSet<>(Arrays.asList("motorway", "motorway_link"));
+	/**
+	 * the <code>railway</code> values, which could be used by trains
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Set<String>	RAILWAYS			= new HashSet<>(Arrays.asList("rail", "light_rail", "subway", "tram", "narrow_gauge", "monorail", "funicular"));
+	/**
+	 * the access values, which deny the access
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Set<String>	DENYING_VALUES		= new HashSet<>(Arrays.asList("no", "private", "agricultural", "forestry", "military", "discouraged", "use_sidepath"));
+														
+	/**
+	 * the {@link ModeOfTransport} to route
+	 * 
+	 * @since 0.0.1
+	 */
+	private final ModeOfTransport	mode;
+	/**
+	 * the access keys of {@link RoutableFilter#mode}, from the most specific
+	 * to the most general one (<code>access</code>)
+	 * 
+	 * @since 0.0.1
+	 */
+	private final String[]			accessKeys;
+	/**
+	 * the types of the {@link Relation}s, which restrict
+	 * {@link RoutableFilter#mode}
+	 * 
+	 * @since 0.0.1
+	 */
+	private final Set<String>		restrictionTypes	= new HashSet<>();
+														
+	/**
+	 * standard constructor
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param mode the {@link ModeOfTransport} to route
+	 */
+	public RoutableFilter(ModeOfTransport mode)
+	{
+		this.mode = mode;
+		
+		Set<String> keys = mode.keys();
+		this.accessKeys = new String[keys.size() + 1];
+		int idx = 0;
+		for (String key : keys)
+		{
+			this.accessKeys[idx++] = key;
+			this.restrictionTypes.add("restriction:" + key);
+		}
+		this.accessKeys[idx] = "access";
+		this.restrictionTypes.add("restriction");
+	}
+	
+	/**
+	 * gives the value of a {@link Tag} with exactly the given key<br>
+	 * Unlike
+	 * {@link me.chrisswr1.parroute.DataHandler#getTagValue(Entity, String)} no
+	 * similar key is accepted, so a tag like <code>maxspeed:hgv</code> couldn't
+	 * be taken for <code>maxspeed</code>.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param entity the {@link Entity} to search in
+	 * @param key the key of the {@link Tag}
+	 * @return the value of the {@link Tag} or <code>null</code>, if
+	 *         {@code entity} has no {@link Tag} with {@code key}
+	 */
+	public static String getTagValue(Entity entity, String key)
+	{
+		for (Tag tag : entity.getTags())
+		{
+			if (tag.getKey().equals(key))
+			{
+				return tag.getValue();
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * gives the {@link ModeOfTransport}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link ModeOfTransport} to route
+	 */
+	public ModeOfTransport getMode()
+	{
+		return this.mode;
+	}
+	
+	/**
+	 * checks if a {@link Way} could be used by the {@link ModeOfTransport}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param way the {@link Way} to check
+	 * @return <code>true</code> if {@code way} is routable, <code>false</code>
+	 *         otherwise
+	 */
+	public boolean isRoutable(Way way)
+	{
+		ModeOfTransport mode = this.getMode();
+		
+		Boolean defaultAccess = null;
+		String highway = RoutableFilter.getTagValue(way, "highway");
+		if (highway != null && mode.is(ModeOfTransport.ROAD))
+		{
+			if (RoutableFilter.UNUSABLE_HIGHWAYS.contains(highway))
+			{
+				return false;
+			}
+			
+			if (mode.is(ModeOfTransport.VEHICLE) && RoutableFilter.NO_VEHICLE_HIGHWAYS.contains(highway))
+			{
+				defaultAccess = false;
+			}
+			else if (mode.is(ModeOfTransport.MOTOR_VEHICLE) && RoutableFilter.NO_MOTOR_HIGHWAYS.contains(highway))
+			{
+				defaultAccess = false;
+			}
+			else if ( ! (mode.is(ModeOfTransport.MOTOR_VEHICLE)) && RoutableFilter.MOTOR_HIGHWAYS.contains(highway))
+			{
+				defaultAccess = false;
+			}
+			else
+			{
+				defaultAccess = true;
+			}
+		}
+		else if (mode.is(ModeOfTransport.RAIL))
+		{
+			String railway = RoutableFilter.getTagValue(way, "railway");
+			defaultAccess = railway != null && RoutableFilter.RAILWAYS.contains(railway);
+		}
+		else if (mode.is(ModeOfTransport.WATER))
+		{
+			defaultAccess = RoutableFilter.getTagValue(way, "waterway") != null || "ferry".equals(RoutableFilter.getTagValue(way, "route"));
+		}
+		
+		if (defaultAccess == null)
+		{
+			return false;
+		}
+		
+		return this.isAccessible(way, defaultAccess);
+	}
+	
+	/**
+	 * checks the access tags of an {@link Entity}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param entity the {@link Entity} to check
+	 * @param defaultAccess the access, if no access tag is set
+	 * @return <code>true</code> if the most specific access tag allows the
+	 *         access, <code>false</code> otherwise
+	 */
+	public boolean isAccessible(Entity entity, boolean defaultAccess)
+	{
+		for (String key : this.accessKeys)
+		{
+			String value = RoutableFilter.getTagValue(entity, key);
+			
+			if (value != null)
+			{
+				return ! (RoutableFilter.DENYING_VALUES.contains(value));
+			}
+		}
+		
+		return defaultAccess;
+	}
+	
+	/**
+	 * checks if a {@link Relation} is a turn restriction, which applies to the
+	 * {@link ModeOfTransport}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param rel the {@link Relation} to check
+	 * @return <code>true</code> if {@code rel} is needed for routing,
+	 *         <code>false</code> otherwise
+	 */
+	public boolean isRoutable(Relation rel)
+	{
+		String type = RoutableFilter.getTagValue(rel, "type");
+		if (type == null || ! (this.restrictionTypes.contains(type)))
+		{
+			return false;
+		}
+		
+		String except = RoutableFilter.getTagValue(rel, "except");
+		if (except != null)
+		{
+			for (String key : this.accessKeys)
+			{
+				for (String exception : except.split(";"))
+				{
+					if (exception.trim().equals(key))
+					{
+						return false;
+					}
+				}
+			}
+		}
+		
+		return true;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package me.chrisswr1.parroute.io;
+
+import java.util.Map;
+
+import org.openstreetmap.osmosis.core.container.v0_6.EntityContainer;
+import org.openstreetmap.osmosis.core.domain.v0_6.Entity;
+import org.openstreetmap.osmosis.core.task.v0_6.Sink;
+
+import me.chrisswr1.parroute.DataHandler;
+
+/**
+ * a {@link Sink}, which stores every {@link Entity} directly in a
+ * {@link DataHandler}<br>
+ * The {@link Entity}s aren't collected anywhere else, so a response or a
+ * {@link java.io.File} of any size is read with bounded memory. Subclasses
+ * could pick the {@link Entity}s, which the caller asked for, by overriding
+ * {@link StoringSink#accept(Entity)}. All other {@link Entity}s could be
+ * queried from the indices of the {@link DataHandler} afterwards.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class StoringSink
+implements Sink
+{
+	/**
+	 * the {@link DataHandler} to store the {@link Entity}s in
+	 * 
+	 * @since 0.0.1
+	 */
+	private final DataHandler store;
+	
+	/**
+	 * constructor, with given {@link DataHandler}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param store the {@link DataHandler} to store the {@link Entity}s in or
+	 *            <code>null</code>, if they should only be passed to
+	 *            {@link StoringSink#accept(Entity)}
+	 */
+	public StoringSink(DataHandler store)
+	{
+		this.store = store;
+	}
+	
+	/**
+	 * gives the {@link DataHandler}, in which the {@link Entity}s are stored
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link DataHandler} or <code>null</code>, if the
+	 *         {@link Entity}s aren't stored
+	 */
+	public DataHandler getStore()
+	{
+		return this.store;
+	}
+	
+	/**
+	 * stores an {@link Entity} and passes it to
+	 * {@link StoringSink#accept(Entity)}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param entity the {@link Entity} to process
+	 */
+	public void process(Entity entity)
+	{
+		DataHandler store = this.getStore();
+		if (store != null)
+		{
+			store.store(entity);
+		}
+		
+		this.accept(entity);
+	}
+	
+	/**
+	 * handles an {@link Entity} after it was stored<br>
+	 * The default implementation does nothing.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param entity the stored {@link Entity}
+	 */
+	protected void accept(Entity entity)
+	{
+	}
+	
+	@Override
+	public void initialize(Map<String, Object> metaData)
+	{
+	}
+	
+	@Override
+	public void process(EntityContainer entityContainer)
+	{
+		this.process(entityContainer.getEntity());
+	}
+	
+	@Override
+	public void complete()
+	{
+	}
+	
+	@Override
+	public void release()
+	{
+	}
+}
\ No newline at end of file
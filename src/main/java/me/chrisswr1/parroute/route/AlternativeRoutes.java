@@ -0,0 +1,749 @@
+package me.chrisswr1.parroute.route;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.graph.CoordinateStore;
+import me.chrisswr1.parroute.graph.RoutingGraph;
+import me.chrisswr1.parroute.util.IntArrayList;
+import me.chrisswr1.parroute.util.LongHashSet;
+import me.chrisswr1.parroute.util.LongMinHeap;
+
+/**
+ * calculates the shortest {@link Route} and several alternatives between two
+ * {@link Node}s on a {@link RoutingGraph} by the via-node method<br>
+ * One forward search from the start and one backward search from the
+ * destination build two shortest path trees. Every {@link Node}, which is
+ * settled by both searches, defines the path over itself as candidate. The
+ * {@link Node}s of the shortest path and every {@link Node}, which path is
+ * the same as the one of its parent in the forward search tree (a plateau of
+ * both trees), are skipped, so each path is checked once only. The
+ * candidates are checked in order of their length and accepted, if they are
+ * <ul>
+ * <li>not longer than the shortest path plus
+ * {@link AlternativeRoutes#getMaxStretch()},</li>
+ * <li>overlapping the already accepted paths by at most
+ * {@link AlternativeRoutes#getMaxOverlap()} of the shortest length and</li>
+ * <li>locally optimal: every part around the via-node, which is shorter than
+ * {@link AlternativeRoutes#getLocalOptimality()} of the shortest length, has
+ * to be a shortest path itself.</li>
+ * </ul>
+ * Both search trees and the via-nodes consist of {@link Node}s, not edges, so
+ * turn restrictions aren't checked at all. Every path, the shortest one
+ * included, could contain a turn, which a restriction forbids. A shortest path
+ * with turn restrictions is only calculated by a {@link Route} on an
+ * {@link me.chrisswr1.parroute.graph.EdgeBasedGraph}.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class AlternativeRoutes
+{
+	/**
+	 * the {@link Logger} of this class
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Logger	LOGGER						= LogManager.getLogger(AlternativeRoutes.class);
+	/**
+	 * the default maximum count of alternatives
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final int		DEFAULT_MAX_ALTERNATIVES	= 2;
+	/**
+	 * the default maximum additional length of an alternative (relative to
+	 * the shortest length)
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final double	DEFAULT_MAX_STRETCH			= 0.25;
+	/**
+	 * the default maximum length, which an alternative shares with the
+	 * accepted paths (relative to the shortest length)
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final double	DEFAULT_MAX_OVERLAP			= 0.8;
+	/**
+	 * the default length of the parts around the via-node, which have to be
+	 * shortest paths (relative to the shortest length)
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final double	DEFAULT_LOCAL_OPTIMALITY	= 0.25;
+	/**
+	 * the maximum count of candidates, which are checked (excluding the
+	 * skipped {@link Node}s of the shortest path and of plateaus)
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final int		MAX_CANDIDATES				= 1000;
+	/**
+	 * the tolerance of comparing lengths (in meters)
+	 * 
+	 * @since 0.0.1
+	 */
+	private static final double	TOLERANCE					= 1E-6;
+															
+	/**
+	 * the {@link DataHandler} to get the {@link Node}s of the paths from
+	 * 
+	 * @since 0.0.1
+	 */
+	private final DataHandler	dataHandler;
+	/**
+	 * the {@link RoutingGraph} to search on
+	 * 
+	 * @since 0.0.1
+	 */
+	private final RoutingGraph	graph;
+	/**
+	 * the {@link Node}, where all {@link Route}s begin
+	 * 
+	 * @since 0.0.1
+	 */
+	private final Node			start;
+	/**
+	 * the destination {@link Node} of all {@link Route}s
+	 * 
+	 * @since 0.0.1
+	 */
+	private final Node			dest;
+	/**
+	 * the maximum count of alternatives
+	 * 
+	 * @since 0.0.1
+	 */
+	private int					maxAlternatives				= AlternativeRoutes.DEFAULT_MAX_ALTERNATIVES;
+	/**
+	 * the maximum additional length of an alternative
+	 * 
+	 * @since 0.0.1
+	 */
+	private double				maxStretch					= AlternativeRoutes.DEFAULT_MAX_STRETCH;
+	/**
+	 * the maximum length, which an alternative shares with the accepted paths
+	 * 
+	 * @since 0.0.1
+	 */
+	private double				maxOverlap					= AlternativeRoutes.DEFAULT_MAX_OVERLAP;
+	/**
+	 * the length of the parts around the via-node, which have to be shortest
+	 * paths
+	 * 
+	 * @since 0.0.1
+	 */
+	private double				localOptimality				= AlternativeRoutes.DEFAULT_LOCAL_OPTIMALITY;
+	/**
+	 * the calculated {@link Route}s, beginning with the shortest one
+	 * 
+	 * @since 0.0.1
+	 */
+	private final List<Route>	routes						= new ArrayList<>();
+	/**
+	 * the costs of every {@link Node} in the last search of
+	 * {@link AlternativeRoutes#getDistance(int, int, double)}
+	 * 
+	 * @since 0.0.1
+	 */
+	private double[]			localCosts					= null;
+	/**
+	 * the stamp of the search, which reached a {@link Node} at last
+	 * 
+	 * @since 0.0.1
+	 */
+	private int[]				localStamps					= null;
+	/**
+	 * the stamp of the last search
+	 * 
+	 * @since 0.0.1
+	 */
+	private int					localStamp					= 0;
+															
+	/**
+	 * defines a {@link Route}, which was already calculated by
+	 * {@link AlternativeRoutes}
+	 * 
+	 * @version 0.0.1
+	 * @author ChrissW-R1
+	 * @since 0.0.1
+	 */
+	private static class ViaRoute
+	extends Route
+	{
+		/**
+		 * the ids of the path from the start up to (exclusive) the
+		 * destination
+		 * 
+		 * @since 0.0.1
+		 */
+		private final long[] pathIds;
+		
+		/**
+		 * constructor, with given path
+		 * 
+		 * @since 0.0.1
+		 * 
+		 * @param dataHandler the {@link DataHandler} to get the {@link Node}s
+		 *            of the path from
+		 * @param graph the {@link RoutingGraph}, which contains the path
+		 * @param start the {@link Node}, where the {@link Route} begins
+		 * @param dest the destination of the {@link Route}
+		 * @param pathIds the ids of the path from the start up to (exclusive)
+		 *            the destination
+		 */
+		public ViaRoute(DataHandler dataHandler, RoutingGraph graph, Node start, Node dest, long[] pathIds)
+		{
+			super(dataHandler, graph, start, dest);
+			
+			this.pathIds = pathIds;
+			this.setPathIds(pathIds);
+		}
+		
+		@Override
+		public boolean calc()
+		{
+			this.setPathIds(this.pathIds);
+			
+			return true;
+		}
+	}
+	
+	/**
+	 * standard constructor
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param dataHandler the {@link DataHandler} to get the {@link Node}s of
+	 *            the paths from
+	 * @param graph the {@link RoutingGraph} to search on
+	 * @param start the {@link Node}, where all {@link Route}s should begin
+	 * @param dest the destination, which should be reached by all
+	 *            {@link Route}s
+	 */
+	public AlternativeRoutes(DataHandler dataHandler, RoutingGraph graph, Node start, Node dest)
+	{
+		this.dataHandler = dataHandler;
+		this.graph = graph;
+		this.start = start;
+		this.dest = dest;
+	}
+	
+	/**
+	 * runs a Dijkstra search over all {@link Node}s up to a limit
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param root the index of the root {@link Node}
+	 * @param forward <code>true</code> to follow the outgoing edges,
+	 *            <code>false</code> to follow the incoming edges in reverse
+	 * @param costs the array to store the costs of every {@link Node} in,
+	 *            which has to be filled with {@link Double#POSITIVE_INFINITY}
+	 * @param parents the array to store the parent of every {@link Node} in
+	 * @param target the index of a {@link Node}, which limits the search to
+	 *            the maximum stretch of its costs, or
+	 *            {@link CoordinateStore#NO_INDEX}
+	 * @param limit the maximum costs, if {@code target} isn't settled
+	 * @return the costs of {@code target} or {@link Double#POSITIVE_INFINITY}
+	 */
+	private double search(int root, boolean forward, double[] costs, int[] parents, int target, double limit)
+	{
+		RoutingGraph graph = this.getGraph();
+		
+		LongMinHeap openList = new LongMinHeap();
+		costs[root] = 0;
+		parents[root] = CoordinateStore.NO_INDEX;
+		openList.put(root, 0);
+		
+		while ( ! (openList.isEmpty()) && openList.peekPriority() <= limit)
+		{
+			int current = (int)openList.poll();
+			double currentCosts = costs[current];
+			
+			if (current == target)
+			{
+				limit = Math.min(limit, currentCosts * (1 + this.getMaxStretch()) + AlternativeRoutes.TOLERANCE);
+			}
+			
+			int end = graph.getFirstEdge(current + 1);
+			for (int edge = graph.getFirstEdge(current); edge < end; edge++)
+			{
+				if (forward ? ! (graph.isForward(edge)) : ! (graph.isBackward(edge)))
+				{
+					continue;
+				}
+				
+				int next = graph.getTarget(edge);
+				double nextCosts = currentCosts + graph.getWeight(edge);
+				if (nextCosts < costs[next])
+				{
+					costs[next] = nextCosts;
+					parents[next] = current;
+					openList.put(next, nextCosts);
+				}
+			}
+		}
+		
+		return target == CoordinateStore.NO_INDEX ? Double.POSITIVE_INFINITY : costs[target];
+	}
+	
+	/**
+	 * gives the length of the shortest path between two {@link Node}s, if it
+	 * isn't longer than a limit
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param from the index of the first {@link Node}
+	 * @param to the index of the second {@link Node}
+	 * @param limit the maximum length
+	 * @return the length of the shortest path or
+	 *         {@link Double#POSITIVE_INFINITY}, if it is longer than
+	 *         {@code limit}
+	 */
+	private double getDistance(int from, int to, double limit)
+	{
+		RoutingGraph graph = this.getGraph();
+		
+		if (this.localCosts == null)
+		{
+			this.localCosts = new double[graph.getNodeCount()];
+			this.localStamps = new int[graph.getNodeCount()];
+		}
+		int stamp = ++this.localStamp;
+		
+		LongMinHeap openList = new LongMinHeap();
+		this.localStamps[from] = stamp;
+		this.localCosts[from] = 0;
+		openList.put(from, 0);
+		
+		while ( ! (openList.isEmpty()) && openList.peekPriority() <= limit)
+		{
+			int current = (int)openList.poll();
+			double currentCosts = this.localCosts[current];
+			
+			if (current == to)
+			{
+				return currentCosts;
+			}
+			
+			int end = graph.getFirstEdge(current + 1);
+			for (int edge = graph.getFirstEdge(current); edge < end; edge++)
+			{
+				if ( ! (graph.isForward(edge)))
+				{
+					continue;
+				}
+				
+				int next = graph.getTarget(edge);
+				double nextCosts = currentCosts + graph.getWeight(edge);
+				if (this.localStamps[next] != stamp || nextCosts < this.localCosts[next])
+				{
+					this.localStamps[next] = stamp;
+					this.localCosts[next] = nextCosts;
+					openList.put(next, nextCosts);
+				}
+			}
+		}
+		
+		return Double.POSITIVE_INFINITY;
+	}
+	
+	/**
+	 * calculates the shortest {@link Route} and the alternatives
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the count of found {@link Route}s, which is <code>0</code>, if
+	 *         the destination isn't reachable
+	 */
+	public int calc()
+	{
+		RoutingGraph graph = this.getGraph();
+		Node start = this.getStart();
+		Node dest = this.getDest();
+		AlternativeRoutes.LOGGER.debug("Start calculation of alternative paths between " + start + " and " + dest + ".");
+		
+		this.routes.clear();
+		int startNode = graph.indexOf(start.getId());
+		int destNode = graph.indexOf(dest.getId());
+		if (startNode == CoordinateStore.NO_INDEX || destNode == CoordinateStore.NO_INDEX)
+		{
+			AlternativeRoutes.LOGGER.info("Start or destination isn't part of the routing graph.");
+			return 0;
+		}
+		
+		int nodeCount = graph.getNodeCount();
+		double[] forwardCosts = new double[nodeCount];
+		double[] backwardCosts = new double[nodeCount];
+		int[] predNodes = new int[nodeCount];
+		int[] succNodes = new int[nodeCount];
+		Arrays.fill(forwardCosts, Double.POSITIVE_INFINITY);
+		Arrays.fill(backwardCosts, Double.POSITIVE_INFINITY);
+		
+		double shortest = this.search(startNode, true, forwardCosts, predNodes, destNode, Double.POSITIVE_INFINITY);
+		if (Double.isInfinite(shortest))
+		{
+			AlternativeRoutes.LOGGER.info("No path was found between " + start + " and " + dest + ".");
+			return 0;
+		}
+		double maxLength = shortest * (1 + this.getMaxStretch()) + AlternativeRoutes.TOLERANCE;
+		this.search(destNode, false, backwardCosts, succNodes, CoordinateStore.NO_INDEX, maxLength);
+		
+		LongHashSet acceptedEdges = new LongHashSet();
+		IntArrayList shortestPath = this.getPath(destNode, predNodes, succNodes);
+		this.accept(shortestPath, acceptedEdges);
+		
+		// the nodes of the shortest path are marked, until all candidates were
+		// collected
+		int[] marks = new int[nodeCount];
+		for (int i = 0; i < shortestPath.size(); i++)
+		{
+			marks[shortestPath.get(i)] = -1;
+		}
+		
+		// the candidates in order of their length, without the shortest path
+		// and without the nodes, which give the same path as their parent
+		LongMinHeap candidates = new LongMinHeap();
+		for (int node = 0; node < nodeCount; node++)
+		{
+			double length = forwardCosts[node] + backwardCosts[node];
+			if (length <= maxLength && marks[node] != -1 && succNodes[predNodes[node]] != node)
+			{
+				candidates.put(node, length);
+			}
+		}
+		
+		double maxShared = shortest * this.getMaxOverlap() + AlternativeRoutes.TOLERANCE;
+		double localLength = shortest * this.getLocalOptimality();
+		int checked = 0;
+		while ( ! (candidates.isEmpty()) && this.routes.size() <= this.getMaxAlternatives() && checked < AlternativeRoutes.MAX_CANDIDATES)
+		{
+			int via = (int)candidates.poll();
+			checked++;
+			
+			IntArrayList path = this.getPath(via, predNodes, succNodes);
+			
+			// the path must not visit a node twice and must not share too much
+			double shared = 0;
+			double previousCosts = 0;
+			boolean afterVia = false;
+			boolean simple = true;
+			for (int i = 0; i < path.size(); i++)
+			{
+				int node = path.get(i);
+				if (marks[node] == checked)
+				{
+					simple = false;
+					break;
+				}
+				marks[node] = checked;
+				
+				double nodeCosts = AlternativeRoutes.getCosts(node, afterVia, via, forwardCosts, backwardCosts);
+				if (i > 0 && acceptedEdges.contains(AlternativeRoutes.getEdgeKey(path.get(i - 1), node)))
+				{
+					shared += nodeCosts - previousCosts;
+				}
+				previousCosts = nodeCosts;
+				afterVia |= node == via;
+			}
+			if ( ! (simple) || shared > maxShared)
+			{
+				continue;
+			}
+			
+			// T-test: the part around the via-node has to be a shortest path
+			int from = via;
+			while (from != startNode && forwardCosts[via] - forwardCosts[from] < localLength)
+			{
+				from = predNodes[from];
+			}
+			int to = via;
+			while (to != destNode && backwardCosts[via] - backwardCosts[to] < localLength)
+			{
+				to = succNodes[to];
+			}
+			double partLength = forwardCosts[via] - forwardCosts[from] + backwardCosts[via] - backwardCosts[to];
+			if (this.getDistance(from, to, partLength) < partLength - AlternativeRoutes.TOLERANCE)
+			{
+				continue;
+			}
+			
+			this.accept(path, acceptedEdges);
+		}
+		
+		AlternativeRoutes.LOGGER.info("Found " + this.routes.size() + " paths between " + start + " and " + dest + " after checking " + checked + " candidates.");
+		
+		return this.routes.size();
+	}
+	
+	/**
+	 * gives the key of an edge between two {@link Node}s
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param from the index of the source {@link Node}
+	 * @param to the index of the target {@link Node}
+	 * @return the key of the edge
+	 */
+	private static long getEdgeKey(int from, int to)
+	{
+		return ((long)from << 32) | to;
+	}
+	
+	/**
+	 * gives the costs of a {@link Node} on the path over a via-node<br>
+	 * The part up to the via-node is taken from the forward search tree and
+	 * the part after it from the backward search tree, so the position on the
+	 * path decides, which costs are valid.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param node the index of the {@link Node} on the path
+	 * @param afterVia <code>true</code>, if {@code node} comes after the
+	 *            via-node on the path
+	 * @param via the index of the via-node
+	 * @param forwardCosts the costs of the forward search
+	 * @param backwardCosts the costs of the backward search
+	 * @return the length of the path from the start to {@code node}
+	 */
+	private static double getCosts(int node, boolean afterVia, int via, double[] forwardCosts, double[] backwardCosts)
+	{
+		if (afterVia)
+		{
+			return forwardCosts[via] + backwardCosts[via] - backwardCosts[node];
+		}
+		
+		return forwardCosts[node];
+	}
+	
+	/**
+	 * builds the path over a via-node from both search trees
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param via the index of the via-node
+	 * @param predNodes the parents of the forward search
+	 * @param succNodes the parents of the backward search
+	 * @return the indices of all {@link Node}s from the start to the
+	 *         destination
+	 */
+	private IntArrayList getPath(int via, int[] predNodes, int[] succNodes)
+	{
+		IntArrayList reversed = new IntArrayList();
+		for (int node = via; node != CoordinateStore.NO_INDEX; node = predNodes[node])
+		{
+			reversed.add(node);
+		}
+		
+		IntArrayList res = new IntArrayList(reversed.size() << 1);
+		while ( ! (reversed.isEmpty()))
+		{
+			res.add(reversed.removeLast());
+		}
+		for (int node = succNodes[via]; node != CoordinateStore.NO_INDEX; node = succNodes[node])
+		{
+			res.add(node);
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * accepts a path as {@link Route}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param path the indices of all {@link Node}s from the start to the
+	 *            destination
+	 * @param acceptedEdges the edges of all accepted paths, to which the edges
+	 *            of {@code path} are added
+	 */
+	private void accept(IntArrayList path, LongHashSet acceptedEdges)
+	{
+		RoutingGraph graph = this.getGraph();
+		
+		// like in Route, the path doesn't contain the destination
+		long[] pathIds = new long[path.size() - 1];
+		for (int i = 0; i < pathIds.length; i++)
+		{
+			pathIds[i] = graph.getNodeId(path.get(i));
+			acceptedEdges.add(AlternativeRoutes.getEdgeKey(path.get(i), path.get(i + 1)));
+		}
+		
+		this.routes.add(new ViaRoute(this.getDataHandler(), graph, this.getStart(), this.getDest(), pathIds));
+	}
+	
+	/**
+	 * gives the calculated {@link Route}s
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the shortest {@link Route} followed by the alternatives in order
+	 *         of their length or an empty {@link List}, if no path was found
+	 */
+	public List<Route> getRoutes()
+	{
+		return Collections.unmodifiableList(this.routes);
+	}
+	
+	/**
+	 * gives the {@link DataHandler}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link DataHandler} to get the {@link Node}s of the paths
+	 *         from
+	 */
+	public DataHandler getDataHandler()
+	{
+		return this.dataHandler;
+	}
+	
+	/**
+	 * gives the {@link RoutingGraph}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link RoutingGraph} to search on
+	 */
+	public RoutingGraph getGraph()
+	{
+		return this.graph;
+	}
+	
+	/**
+	 * gives the start {@link Node}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link Node}, where all {@link Route}s begin
+	 */
+	public Node getStart()
+	{
+		return this.start;
+	}
+	
+	/**
+	 * gives the destination {@link Node}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the destination of all {@link Route}s
+	 */
+	public Node getDest()
+	{
+		return this.dest;
+	}
+	
+	/**
+	 * gives the maximum count of alternatives
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the maximum count of {@link Route}s besides the shortest one
+	 */
+	public int getMaxAlternatives()
+	{
+		return this.maxAlternatives;
+	}
+	
+	/**
+	 * sets the maximum count of alternatives
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param maxAlternatives the maximum count of {@link Route}s besides the
+	 *            shortest one
+	 */
+	public void setMaxAlternatives(int maxAlternatives)
+	{
+		this.maxAlternatives = maxAlternatives;
+	}
+	
+	/**
+	 * gives the maximum additional length of an alternative
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the maximum additional length relative to the shortest length
+	 */
+	public double getMaxStretch()
+	{
+		return this.maxStretch;
+	}
+	
+	/**
+	 * sets the maximum additional length of an alternative
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param maxStretch the maximum additional length relative to the
+	 *            shortest length
+	 */
+	public void setMaxStretch(double maxStretch)
+	{
+		this.maxStretch = maxStretch;
+	}
+	
+	/**
+	 * gives the maximum length, which an alternative shares with the accepted
+	 * paths
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the maximum shared length relative to the shortest length
+	 */
+	public double getMaxOverlap()
+	{
+		return this.maxOverlap;
+	}
+	
+	/**
+	 * sets the maximum length, which an alternative shares with the accepted
+	 * paths
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param maxOverlap the maximum shared length relative to the shortest
+	 *            length
+	 */
+	public void setMaxOverlap(double maxOverlap)
+	{
+		this.maxOverlap = maxOverlap;
+	}
+	
+	/**
+	 * gives the length of the parts around the via-node, which have to be
+	 * shortest paths
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the length relative to the shortest length
+	 */
+	public double getLocalOptimality()
+	{
+		return this.localOptimality;
+	}
+	
+	/**
+	 * sets the length of the parts around the via-node, which have to be
+	 * shortest paths
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param localOptimality the length relative to the shortest length
+	 */
+	public void setLocalOptimality(double localOptimality)
+	{
+		this.localOptimality = localOptimality;
+	}
+}
\ No newline at end of file
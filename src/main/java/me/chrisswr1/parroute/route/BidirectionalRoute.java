@@ -0,0 +1,267 @@
+package me.chrisswr1.parroute.route;
+
+import java.util.Arrays;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+import org.openstreetmap.osmosis.core.domain.v0_6.Way;
+
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.graph.CoordinateStore;
+import me.chrisswr1.parroute.graph.RoutingGraph;
+import me.chrisswr1.parroute.util.DistanceMode;
+import me.chrisswr1.parroute.util.LongMinHeap;
+
+/**
+ * defines a {@link Route}, which is calculated by a bidirectional A* search
+ * on a {@link RoutingGraph}<br>
+ * One search runs forward from the start, the other one backward from the
+ * destination over the incoming edges. Both use the average potentials
+ * <code>p(v) = (h(v, dest) - h(start, v)) / 2</code> and
+ * <code>-p(v)</code>, so the searches are consistent to each other and could
+ * stop, as soon as the sum of both minimum keys reaches the length of the best
+ * known connection.<br>
+ * Without turn restrictions the result is exact, if the heuristic never
+ * overestimates an edge (e.g. {@link DistanceMode#VINCENTY} for edge
+ * lengths). A turn restriction is only checked node based, against the
+ * {@link Way} of the adjacent edge of the same search tree and at the meeting
+ * {@link Node}. Every {@link Node} is settled once only, so a shorter allowed
+ * path over an already settled {@link Node} could be missed. Exact results
+ * with turn restrictions are only calculated by a {@link Route} on an
+ * {@link me.chrisswr1.parroute.graph.EdgeBasedGraph}.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class BidirectionalRoute
+extends Route
+{
+	/**
+	 * the {@link Logger} of this class
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Logger LOGGER = LogManager.getLogger(BidirectionalRoute.class);
+	
+	/**
+	 * standard constructor
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param dataHandler the {@link DataHandler} to get the {@link Node}s of
+	 *            the path from
+	 * @param graph the {@link RoutingGraph} to search on
+	 * @param start the {@link Node}, where the {@link Route} should begin
+	 * @param dest the destination, which should be reached by the {@link Route}
+	 * @throws IllegalArgumentException if {@code graph} is <code>null</code>
+	 */
+	public BidirectionalRoute(DataHandler dataHandler, RoutingGraph graph, Node start, Node dest)
+	throws IllegalArgumentException
+	{
+		super(dataHandler, graph, start, dest);
+		
+		if (graph == null)
+		{
+			throw new IllegalArgumentException("A bidirectional search needs a routing graph!");
+		}
+	}
+	
+	/**
+	 * gives the potential of a {@link Node} in the forward search
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param heuristic the {@link Heuristic} to estimate the costs
+	 * @param node the index of the {@link Node}
+	 * @param startNode the index of the start {@link Node}
+	 * @param destNode the index of the destination {@link Node}
+	 * @return the potential of {@code node}, which is the negated potential in
+	 *         the backward search
+	 */
+	private static double getPotential(Heuristic heuristic, int node, int startNode, int destNode)
+	{
+		return (heuristic.getEstimate(node, destNode) - heuristic.getEstimate(startNode, node)) / 2;
+	}
+	
+	@Override
+	public boolean calc()
+	{
+		RoutingGraph graph = this.getGraph();
+		Node start = this.getStart();
+		Node dest = this.getDest();
+		BidirectionalRoute.LOGGER.debug("Start bidirectional calculation of the path between " + start + " and " + dest + ".");
+		
+		int startNode = graph.indexOf(start.getId());
+		int destNode = graph.indexOf(dest.getId());
+		if (startNode == CoordinateStore.NO_INDEX || destNode == CoordinateStore.NO_INDEX)
+		{
+			BidirectionalRoute.LOGGER.info("Start or destination isn't part of the routing graph.");
+			this.setPathIds(null);
+			
+			return false;
+		}
+		
+		int nodeCount = graph.getNodeCount();
+		double[] forwardCosts = new double[nodeCount];
+		double[] backwardCosts = new double[nodeCount];
+		int[] predNodes = new int[nodeCount];
+		int[] predWays = new int[nodeCount];
+		int[] succNodes = new int[nodeCount];
+		int[] succWays = new int[nodeCount];
+		boolean[] forwardClosed = new boolean[nodeCount];
+		boolean[] backwardClosed = new boolean[nodeCount];
+		Arrays.fill(forwardCosts, Double.POSITIVE_INFINITY);
+		Arrays.fill(backwardCosts, Double.POSITIVE_INFINITY);
+		Arrays.fill(predNodes, CoordinateStore.NO_INDEX);
+		Arrays.fill(predWays, CoordinateStore.NO_INDEX);
+		Arrays.fill(succNodes, CoordinateStore.NO_INDEX);
+		Arrays.fill(succWays, CoordinateStore.NO_INDEX);
+		
+		Heuristic heuristic = this.getHeuristic();
+		LongMinHeap forwardList = new LongMinHeap();
+		LongMinHeap backwardList = new LongMinHeap();
+		forwardCosts[startNode] = 0;
+		backwardCosts[destNode] = 0;
+		forwardList.put(startNode, BidirectionalRoute.getPotential(heuristic, startNode, startNode, destNode));
+		backwardList.put(destNode, -BidirectionalRoute.getPotential(heuristic, destNode, startNode, destNode));
+		
+		double best = startNode == destNode ? 0 : Double.POSITIVE_INFINITY;
+		int meeting = startNode == destNode ? startNode : CoordinateStore.NO_INDEX;
+		
+		while ( ! (forwardList.isEmpty() || backwardList.isEmpty()))
+		{
+			if (forwardList.peekPriority() + backwardList.peekPriority() >= best)
+			{
+				break;
+			}
+			
+			if (forwardList.size() <= backwardList.size())
+			{
+				int current = (int)forwardList.poll();
+				forwardClosed[current] = true;
+				double currentCosts = forwardCosts[current];
+				int inWay = predWays[current];
+				
+				int end = graph.getFirstEdge(current + 1);
+				for (int edge = graph.getFirstEdge(current); edge < end; edge++)
+				{
+					if ( ! (graph.isForward(edge)))
+					{
+						continue;
+					}
+					
+					int successor = graph.getTarget(edge);
+					int outWay = graph.getWay(edge);
+					if (forwardClosed[successor] || (inWay != CoordinateStore.NO_INDEX && ! (graph.isTurnAllowed(inWay, current, outWay))))
+					{
+						continue;
+					}
+					
+					double tentativeCosts = currentCosts + graph.getWeight(edge);
+					if (tentativeCosts >= forwardCosts[successor])
+					{
+						continue;
+					}
+					
+					forwardCosts[successor] = tentativeCosts;
+					predNodes[successor] = current;
+					predWays[successor] = outWay;
+					forwardList.put(successor, tentativeCosts + BidirectionalRoute.getPotential(heuristic, successor, startNode, destNode));
+					
+					double total = tentativeCosts + backwardCosts[successor];
+					if (total < best && (succWays[successor] == CoordinateStore.NO_INDEX || graph.isTurnAllowed(outWay, successor, succWays[successor])))
+					{
+						best = total;
+						meeting = successor;
+					}
+				}
+			}
+			else
+			{
+				int current = (int)backwardList.poll();
+				backwardClosed[current] = true;
+				double currentCosts = backwardCosts[current];
+				int outWay = succWays[current];
+				
+				int end = graph.getFirstEdge(current + 1);
+				for (int edge = graph.getFirstEdge(current); edge < end; edge++)
+				{
+					if ( ! (graph.isBackward(edge)))
+					{
+						continue;
+					}
+					
+					int predecessor = graph.getTarget(edge);
+					int inWay = graph.getWay(edge);
+					if (backwardClosed[predecessor] || (outWay != CoordinateStore.NO_INDEX && ! (graph.isTurnAllowed(inWay, current, outWay))))
+					{
+						continue;
+					}
+					
+					double tentativeCosts = currentCosts + graph.getWeight(edge);
+					if (tentativeCosts >= backwardCosts[predecessor])
+					{
+						continue;
+					}
+					
+					backwardCosts[predecessor] = tentativeCosts;
+					succNodes[predecessor] = current;
+					succWays[predecessor] = inWay;
+					backwardList.put(predecessor, tentativeCosts - BidirectionalRoute.getPotential(heuristic, predecessor, startNode, destNode));
+					
+					double total = tentativeCosts + forwardCosts[predecessor];
+					if (total < best && (predWays[predecessor] == CoordinateStore.NO_INDEX || graph.isTurnAllowed(predWays[predecessor], predecessor, inWay)))
+					{
+						best = total;
+						meeting = predecessor;
+					}
+				}
+			}
+		}
+		
+		if (meeting == CoordinateStore.NO_INDEX)
+		{
+			BidirectionalRoute.LOGGER.info("No path was found between " + start + " and " + dest + ".");
+			this.setPathIds(null);
+			
+			return false;
+		}
+		
+		BidirectionalRoute.LOGGER.info("Path found between " + start + " and " + dest + ".");
+		
+		int forwardCount = 0;
+		for (int node = meeting; node != CoordinateStore.NO_INDEX; node = predNodes[node])
+		{
+			forwardCount++;
+		}
+		int count = forwardCount;
+		for (int node = succNodes[meeting]; node != CoordinateStore.NO_INDEX; node = succNodes[node])
+		{
+			count++;
+		}
+		
+		int[] nodes = new int[count];
+		int pos = forwardCount;
+		for (int node = meeting; node != CoordinateStore.NO_INDEX; node = predNodes[node])
+		{
+			nodes[--pos] = node;
+		}
+		pos = forwardCount;
+		for (int node = succNodes[meeting]; node != CoordinateStore.NO_INDEX; node = succNodes[node])
+		{
+			nodes[pos++] = node;
+		}
+		
+		// like in Route, the path doesn't contain the destination
+		long[] pathIds = new long[count - 1];
+		for (int i = 0; i < pathIds.length; i++)
+		{
+			pathIds[i] = graph.getNodeId(nodes[i]);
+		}
+		this.setPathIds(pathIds);
+		
+		return true;
+	}
+}
\ No newline at end of file
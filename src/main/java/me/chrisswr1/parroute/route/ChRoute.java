@@ -0,0 +1,297 @@
+package me.chrisswr1.parroute.route;
+
+import java.util.Arrays;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.graph.ContractionHierarchy;
+import me.chrisswr1.parroute.graph.CoordinateStore;
+import me.chrisswr1.parroute.util.IntArrayList;
+import me.chrisswr1.parroute.util.LongIntHashMap;
+import me.chrisswr1.parroute.util.LongMinHeap;
+
+/**
+ * defines a {@link Route}, which is calculated on a
+ * {@link ContractionHierarchy}<br>
+ * The forward search from the start only follows upward edges, the backward
+ * search from the destination only downward edges. Both search spaces are
+ * small, so they are stored sparse instead of in arrays over all nodes. The
+ * found path of shortcuts is unpacked into the original {@link Node}s.<br>
+ * Turn restrictions are ignored, as they are not part of the
+ * {@link ContractionHierarchy}.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class ChRoute
+extends Route
+{
+	/**
+	 * the {@link Logger} of this class
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Logger			LOGGER		= LogManager.getLogger(ChRoute.class);
+													
+	/**
+	 * the {@link ContractionHierarchy} to search on
+	 * 
+	 * @since 0.0.1
+	 */
+	private final ContractionHierarchy	hierarchy;
+										
+	/**
+	 * defines the search space of one direction
+	 * 
+	 * @version 0.0.1
+	 * @author ChrissW-R1
+	 * @since 0.0.1
+	 */
+	private static class SearchSpace
+	{
+		/**
+		 * the slot of every reached node
+		 * 
+		 * @since 0.0.1
+		 */
+		private final LongIntHashMap	slots		= new LongIntHashMap(CoordinateStore.NO_INDEX);
+		/**
+		 * the open list of the search
+		 * 
+		 * @since 0.0.1
+		 */
+		private final LongMinHeap		openList	= new LongMinHeap();
+		/**
+		 * the costs of every slot
+		 * 
+		 * @since 0.0.1
+		 */
+		private double[]				costs		= new double[16];
+		/**
+		 * the parent node in the search tree of every slot
+		 * 
+		 * @since 0.0.1
+		 */
+		private int[]					parents		= new int[16];
+		/**
+		 * the count of used slots
+		 * 
+		 * @since 0.0.1
+		 */
+		private int						size		= 0;
+													
+		/**
+		 * gives the costs of a node
+		 * 
+		 * @since 0.0.1
+		 * 
+		 * @param node the index of the node
+		 * @return the costs of {@code node} or {@link Double#POSITIVE_INFINITY},
+		 *         if it wasn't reached
+		 */
+		private double getCosts(int node)
+		{
+			int slot = this.slots.get(node);
+			
+			return slot == CoordinateStore.NO_INDEX ? Double.POSITIVE_INFINITY : this.costs[slot];
+		}
+		
+		/**
+		 * gives the parent of a node
+		 * 
+		 * @since 0.0.1
+		 * 
+		 * @param node the index of the reached node
+		 * @return the parent of {@code node} or {@link CoordinateStore#NO_INDEX}
+		 *         , if it is the root
+		 */
+		private int getParent(int node)
+		{
+			return this.parents[this.slots.get(node)];
+		}
+		
+		/**
+		 * reaches a node with lower costs
+		 * 
+		 * @since 0.0.1
+		 * 
+		 * @param node the index of the node
+		 * @param costs the new costs of {@code node}
+		 * @param parent the parent of {@code node}
+		 * @return <code>true</code> if the costs of {@code node} were
+		 *         decreased
+		 */
+		private boolean reach(int node, double costs, int parent)
+		{
+			int slot = this.slots.get(node);
+			
+			if (slot == CoordinateStore.NO_INDEX)
+			{
+				if (this.size == this.costs.length)
+				{
+					this.costs = Arrays.copyOf(this.costs, this.size << 1);
+					this.parents = Arrays.copyOf(this.parents, this.size << 1);
+				}
+				
+				slot = this.size++;
+				this.slots.put(node, slot);
+			}
+			else if (costs >= this.costs[slot])
+			{
+				return false;
+			}
+			
+			this.costs[slot] = costs;
+			this.parents[slot] = parent;
+			this.openList.put(node, costs);
+			
+			return true;
+		}
+	}
+	
+	/**
+	 * standard constructor
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param dataHandler the {@link DataHandler} to get the {@link Node}s of
+	 *            the path from
+	 * @param hierarchy the {@link ContractionHierarchy} to search on
+	 * @param start the {@link Node}, where the {@link Route} should begin
+	 * @param dest the destination, which should be reached by the {@link Route}
+	 */
+	public ChRoute(DataHandler dataHandler, ContractionHierarchy hierarchy, Node start, Node dest)
+	{
+		super(dataHandler, hierarchy.getGraph(), start, dest);
+		
+		this.hierarchy = hierarchy;
+	}
+	
+	/**
+	 * gives the {@link ContractionHierarchy}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link ContractionHierarchy} to search on
+	 */
+	public ContractionHierarchy getHierarchy()
+	{
+		return this.hierarchy;
+	}
+	
+	@Override
+	public boolean calc()
+	{
+		ContractionHierarchy hierarchy = this.getHierarchy();
+		Node start = this.getStart();
+		Node dest = this.getDest();
+		ChRoute.LOGGER.debug("Start calculation of the path between " + start + " and " + dest + " on the contraction hierarchy.");
+		
+		int startNode = this.getGraph().indexOf(start.getId());
+		int destNode = this.getGraph().indexOf(dest.getId());
+		if (startNode == CoordinateStore.NO_INDEX || destNode == CoordinateStore.NO_INDEX)
+		{
+			ChRoute.LOGGER.info("Start or destination isn't part of the routing graph.");
+			this.setPathIds(null);
+			
+			return false;
+		}
+		
+		SearchSpace forward = new SearchSpace();
+		SearchSpace backward = new SearchSpace();
+		forward.reach(startNode, 0, CoordinateStore.NO_INDEX);
+		backward.reach(destNode, 0, CoordinateStore.NO_INDEX);
+		
+		double best = Double.POSITIVE_INFINITY;
+		int meeting = CoordinateStore.NO_INDEX;
+		boolean forwardTurn = true;
+		
+		while (true)
+		{
+			boolean forwardDone = forward.openList.peekPriority() >= best;
+			boolean backwardDone = backward.openList.peekPriority() >= best;
+			if (forwardDone && backwardDone)
+			{
+				break;
+			}
+			
+			forwardTurn = backwardDone || ( ! (forwardDone) && ! (forwardTurn));
+			SearchSpace space = forwardTurn ? forward : backward;
+			SearchSpace other = forwardTurn ? backward : forward;
+			
+			int current = (int)space.openList.poll();
+			double currentCosts = space.getCosts(current);
+			
+			double total = currentCosts + other.getCosts(current);
+			if (total < best)
+			{
+				best = total;
+				meeting = current;
+			}
+			
+			if (forwardTurn)
+			{
+				int end = hierarchy.getFirstUpEdge(current + 1);
+				for (int edge = hierarchy.getFirstUpEdge(current); edge < end; edge++)
+				{
+					space.reach(hierarchy.getUpTarget(edge), currentCosts + hierarchy.getUpWeight(edge), current);
+				}
+			}
+			else
+			{
+				int end = hierarchy.getFirstDownEdge(current + 1);
+				for (int edge = hierarchy.getFirstDownEdge(current); edge < end; edge++)
+				{
+					space.reach(hierarchy.getDownSource(edge), currentCosts + hierarchy.getDownWeight(edge), current);
+				}
+			}
+		}
+		
+		if (meeting == CoordinateStore.NO_INDEX)
+		{
+			ChRoute.LOGGER.info("No path was found between " + start + " and " + dest + ".");
+			this.setPathIds(null);
+			
+			return false;
+		}
+		
+		ChRoute.LOGGER.info("Path found between " + start + " and " + dest + ".");
+		
+		// collect the nodes of the hierarchy from the start to the destination
+		IntArrayList upward = new IntArrayList();
+		for (int node = meeting; node != CoordinateStore.NO_INDEX; node = forward.getParent(node))
+		{
+			upward.add(node);
+		}
+		IntArrayList hierarchyPath = new IntArrayList(upward.size() << 1);
+		while ( ! (upward.isEmpty()))
+		{
+			hierarchyPath.add(upward.removeLast());
+		}
+		for (int node = backward.getParent(meeting); node != CoordinateStore.NO_INDEX; node = backward.getParent(node))
+		{
+			hierarchyPath.add(node);
+		}
+		
+		IntArrayList path = new IntArrayList();
+		path.add(startNode);
+		for (int i = 1; i < hierarchyPath.size(); i++)
+		{
+			hierarchy.unpack(hierarchyPath.get(i - 1), hierarchyPath.get(i), path);
+		}
+		
+		// like in Route, the path doesn't contain the destination
+		long[] pathIds = new long[path.size() - 1];
+		for (int i = 0; i < pathIds.length; i++)
+		{
+			pathIds[i] = this.getGraph().getNodeId(path.get(i));
+		}
+		this.setPathIds(pathIds);
+		
+		return true;
+	}
+}
\ No newline at end of file
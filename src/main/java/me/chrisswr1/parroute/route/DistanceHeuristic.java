@@ -0,0 +1,64 @@
+package me.chrisswr1.parroute.route;
+
+import me.chrisswr1.parroute.graph.CoordinateStore;
+import me.chrisswr1.parroute.graph.RoutingGraph;
+import me.chrisswr1.parroute.util.DistanceMode;
+
+/**
+ * a {@link Heuristic}, which estimates the costs by the straight-line
+ * distance between the coordinates of two nodes
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class DistanceHeuristic
+implements Heuristic
+{
+	/**
+	 * the coordinates of the nodes
+	 * 
+	 * @since 0.0.1
+	 */
+	private final CoordinateStore	coordinates;
+	/**
+	 * the {@link DistanceMode} to calculate the distances
+	 * 
+	 * @since 0.0.1
+	 */
+	private final DistanceMode		mode;
+									
+	/**
+	 * standard constructor
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param graph the {@link RoutingGraph}, which nodes should be estimated
+	 * @param mode the {@link DistanceMode} to calculate the distances
+	 */
+	public DistanceHeuristic(RoutingGraph graph, DistanceMode mode)
+	{
+		this.coordinates = graph.getCoordinates();
+		this.mode = mode;
+	}
+	
+	/**
+	 * gives the {@link DistanceMode}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link DistanceMode} to calculate the distances
+	 */
+	public DistanceMode getMode()
+	{
+		return this.mode;
+	}
+	
+	@Override
+	public double getEstimate(int from, int to)
+	{
+		CoordinateStore coordinates = this.coordinates;
+		
+		return this.getMode().getDistance(coordinates.getLatitude(from), coordinates.getLongitude(from), coordinates.getLatitude(to), coordinates.getLongitude(to));
+	}
+}
\ No newline at end of file
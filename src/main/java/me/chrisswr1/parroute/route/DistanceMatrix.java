@@ -0,0 +1,570 @@
+package me.chrisswr1.parroute.route;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.graph.ContractionHierarchy;
+import me.chrisswr1.parroute.graph.CoordinateStore;
+import me.chrisswr1.parroute.util.LongIntHashMap;
+import me.chrisswr1.parroute.util.LongMinHeap;
+
+/**
+ * calculates the costs between many sources and many targets on a
+ * {@link ContractionHierarchy}<br>
+ * Every target runs one backward search and leaves its costs in a bucket of
+ * every reached node. Every source runs one forward search and combines its
+ * costs with the buckets of the reached nodes. So only one search per source
+ * and target is needed, instead of one {@link Route} per pair. The searches
+ * of one phase run in parallel, every source writes only its own row of the
+ * costs.<br>
+ * Only the costs are kept. A path is calculated on demand by
+ * {@link DistanceMatrix#getRoute(int, int)}.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class DistanceMatrix
+{
+	/**
+	 * the {@link Logger} of this class
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Logger			LOGGER		= LogManager.getLogger(DistanceMatrix.class);
+	/**
+	 * the count of searches, which are processed by one parallel task
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final int				CHUNK_SIZE	= 8;
+													
+	/**
+	 * the {@link DataHandler} to get the {@link Node}s of a path from
+	 * 
+	 * @since 0.0.1
+	 */
+	private final DataHandler			dataHandler;
+	/**
+	 * the {@link ContractionHierarchy} to search on
+	 * 
+	 * @since 0.0.1
+	 */
+	private final ContractionHierarchy	hierarchy;
+	/**
+	 * the ids of the source {@link Node}s
+	 * 
+	 * @since 0.0.1
+	 */
+	private final long[]				sourceIds;
+	/**
+	 * the ids of the target {@link Node}s
+	 * 
+	 * @since 0.0.1
+	 */
+	private final long[]				targetIds;
+	/**
+	 * the costs of every pair, row by row for every source or
+	 * <code>null</code>, if the matrix wasn't calculated until yet
+	 * 
+	 * @since 0.0.1
+	 */
+	private double[]					costs		= null;
+													
+	/**
+	 * defines the search space of an upward search, which is reused for many
+	 * searches of the same {@link Thread}
+	 * 
+	 * @version 0.0.1
+	 * @author ChrissW-R1
+	 * @since 0.0.1
+	 */
+	private static class SearchSpace
+	{
+		/**
+		 * the slot of every reached node
+		 * 
+		 * @since 0.0.1
+		 */
+		private final LongIntHashMap	slots		= new LongIntHashMap(CoordinateStore.NO_INDEX);
+		/**
+		 * the open list of the search
+		 * 
+		 * @since 0.0.1
+		 */
+		private final LongMinHeap		openList	= new LongMinHeap();
+		/**
+		 * the reached node of every slot
+		 * 
+		 * @since 0.0.1
+		 */
+		private int[]					nodes		= new int[64];
+		/**
+		 * the costs of every slot
+		 * 
+		 * @since 0.0.1
+		 */
+		private double[]				costs		= new double[64];
+		/**
+		 * the count of used slots
+		 * 
+		 * @since 0.0.1
+		 */
+		private int						size		= 0;
+													
+		/**
+		 * reaches a node with lower costs
+		 * 
+		 * @since 0.0.1
+		 * 
+		 * @param node the index of the node
+		 * @param costs the new costs of {@code node}
+		 */
+		private void reach(int node, double costs)
+		{
+			int slot = this.slots.get(node);
+			
+			if (slot == CoordinateStore.NO_INDEX)
+			{
+				if (this.size == this.costs.length)
+				{
+					this.nodes = Arrays.copyOf(this.nodes, this.size << 1);
+					this.costs = Arrays.copyOf(this.costs, this.size << 1);
+				}
+				
+				slot = this.size++;
+				this.slots.put(node, slot);
+				this.nodes[slot] = node;
+			}
+			else if (costs >= this.costs[slot])
+			{
+				return;
+			}
+			
+			this.costs[slot] = costs;
+			this.openList.put(node, costs);
+		}
+		
+		/**
+		 * searches all nodes, which are reachable from a root on upward or
+		 * downward edges<br>
+		 * Afterwards the first {@link SearchSpace#size} slots contain the
+		 * costs of all reached nodes.
+		 * 
+		 * @since 0.0.1
+		 * 
+		 * @param hierarchy the {@link ContractionHierarchy} to search on
+		 * @param root the index of the root node
+		 * @param forward <code>true</code> to follow the upward edges,
+		 *            <code>false</code> to follow the downward edges in reverse
+		 */
+		private void search(ContractionHierarchy hierarchy, int root, boolean forward)
+		{
+			this.slots.clear();
+			this.openList.clear();
+			this.size = 0;
+			
+			this.reach(root, 0);
+			while ( ! (this.openList.isEmpty()))
+			{
+				int current = (int)this.openList.poll();
+				double currentCosts = this.costs[this.slots.get(current)];
+				
+				if (forward)
+				{
+					int end = hierarchy.getFirstUpEdge(current + 1);
+					for (int edge = hierarchy.getFirstUpEdge(current); edge < end; edge++)
+					{
+						this.reach(hierarchy.getUpTarget(edge), currentCosts + hierarchy.getUpWeight(edge));
+					}
+				}
+				else
+				{
+					int end = hierarchy.getFirstDownEdge(current + 1);
+					for (int edge = hierarchy.getFirstDownEdge(current); edge < end; edge++)
+					{
+						this.reach(hierarchy.getDownSource(edge), currentCosts + hierarchy.getDownWeight(edge));
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * defines the task of one search
+	 * 
+	 * @version 0.0.1
+	 * @author ChrissW-R1
+	 * @since 0.0.1
+	 */
+	private static interface SearchTask
+	{
+		/**
+		 * processes the result of a search
+		 * 
+		 * @since 0.0.1
+		 * 
+		 * @param idx the index of the source or target
+		 * @param space the {@link SearchSpace} of the finished search
+		 */
+		public void run(int idx, SearchSpace space);
+	}
+	
+	/**
+	 * constructor, with given sources and targets
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param dataHandler the {@link DataHandler} to get the {@link Node}s of a
+	 *            path from
+	 * @param hierarchy the {@link ContractionHierarchy} to search on
+	 * @param sourceIds the ids of the source {@link Node}s
+	 * @param targetIds the ids of the target {@link Node}s
+	 */
+	public DistanceMatrix(DataHandler dataHandler, ContractionHierarchy hierarchy, long[] sourceIds, long[] targetIds)
+	{
+		this.dataHandler = dataHandler;
+		this.hierarchy = hierarchy;
+		this.sourceIds = sourceIds;
+		this.targetIds = targetIds;
+	}
+	
+	/**
+	 * gives the {@link DataHandler}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link DataHandler} to get the {@link Node}s of a path from
+	 */
+	public DataHandler getDataHandler()
+	{
+		return this.dataHandler;
+	}
+	
+	/**
+	 * gives the {@link ContractionHierarchy}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link ContractionHierarchy} to search on
+	 */
+	public ContractionHierarchy getHierarchy()
+	{
+		return this.hierarchy;
+	}
+	
+	/**
+	 * gives the count of sources
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the count of rows of the matrix
+	 */
+	public int getSourceCount()
+	{
+		return this.sourceIds.length;
+	}
+	
+	/**
+	 * gives the count of targets
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the count of columns of the matrix
+	 */
+	public int getTargetCount()
+	{
+		return this.targetIds.length;
+	}
+	
+	/**
+	 * checks if the matrix was calculated
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return <code>true</code> if {@link DistanceMatrix#calc()} was finished,
+	 *         <code>false</code> otherwise
+	 */
+	public boolean isCalc()
+	{
+		return this.costs != null;
+	}
+	
+	/**
+	 * runs a {@link SearchTask} for every root on an {@link ExecutorService}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param executor the {@link ExecutorService} to run the searches on
+	 * @param roots the indices of the root nodes
+	 * @param forward <code>true</code> for forward searches,
+	 *            <code>false</code> for backward searches
+	 * @param task the {@link SearchTask} to process the search spaces
+	 * @throws InterruptedException if the current {@link Thread} was
+	 *             interrupted during the waiting
+	 */
+	private void runParallel(ExecutorService executor, final int[] roots, final boolean forward, final SearchTask task)
+	throws InterruptedException
+	{
+		final ContractionHierarchy hierarchy = this.getHierarchy();
+		
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int chunk = 0; chunk < roots.length; chunk += DistanceMatrix.CHUNK_SIZE)
+		{
+			final int begin = chunk;
+			final int end = Math.min(chunk + DistanceMatrix.CHUNK_SIZE, roots.length);
+			tasks.add(new Callable<Void>()
+			{
+				@Override
+				public Void call()
+				{
+					SearchSpace space = new SearchSpace();
+					
+					for (int i = begin; i < end; i++)
+					{
+						if (roots[i] == CoordinateStore.NO_INDEX)
+						{
+							continue;
+						}
+						
+						space.search(hierarchy, roots[i], forward);
+						task.run(i, space);
+					}
+					
+					return null;
+				}
+			});
+		}
+		
+		for (Future<Void> future : executor.invokeAll(tasks))
+		{
+			try
+			{
+				future.get();
+			}
+			catch (ExecutionException e)
+			{
+				String msg = "Couldn't calculate the distance matrix!";
+				DistanceMatrix.LOGGER.error(msg, e);
+				throw new IllegalStateException(msg, e.getCause());
+			}
+		}
+	}
+	
+	/**
+	 * gives the indices of {@link Node}s in the {@link ContractionHierarchy}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param ids the ids of the {@link Node}s
+	 * @return the indices in order of {@code ids},
+	 *         {@link CoordinateStore#NO_INDEX} for every {@link Node}, which
+	 *         isn't part of the graph
+	 */
+	private int[] indicesOf(long[] ids)
+	{
+		int[] res = new int[ids.length];
+		for (int i = 0; i < ids.length; i++)
+		{
+			res[i] = this.getHierarchy().getGraph().indexOf(ids[i]);
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * calculates the matrix with as many {@link Thread}s as processors are
+	 * available
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @throws InterruptedException if the current {@link Thread} was
+	 *             interrupted during the calculation
+	 */
+	public void calc()
+	throws InterruptedException
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		
+		try
+		{
+			this.calc(executor);
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+	
+	/**
+	 * calculates the matrix
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param executor the {@link ExecutorService} to run the searches on
+	 * @throws InterruptedException if the current {@link Thread} was
+	 *             interrupted during the calculation
+	 */
+	public void calc(ExecutorService executor)
+	throws InterruptedException
+	{
+		final int targetCount = this.getTargetCount();
+		final int nodeCount = this.getHierarchy().getGraph().getNodeCount();
+		DistanceMatrix.LOGGER.debug("Start calculation of a " + this.getSourceCount() + "x" + targetCount + " distance matrix.");
+		
+		// the backward search spaces of all targets
+		final int[][] spaceNodes = new int[targetCount][];
+		final double[][] spaceCosts = new double[targetCount][];
+		this.runParallel(executor, this.indicesOf(this.targetIds), false, new SearchTask()
+		{
+			@Override
+			public void run(int idx, SearchSpace space)
+			{
+				spaceNodes[idx] = Arrays.copyOf(space.nodes, space.size);
+				spaceCosts[idx] = Arrays.copyOf(space.costs, space.size);
+			}
+		});
+		
+		// sort the search spaces into one bucket per node
+		final int[] firstEntries = new int[nodeCount + 1];
+		for (int[] nodes : spaceNodes)
+		{
+			if (nodes != null)
+			{
+				for (int node : nodes)
+				{
+					firstEntries[node + 1]++;
+				}
+			}
+		}
+		for (int node = 0; node < nodeCount; node++)
+		{
+			firstEntries[node + 1] += firstEntries[node];
+		}
+		
+		final int[] entryTargets = new int[firstEntries[nodeCount]];
+		final double[] entryCosts = new double[entryTargets.length];
+		int[] fill = Arrays.copyOf(firstEntries, nodeCount);
+		for (int target = 0; target < targetCount; target++)
+		{
+			int[] nodes = spaceNodes[target];
+			if (nodes == null)
+			{
+				continue;
+			}
+			
+			for (int i = 0; i < nodes.length; i++)
+			{
+				int entry = fill[nodes[i]]++;
+				entryTargets[entry] = target;
+				entryCosts[entry] = spaceCosts[target][i];
+			}
+			
+			spaceNodes[target] = null;
+			spaceCosts[target] = null;
+		}
+		
+		final double[] costs = new double[this.getSourceCount() * targetCount];
+		Arrays.fill(costs, Double.POSITIVE_INFINITY);
+		this.runParallel(executor, this.indicesOf(this.sourceIds), true, new SearchTask()
+		{
+			@Override
+			public void run(int idx, SearchSpace space)
+			{
+				int row = idx * targetCount;
+				
+				for (int slot = 0; slot < space.size; slot++)
+				{
+					int node = space.nodes[slot];
+					double nodeCosts = space.costs[slot];
+					
+					int end = firstEntries[node + 1];
+					for (int entry = firstEntries[node]; entry < end; entry++)
+					{
+						int cell = row + entryTargets[entry];
+						double total = nodeCosts + entryCosts[entry];
+						
+						if (total < costs[cell])
+						{
+							costs[cell] = total;
+						}
+					}
+				}
+			}
+		});
+		
+		this.costs = costs;
+		
+		DistanceMatrix.LOGGER.debug("Calculated the distance matrix with " + entryTargets.length + " bucket entries.");
+	}
+	
+	/**
+	 * gives the costs of all pairs
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the costs (as weight of the graph of the
+	 *         {@link ContractionHierarchy}), row by row for every source, so
+	 *         the costs from source <code>i</code> to target <code>j</code> are
+	 *         at <code>i * getTargetCount() + j</code>,
+	 *         {@link Double#POSITIVE_INFINITY} for every unreachable target
+	 * @throws IllegalStateException if the matrix wasn't calculated until yet
+	 */
+	public double[] getCosts()
+	throws IllegalStateException
+	{
+		if ( ! (this.isCalc()))
+		{
+			throw new IllegalStateException("The distance matrix wasn't calculated until yet!");
+		}
+		
+		return this.costs;
+	}
+	
+	/**
+	 * gives the costs from a source to a target
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param source the index of the source in the ids of all sources
+	 * @param target the index of the target in the ids of all targets
+	 * @return the costs (as weight of the graph of the
+	 *         {@link ContractionHierarchy}) or
+	 *         {@link Double#POSITIVE_INFINITY}, if the target is unreachable
+	 * @throws IllegalStateException if the matrix wasn't calculated until yet
+	 */
+	public double getCosts(int source, int target)
+	throws IllegalStateException
+	{
+		return this.getCosts()[source * this.getTargetCount() + target];
+	}
+	
+	/**
+	 * calculates the path from a source to a target
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param source the index of the source in the ids of all sources
+	 * @param target the index of the target in the ids of all targets
+	 * @return the calculated {@link Route}
+	 */
+	public Route getRoute(int source, int target)
+	{
+		DataHandler dataHandler = this.getDataHandler();
+		ChRoute res = new ChRoute(dataHandler, this.getHierarchy(), dataHandler.getNode(this.sourceIds[source]), dataHandler.getNode(this.targetIds[target]));
+		res.calc();
+		
+		return res;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package me.chrisswr1.parroute.route;
+
+import me.chrisswr1.parroute.graph.RoutingGraph;
+
+/**
+ * defines the estimation of the remaining costs between two nodes of a
+ * {@link RoutingGraph}, which guides the A* search of a {@link Route}<br>
+ * An estimation should never be higher than the real costs, otherwise the
+ * found path may not be the shortest one.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public interface Heuristic
+{
+	/**
+	 * estimates the costs of the shortest path between two nodes
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param from the index of the node, where the path begins
+	 * @param to the index of the node, where the path ends
+	 * @return a lower bound of the costs from {@code from} to {@code to}
+	 */
+	public double getEstimate(int from, int to);
+}
\ No newline at end of file
@@ -0,0 +1,377 @@
+package me.chrisswr1.parroute.route;
+
+import java.util.Arrays;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+
+import me.chrisswr1.parroute.graph.CoordinateStore;
+import me.chrisswr1.parroute.graph.RoutingGraph;
+import me.chrisswr1.parroute.graph.RoutingProfile;
+import me.chrisswr1.parroute.util.LongMinHeap;
+
+/**
+ * calculates all {@link Node}s, which are reachable from an origin within a
+ * limit of costs, on a {@link RoutingGraph}<br>
+ * A bounded Dijkstra search settles every {@link Node} up to the limit. The
+ * costs of all {@link Node}s are kept in arrays over the whole graph, which
+ * are reused by every calculation: A stamp per {@link Node} marks the costs
+ * of the current calculation, so the arrays never have to be cleared. An
+ * instance should therefore be reused for many origins, but only by one
+ * {@link Thread} at once.<br>
+ * Every {@link Node} is settled only once, regardless of the edge it was
+ * reached on, so all turns at a {@link Node} are allowed and turn
+ * restrictions are ignored. The area could therefore be a little too large at
+ * restricted junctions. Whether a single {@link Node} is reachable is
+ * answered exactly by a {@link Route} on an
+ * {@link me.chrisswr1.parroute.graph.EdgeBasedGraph}.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class Isochrone
+{
+	/**
+	 * the {@link Logger} of this class
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Logger	LOGGER			= LogManager.getLogger(Isochrone.class);
+												
+	/**
+	 * the {@link RoutingGraph} to search on
+	 * 
+	 * @since 0.0.1
+	 */
+	private final RoutingGraph	graph;
+	/**
+	 * the costs of every {@link Node}, which are valid, if its stamp is the
+	 * current one
+	 * 
+	 * @since 0.0.1
+	 */
+	private final double[]		costs;
+	/**
+	 * the stamp of the calculation, which reached a {@link Node} at last
+	 * 
+	 * @since 0.0.1
+	 */
+	private final int[]			stamps;
+	/**
+	 * the open list of the search
+	 * 
+	 * @since 0.0.1
+	 */
+	private final LongMinHeap	openList		= new LongMinHeap();
+	/**
+	 * the stamp of the current calculation
+	 * 
+	 * @since 0.0.1
+	 */
+	private int					stamp			= 0;
+	/**
+	 * the settled {@link Node}s in order of their costs
+	 * 
+	 * @since 0.0.1
+	 */
+	private int[]				settled			= new int[64];
+	/**
+	 * the costs of the settled {@link Node}s
+	 * 
+	 * @since 0.0.1
+	 */
+	private double[]			settledCosts	= new double[64];
+	/**
+	 * the count of settled {@link Node}s
+	 * 
+	 * @since 0.0.1
+	 */
+	private int					size			= 0;
+												
+	/**
+	 * constructor, with given {@link RoutingGraph}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param graph the {@link RoutingGraph} to search on
+	 */
+	public Isochrone(RoutingGraph graph)
+	{
+		this.graph = graph;
+		
+		int nodeCount = graph.getNodeCount();
+		this.costs = new double[nodeCount];
+		this.stamps = new int[nodeCount];
+	}
+	
+	/**
+	 * gives the {@link RoutingGraph}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link RoutingGraph} to search on
+	 */
+	public RoutingGraph getGraph()
+	{
+		return this.graph;
+	}
+	
+	/**
+	 * reaches a {@link Node} with lower costs
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param node the index of the {@link Node}
+	 * @param costs the new costs of {@code node}
+	 */
+	private void reach(int node, double costs)
+	{
+		if (this.stamps[node] == this.stamp && costs >= this.costs[node])
+		{
+			return;
+		}
+		
+		this.stamps[node] = this.stamp;
+		this.costs[node] = costs;
+		this.openList.put(node, costs);
+	}
+	
+	/**
+	 * calculates all {@link Node}s, which are reachable from an origin within
+	 * a travel time<br>
+	 * The time is converted into a weight by the {@link RoutingProfile} of the
+	 * {@link RoutingGraph}.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param originId the id of the origin {@link Node}
+	 * @param minutes the maximum travel time (in minutes)
+	 * @return the count of reachable {@link Node}s (including the origin) or
+	 *         <code>0</code>, if the origin isn't part of the graph
+	 * @throws IllegalStateException if the {@link RoutingGraph} isn't weighted
+	 *             by a {@link RoutingProfile}
+	 * @see RoutingGraph#getProfileGraph(RoutingProfile)
+	 */
+	public int calcByTime(long originId, double minutes)
+	throws IllegalStateException
+	{
+		RoutingProfile profile = this.getGraph().getProfile();
+		if (profile == null)
+		{
+			throw new IllegalStateException("The edges of the routing graph are weighted by their length, so they have no travel time!");
+		}
+		
+		return this.calc(originId, profile.toWeight(minutes * 60));
+	}
+	
+	/**
+	 * calculates all {@link Node}s, which are reachable from an origin
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param originId the id of the origin {@link Node}
+	 * @param limit the maximum costs (as weight of the {@link RoutingGraph},
+	 *            so in meters, if it has no {@link RoutingProfile})
+	 * @return the count of reachable {@link Node}s (including the origin) or
+	 *         <code>0</code>, if the origin isn't part of the graph
+	 */
+	public int calc(long originId, double limit)
+	{
+		RoutingGraph graph = this.getGraph();
+		
+		this.size = 0;
+		this.openList.clear();
+		if (this.stamp == Integer.MAX_VALUE)
+		{
+			Arrays.fill(this.stamps, 0);
+			this.stamp = 0;
+		}
+		this.stamp++;
+		
+		int origin = graph.indexOf(originId);
+		if (origin == CoordinateStore.NO_INDEX)
+		{
+			Isochrone.LOGGER.info("The origin " + originId + " isn't part of the routing graph.");
+			return 0;
+		}
+		
+		this.reach(origin, 0);
+		while ( ! (this.openList.isEmpty()))
+		{
+			int current = (int)this.openList.poll();
+			double currentCosts = this.costs[current];
+			
+			if (this.size == this.settled.length)
+			{
+				this.settled = Arrays.copyOf(this.settled, this.size << 1);
+				this.settledCosts = Arrays.copyOf(this.settledCosts, this.size << 1);
+			}
+			this.settled[this.size] = current;
+			this.settledCosts[this.size] = currentCosts;
+			this.size++;
+			
+			int end = graph.getFirstEdge(current + 1);
+			for (int edge = graph.getFirstEdge(current); edge < end; edge++)
+			{
+				if ( ! (graph.isForward(edge)))
+				{
+					continue;
+				}
+				
+				double costs = currentCosts + graph.getWeight(edge);
+				if (costs <= limit)
+				{
+					this.reach(graph.getTarget(edge), costs);
+				}
+			}
+		}
+		
+		Isochrone.LOGGER.debug(this.size + " nodes are reachable from " + originId + " within a weight of " + limit + ".");
+		
+		return this.size;
+	}
+	
+	/**
+	 * gives the count of reachable {@link Node}s of the last calculation
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the count of reachable {@link Node}s
+	 */
+	public int getSize()
+	{
+		return this.size;
+	}
+	
+	/**
+	 * gives the reachable {@link Node}s of the last calculation
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the indices of the {@link Node}s in the {@link RoutingGraph} in
+	 *         order of their costs
+	 */
+	public int[] getNodes()
+	{
+		return Arrays.copyOf(this.settled, this.size);
+	}
+	
+	/**
+	 * gives the ids of the reachable {@link Node}s of the last calculation
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the ids of the {@link Node}s in order of their costs
+	 */
+	public long[] getNodeIds()
+	{
+		RoutingGraph graph = this.getGraph();
+		
+		long[] res = new long[this.size];
+		for (int i = 0; i < this.size; i++)
+		{
+			res[i] = graph.getNodeId(this.settled[i]);
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * gives the costs of the reachable {@link Node}s of the last calculation
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the costs (as weight of the {@link RoutingGraph}) in order of
+	 *         {@link Isochrone#getNodes()}
+	 */
+	public double[] getCosts()
+	{
+		return Arrays.copyOf(this.settledCosts, this.size);
+	}
+	
+	/**
+	 * builds the convex hull of the reachable {@link Node}s of the last
+	 * calculation<br>
+	 * The hull is calculated on the plane of latitude and longitude, which is
+	 * exact enough for the extent of a single isochrone.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the corners of the hull as pairs of latitude and longitude in
+	 *         counter-clockwise order, without repeating the first corner
+	 */
+	public double[] getPolygon()
+	{
+		CoordinateStore coordinates = this.getGraph().getCoordinates();
+		
+		// sort by longitude, then latitude, with flipped sign bits to compare
+		// the unsigned latitude part correctly
+		long[] points = new long[this.size];
+		for (int i = 0; i < this.size; i++)
+		{
+			int node = this.settled[i];
+			points[i] = ((long)coordinates.getFixedLongitude(node) << 32) | ((coordinates.getFixedLatitude(node) ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+		}
+		Arrays.sort(points);
+		
+		// Andrew's monotone chain: the lower hull, then the upper hull
+		long[] hull = new long[2 * points.length];
+		int hullSize = 0;
+		for (int pass = 0; pass < 2; pass++)
+		{
+			int lowerEnd = hullSize;
+			for (int i = 0; i < points.length; i++)
+			{
+				long point = pass == 0 ? points[i] : points[points.length - 1 - i];
+				
+				if (hullSize > 0 && hull[hullSize - 1] == point)
+				{
+					continue;
+				}
+				
+				while (hullSize - lowerEnd >= 2 && Isochrone.cross(hull[hullSize - 2], hull[hullSize - 1], point) <= 0)
+				{
+					hullSize--;
+				}
+				hull[hullSize++] = point;
+			}
+			
+			// the last corner is the first one of the next chain
+			if (hullSize > 1)
+			{
+				hullSize--;
+			}
+		}
+		
+		double[] res = new double[2 * hullSize];
+		for (int i = 0; i < hullSize; i++)
+		{
+			res[2 * i] = CoordinateStore.toDegrees((int)hull[i] ^ Integer.MIN_VALUE);
+			res[2 * i + 1] = CoordinateStore.toDegrees((int)(hull[i] >> 32));
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * calculates the cross product of two vectors from a common point
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param origin the common point
+	 * @param point1 the end of the first vector
+	 * @param point2 the end of the second vector
+	 * @return a positive value, if the vectors turn counter-clockwise, a
+	 *         negative value, if they turn clockwise, and <code>0</code>, if
+	 *         they are collinear
+	 */
+	private static double cross(long origin, long point1, long point2)
+	{
+		double x = origin >> 32;
+		double y = (int)origin ^ Integer.MIN_VALUE;
+		
+		return ((point1 >> 32) - x) * (((int)point2 ^ Integer.MIN_VALUE) - y) - (((int)point1 ^ Integer.MIN_VALUE) - y) * ((point2 >> 32) - x);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,303 @@
+package me.chrisswr1.parroute.route;
+
+import java.util.Arrays;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import me.chrisswr1.parroute.graph.RoutingGraph;
+import me.chrisswr1.parroute.util.LongMinHeap;
+
+/**
+ * a {@link Heuristic} of the ALT algorithm (A*, landmarks and triangle
+ * inequality)<br>
+ * For some landmark nodes the distances from and to every other node are
+ * precalculated. By the triangle inequality
+ * <code>d(L, to) - d(L, from)</code> and <code>d(from, L) - d(to, L)</code>
+ * are lower bounds of <code>d(from, to)</code> for every landmark
+ * <code>L</code>, which are much tighter than the straight-line distance.<br>
+ * The distances are stored as <code>float</code>s rounded down, the subtracted
+ * one is rounded up again, so the estimation never overestimates. Turn
+ * restrictions are ignored, as they only could make a path longer.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class LandmarkHeuristic
+implements Heuristic
+{
+	/**
+	 * the {@link Logger} of this class
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final Logger	LOGGER					= LogManager.getLogger(LandmarkHeuristic.class);
+	/**
+	 * the default count of landmarks
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final int		DEFAULT_LANDMARK_COUNT	= 8;
+														
+	/**
+	 * the nodes, which are selected as landmarks
+	 * 
+	 * @since 0.0.1
+	 */
+	private final int[]			landmarks;
+	/**
+	 * the count of nodes of the {@link RoutingGraph}
+	 * 
+	 * @since 0.0.1
+	 */
+	private final int			nodeCount;
+	/**
+	 * the distances from every landmark to every node (at
+	 * <code>landmark * nodeCount + node</code>)
+	 * 
+	 * @since 0.0.1
+	 */
+	private final float[]		fromLandmarks;
+	/**
+	 * the distances from every node to every landmark (at
+	 * <code>landmark * nodeCount + node</code>)
+	 * 
+	 * @since 0.0.1
+	 */
+	private final float[]		toLandmarks;
+								
+	/**
+	 * constructor, with all given arrays
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param landmarks the nodes, which are selected as landmarks
+	 * @param nodeCount the count of nodes
+	 * @param fromLandmarks the distances from every landmark to every node
+	 * @param toLandmarks the distances from every node to every landmark
+	 */
+	private LandmarkHeuristic(int[] landmarks, int nodeCount, float[] fromLandmarks, float[] toLandmarks)
+	{
+		this.landmarks = landmarks;
+		this.nodeCount = nodeCount;
+		this.fromLandmarks = fromLandmarks;
+		this.toLandmarks = toLandmarks;
+	}
+	
+	/**
+	 * selects {@link LandmarkHeuristic#DEFAULT_LANDMARK_COUNT} landmarks and
+	 * calculates their distances
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param graph the {@link RoutingGraph} to select the landmarks from
+	 * @return the created {@link LandmarkHeuristic}
+	 */
+	public static LandmarkHeuristic create(RoutingGraph graph)
+	{
+		return LandmarkHeuristic.create(graph, LandmarkHeuristic.DEFAULT_LANDMARK_COUNT);
+	}
+	
+	/**
+	 * selects the landmarks by the farthest strategy and calculates their
+	 * distances<br>
+	 * The first landmark is the farthest node from an arbitrary one, every
+	 * following landmark is the node with the highest distance to its nearest
+	 * already selected landmark.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param graph the {@link RoutingGraph} to select the landmarks from
+	 * @param count the count of landmarks to select
+	 * @return the created {@link LandmarkHeuristic}
+	 */
+	public static LandmarkHeuristic create(RoutingGraph graph, int count)
+	{
+		int nodeCount = graph.getNodeCount();
+		count = Math.min(count, nodeCount);
+		LandmarkHeuristic.LOGGER.info("Select " + count + " landmarks of " + nodeCount + " nodes.");
+		
+		int[] landmarks = new int[count];
+		float[] fromLandmarks = new float[count * nodeCount];
+		float[] toLandmarks = new float[count * nodeCount];
+		double[] minDistances = new double[nodeCount];
+		double[] distances = new double[nodeCount];
+		Arrays.fill(minDistances, Double.POSITIVE_INFINITY);
+		
+		if (count > 0)
+		{
+			LandmarkHeuristic.calcDistances(graph, 0, true, distances);
+			landmarks[0] = LandmarkHeuristic.getFarthest(distances, distances);
+		}
+		
+		for (int i = 0; i < count; i++)
+		{
+			int landmark = landmarks[i];
+			int offset = i * nodeCount;
+			
+			LandmarkHeuristic.calcDistances(graph, landmark, true, distances);
+			for (int node = 0; node < nodeCount; node++)
+			{
+				fromLandmarks[offset + node] = LandmarkHeuristic.roundDown(distances[node]);
+				minDistances[node] = Math.min(minDistances[node], distances[node]);
+			}
+			
+			if (i + 1 < count)
+			{
+				landmarks[i + 1] = LandmarkHeuristic.getFarthest(minDistances, distances);
+			}
+			
+			LandmarkHeuristic.calcDistances(graph, landmark, false, distances);
+			for (int node = 0; node < nodeCount; node++)
+			{
+				toLandmarks[offset + node] = LandmarkHeuristic.roundDown(distances[node]);
+			}
+		}
+		
+		LandmarkHeuristic.LOGGER.info("Selected landmarks " + Arrays.toString(landmarks) + ".");
+		
+		return new LandmarkHeuristic(landmarks, nodeCount, fromLandmarks, toLandmarks);
+	}
+	
+	/**
+	 * gives the reached node with the highest distance
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param distances the distances to compare
+	 * @param reached the distances of the last search, which are
+	 *            {@link Double#POSITIVE_INFINITY} for unreached nodes
+	 * @return the node with the highest finite entry in {@code distances}
+	 */
+	private static int getFarthest(double[] distances, double[] reached)
+	{
+		int res = 0;
+		double max = Double.NEGATIVE_INFINITY;
+		
+		for (int node = 0; node < distances.length; node++)
+		{
+			double distance = distances[node];
+			
+			if (reached[node] != Double.POSITIVE_INFINITY && distance != Double.POSITIVE_INFINITY && distance > max)
+			{
+				max = distance;
+				res = node;
+			}
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * rounds a distance down to the next <code>float</code>
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param distance the distance to round
+	 * @return the highest <code>float</code>, which isn't greater than
+	 *         {@code distance}
+	 */
+	private static float roundDown(double distance)
+	{
+		float res = (float)distance;
+		
+		return res > distance ? Math.nextAfter(res, Double.NEGATIVE_INFINITY) : res;
+	}
+	
+	/**
+	 * rounds a stored distance up, to compensate the rounding of
+	 * {@link LandmarkHeuristic#roundDown(double)}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param distance the stored distance
+	 * @return a value, which isn't lower than the original distance
+	 */
+	private static double roundUp(float distance)
+	{
+		return (double)distance + Math.ulp(distance);
+	}
+	
+	/**
+	 * calculates the distances from or to a node by the Dijkstra algorithm
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param graph the {@link RoutingGraph} to search on
+	 * @param source the node to start from
+	 * @param forward <code>true</code> to calculate the distances from
+	 *            {@code source}, <code>false</code> to calculate the distances
+	 *            to {@code source}
+	 * @param distances the array to write the distances into
+	 */
+	private static void calcDistances(RoutingGraph graph, int source, boolean forward, double[] distances)
+	{
+		Arrays.fill(distances, Double.POSITIVE_INFINITY);
+		distances[source] = 0;
+		
+		LongMinHeap openList = new LongMinHeap();
+		openList.put(source, 0);
+		
+		while ( ! (openList.isEmpty()))
+		{
+			double currentCosts = openList.peekPriority();
+			int current = (int)openList.poll();
+			
+			int end = graph.getFirstEdge(current + 1);
+			for (int edge = graph.getFirstEdge(current); edge < end; edge++)
+			{
+				if (forward ? ! (graph.isForward(edge)) : ! (graph.isBackward(edge)))
+				{
+					continue;
+				}
+				
+				int neighbor = graph.getTarget(edge);
+				double tentativeCosts = currentCosts + graph.getWeight(edge);
+				if (tentativeCosts < distances[neighbor])
+				{
+					distances[neighbor] = tentativeCosts;
+					openList.put(neighbor, tentativeCosts);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * gives the selected landmarks
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return a copy of the indices of the landmark nodes
+	 */
+	public int[] getLandmarks()
+	{
+		return this.landmarks.clone();
+	}
+	
+	@Override
+	public double getEstimate(int from, int to)
+	{
+		double res = 0;
+		
+		int nodeCount = this.nodeCount;
+		for (int offset = 0; offset < this.fromLandmarks.length; offset += nodeCount)
+		{
+			float fromFrom = this.fromLandmarks[offset + from];
+			float fromTo = this.fromLandmarks[offset + to];
+			if (fromFrom != Float.POSITIVE_INFINITY && fromTo != Float.POSITIVE_INFINITY)
+			{
+				res = Math.max(res, fromTo - LandmarkHeuristic.roundUp(fromFrom));
+			}
+			
+			float toFrom = this.toLandmarks[offset + from];
+			float toTo = this.toLandmarks[offset + to];
+			if (toFrom != Float.POSITIVE_INFINITY && toTo != Float.POSITIVE_INFINITY)
+			{
+				res = Math.max(res, toFrom - LandmarkHeuristic.roundUp(toTo));
+			}
+		}
+		
+		return res;
+	}
+}
\ No newline at end of file
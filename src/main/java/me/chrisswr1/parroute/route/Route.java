@@ -1,6 +1,7 @@
 package me.chrisswr1.parroute.route;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -15,9 +16,13 @@ import org.openstreetmap.osmosis.core.domain.v0_6.Entity;
 import org.openstreetmap.osmosis.core.domain.v0_6.Node;
 
 import me.chrisswr1.parroute.DataHandler;
-import me.chrisswr1.parroute.util.CollectionUtils;
+import me.chrisswr1.parroute.graph.CoordinateStore;
+import me.chrisswr1.parroute.graph.EdgeBasedGraph;
+import me.chrisswr1.parroute.graph.RoutingGraph;
+import me.chrisswr1.parroute.util.DistanceMode;
 import me.chrisswr1.parroute.util.GeoUtils;
 import me.chrisswr1.parroute.util.JosmDebugger;
+import me.chrisswr1.parroute.util.LongMinHeap;
 
 /**
  * defines a route between two {@link Node}s
@@ -33,64 +38,108 @@ public class Route
 	 * 
 	 * @since 0.0.1
 	 */
-	public static final Logger	LOGGER		= LogManager.getLogger(Route.class);
-											
+	public static final Logger		LOGGER			= LogManager.getLogger(Route.class);
+													
 	/**
 	 * the {@link DataHandler} to get the {@link Entity}s from
 	 * 
 	 * @since 0.0.1
 	 */
-	private final DataHandler	dataHandler;
+	private final DataHandler		dataHandler;
+	/**
+	 * the compiled {@link RoutingGraph} to search on or <code>null</code>, if
+	 * the neighbors should be derived from {@link Route#dataHandler}
+	 * 
+	 * @since 0.0.1
+	 */
+	private final RoutingGraph		graph;
+	/**
+	 * the {@link EdgeBasedGraph} of {@link Route#graph} to search on or
+	 * <code>null</code>, if the search should settle {@link Node}s
+	 * 
+	 * @since 0.0.1
+	 */
+	private final EdgeBasedGraph	edgeGraph;
 	/**
 	 * the {@link Node}, where the {@link Route} begins
 	 * 
 	 * @since 0.0.1
 	 */
-	private final Node			start;
+	private final Node				start;
 	/**
 	 * the destination {@link Node} of the {@link Route}
 	 * 
 	 * @since 0.0.1
 	 */
-	private final Node			dest;
+	private final Node				dest;
 	/**
 	 * stores the calculated path or null, if no path is known until yet
 	 * 
 	 * @since 0.0.1
 	 */
-	private Set<Node>			path		= null;
+	private Set<Node>				path			= null;
+	/**
+	 * stores the ids of the calculated path on a {@link RoutingGraph} or
+	 * <code>null</code>, if no path was found
+	 * 
+	 * @since 0.0.1
+	 */
+	private long[]					pathIds			= null;
 	/**
 	 * if a calculation was ever called
 	 * 
 	 * @since 0.0.1
 	 */
-	private boolean				calc		= false;
-											
+	private boolean					calc			= false;
+													
 	/**
 	 * stores the predecessor of already proceeded {@link Node}s
 	 * 
 	 * @since 0.0.1
 	 */
-	private Map<Long, Long>		predecessor	= new HashMap<>();
+	private Map<Long, Long>			predecessor		= new HashMap<>();
 	/**
-	 * stores all loaded {@link Node} id, which have to be proceeded
+	 * stores all loaded {@link Node} id, which have to be proceeded, ordered by
+	 * their estimated total costs
 	 * 
 	 * @since 0.0.1
 	 */
-	private Map<Long, Double>	openList	= new HashMap<>();
+	private LongMinHeap				openList		= new LongMinHeap();
 	/**
 	 * stores all {@link Node} id, to which the shortest route was already found
 	 * 
 	 * @since 0.0.1
 	 */
-	private Set<Long>			closedList	= new HashSet<>();
+	private Set<Long>				closedList		= new HashSet<>();
 	/**
 	 * stores the calculated costs of the proceeded {@link Node}s
 	 * 
 	 * @since 0.0.1
 	 */
-	private Map<Long, Double>	calcCosts	= new HashMap<>();
-											
+	private Map<Long, Double>		calcCosts		= new HashMap<>();
+	/**
+	 * the {@link DistanceMode} to calculate the distances between
+	 * {@link Node}s during the search
+	 * 
+	 * @since 0.0.1
+	 */
+	private DistanceMode			distanceMode	= DistanceMode.VINCENTY;
+	/**
+	 * the {@link Heuristic} to estimate the remaining costs on
+	 * {@link Route#graph} or <code>null</code>, if the distance of
+	 * {@link Route#distanceMode} should be used
+	 * 
+	 * @since 0.0.1
+	 */
+	private Heuristic				heuristic		= null;
+	/**
+	 * the index of {@link Route#dest} in the {@link CoordinateStore} of
+	 * {@link Route#dataHandler}
+	 * 
+	 * @since 0.0.1
+	 */
+	private int						destIdx			= CoordinateStore.NO_INDEX;
+													
 	/**
 	 * standard constructor
 	 * 
@@ -102,8 +151,53 @@ public class Route
 	 * @param dest the destination, which should be reached by the {@link Route}
 	 */
 	public Route(DataHandler dataHandler, Node start, Node dest)
+	{
+		this(dataHandler, (RoutingGraph)null, start, dest);
+	}
+	
+	/**
+	 * constructor, with given {@link RoutingGraph}<br>
+	 * The calculation runs on the arrays of {@code graph} and uses
+	 * {@code dataHandler} only to get the {@link Node}s of the found path
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param dataHandler the {@link DataHandler} to get the {@link Entity}s
+	 *            from
+	 * @param graph the {@link RoutingGraph} to search on or <code>null</code>,
+	 *            if the neighbors should be derived from {@code dataHandler}
+	 * @param start the {@link Node}, where the {@link Route} should begin
+	 * @param dest the destination, which should be reached by the {@link Route}
+	 */
+	public Route(DataHandler dataHandler, RoutingGraph graph, Node start, Node dest)
 	{
 		this.dataHandler = dataHandler;
+		this.graph = graph;
+		this.edgeGraph = null;
+		this.start = start;
+		this.dest = dest;
+	}
+	
+	/**
+	 * constructor, with given {@link EdgeBasedGraph}<br>
+	 * The calculation settles the edges of the {@link RoutingGraph} of
+	 * {@code edgeGraph}, so all turn restrictions (also the ones with a
+	 * {@link org.openstreetmap.osmosis.core.domain.v0_6.Way} as via member)
+	 * are respected exactly
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param dataHandler the {@link DataHandler} to get the {@link Entity}s
+	 *            from
+	 * @param edgeGraph the {@link EdgeBasedGraph} to search on
+	 * @param start the {@link Node}, where the {@link Route} should begin
+	 * @param dest the destination, which should be reached by the {@link Route}
+	 */
+	public Route(DataHandler dataHandler, EdgeBasedGraph edgeGraph, Node start, Node dest)
+	{
+		this.dataHandler = dataHandler;
+		this.graph = edgeGraph.getGraph();
+		this.edgeGraph = edgeGraph;
 		this.start = start;
 		this.dest = dest;
 	}
@@ -136,17 +230,23 @@ public class Route
 	}
 	
 	/**
-	 * calculates the distance between two {@link Node}s
+	 * calculates the distance between two {@link Node}s, which are defined by
+	 * their index in the {@link CoordinateStore} of {@link Route#dataHandler}
+	 * <br>
+	 * The coordinates are read directly from the store, so no {@link Node} or
+	 * position object has to be created
 	 * 
 	 * @since 0.0.1
 	 * 
-	 * @param node1 the first {@link Node}
-	 * @param node2 the second {@link Node}
-	 * @return the distance between {@code node1} and {@code node2}
+	 * @param idx1 the index of the first {@link Node}
+	 * @param idx2 the index of the second {@link Node}
+	 * @return the distance between both {@link Node}s
 	 */
-	private static double calcDistance(Node node1, Node node2)
+	private double calcDistance(int idx1, int idx2)
 	{
-		return GeoUtils.getDistance(GeoUtils.toPosition(node1), GeoUtils.toPosition(node2));
+		CoordinateStore coordinates = this.getDataHandler().getCoordinates();
+		
+		return this.getDistanceMode().getDistance(coordinates.getLatitude(idx1), coordinates.getLongitude(idx1), coordinates.getLatitude(idx2), coordinates.getLongitude(idx2));
 	}
 	
 	/**
@@ -161,6 +261,97 @@ public class Route
 		return this.dataHandler;
 	}
 	
+	/**
+	 * gives the compiled {@link RoutingGraph}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link RoutingGraph} to search on or <code>null</code>, if
+	 *         the neighbors are derived from the {@link DataHandler}
+	 */
+	public RoutingGraph getGraph()
+	{
+		return this.graph;
+	}
+	
+	/**
+	 * gives the {@link EdgeBasedGraph}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link EdgeBasedGraph} to search on or <code>null</code>, if
+	 *         the search settles {@link Node}s
+	 */
+	public EdgeBasedGraph getEdgeGraph()
+	{
+		return this.edgeGraph;
+	}
+	
+	/**
+	 * gives the {@link DistanceMode}, which is used during the search
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the {@link DistanceMode} of the estimated and (without a
+	 *         {@link RoutingGraph}) the calculated costs
+	 */
+	public DistanceMode getDistanceMode()
+	{
+		return this.distanceMode;
+	}
+	
+	/**
+	 * sets the {@link DistanceMode}, which should be used during the search
+	 * <br>
+	 * An approximation is much faster than {@link DistanceMode#VINCENTY}, but
+	 * may overestimate the remaining distance by its error bound, so the found
+	 * path could be longer by the same ratio than the shortest one.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param distanceMode the {@link DistanceMode} to use
+	 */
+	public void setDistanceMode(DistanceMode distanceMode)
+	{
+		this.distanceMode = distanceMode;
+	}
+	
+	/**
+	 * gives the {@link Heuristic}, which estimates the remaining costs on the
+	 * {@link RoutingGraph}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the set {@link Heuristic} or a {@link DistanceHeuristic} of
+	 *         {@link Route#getDistanceMode()}, if none was set
+	 */
+	public Heuristic getHeuristic()
+	{
+		if (this.heuristic == null)
+		{
+			return new DistanceHeuristic(this.getGraph(), this.getDistanceMode());
+		}
+		
+		return this.heuristic;
+	}
+	
+	/**
+	 * sets the {@link Heuristic}, which should estimate the remaining costs on
+	 * the {@link RoutingGraph}<br>
+	 * It's only used, if the {@link Route} was created with a
+	 * {@link RoutingGraph}. A {@link LandmarkHeuristic} settles much less
+	 * {@link Node}s than the straight-line distance.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param heuristic the {@link Heuristic} to use or <code>null</code>, to
+	 *            estimate by the distance of {@link Route#getDistanceMode()}
+	 */
+	public void setHeuristic(Heuristic heuristic)
+	{
+		this.heuristic = heuristic;
+	}
+	
 	/**
 	 * gives the {@link Node}, where the {@link Route} starts
 	 * 
@@ -212,7 +403,14 @@ public class Route
 		{
 			this.path = new LinkedHashSet<>();
 			
-			if (this.isCalc())
+			if (this.isCalc() && this.pathIds != null)
+			{
+				for (long id : this.pathIds)
+				{
+					this.path.add(this.getDataHandler().getNode(id));
+				}
+			}
+			else if (this.isCalc() && this.getGraph() == null)
 			{
 				LinkedHashSet<Long> revPath = new LinkedHashSet<>();
 				try
@@ -250,6 +448,52 @@ public class Route
 		return this.path;
 	}
 	
+	/**
+	 * gives the exact length of the calculated path (including the
+	 * destination), independent of {@link Route#getDistanceMode()}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the length in meters or <code>0</code>, if no path was found
+	 */
+	public double getLength()
+	{
+		double res = 0;
+		Node last = null;
+		
+		for (Node node : this.getPath())
+		{
+			if (last != null)
+			{
+				res += GeoUtils.getDistance(last, node, DistanceMode.VINCENTY);
+			}
+			
+			last = node;
+		}
+		
+		if (last != null)
+		{
+			res += GeoUtils.getDistance(last, this.getDest(), DistanceMode.VINCENTY);
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * sets the result of a calculation, which was done by a subclass
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param pathIds the ids of the path from the start up to (exclusive) the
+	 *            destination or <code>null</code>, if no path was found
+	 */
+	protected void setPathIds(long[] pathIds)
+	{
+		this.pathIds = pathIds;
+		this.path = null;
+		this.calc = true;
+	}
+	
 	/**
 	 * gives the calculated costs of {@code node}<br>
 	 * If no costs stored a <code>0</code> will be returned
@@ -296,6 +540,7 @@ public class Route
 		
 		DataHandler dataHandler = this.getDataHandler();
 		long currentNodeId = currentNode.getId();
+		int currentIdx = dataHandler.getCoordIndex(currentNode);
 		double currentCalcCosts = this.getCalcCosts(currentNode);
 		
 		Route.LOGGER.trace("Iterate over all direct neighbors of " + currentNode + ".");
@@ -307,7 +552,9 @@ public class Route
 		catch (NullPointerException e)
 		{
 		}
-		for (Node successor : dataHandler.getNeighbors(currentNode, preNode))
+		Set<Node> successors = dataHandler.getNeighbors(currentNode, preNode);
+		dataHandler.prefetch(successors);
+		for (Node successor : successors)
 		{
 			Route.LOGGER.trace("Processing successor " + successor + ".");
 			
@@ -320,10 +567,11 @@ public class Route
 				continue;
 			}
 			
-			double tentativeCosts = currentCalcCosts + Route.calcDistance(currentNode, successor);
+			int successorIdx = dataHandler.getCoordIndex(successor);
+			double tentativeCosts = currentCalcCosts + this.calcDistance(currentIdx, successorIdx);
 			Route.LOGGER.trace("Tentative costs of " + successor + " are " + tentativeCosts + ".");
 			
-			if (this.openList.containsKey(successorId) && tentativeCosts >= this.getCalcCosts(successor))
+			if (this.openList.contains(successorId) && tentativeCosts >= this.getCalcCosts(successor))
 			{
 				Route.LOGGER.trace("The new found path to " + successor + " is more expensive than the already known one. Ignore it.");
 				
@@ -335,7 +583,7 @@ public class Route
 			Route.LOGGER.trace("Save tentative costs of " + tentativeCosts + " for " + successor + ".");
 			this.calcCosts.put(successorId, tentativeCosts);
 			
-			this.openList.put(successorId, tentativeCosts + Route.calcDistance(successor, this.getDest()));
+			this.openList.put(successorId, tentativeCosts + this.calcDistance(successorIdx, this.destIdx));
 		}
 	}
 	
@@ -356,16 +604,21 @@ public class Route
 		Node dest = this.getDest();
 		Route.LOGGER.debug("Start calculation of the path beween " + start + " and " + dest + ".");
 		
+		if (this.getGraph() != null)
+		{
+			return this.calcOnGraph();
+		}
+		
+		this.destIdx = this.getDataHandler().getCoordIndex(dest);
 		this.openList.put(start.getId(), 0D);
 		this.calc = true;
 		this.path = null;
 		
 		do
 		{
-			long currentNode = CollectionUtils.min(this.openList).getKey();
+			long currentNode = this.openList.poll();
 			Route.LOGGER.debug("Processing node with id " + currentNode + ". Step: " + (this.closedList.size() + 1));
-			Route.LOGGER.trace("Remove " + currentNode + " from open list.");
-			this.openList.remove(currentNode);
+			Route.LOGGER.trace("Removed " + currentNode + " from open list.");
 			
 			Node node = this.getDataHandler().getNode(currentNode);
 			JosmDebugger.showEntity(node);
@@ -387,4 +640,218 @@ public class Route
 		
 		return false;
 	}
+	
+	/**
+	 * calculates the {@link Route} on {@link Route#graph}, by only using array
+	 * lookups<br>
+	 * A turn restriction is checked against the {@link Way} of the edge, on
+	 * which the current {@link Node} was reached. Since every {@link Node} is
+	 * settled only once, a path, which has to reach a {@link Node} on another
+	 * {@link Way} to turn, could be missed. An {@link EdgeBasedGraph} is exact.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return <code>true</code> if a path was found, <code>false</code>
+	 *         otherwise
+	 */
+	private boolean calcOnGraph()
+	{
+		RoutingGraph graph = this.getGraph();
+		Node start = this.getStart();
+		Node dest = this.getDest();
+		
+		this.calc = true;
+		this.path = null;
+		this.pathIds = null;
+		
+		int startNode = graph.indexOf(start.getId());
+		int destNode = graph.indexOf(dest.getId());
+		if (startNode == CoordinateStore.NO_INDEX || destNode == CoordinateStore.NO_INDEX)
+		{
+			Route.LOGGER.info("Start or destination isn't part of the routing graph.");
+			
+			return false;
+		}
+		
+		if (this.getEdgeGraph() != null)
+		{
+			return this.calcOnEdges(startNode, destNode);
+		}
+		
+		int nodeCount = graph.getNodeCount();
+		double[] costs = new double[nodeCount];
+		int[] predNodes = new int[nodeCount];
+		int[] predWays = new int[nodeCount];
+		boolean[] closed = new boolean[nodeCount];
+		Arrays.fill(costs, Double.POSITIVE_INFINITY);
+		Arrays.fill(predNodes, CoordinateStore.NO_INDEX);
+		Arrays.fill(predWays, CoordinateStore.NO_INDEX);
+		
+		Heuristic heuristic = this.getHeuristic();
+		LongMinHeap openList = new LongMinHeap();
+		costs[startNode] = 0;
+		openList.put(startNode, heuristic.getEstimate(startNode, destNode));
+		
+		while ( ! (openList.isEmpty()))
+		{
+			int current = (int)openList.poll();
+			
+			if (current == destNode)
+			{
+				Route.LOGGER.info("Path found between " + start + " and " + dest + ".");
+				
+				int count = 0;
+				for (int node = predNodes[destNode]; node != CoordinateStore.NO_INDEX; node = predNodes[node])
+				{
+					count++;
+				}
+				long[] pathIds = new long[count];
+				for (int node = predNodes[destNode]; node != CoordinateStore.NO_INDEX; node = predNodes[node])
+				{
+					pathIds[--count] = graph.getNodeId(node);
+				}
+				this.pathIds = pathIds;
+				
+				return true;
+			}
+			
+			closed[current] = true;
+			double currentCosts = costs[current];
+			int inWay = predWays[current];
+			
+			int end = graph.getFirstEdge(current + 1);
+			for (int edge = graph.getFirstEdge(current); edge < end; edge++)
+			{
+				if ( ! (graph.isForward(edge)))
+				{
+					continue;
+				}
+				
+				int successor = graph.getTarget(edge);
+				int outWay = graph.getWay(edge);
+				if (closed[successor] || (inWay != CoordinateStore.NO_INDEX && ! (graph.isTurnAllowed(inWay, current, outWay))))
+				{
+					continue;
+				}
+				
+				double tentativeCosts = currentCosts + graph.getWeight(edge);
+				if (tentativeCosts >= costs[successor])
+				{
+					continue;
+				}
+				
+				costs[successor] = tentativeCosts;
+				predNodes[successor] = current;
+				predWays[successor] = outWay;
+				openList.put(successor, tentativeCosts + heuristic.getEstimate(successor, destNode));
+			}
+		}
+		
+		Route.LOGGER.info("No path was found between " + start + " and " + dest + ".");
+		
+		return false;
+	}
+	
+	/**
+	 * calculates the {@link Route} on {@link Route#edgeGraph}, by settling
+	 * states instead of {@link Node}s
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param startNode the index of {@link Route#start}
+	 * @param destNode the index of {@link Route#dest}
+	 * @return <code>true</code> if a path was found, <code>false</code>
+	 *         otherwise
+	 */
+	private boolean calcOnEdges(int startNode, int destNode)
+	{
+		RoutingGraph graph = this.getGraph();
+		EdgeBasedGraph edgeGraph = this.getEdgeGraph();
+		Node start = this.getStart();
+		Node dest = this.getDest();
+		
+		if (startNode == destNode)
+		{
+			this.pathIds = new long[0];
+			
+			return true;
+		}
+		
+		int stateCount = edgeGraph.getStateCount();
+		double[] costs = new double[stateCount];
+		int[] predStates = new int[stateCount];
+		boolean[] closed = new boolean[stateCount];
+		Arrays.fill(costs, Double.POSITIVE_INFINITY);
+		
+		Heuristic heuristic = this.getHeuristic();
+		LongMinHeap openList = new LongMinHeap();
+		int end = graph.getFirstEdge(startNode + 1);
+		for (int edge = graph.getFirstEdge(startNode); edge < end; edge++)
+		{
+			if (graph.isForward(edge) && graph.getWeight(edge) < costs[edge])
+			{
+				int target = graph.getTarget(edge);
+				costs[edge] = graph.getWeight(edge);
+				predStates[edge] = CoordinateStore.NO_INDEX;
+				openList.put(edge, costs[edge] + heuristic.getEstimate(target, destNode));
+			}
+		}
+		
+		while ( ! (openList.isEmpty()))
+		{
+			int current = (int)openList.poll();
+			int currentNode = graph.getTarget(edgeGraph.getEdge(current));
+			
+			if (currentNode == destNode)
+			{
+				Route.LOGGER.info("Path found between " + start + " and " + dest + ".");
+				
+				int count = 0;
+				for (int state = current; state != CoordinateStore.NO_INDEX; state = predStates[state])
+				{
+					count++;
+				}
+				long[] pathIds = new long[count];
+				for (int state = current; state != CoordinateStore.NO_INDEX; state = predStates[state])
+				{
+					pathIds[--count] = graph.getNodeId(edgeGraph.getSource(edgeGraph.getEdge(state)));
+				}
+				this.pathIds = pathIds;
+				
+				return true;
+			}
+			
+			closed[current] = true;
+			double currentCosts = costs[current];
+			
+			end = graph.getFirstEdge(currentNode + 1);
+			for (int edge = graph.getFirstEdge(currentNode); edge < end; edge++)
+			{
+				if ( ! (graph.isForward(edge)))
+				{
+					continue;
+				}
+				
+				int successor = edgeGraph.getNextState(current, edge);
+				if (successor == CoordinateStore.NO_INDEX || closed[successor])
+				{
+					continue;
+				}
+				
+				double tentativeCosts = currentCosts + graph.getWeight(edge);
+				if (tentativeCosts >= costs[successor])
+				{
+					continue;
+				}
+				
+				costs[successor] = tentativeCosts;
+				predStates[successor] = current;
+				openList.put(successor, tentativeCosts + heuristic.getEstimate(graph.getTarget(edge), destNode));
+			}
+		}
+		
+		Route.LOGGER.info("No path was found between " + start + " and " + dest + ".");
+		
+		return false;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,325 @@
+package me.chrisswr1.parroute.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * defines a map from primitive <code>long</code> keys to objects, which could
+ * be read by many {@link Thread}s without any lock<br>
+ * Like {@link LongObjectHashMap} the entries are stored in an open-addressing
+ * hash table with linear probing, so no key will be boxed. Only one
+ * {@link Thread} at once may write into the map, so writers have to be
+ * synchronized externally. A value is published before its key and a resized
+ * table is filled completely, before it replaces the old one. So a reader
+ * sees either a complete entry or none, but never has to wait for a writer.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ * 		
+ * @param <V> the value type
+ */
+public class ConcurrentLongObjectHashMap<V>
+{
+	/**
+	 * the current hash table
+	 * 
+	 * @since 0.0.1
+	 */
+	private volatile Table	table;
+	/**
+	 * the value stored for the key <code>0</code> or <code>null</code>, if
+	 * there is none
+	 * 
+	 * @since 0.0.1
+	 */
+	private volatile V		zeroValue	= null;
+	/**
+	 * the count of stored entries
+	 * 
+	 * @since 0.0.1
+	 */
+	private volatile int	size		= 0;
+										
+	/**
+	 * standard constructor
+	 * 
+	 * @since 0.0.1
+	 */
+	public ConcurrentLongObjectHashMap()
+	{
+		this(LongIntHashMap.DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * constructor, with given expected size
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param expectedSize the count of entries, which should fit into the map
+	 *            without resizing
+	 */
+	public ConcurrentLongObjectHashMap(int expectedSize)
+	{
+		this.table = new Table(HashUtils.tableSize(expectedSize, LongIntHashMap.LOAD_FACTOR));
+	}
+	
+	/**
+	 * gives the count of stored entries
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the count of entries
+	 */
+	public int size()
+	{
+		return this.size;
+	}
+	
+	/**
+	 * checks if no entry is stored
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return <code>true</code> if the map is empty, <code>false</code>
+	 *         otherwise
+	 */
+	public boolean isEmpty()
+	{
+		return this.size == 0;
+	}
+	
+	/**
+	 * gives the slot of a key in a hash table
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param table the hash table to search in
+	 * @param key the key to search for (must not be <code>0</code>)
+	 * @return the slot of {@code key} or the negative free slot, at which
+	 *         {@code key} should be inserted, minus one
+	 */
+	private static int slot(Table table, long key)
+	{
+		AtomicLongArray keys = table.keys;
+		int mask = keys.length() - 1;
+		int idx = HashUtils.hash(key) & mask;
+		
+		while (true)
+		{
+			long slotKey = keys.get(idx);
+			
+			if (slotKey == key)
+			{
+				return idx;
+			}
+			if (slotKey == 0)
+			{
+				return -idx - 1;
+			}
+			
+			idx = (idx + 1) & mask;
+		}
+	}
+	
+	/**
+	 * checks if a key is stored
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to check
+	 * @return <code>true</code> if {@code key} is stored, <code>false</code>
+	 *         otherwise
+	 */
+	public boolean containsKey(long key)
+	{
+		return this.get(key) != null;
+	}
+	
+	/**
+	 * gives the value of a key
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to get the value of
+	 * @return the value of {@code key} or <code>null</code>, if {@code key} is
+	 *         not stored
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long key)
+	{
+		if (key == 0)
+		{
+			return this.zeroValue;
+		}
+		
+		Table table = this.table;
+		int slot = ConcurrentLongObjectHashMap.slot(table, key);
+		return slot >= 0 ? (V)table.values.get(slot) : null;
+	}
+	
+	/**
+	 * stores a value for a key<br>
+	 * Must not be called by more than one {@link Thread} at once.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to store the value for
+	 * @param value the value to store
+	 * @return the previous value of {@code key} or <code>null</code>, if
+	 *         {@code key} wasn't stored before
+	 * @throws IllegalArgumentException if {@code value} is <code>null</code>
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(long key, V value)
+	throws IllegalArgumentException
+	{
+		if (value == null)
+		{
+			throw new IllegalArgumentException("The map couldn't store null values!");
+		}
+		
+		if (key == 0)
+		{
+			V res = this.zeroValue;
+			
+			if (res == null)
+			{
+				this.size++;
+			}
+			this.zeroValue = value;
+			
+			return res;
+		}
+		
+		Table table = this.table;
+		int slot = ConcurrentLongObjectHashMap.slot(table, key);
+		if (slot >= 0)
+		{
+			return (V)table.values.getAndSet(slot, value);
+		}
+		
+		slot = -slot - 1;
+		// the key publishes the entry, so it's written last
+		table.values.set(slot, value);
+		table.keys.set(slot, key);
+		this.size++;
+		
+		if (this.size > table.keys.length() * LongIntHashMap.LOAD_FACTOR)
+		{
+			this.rehash(table.keys.length() << 1);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * removes all entries<br>
+	 * Must not be called by more than one {@link Thread} at once.
+	 * 
+	 * @since 0.0.1
+	 */
+	public void clear()
+	{
+		this.table = new Table(this.table.keys.length());
+		this.zeroValue = null;
+		this.size = 0;
+	}
+	
+	/**
+	 * gives all stored keys<br>
+	 * While another {@link Thread} writes into the map, the keys, which are
+	 * stored meanwhile, could be missing.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return a new array, which contains all keys in no specific order
+	 */
+	public long[] keys()
+	{
+		AtomicLongArray keys = this.table.keys;
+		long[] res = new long[keys.length() + 1];
+		int idx = 0;
+		
+		if (this.zeroValue != null)
+		{
+			res[idx++] = 0;
+		}
+		for (int i = 0; i < keys.length(); i++)
+		{
+			long key = keys.get(i);
+			
+			if (key != 0)
+			{
+				res[idx++] = key;
+			}
+		}
+		
+		return Arrays.copyOf(res, idx);
+	}
+	
+	/**
+	 * resizes the hash table, by filling a new one and replacing the old one
+	 * afterwards
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param capacity the new capacity (must be a power of two)
+	 */
+	private void rehash(int capacity)
+	{
+		Table oldTable = this.table;
+		Table newTable = new Table(capacity);
+		
+		for (int i = 0; i < oldTable.keys.length(); i++)
+		{
+			long key = oldTable.keys.get(i);
+			
+			if (key != 0)
+			{
+				int slot = -ConcurrentLongObjectHashMap.slot(newTable, key) - 1;
+				newTable.values.set(slot, oldTable.values.get(i));
+				newTable.keys.set(slot, key);
+			}
+		}
+		
+		this.table = newTable;
+	}
+	
+	/**
+	 * a hash table, which keys and values are replaced together
+	 * 
+	 * @version 0.0.1
+	 * @author ChrissW-R1
+	 * @since 0.0.1
+	 */
+	private static final class Table
+	{
+		/**
+		 * the keys (<code>0</code> marks a free slot)
+		 * 
+		 * @since 0.0.1
+		 */
+		private final AtomicLongArray				keys;
+		/**
+		 * the values
+		 * 
+		 * @since 0.0.1
+		 */
+		private final AtomicReferenceArray<Object>	values;
+													
+		/**
+		 * constructor, with given capacity
+		 * 
+		 * @since 0.0.1
+		 * 
+		 * @param capacity the count of slots
+		 */
+		private Table(int capacity)
+		{
+			this.keys = new AtomicLongArray(capacity);
+			this.values = new AtomicReferenceArray<>(capacity);
+		}
+	}
+}
\ No newline at end of file
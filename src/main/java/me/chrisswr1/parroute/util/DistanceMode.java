@@ -0,0 +1,61 @@
+package me.chrisswr1.parroute.util;
+
+/**
+ * the method to calculate the distance between two geographic coordinates
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public enum DistanceMode
+{
+	/**
+	 * exact distance on the WGS84 ellipsoid (Vincenty's formulae of the
+	 * {@link org.geotools.referencing.GeodeticCalculator})
+	 * 
+	 * @since 0.0.1
+	 */
+	VINCENTY,
+	/**
+	 * great-circle distance on a sphere with the mean earth radius<br>
+	 * Differs at most 0.5 % from {@link DistanceMode#VINCENTY}.
+	 * 
+	 * @since 0.0.1
+	 */
+	HAVERSINE,
+	/**
+	 * planar distance in an equirectangular projection around the mean
+	 * latitude<br>
+	 * Differs at most 0.1 % from {@link DistanceMode#HAVERSINE} for distances
+	 * up to 100 km below 70&deg; latitude, but the error grows with the
+	 * distance and towards the poles.
+	 * 
+	 * @since 0.0.1
+	 */
+	EQUIRECTANGULAR;
+	
+	/**
+	 * calculates the distance between two geographic coordinates by this
+	 * method
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param lat1 the latitude of the first coordinate in degrees
+	 * @param lon1 the longitude of the first coordinate in degrees
+	 * @param lat2 the latitude of the second coordinate in degrees
+	 * @param lon2 the longitude of the second coordinate in degrees
+	 * @return the distance in meters
+	 */
+	public double getDistance(double lat1, double lon1, double lat2, double lon2)
+	{
+		switch (this)
+		{
+			case HAVERSINE:
+				return GeoUtils.getHaversineDistance(lat1, lon1, lat2, lon2);
+			case EQUIRECTANGULAR:
+				return GeoUtils.getEquirectangularDistance(lat1, lon1, lat2, lon2);
+			default:
+				return GeoUtils.getVincentyDistance(lat1, lon1, lat2, lon2);
+		}
+	}
+}
\ No newline at end of file
@@ -34,8 +34,8 @@ public class GeoUtils
 	 * 
 	 * @since 0.0.1
 	 */
-	public static final Logger						LOGGER	= LogManager.getLogger(GeoUtils.class);
-															
+	public static final Logger						LOGGER			= LogManager.getLogger(GeoUtils.class);
+																	
 	/**
 	 * the default {@link CoordinateReferenceSystem} of the OpenStreetMap
 	 * database
@@ -43,6 +43,26 @@ public class GeoUtils
 	 * @since 0.0.1
 	 */
 	public static final CoordinateReferenceSystem	OSM_CRS;
+	/**
+	 * the mean radius of the earth in meters (IUGG)
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final double						EARTH_RADIUS	= 6371008.8;
+	/**
+	 * the reused {@link GeodeticCalculator} of every {@link Thread}, for the
+	 * exact distance calculation on raw coordinates
+	 * 
+	 * @since 0.0.1
+	 */
+	private static final ThreadLocal<GeodeticCalculator>	CALCULATOR		= new ThreadLocal<GeodeticCalculator>()
+	{
+		@Override
+		protected GeodeticCalculator initialValue()
+		{
+			return new GeodeticCalculator();
+		}
+	};
 													
 	static
 	{
@@ -216,4 +236,101 @@ public class GeoUtils
 		
 		return pos;
 	}
+	
+	/**
+	 * gives the exact distance between two geographic coordinates on the WGS84
+	 * ellipsoid<br>
+	 * Unlike {@link GeoUtils#getDistance(Position, Position)} no
+	 * {@link Position} or {@link GeodeticCalculator} will be created.
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param lat1 the latitude of the first coordinate in degrees
+	 * @param lon1 the longitude of the first coordinate in degrees
+	 * @param lat2 the latitude of the second coordinate in degrees
+	 * @param lon2 the longitude of the second coordinate in degrees
+	 * @return the distance in meters
+	 */
+	public static double getVincentyDistance(double lat1, double lon1, double lat2, double lon2)
+	{
+		GeodeticCalculator gc = GeoUtils.CALCULATOR.get();
+		gc.setStartingGeographicPoint(lon1, lat1);
+		gc.setDestinationGeographicPoint(lon2, lat2);
+		
+		return gc.getOrthodromicDistance();
+	}
+	
+	/**
+	 * gives the great-circle distance between two geographic coordinates on a
+	 * sphere with {@link GeoUtils#EARTH_RADIUS}
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param lat1 the latitude of the first coordinate in degrees
+	 * @param lon1 the longitude of the first coordinate in degrees
+	 * @param lat2 the latitude of the second coordinate in degrees
+	 * @param lon2 the longitude of the second coordinate in degrees
+	 * @return the distance in meters
+	 * 
+	 * @see DistanceMode#HAVERSINE
+	 */
+	public static double getHaversineDistance(double lat1, double lon1, double lat2, double lon2)
+	{
+		double phi1 = Math.toRadians(lat1);
+		double phi2 = Math.toRadians(lat2);
+		double sinPhi = Math.sin((phi2 - phi1) / 2);
+		double sinLambda = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+		
+		double h = sinPhi * sinPhi + Math.cos(phi1) * Math.cos(phi2) * sinLambda * sinLambda;
+		
+		return 2 * GeoUtils.EARTH_RADIUS * Math.asin(Math.min(1, Math.sqrt(h)));
+	}
+	
+	/**
+	 * gives the approximated distance between two geographic coordinates in
+	 * an equirectangular projection around their mean latitude
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param lat1 the latitude of the first coordinate in degrees
+	 * @param lon1 the longitude of the first coordinate in degrees
+	 * @param lat2 the latitude of the second coordinate in degrees
+	 * @param lon2 the longitude of the second coordinate in degrees
+	 * @return the distance in meters
+	 * 
+	 * @see DistanceMode#EQUIRECTANGULAR
+	 */
+	public static double getEquirectangularDistance(double lat1, double lon1, double lat2, double lon2)
+	{
+		double dLon = lon2 - lon1;
+		if (dLon > 180)
+		{
+			dLon -= 360;
+		}
+		else if (dLon < -180)
+		{
+			dLon += 360;
+		}
+		
+		double x = Math.toRadians(dLon) * Math.cos(Math.toRadians((lat1 + lat2) / 2));
+		double y = Math.toRadians(lat2 - lat1);
+		
+		return GeoUtils.EARTH_RADIUS * Math.sqrt(x * x + y * y);
+	}
+	
+	/**
+	 * gives the distance between two {@link Node}s, by only using their
+	 * coordinates
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param node1 the first {@link Node}
+	 * @param node2 the second {@link Node}
+	 * @param mode the {@link DistanceMode} to use
+	 * @return the distance in meters
+	 */
+	public static double getDistance(Node node1, Node node2, DistanceMode mode)
+	{
+		return mode.getDistance(node1.getLatitude(), node1.getLongitude(), node2.getLatitude(), node2.getLongitude());
+	}
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package me.chrisswr1.parroute.util;
+
+/**
+ * provides methods, which are shared by the primitive hash tables
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class HashUtils
+{
+	/**
+	 * the maximum capacity of a hash table
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final int MAX_CAPACITY = 1 << 30;
+	
+	/**
+	 * private standard constructor, to prevent initialization
+	 * 
+	 * @since 0.0.1
+	 */
+	private HashUtils()
+	{
+	}
+	
+	/**
+	 * spreads the bits of a <code>long</code> key (finalizer of the MurmurHash3
+	 * algorithm), so that sequential ids won't cluster in the hash table
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to hash
+	 * @return the hash value of {@code key}
+	 */
+	public static int hash(long key)
+	{
+		long hash = key;
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		
+		return (int)hash;
+	}
+	
+	/**
+	 * calculates the capacity of a hash table
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param expectedSize the count of entries, which should fit into the table
+	 *            without resizing
+	 * @param loadFactor the maximum ratio of used slots
+	 * @return the smallest power of two, which can hold {@code expectedSize}
+	 *         entries
+	 */
+	public static int tableSize(int expectedSize, float loadFactor)
+	{
+		long required = (long)Math.ceil(Math.max(expectedSize, 1) / loadFactor) + 1;
+		
+		int res = 2;
+		while (res < required && res < HashUtils.MAX_CAPACITY)
+		{
+			res <<= 1;
+		}
+		
+		return res;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package me.chrisswr1.parroute.util;
+
+import java.util.Arrays;
+
+/**
+ * defines a growable list of primitive <code>int</code> values
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class IntArrayList
+{
+	/**
+	 * the stored values
+	 * 
+	 * @since 0.0.1
+	 */
+	private int[]	values;
+	/**
+	 * the count of stored values
+	 * 
+	 * @since 0.0.1
+	 */
+	private int		size	= 0;
+							
+	/**
+	 * standard constructor
+	 * 
+	 * @since 0.0.1
+	 */
+	public IntArrayList()
+	{
+		this(LongIntHashMap.DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * constructor, with given initial capacity
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param capacity the count of values, which should fit into the list
+	 *            without resizing
+	 */
+	public IntArrayList(int capacity)
+	{
+		this.values = new int[Math.max(capacity, 2)];
+	}
+	
+	/**
+	 * gives the count of stored values
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the count of values
+	 */
+	public int size()
+	{
+		return this.size;
+	}
+	
+	/**
+	 * checks if no value is stored
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return <code>true</code> if the list is empty, <code>false</code>
+	 *         otherwise
+	 */
+	public boolean isEmpty()
+	{
+		return this.size == 0;
+	}
+	
+	/**
+	 * appends a value
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param value the value to append
+	 */
+	public void add(int value)
+	{
+		if (this.size == this.values.length)
+		{
+			this.values = Arrays.copyOf(this.values, this.size << 1);
+		}
+		
+		this.values[this.size++] = value;
+	}
+	
+	/**
+	 * gives the value at a position
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param idx the position of the value
+	 * @return the value at {@code idx}
+	 * @throws IndexOutOfBoundsException if {@code idx} is negative or not lower
+	 *             than {@link IntArrayList#size()}
+	 */
+	public int get(int idx)
+	throws IndexOutOfBoundsException
+	{
+		if (idx < 0 || idx >= this.size)
+		{
+			throw new IndexOutOfBoundsException("Index " + idx + " is out of the bounds of the list with size " + this.size + "!");
+		}
+		
+		return this.values[idx];
+	}
+	
+	/**
+	 * removes and gives the last value
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the removed value
+	 * @throws IndexOutOfBoundsException if the list is empty
+	 */
+	public int removeLast()
+	throws IndexOutOfBoundsException
+	{
+		if (this.size == 0)
+		{
+			throw new IndexOutOfBoundsException("The list is empty!");
+		}
+		
+		return this.values[--this.size];
+	}
+	
+	/**
+	 * removes all values
+	 * 
+	 * @since 0.0.1
+	 */
+	public void clear()
+	{
+		this.size = 0;
+	}
+	
+	/**
+	 * gives all stored values
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return a new array, which contains all values in their order
+	 */
+	public int[] toArray()
+	{
+		return Arrays.copyOf(this.values, this.size);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,249 @@
+package me.chrisswr1.parroute.util;
+
+import java.util.Arrays;
+
+/**
+ * defines a set of primitive <code>long</code> values<br>
+ * The values are stored in an open-addressing hash table with linear probing,
+ * so no value will be boxed
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class LongHashSet
+{
+	/**
+	 * the hash table (<code>0</code> marks a free slot)
+	 * 
+	 * @since 0.0.1
+	 */
+	private long[]	values;
+	/**
+	 * is the value <code>0</code> contained?
+	 * 
+	 * @since 0.0.1
+	 */
+	private boolean	hasZero	= false;
+	/**
+	 * the count of contained values
+	 * 
+	 * @since 0.0.1
+	 */
+	private int		size	= 0;
+							
+	/**
+	 * standard constructor
+	 * 
+	 * @since 0.0.1
+	 */
+	public LongHashSet()
+	{
+		this(LongIntHashMap.DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * constructor, with given expected size
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param expectedSize the count of values, which should fit into the set
+	 *            without resizing
+	 */
+	public LongHashSet(int expectedSize)
+	{
+		this.values = new long[HashUtils.tableSize(expectedSize, LongIntHashMap.LOAD_FACTOR)];
+	}
+	
+	/**
+	 * gives the count of contained values
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the count of values
+	 */
+	public int size()
+	{
+		return this.size;
+	}
+	
+	/**
+	 * checks if no value is contained
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return <code>true</code> if the set is empty, <code>false</code>
+	 *         otherwise
+	 */
+	public boolean isEmpty()
+	{
+		return this.size == 0;
+	}
+	
+	/**
+	 * gives the slot of a value
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param value the value to search for (must not be <code>0</code>)
+	 * @return the slot of {@code value} or the negative free slot, at which
+	 *         {@code value} should be inserted, minus one
+	 */
+	private int slot(long value)
+	{
+		long[] values = this.values;
+		int mask = values.length - 1;
+		int idx = HashUtils.hash(value) & mask;
+		
+		while (true)
+		{
+			long slotValue = values[idx];
+			
+			if (slotValue == value)
+			{
+				return idx;
+			}
+			if (slotValue == 0)
+			{
+				return -idx - 1;
+			}
+			
+			idx = (idx + 1) & mask;
+		}
+	}
+	
+	/**
+	 * checks if a value is contained
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param value the value to check
+	 * @return <code>true</code> if {@code value} is contained,
+	 *         <code>false</code> otherwise
+	 */
+	public boolean contains(long value)
+	{
+		if (value == 0)
+		{
+			return this.hasZero;
+		}
+		
+		return this.slot(value) >= 0;
+	}
+	
+	/**
+	 * adds a value
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param value the value to add
+	 * @return <code>true</code> if {@code value} wasn't contained before,
+	 *         <code>false</code> otherwise
+	 */
+	public boolean add(long value)
+	{
+		if (value == 0)
+		{
+			if (this.hasZero)
+			{
+				return false;
+			}
+			
+			this.hasZero = true;
+			this.size++;
+			
+			return true;
+		}
+		
+		int slot = this.slot(value);
+		if (slot >= 0)
+		{
+			return false;
+		}
+		
+		this.values[-slot - 1] = value;
+		this.size++;
+		
+		if (this.size > this.values.length * LongIntHashMap.LOAD_FACTOR)
+		{
+			this.rehash(this.values.length << 1);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * adds multiple values
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param values the values to add
+	 */
+	public void addAll(long[] values)
+	{
+		for (long value : values)
+		{
+			this.add(value);
+		}
+	}
+	
+	/**
+	 * removes all values
+	 * 
+	 * @since 0.0.1
+	 */
+	public void clear()
+	{
+		Arrays.fill(this.values, 0);
+		this.hasZero = false;
+		this.size = 0;
+	}
+	
+	/**
+	 * gives all contained values
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return a new array, which contains all values in no specific order
+	 */
+	public long[] toArray()
+	{
+		long[] res = new long[this.size];
+		int idx = 0;
+		
+		if (this.hasZero)
+		{
+			res[idx++] = 0;
+		}
+		for (long value : this.values)
+		{
+			if (value != 0)
+			{
+				res[idx++] = value;
+			}
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * resizes the hash table
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param capacity the new capacity (must be a power of two)
+	 */
+	private void rehash(int capacity)
+	{
+		long[] oldValues = this.values;
+		this.values = new long[capacity];
+		
+		for (long value : oldValues)
+		{
+			if (value != 0)
+			{
+				this.values[-this.slot(value) - 1] = value;
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,379 @@
+package me.chrisswr1.parroute.util;
+
+import java.util.Arrays;
+
+/**
+ * defines a map from primitive <code>long</code> keys to primitive
+ * <code>int</code> values<br>
+ * The entries are stored in an open-addressing hash table with linear probing,
+ * so no key or value will be boxed
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class LongIntHashMap
+{
+	/**
+	 * the default initial capacity
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final int		DEFAULT_CAPACITY	= 16;
+	/**
+	 * the maximum ratio of used slots, before the table will be enlarged
+	 * 
+	 * @since 0.0.1
+	 */
+	public static final float	LOAD_FACTOR			= 0.5F;
+													
+	/**
+	 * the value, which will be returned for not existing keys
+	 * 
+	 * @since 0.0.1
+	 */
+	private final int			missingValue;
+	/**
+	 * the keys of the hash table (<code>0</code> marks a free slot)
+	 * 
+	 * @since 0.0.1
+	 */
+	private long[]				keys;
+	/**
+	 * the values of the hash table
+	 * 
+	 * @since 0.0.1
+	 */
+	private int[]				values;
+	/**
+	 * is there a value stored for the key <code>0</code>?
+	 * 
+	 * @since 0.0.1
+	 */
+	private boolean				hasZeroKey			= false;
+	/**
+	 * the value stored for the key <code>0</code>
+	 * 
+	 * @since 0.0.1
+	 */
+	private int					zeroValue;
+	/**
+	 * the count of stored entries
+	 * 
+	 * @since 0.0.1
+	 */
+	private int					size				= 0;
+													
+	/**
+	 * constructor, with given value for missing keys
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param missingValue the value, which should be returned for not existing
+	 *            keys
+	 */
+	public LongIntHashMap(int missingValue)
+	{
+		this(LongIntHashMap.DEFAULT_CAPACITY, missingValue);
+	}
+	
+	/**
+	 * constructor, with given expected size and value for missing keys
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param expectedSize the count of entries, which should fit into the map
+	 *            without resizing
+	 * @param missingValue the value, which should be returned for not existing
+	 *            keys
+	 */
+	public LongIntHashMap(int expectedSize, int missingValue)
+	{
+		this.missingValue = missingValue;
+		
+		int capacity = HashUtils.tableSize(expectedSize, LongIntHashMap.LOAD_FACTOR);
+		this.keys = new long[capacity];
+		this.values = new int[capacity];
+	}
+	
+	/**
+	 * gives the value, which will be returned for not existing keys
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the value for missing keys
+	 */
+	public int getMissingValue()
+	{
+		return this.missingValue;
+	}
+	
+	/**
+	 * gives the count of stored entries
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the count of entries
+	 */
+	public int size()
+	{
+		return this.size;
+	}
+	
+	/**
+	 * checks if no entry is stored
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return <code>true</code> if the map is empty, <code>false</code>
+	 *         otherwise
+	 */
+	public boolean isEmpty()
+	{
+		return this.size == 0;
+	}
+	
+	/**
+	 * gives the slot of a key
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to search for (must not be <code>0</code>)
+	 * @return the slot of {@code key} or the negative free slot, at which
+	 *         {@code key} should be inserted, minus one
+	 */
+	private int slot(long key)
+	{
+		long[] keys = this.keys;
+		int mask = keys.length - 1;
+		int idx = HashUtils.hash(key) & mask;
+		
+		while (true)
+		{
+			long slotKey = keys[idx];
+			
+			if (slotKey == key)
+			{
+				return idx;
+			}
+			if (slotKey == 0)
+			{
+				return -idx - 1;
+			}
+			
+			idx = (idx + 1) & mask;
+		}
+	}
+	
+	/**
+	 * checks if a key is stored
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to check
+	 * @return <code>true</code> if {@code key} is stored, <code>false</code>
+	 *         otherwise
+	 */
+	public boolean containsKey(long key)
+	{
+		if (key == 0)
+		{
+			return this.hasZeroKey;
+		}
+		
+		return this.slot(key) >= 0;
+	}
+	
+	/**
+	 * gives the value of a key
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to get the value of
+	 * @return the value of {@code key} or {@link #getMissingValue()}, if
+	 *         {@code key} is not stored
+	 */
+	public int get(long key)
+	{
+		if (key == 0)
+		{
+			return this.hasZeroKey ? this.zeroValue : this.missingValue;
+		}
+		
+		int slot = this.slot(key);
+		return slot >= 0 ? this.values[slot] : this.missingValue;
+	}
+	
+	/**
+	 * stores a value for a key
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to store the value for
+	 * @param value the value to store
+	 * @return the previous value of {@code key} or {@link #getMissingValue()},
+	 *         if {@code key} wasn't stored before
+	 */
+	public int put(long key, int value)
+	{
+		if (key == 0)
+		{
+			int res = this.hasZeroKey ? this.zeroValue : this.missingValue;
+			
+			if ( ! (this.hasZeroKey))
+			{
+				this.hasZeroKey = true;
+				this.size++;
+			}
+			this.zeroValue = value;
+			
+			return res;
+		}
+		
+		int slot = this.slot(key);
+		if (slot >= 0)
+		{
+			int res = this.values[slot];
+			this.values[slot] = value;
+			
+			return res;
+		}
+		
+		slot = -slot - 1;
+		this.keys[slot] = key;
+		this.values[slot] = value;
+		this.size++;
+		
+		if (this.size > this.keys.length * LongIntHashMap.LOAD_FACTOR)
+		{
+			this.rehash(this.keys.length << 1);
+		}
+		
+		return this.missingValue;
+	}
+	
+	/**
+	 * removes a key and its value
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to remove
+	 * @return the removed value or {@link #getMissingValue()}, if {@code key}
+	 *         wasn't stored
+	 */
+	public int remove(long key)
+	{
+		if (key == 0)
+		{
+			if ( ! (this.hasZeroKey))
+			{
+				return this.missingValue;
+			}
+			
+			this.hasZeroKey = false;
+			this.size--;
+			
+			return this.zeroValue;
+		}
+		
+		int slot = this.slot(key);
+		if (slot < 0)
+		{
+			return this.missingValue;
+		}
+		
+		int res = this.values[slot];
+		this.size--;
+		
+		long[] keys = this.keys;
+		int[] values = this.values;
+		int mask = keys.length - 1;
+		
+		// shift back all following entries of the same probe sequence
+		int free = slot;
+		int idx = (slot + 1) & mask;
+		while (keys[idx] != 0)
+		{
+			int home = HashUtils.hash(keys[idx]) & mask;
+			
+			if (((idx - home) & mask) >= ((idx - free) & mask))
+			{
+				keys[free] = keys[idx];
+				values[free] = values[idx];
+				free = idx;
+			}
+			
+			idx = (idx + 1) & mask;
+		}
+		keys[free] = 0;
+		
+		return res;
+	}
+	
+	/**
+	 * removes all entries
+	 * 
+	 * @since 0.0.1
+	 */
+	public void clear()
+	{
+		Arrays.fill(this.keys, 0);
+		this.hasZeroKey = false;
+		this.size = 0;
+	}
+	
+	/**
+	 * gives all stored keys
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return a new array, which contains all keys in no specific order
+	 */
+	public long[] keys()
+	{
+		long[] res = new long[this.size];
+		int idx = 0;
+		
+		if (this.hasZeroKey)
+		{
+			res[idx++] = 0;
+		}
+		for (long key : this.keys)
+		{
+			if (key != 0)
+			{
+				res[idx++] = key;
+			}
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * resizes the hash table
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param capacity the new capacity (must be a power of two)
+	 */
+	private void rehash(int capacity)
+	{
+		long[] oldKeys = this.keys;
+		int[] oldValues = this.values;
+		
+		this.keys = new long[capacity];
+		this.values = new int[capacity];
+		
+		for (int i = 0; i < oldKeys.length; i++)
+		{
+			long key = oldKeys[i];
+			
+			if (key != 0)
+			{
+				int slot = -this.slot(key) - 1;
+				this.keys[slot] = key;
+				this.values[slot] = oldValues[i];
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,362 @@
+package me.chrisswr1.parroute.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * defines an indexed binary min-heap of primitive <code>long</code> keys,
+ * ordered by a <code>double</code> priority<br>
+ * The position of every key is tracked, so a key could be looked up, updated
+ * (decrease-key) and removed in <code>O(log n)</code>
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class LongMinHeap
+{
+	/**
+	 * the keys in heap order
+	 * 
+	 * @since 0.0.1
+	 */
+	private long[]					keys;
+	/**
+	 * the priorities of {@link LongMinHeap#keys}
+	 * 
+	 * @since 0.0.1
+	 */
+	private double[]				priorities;
+	/**
+	 * stores the index in the heap of every contained key
+	 * 
+	 * @since 0.0.1
+	 */
+	private final LongIntHashMap	positions;
+	/**
+	 * the count of contained keys
+	 * 
+	 * @since 0.0.1
+	 */
+	private int						size		= 0;
+												
+	/**
+	 * standard constructor
+	 * 
+	 * @since 0.0.1
+	 */
+	public LongMinHeap()
+	{
+		this(LongIntHashMap.DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * constructor, with given expected size
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param expectedSize the count of keys, which should fit into the heap
+	 *            without resizing
+	 */
+	public LongMinHeap(int expectedSize)
+	{
+		int capacity = Math.max(expectedSize, 2);
+		
+		this.keys = new long[capacity];
+		this.priorities = new double[capacity];
+		this.positions = new LongIntHashMap(capacity, -1);
+	}
+	
+	/**
+	 * gives the count of contained keys
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the count of keys
+	 */
+	public int size()
+	{
+		return this.size;
+	}
+	
+	/**
+	 * checks if the heap is empty
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return <code>true</code> if no key is contained, <code>false</code>
+	 *         otherwise
+	 */
+	public boolean isEmpty()
+	{
+		return this.size == 0;
+	}
+	
+	/**
+	 * checks if a key is contained
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to check
+	 * @return <code>true</code> if {@code key} is contained, <code>false</code>
+	 *         otherwise
+	 */
+	public boolean contains(long key)
+	{
+		return this.positions.containsKey(key);
+	}
+	
+	/**
+	 * gives the priority of a key
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to get the priority of
+	 * @return the priority of {@code key} or {@link Double#NaN}, if
+	 *         {@code key} isn't contained
+	 */
+	public double getPriority(long key)
+	{
+		int pos = this.positions.get(key);
+		
+		return pos < 0 ? Double.NaN : this.priorities[pos];
+	}
+	
+	/**
+	 * inserts a key or changes the priority of an already contained one
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to insert or update
+	 * @param priority the (new) priority of {@code key}
+	 * @return <code>true</code> if {@code key} was newly inserted,
+	 *         <code>false</code> if the priority of an existing key was changed
+	 */
+	public boolean put(long key, double priority)
+	{
+		int pos = this.positions.get(key);
+		
+		if (pos >= 0)
+		{
+			double oldPriority = this.priorities[pos];
+			this.priorities[pos] = priority;
+			
+			if (priority < oldPriority)
+			{
+				this.siftUp(pos);
+			}
+			else if (priority > oldPriority)
+			{
+				this.siftDown(pos);
+			}
+			
+			return false;
+		}
+		
+		if (this.size == this.keys.length)
+		{
+			int capacity = this.keys.length << 1;
+			this.keys = Arrays.copyOf(this.keys, capacity);
+			this.priorities = Arrays.copyOf(this.priorities, capacity);
+		}
+		
+		pos = this.size++;
+		this.keys[pos] = key;
+		this.priorities[pos] = priority;
+		this.positions.put(key, pos);
+		this.siftUp(pos);
+		
+		return true;
+	}
+	
+	/**
+	 * gives the key with the lowest priority, without removing it
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the key with the lowest priority
+	 * @throws NoSuchElementException if the heap is empty
+	 */
+	public long peek()
+	throws NoSuchElementException
+	{
+		if (this.size == 0)
+		{
+			throw new NoSuchElementException("The heap is empty!");
+		}
+		
+		return this.keys[0];
+	}
+	
+	/**
+	 * gives the lowest priority
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the priority of {@link LongMinHeap#peek()} or
+	 *         {@link Double#POSITIVE_INFINITY}, if the heap is empty
+	 */
+	public double peekPriority()
+	{
+		return this.size == 0 ? Double.POSITIVE_INFINITY : this.priorities[0];
+	}
+	
+	/**
+	 * removes the key with the lowest priority
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the removed key
+	 * @throws NoSuchElementException if the heap is empty
+	 */
+	public long poll()
+	throws NoSuchElementException
+	{
+		long res = this.peek();
+		this.removeAt(0);
+		
+		return res;
+	}
+	
+	/**
+	 * removes a key
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to remove
+	 * @return <code>true</code> if {@code key} was contained,
+	 *         <code>false</code> otherwise
+	 */
+	public boolean remove(long key)
+	{
+		int pos = this.positions.get(key);
+		
+		if (pos < 0)
+		{
+			return false;
+		}
+		
+		this.removeAt(pos);
+		
+		return true;
+	}
+	
+	/**
+	 * removes all keys
+	 * 
+	 * @since 0.0.1
+	 */
+	public void clear()
+	{
+		this.positions.clear();
+		this.size = 0;
+	}
+	
+	/**
+	 * removes the key at a specific heap position
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param pos the position in the heap
+	 */
+	private void removeAt(int pos)
+	{
+		this.positions.remove(this.keys[pos]);
+		
+		int last = --this.size;
+		if (pos == last)
+		{
+			return;
+		}
+		
+		this.keys[pos] = this.keys[last];
+		this.priorities[pos] = this.priorities[last];
+		this.positions.put(this.keys[pos], pos);
+		
+		this.siftDown(pos);
+		this.siftUp(pos);
+	}
+	
+	/**
+	 * moves an element up, until its parent has a lower priority
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param pos the position of the element
+	 */
+	private void siftUp(int pos)
+	{
+		long key = this.keys[pos];
+		double priority = this.priorities[pos];
+		
+		while (pos > 0)
+		{
+			int parent = (pos - 1) >>> 1;
+			
+			if (this.priorities[parent] <= priority)
+			{
+				break;
+			}
+			
+			this.move(parent, pos);
+			pos = parent;
+		}
+		
+		this.keys[pos] = key;
+		this.priorities[pos] = priority;
+		this.positions.put(key, pos);
+	}
+	
+	/**
+	 * moves an element down, until its children have a higher priority
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param pos the position of the element
+	 */
+	private void siftDown(int pos)
+	{
+		long key = this.keys[pos];
+		double priority = this.priorities[pos];
+		int half = this.size >>> 1;
+		
+		while (pos < half)
+		{
+			int child = (pos << 1) + 1;
+			int right = child + 1;
+			
+			if (right < this.size && this.priorities[right] < this.priorities[child])
+			{
+				child = right;
+			}
+			if (priority <= this.priorities[child])
+			{
+				break;
+			}
+			
+			this.move(child, pos);
+			pos = child;
+		}
+		
+		this.keys[pos] = key;
+		this.priorities[pos] = priority;
+		this.positions.put(key, pos);
+	}
+	
+	/**
+	 * moves an element to another position
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param src the current position of the element
+	 * @param dest the new position of the element
+	 */
+	private void move(int src, int dest)
+	{
+		long key = this.keys[src];
+		
+		this.keys[dest] = key;
+		this.priorities[dest] = this.priorities[src];
+		this.positions.put(key, dest);
+	}
+}
\ No newline at end of file
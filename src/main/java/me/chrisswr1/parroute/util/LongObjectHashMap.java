@@ -0,0 +1,288 @@
+package me.chrisswr1.parroute.util;
+
+import java.util.Arrays;
+
+/**
+ * defines a map from primitive <code>long</code> keys to objects<br>
+ * The entries are stored in an open-addressing hash table with linear probing,
+ * so no key will be boxed and no entry object is created
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ * 		
+ * @param <V> the value type
+ */
+public class LongObjectHashMap<V>
+{
+	/**
+	 * the keys of the hash table (<code>0</code> marks a free slot)
+	 * 
+	 * @since 0.0.1
+	 */
+	private long[]		keys;
+	/**
+	 * the values of the hash table
+	 * 
+	 * @since 0.0.1
+	 */
+	private Object[]	values;
+	/**
+	 * is there a value stored for the key <code>0</code>?
+	 * 
+	 * @since 0.0.1
+	 */
+	private boolean		hasZeroKey	= false;
+	/**
+	 * the value stored for the key <code>0</code>
+	 * 
+	 * @since 0.0.1
+	 */
+	private V			zeroValue	= null;
+	/**
+	 * the count of stored entries
+	 * 
+	 * @since 0.0.1
+	 */
+	private int			size		= 0;
+									
+	/**
+	 * standard constructor
+	 * 
+	 * @since 0.0.1
+	 */
+	public LongObjectHashMap()
+	{
+		this(LongIntHashMap.DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * constructor, with given expected size
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param expectedSize the count of entries, which should fit into the map
+	 *            without resizing
+	 */
+	public LongObjectHashMap(int expectedSize)
+	{
+		int capacity = HashUtils.tableSize(expectedSize, LongIntHashMap.LOAD_FACTOR);
+		this.keys = new long[capacity];
+		this.values = new Object[capacity];
+	}
+	
+	/**
+	 * gives the count of stored entries
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the count of entries
+	 */
+	public int size()
+	{
+		return this.size;
+	}
+	
+	/**
+	 * checks if no entry is stored
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return <code>true</code> if the map is empty, <code>false</code>
+	 *         otherwise
+	 */
+	public boolean isEmpty()
+	{
+		return this.size == 0;
+	}
+	
+	/**
+	 * gives the slot of a key
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to search for (must not be <code>0</code>)
+	 * @return the slot of {@code key} or the negative free slot, at which
+	 *         {@code key} should be inserted, minus one
+	 */
+	private int slot(long key)
+	{
+		long[] keys = this.keys;
+		int mask = keys.length - 1;
+		int idx = HashUtils.hash(key) & mask;
+		
+		while (true)
+		{
+			long slotKey = keys[idx];
+			
+			if (slotKey == key)
+			{
+				return idx;
+			}
+			if (slotKey == 0)
+			{
+				return -idx - 1;
+			}
+			
+			idx = (idx + 1) & mask;
+		}
+	}
+	
+	/**
+	 * checks if a key is stored
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to check
+	 * @return <code>true</code> if {@code key} is stored, <code>false</code>
+	 *         otherwise
+	 */
+	public boolean containsKey(long key)
+	{
+		if (key == 0)
+		{
+			return this.hasZeroKey;
+		}
+		
+		return this.slot(key) >= 0;
+	}
+	
+	/**
+	 * gives the value of a key
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to get the value of
+	 * @return the value of {@code key} or <code>null</code>, if {@code key} is
+	 *         not stored
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long key)
+	{
+		if (key == 0)
+		{
+			return this.zeroValue;
+		}
+		
+		int slot = this.slot(key);
+		return slot >= 0 ? (V)this.values[slot] : null;
+	}
+	
+	/**
+	 * stores a value for a key
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to store the value for
+	 * @param value the value to store
+	 * @return the previous value of {@code key} or <code>null</code>, if
+	 *         {@code key} wasn't stored before
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(long key, V value)
+	{
+		if (key == 0)
+		{
+			V res = this.zeroValue;
+			
+			if ( ! (this.hasZeroKey))
+			{
+				this.hasZeroKey = true;
+				this.size++;
+			}
+			this.zeroValue = value;
+			
+			return res;
+		}
+		
+		int slot = this.slot(key);
+		if (slot >= 0)
+		{
+			V res = (V)this.values[slot];
+			this.values[slot] = value;
+			
+			return res;
+		}
+		
+		slot = -slot - 1;
+		this.keys[slot] = key;
+		this.values[slot] = value;
+		this.size++;
+		
+		if (this.size > this.keys.length * LongIntHashMap.LOAD_FACTOR)
+		{
+			this.rehash(this.keys.length << 1);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * removes all entries
+	 * 
+	 * @since 0.0.1
+	 */
+	public void clear()
+	{
+		Arrays.fill(this.keys, 0);
+		Arrays.fill(this.values, null);
+		this.hasZeroKey = false;
+		this.zeroValue = null;
+		this.size = 0;
+	}
+	
+	/**
+	 * gives all stored keys
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return a new array, which contains all keys in no specific order
+	 */
+	public long[] keys()
+	{
+		long[] res = new long[this.size];
+		int idx = 0;
+		
+		if (this.hasZeroKey)
+		{
+			res[idx++] = 0;
+		}
+		for (long key : this.keys)
+		{
+			if (key != 0)
+			{
+				res[idx++] = key;
+			}
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * resizes the hash table
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param capacity the new capacity (must be a power of two)
+	 */
+	private void rehash(int capacity)
+	{
+		long[] oldKeys = this.keys;
+		Object[] oldValues = this.values;
+		
+		this.keys = new long[capacity];
+		this.values = new Object[capacity];
+		
+		for (int i = 0; i < oldKeys.length; i++)
+		{
+			long key = oldKeys[i];
+			
+			if (key != 0)
+			{
+				int slot = -this.slot(key) - 1;
+				this.keys[slot] = key;
+				this.values[slot] = oldValues[i];
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package me.chrisswr1.parroute.util;
+
+import java.util.Arrays;
+
+/**
+ * defines a multimap from primitive <code>long</code> keys to sets of
+ * primitive <code>long</code> values<br>
+ * The values of a key are stored in a compact <code>long[]</code>, which is
+ * replaced on every insert. This is designed for keys with only a few values,
+ * like the {@link org.openstreetmap.osmosis.core.domain.v0_6.Way}s of a
+ * {@link org.openstreetmap.osmosis.core.domain.v0_6.Node}. Since the arrays
+ * are kept in a {@link ConcurrentLongObjectHashMap}, the multimap could be
+ * read by many {@link Thread}s without any lock, while one {@link Thread} at
+ * once writes into it.
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class LongSetMultimap
+{
+	/**
+	 * an empty array, which is returned for not existing keys
+	 * 
+	 * @since 0.0.1
+	 */
+	private static final long[]							EMPTY	= new long[0];
+																
+	/**
+	 * the values of all keys
+	 * 
+	 * @since 0.0.1
+	 */
+	private final ConcurrentLongObjectHashMap<long[]>	map;
+														
+	/**
+	 * standard constructor
+	 * 
+	 * @since 0.0.1
+	 */
+	public LongSetMultimap()
+	{
+		this(LongIntHashMap.DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * constructor, with given expected count of keys
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param expectedKeys the count of keys, which should fit into the map
+	 *            without resizing
+	 */
+	public LongSetMultimap(int expectedKeys)
+	{
+		this.map = new ConcurrentLongObjectHashMap<>(expectedKeys);
+	}
+	
+	/**
+	 * gives the count of keys
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return the count of keys, which have at least one value
+	 */
+	public int keyCount()
+	{
+		return this.map.size();
+	}
+	
+	/**
+	 * checks if a key has at least one value
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to check
+	 * @return <code>true</code> if {@code key} is stored, <code>false</code>
+	 *         otherwise
+	 */
+	public boolean containsKey(long key)
+	{
+		return this.map.containsKey(key);
+	}
+	
+	/**
+	 * gives all values of a key<br>
+	 * <b>Attention</b>: The returned array is the internal storage and must not
+	 * be modified!
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to get the values of
+	 * @return all values of {@code key} or an empty array, if {@code key} isn't
+	 *         stored
+	 */
+	public long[] get(long key)
+	{
+		long[] res = this.map.get(key);
+		
+		return res == null ? LongSetMultimap.EMPTY : res;
+	}
+	
+	/**
+	 * adds a value to a key
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @param key the key to add the value to
+	 * @param value the value to add
+	 * @return <code>true</code> if {@code value} was added, <code>false</code>
+	 *         if it was already a value of {@code key}
+	 */
+	public boolean put(long key, long value)
+	{
+		long[] values = this.map.get(key);
+		
+		if (values == null)
+		{
+			this.map.put(key, new long[]
+			{
+					value
+			});
+			
+			return true;
+		}
+		
+		for (long existing : values)
+		{
+			if (existing == value)
+			{
+				return false;
+			}
+		}
+		
+		long[] newValues = Arrays.copyOf(values, values.length + 1);
+		newValues[values.length] = value;
+		this.map.put(key, newValues);
+		
+		return true;
+	}
+	
+	/**
+	 * removes all keys and values
+	 * 
+	 * @since 0.0.1
+	 */
+	public void clear()
+	{
+		this.map.clear();
+	}
+}
\ No newline at end of file
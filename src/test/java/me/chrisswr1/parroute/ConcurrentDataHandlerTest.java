@@ -0,0 +1,128 @@
+package me.chrisswr1.parroute;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.openstreetmap.osmosis.core.container.v0_6.EntityContainer;
+import org.openstreetmap.osmosis.core.domain.v0_6.CommonEntityData;
+import org.openstreetmap.osmosis.core.domain.v0_6.Entity;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+import org.openstreetmap.osmosis.core.domain.v0_6.OsmUser;
+
+import me.chrisswr1.parroute.graph.RoutingGraph;
+import me.chrisswr1.parroute.graph.RoutingGraphTest;
+import me.chrisswr1.parroute.io.DataReceiver;
+
+/**
+ * tests methods of {@link ConcurrentDataHandler}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class ConcurrentDataHandlerTest
+{
+	/**
+	 * Test method for {@link ConcurrentDataHandler#getNode(long)} with many
+	 * {@link Thread}s requesting the same missing {@link Node}.
+	 * 
+	 * @throws Exception if the request failed
+	 */
+	@Test
+	public void testGetNode()
+	throws Exception
+	{
+		final Node node = new Node(new CommonEntityData(1, 1, new Date(), OsmUser.NONE, 0), 50, 7);
+		final int threads = 8;
+		final CountDownLatch started = new CountDownLatch(threads);
+		
+		DataReceiver receiver = Mockito.mock(DataReceiver.class);
+		Mockito.when(receiver.isAllStored()).thenReturn(false);
+		Mockito.when(receiver.getNode(1)).thenAnswer(new Answer<Node>()
+		{
+			@Override
+			public Node answer(InvocationOnMock invocation)
+			throws Throwable
+			{
+				// let every thread reach the lookup, before the request finishes
+				started.await();
+				Thread.sleep(50);
+				
+				return node;
+			}
+		});
+		
+		final ConcurrentDataHandler dataHandler = new ConcurrentDataHandler(receiver);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try
+		{
+			List<Future<Node>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++)
+			{
+				futures.add(executor.submit(new Callable<Node>()
+				{
+					@Override
+					public Node call()
+					{
+						started.countDown();
+						return dataHandler.getNode(1);
+					}
+				}));
+			}
+			
+			for (Future<Node> future : futures)
+			{
+				Assert.assertEquals(node, future.get());
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+		
+		Mockito.verify(receiver, Mockito.times(1)).getNode(1);
+		Assert.assertEquals(node, dataHandler.getNode(1));
+		Mockito.verify(receiver, Mockito.times(1)).getNode(1);
+	}
+	
+	/**
+	 * Test method for {@link DataHandler#store(Entity)} of a
+	 * {@link ConcurrentDataHandler}.
+	 */
+	@Test
+	public void testStore()
+	{
+		DataHandler dataHandler = RoutingGraphTest.createDataHandler(true);
+		DataReceiver receiver = Mockito.mock(DataReceiver.class);
+		Mockito.when(receiver.isAllStored()).thenReturn(true);
+		ConcurrentDataHandler concurrentHandler = new ConcurrentDataHandler(receiver);
+		
+		for (EntityContainer container : dataHandler.getContainers())
+		{
+			concurrentHandler.store(container.getEntity());
+		}
+		
+		Assert.assertArrayEquals(dataHandler.getWayIds(), concurrentHandler.getWayIds());
+		Assert.assertArrayEquals(dataHandler.getRelIds(), concurrentHandler.getRelIds());
+		Assert.assertEquals(dataHandler.getWaysOf(dataHandler.getNode(2)), concurrentHandler.getWaysOf(dataHandler.getNode(2)));
+		Assert.assertEquals(dataHandler.getRelsOf(dataHandler.getNode(2)), concurrentHandler.getRelsOf(dataHandler.getNode(2)));
+		Assert.assertNull(concurrentHandler.getNode(99));
+		
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		RoutingGraph concurrentGraph = RoutingGraph.compile(concurrentHandler);
+		Assert.assertEquals(graph.getNodeCount(), concurrentGraph.getNodeCount());
+		Assert.assertEquals(graph.getEdgeCount(), concurrentGraph.getEdgeCount());
+		Assert.assertEquals(graph.getRestrictionCount(), concurrentGraph.getRestrictionCount());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+package me.chrisswr1.parroute;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openstreetmap.osmosis.core.domain.v0_6.CommonEntityData;
+import org.openstreetmap.osmosis.core.domain.v0_6.EntityType;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+import org.openstreetmap.osmosis.core.domain.v0_6.OsmUser;
+import org.openstreetmap.osmosis.core.domain.v0_6.Relation;
+import org.openstreetmap.osmosis.core.domain.v0_6.Way;
+import org.openstreetmap.osmosis.core.domain.v0_6.WayNode;
+
+import me.chrisswr1.parroute.io.AsyncReceiverAdapter;
+import me.chrisswr1.parroute.io.DataReceiver;
+
+/**
+ * tests methods of {@link DataHandler}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class DataHandlerTest
+{
+	/**
+	 * Test method for {@link DataHandler#prefetch(java.util.Collection)}.
+	 * 
+	 * @throws Exception if the request failed
+	 */
+	@Test
+	public void testPrefetch()
+	throws Exception
+	{
+		Set<Node> nodes = new HashSet<>();
+		List<WayNode> wayNodes = new ArrayList<>();
+		for (int i = 1; i <= 4; i++)
+		{
+			nodes.add(new Node(new CommonEntityData(i, 1, new Date(), OsmUser.NONE, 0), 50 + i * 1E-3, 7));
+			wayNodes.add(new WayNode(i));
+		}
+		Node start = new Node(new CommonEntityData(1, 1, new Date(), OsmUser.NONE, 0), 50 + 1E-3, 7);
+		Way way = new Way(new CommonEntityData(1, 1, new Date(), OsmUser.NONE, 0), wayNodes);
+		
+		DataReceiver receiver = Mockito.mock(DataReceiver.class);
+		Mockito.when(receiver.isAllStored()).thenReturn(false);
+		Mockito.when(receiver.getWaysOf(Mockito.any(long[].class))).thenReturn(Collections.singleton(way));
+		Mockito.when(receiver.getRelsOf(Mockito.any(EntityType.class), Mockito.any(long[].class))).thenReturn(Collections.<Relation> emptySet());
+		Mockito.when(receiver.getNodes(Mockito.any(long[].class))).thenReturn(nodes);
+		
+		DataHandler dataHandler = new DataHandler(receiver);
+		dataHandler.store(start);
+		dataHandler.prefetch(Collections.singleton(start));
+		
+		Mockito.verify(receiver, Mockito.times(1)).getWaysOf(new long[] {1});
+		Mockito.verify(receiver, Mockito.times(1)).getRelsOf(EntityType.Node, new long[] {1});
+		Mockito.verify(receiver, Mockito.times(1)).getNodes(Mockito.any(long[].class));
+		
+		Set<Node> neighbors = dataHandler.getNeighbors(start, way);
+		Assert.assertEquals(1, neighbors.size());
+		Assert.assertEquals(2, neighbors.iterator().next().getId());
+		Assert.assertEquals(Collections.singleton(way), dataHandler.getWaysOf(start));
+		Assert.assertTrue(dataHandler.getRelsOf(start).isEmpty());
+		
+		Mockito.verify(receiver, Mockito.times(1)).getNodes(Mockito.any(long[].class));
+		Mockito.verify(receiver, Mockito.never()).getNode(Mockito.anyLong());
+		Mockito.verify(receiver, Mockito.never()).getWaysOf(Mockito.any(Node.class));
+		Mockito.verify(receiver, Mockito.never()).getRelsOf(Mockito.any(Node.class));
+	}
+	
+	/**
+	 * Test method for {@link DataHandler#prefetch(java.util.Collection)} with
+	 * an {@link me.chrisswr1.parroute.io.AsyncDataReceiver}, which has to
+	 * request the neighbors on stored {@link Way}s together with the
+	 * {@link Way}s and {@link Relation}s of the other {@link Node}s.
+	 * 
+	 * @throws Exception if the request failed
+	 */
+	@Test
+	public void testPrefetchAsync()
+	throws Exception
+	{
+		List<WayNode> wayNodes = new ArrayList<>();
+		wayNodes.add(new WayNode(1));
+		wayNodes.add(new WayNode(2));
+		Node known = new Node(new CommonEntityData(1, 1, new Date(), OsmUser.NONE, 0), 50, 7);
+		Node unknown = new Node(new CommonEntityData(3, 1, new Date(), OsmUser.NONE, 0), 51, 7);
+		Node neighbor = new Node(new CommonEntityData(2, 1, new Date(), OsmUser.NONE, 0), 50.001, 7);
+		Way way = new Way(new CommonEntityData(1, 1, new Date(), OsmUser.NONE, 0), wayNodes);
+		
+		DataReceiver receiver = Mockito.mock(DataReceiver.class);
+		Mockito.when(receiver.isAllStored()).thenReturn(false);
+		Mockito.when(receiver.isAllStored(known)).thenReturn(true);
+		Mockito.when(receiver.getWaysOf(Mockito.any(long[].class))).thenReturn(Collections.<Way> emptySet());
+		Mockito.when(receiver.getRelsOf(Mockito.any(EntityType.class), Mockito.any(long[].class))).thenReturn(Collections.<Relation> emptySet());
+		Mockito.when(receiver.getNodes(Mockito.any(long[].class))).thenReturn(Collections.singleton(neighbor));
+		
+		ScheduledExecutorService executor = Executors.newScheduledThreadPool(3);
+		try
+		{
+			DataHandler dataHandler = new ConcurrentDataHandler(receiver);
+			dataHandler.setAsyncReceiver(new AsyncReceiverAdapter(receiver, executor));
+			dataHandler.store(known);
+			dataHandler.store(unknown);
+			dataHandler.store(way);
+			
+			List<Node> frontier = new ArrayList<>();
+			frontier.add(known);
+			frontier.add(unknown);
+			dataHandler.prefetch(frontier);
+			
+			Mockito.verify(receiver, Mockito.times(1)).getWaysOf(new long[] {3});
+			Mockito.verify(receiver, Mockito.times(1)).getRelsOf(EntityType.Node, new long[] {3});
+			Mockito.verify(receiver, Mockito.times(1)).getNodes(new long[] {2});
+			Assert.assertSame(neighbor, dataHandler.getNode(2));
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+	
+	/**
+	 * Test method for {@link DataHandler#getWaysOf(Node)} with a
+	 * {@link DataReceiver}, which reports all {@link Way}s of the {@link Node}
+	 * as stored.
+	 * 
+	 * @throws Exception if the request failed
+	 */
+	@Test
+	public void testGetWaysOfAllStored()
+	throws Exception
+	{
+		List<WayNode> wayNodes = new ArrayList<>();
+		wayNodes.add(new WayNode(1));
+		wayNodes.add(new WayNode(2));
+		Node node = new Node(new CommonEntityData(1, 1, new Date(), OsmUser.NONE, 0), 50, 7);
+		Way way = new Way(new CommonEntityData(1, 1, new Date(), OsmUser.NONE, 0), wayNodes);
+		
+		DataReceiver receiver = Mockito.mock(DataReceiver.class);
+		Mockito.when(receiver.isAllStored()).thenReturn(false);
+		Mockito.when(receiver.isAllStored(node)).thenReturn(true);
+		
+		DataHandler dataHandler = new DataHandler(receiver);
+		dataHandler.store(node);
+		dataHandler.store(way);
+		
+		Assert.assertEquals(Collections.singleton(way), dataHandler.getWaysOf(node));
+		Assert.assertTrue(dataHandler.getRelsOf(node).isEmpty());
+		dataHandler.prefetch(Collections.singleton(node));
+		
+		Mockito.verify(receiver, Mockito.never()).getWaysOf(Mockito.any(Node.class));
+		Mockito.verify(receiver, Mockito.never()).getWaysOf(Mockito.any(long[].class));
+		Mockito.verify(receiver, Mockito.never()).getRelsOf(Mockito.any(Node.class));
+	}
+}
\ No newline at end of file
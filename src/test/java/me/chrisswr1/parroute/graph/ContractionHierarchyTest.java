@@ -0,0 +1,70 @@
+package me.chrisswr1.parroute.graph;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.route.ChRoute;
+import me.chrisswr1.parroute.route.Route;
+
+/**
+ * tests methods of {@link ContractionHierarchy}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class ContractionHierarchyTest
+{
+	/**
+	 * Test method for
+	 * {@link ContractionHierarchy#build(RoutingGraph, ExecutorService)}.
+	 * 
+	 * @throws Exception if the calculation failed
+	 */
+	@Test
+	public void testBuild()
+	throws Exception
+	{
+		DataHandler dataHandler = RoutingGraphTest.createGrid(15, 7);
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		ContractionHierarchy hierarchy;
+		try
+		{
+			hierarchy = ContractionHierarchy.build(graph, executor);
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+		
+		for (int node = 0; node < graph.getNodeCount(); node++)
+		{
+			int end = hierarchy.getFirstUpEdge(node + 1);
+			for (int edge = hierarchy.getFirstUpEdge(node); edge < end; edge++)
+			{
+				Assert.assertTrue(hierarchy.getRank(hierarchy.getUpTarget(edge)) > hierarchy.getRank(node));
+			}
+		}
+		
+		Random random = new Random(7);
+		for (int i = 0; i < 100; i++)
+		{
+			long startId = random.nextInt(225) + 1;
+			long destId = random.nextInt(225) + 1;
+			
+			Route route = new Route(dataHandler, graph, dataHandler.getNode(startId), dataHandler.getNode(destId));
+			ChRoute chRoute = new ChRoute(dataHandler, hierarchy, dataHandler.getNode(startId), dataHandler.getNode(destId));
+			
+			Assert.assertEquals(route.calc(), chRoute.calc());
+			Assert.assertEquals(route.getLength(), chRoute.getLength(), 1E-6);
+			Assert.assertEquals(route.getPath().size(), chRoute.getPath().size());
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,225 @@
+package me.chrisswr1.parroute.graph;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openstreetmap.osmosis.core.domain.v0_6.CommonEntityData;
+import org.openstreetmap.osmosis.core.domain.v0_6.EntityType;
+import org.openstreetmap.osmosis.core.domain.v0_6.OsmUser;
+import org.openstreetmap.osmosis.core.domain.v0_6.Relation;
+import org.openstreetmap.osmosis.core.domain.v0_6.RelationMember;
+import org.openstreetmap.osmosis.core.domain.v0_6.Tag;
+
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.io.DataReceiver;
+import me.chrisswr1.parroute.route.Route;
+
+/**
+ * tests methods of {@link EdgeBasedGraph}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class EdgeBasedGraphTest
+{
+	/**
+	 * creates a {@link DataHandler} with a straight road of the
+	 * {@link org.openstreetmap.osmosis.core.domain.v0_6.Way}s 1-2, 2-3 and
+	 * 3-4, a longer detour 1-5-4 and a side road 3-6
+	 * 
+	 * @param restriction the value of the restriction {@link Tag} from
+	 *            {@link org.openstreetmap.osmosis.core.domain.v0_6.Way} 1-2
+	 *            over the via
+	 *            {@link org.openstreetmap.osmosis.core.domain.v0_6.Way} 2-3
+	 *            into {@link org.openstreetmap.osmosis.core.domain.v0_6.Way}
+	 *            3-4 or <code>null</code>, if there is no restriction
+	 * @return the filled {@link DataHandler}
+	 */
+	private static DataHandler createDataHandler(String restriction)
+	{
+		DataReceiver receiver = Mockito.mock(DataReceiver.class);
+		Mockito.when(receiver.isAllStored()).thenReturn(true);
+		
+		DataHandler res = new DataHandler(receiver);
+		res.store(RoutingGraphTest.createNode(1, 0, 0));
+		res.store(RoutingGraphTest.createNode(2, 0, 0.001));
+		res.store(RoutingGraphTest.createNode(3, 0, 0.002));
+		res.store(RoutingGraphTest.createNode(4, 0, 0.003));
+		res.store(RoutingGraphTest.createNode(5, 0.001, 0.0015));
+		res.store(RoutingGraphTest.createNode(6, -0.001, 0.002));
+		
+		List<Tag> noTags = Collections.<Tag> emptyList();
+		res.store(RoutingGraphTest.createWay(10, noTags, 1, 2));
+		res.store(RoutingGraphTest.createWay(11, noTags, 2, 3));
+		res.store(RoutingGraphTest.createWay(12, noTags, 3, 4));
+		res.store(RoutingGraphTest.createWay(13, noTags, 1, 5, 4));
+		res.store(RoutingGraphTest.createWay(14, noTags, 3, 6));
+		
+		if (restriction != null)
+		{
+			List<Tag> tags = Arrays.asList(new Tag("type", "restriction"), new Tag("restriction", restriction));
+			List<RelationMember> members = Arrays.asList(new RelationMember(10, EntityType.Way, "from"), new RelationMember(11, EntityType.Way, "via"), new RelationMember(12, EntityType.Way, "to"));
+			res.store(new Relation(new CommonEntityData(20, 1, new Date(), OsmUser.NONE, 0, tags), members));
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * calculates a {@link Route} on an {@link EdgeBasedGraph}
+	 * 
+	 * @param dataHandler the {@link DataHandler}, which contains the
+	 *            {@link org.openstreetmap.osmosis.core.domain.v0_6.Node}s
+	 * @param edgeGraph the {@link EdgeBasedGraph} to search on
+	 * @param startId the id of the start
+	 * @param destId the id of the destination
+	 * @return the ids of the path
+	 * @throws Exception if the calculation failed
+	 */
+	private static List<Long> getPathIds(DataHandler dataHandler, EdgeBasedGraph edgeGraph, long startId, long destId)
+	throws Exception
+	{
+		Route route = new Route(dataHandler, edgeGraph, dataHandler.getNode(startId), dataHandler.getNode(destId));
+		Assert.assertTrue(route.calc());
+		
+		return RoutingGraphTest.getPathIds(route);
+	}
+	
+	/**
+	 * Test method for {@link EdgeBasedGraph#compile(DataHandler, RoutingGraph)}
+	 * with a via {@link org.openstreetmap.osmosis.core.domain.v0_6.Node}.
+	 * 
+	 * @throws Exception if the calculation failed
+	 */
+	@Test
+	public void testCompileViaNode()
+	throws Exception
+	{
+		DataHandler dataHandler = RoutingGraphTest.createDataHandler(true);
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		EdgeBasedGraph edgeGraph = EdgeBasedGraph.compile(dataHandler, graph);
+		
+		Assert.assertEquals(graph.getEdgeCount(), edgeGraph.getStateCount());
+		Assert.assertEquals(Arrays.asList(1L, 2L), EdgeBasedGraphTest.getPathIds(dataHandler, edgeGraph, 1, 3));
+		Assert.assertEquals(Arrays.asList(4L), EdgeBasedGraphTest.getPathIds(dataHandler, edgeGraph, 4, 3));
+	}
+	
+	/**
+	 * Test method for {@link EdgeBasedGraph#compile(DataHandler, RoutingGraph)}
+	 * with a via {@link org.openstreetmap.osmosis.core.domain.v0_6.Way}.
+	 * 
+	 * @throws Exception if the calculation failed
+	 */
+	@Test
+	public void testCompileViaWay()
+	throws Exception
+	{
+		DataHandler dataHandler = EdgeBasedGraphTest.createDataHandler(null);
+		EdgeBasedGraph edgeGraph = EdgeBasedGraph.compile(dataHandler, RoutingGraph.compile(dataHandler));
+		Assert.assertEquals(Arrays.asList(1L, 2L, 3L), EdgeBasedGraphTest.getPathIds(dataHandler, edgeGraph, 1, 4));
+		
+		dataHandler = EdgeBasedGraphTest.createDataHandler("no_straight_on");
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		edgeGraph = EdgeBasedGraph.compile(dataHandler, graph);
+		Assert.assertTrue(edgeGraph.getStateCount() > graph.getEdgeCount());
+		Assert.assertEquals(Arrays.asList(1L, 5L), EdgeBasedGraphTest.getPathIds(dataHandler, edgeGraph, 1, 4));
+		Assert.assertEquals(Arrays.asList(1L, 2L, 3L), EdgeBasedGraphTest.getPathIds(dataHandler, edgeGraph, 1, 6));
+		Assert.assertEquals(Arrays.asList(2L, 3L), EdgeBasedGraphTest.getPathIds(dataHandler, edgeGraph, 2, 4));
+		
+		dataHandler = EdgeBasedGraphTest.createDataHandler("only_straight_on");
+		edgeGraph = EdgeBasedGraph.compile(dataHandler, RoutingGraph.compile(dataHandler));
+		Assert.assertEquals(Arrays.asList(1L, 2L, 3L), EdgeBasedGraphTest.getPathIds(dataHandler, edgeGraph, 1, 4));
+		Assert.assertEquals(Arrays.asList(1L, 2L, 3L, 4L), EdgeBasedGraphTest.getPathIds(dataHandler, edgeGraph, 1, 6));
+		Assert.assertEquals(Arrays.asList(2L, 3L), EdgeBasedGraphTest.getPathIds(dataHandler, edgeGraph, 2, 6));
+	}
+	
+	/**
+	 * Test method for {@link EdgeBasedGraph#compile(DataHandler, RoutingGraph)}
+	 * with two overlapping via
+	 * {@link org.openstreetmap.osmosis.core.domain.v0_6.Way}s, where the via
+	 * {@link org.openstreetmap.osmosis.core.domain.v0_6.Way} of the first
+	 * restriction is the &quot;from&quot;
+	 * {@link org.openstreetmap.osmosis.core.domain.v0_6.Way} of the second
+	 * one.
+	 * 
+	 * @throws Exception if the calculation failed
+	 */
+	@Test
+	public void testCompileOverlappingViaWays()
+	throws Exception
+	{
+		DataHandler dataHandler = EdgeBasedGraphTest.createDataHandler(null);
+		dataHandler.store(RoutingGraphTest.createNode(7, 0, 0.004));
+		dataHandler.store(RoutingGraphTest.createWay(15, Collections.<Tag> emptyList(), 4, 7));
+		
+		List<Tag> tags = Arrays.asList(new Tag("type", "restriction"), new Tag("restriction", "no_right_turn"));
+		List<RelationMember> members = Arrays.asList(new RelationMember(10, EntityType.Way, "from"), new RelationMember(11, EntityType.Way, "via"), new RelationMember(14, EntityType.Way, "to"));
+		dataHandler.store(new Relation(new CommonEntityData(20, 1, new Date(), OsmUser.NONE, 0, tags), members));
+		tags = Arrays.asList(new Tag("type", "restriction"), new Tag("restriction", "no_straight_on"));
+		members = Arrays.asList(new RelationMember(11, EntityType.Way, "from"), new RelationMember(12, EntityType.Way, "via"), new RelationMember(15, EntityType.Way, "to"));
+		dataHandler.store(new Relation(new CommonEntityData(21, 1, new Date(), OsmUser.NONE, 0, tags), members));
+		
+		EdgeBasedGraph edgeGraph = EdgeBasedGraph.compile(dataHandler, RoutingGraph.compile(dataHandler));
+		// turning back at 4 is shorter than the detour
+		Assert.assertEquals(Arrays.asList(1L, 2L, 3L, 4L), EdgeBasedGraphTest.getPathIds(dataHandler, edgeGraph, 1, 6));
+		// the second restriction applies on the duplicates of the first one, too
+		Assert.assertEquals(Arrays.asList(1L, 5L, 4L), EdgeBasedGraphTest.getPathIds(dataHandler, edgeGraph, 1, 7));
+		// turning back at 6 leaves the via way before
+		Assert.assertEquals(Arrays.asList(2L, 3L, 6L, 4L), EdgeBasedGraphTest.getPathIds(dataHandler, edgeGraph, 2, 7));
+		Assert.assertEquals(Arrays.asList(1L, 2L, 3L), EdgeBasedGraphTest.getPathIds(dataHandler, edgeGraph, 1, 4));
+	}
+	
+	/**
+	 * Test method for {@link EdgeBasedGraph#compile(DataHandler, RoutingGraph)}
+	 * with a restriction {@link Relation} without a restriction {@link Tag}
+	 * and a {@link Relation} without a type, which have to be ignored.
+	 * 
+	 * @throws Exception if the calculation failed
+	 */
+	@Test
+	public void testCompileWithoutRestrictionTag()
+	throws Exception
+	{
+		DataHandler dataHandler = EdgeBasedGraphTest.createDataHandler(null);
+		List<Tag> tags = Arrays.asList(new Tag("type", "restriction"));
+		List<RelationMember> members = Arrays.asList(new RelationMember(10, EntityType.Way, "from"), new RelationMember(2, EntityType.Node, "via"), new RelationMember(11, EntityType.Way, "to"));
+		dataHandler.store(new Relation(new CommonEntityData(20, 1, new Date(), OsmUser.NONE, 0, tags), members));
+		// a relation without any type, e.g. an untyped multipolygon
+		dataHandler.store(new Relation(new CommonEntityData(21, 1, new Date(), OsmUser.NONE, 0), members));
+		
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		EdgeBasedGraph edgeGraph = EdgeBasedGraph.compile(dataHandler, graph);
+		Assert.assertEquals(graph.getEdgeCount(), edgeGraph.getStateCount());
+		Assert.assertEquals(Arrays.asList(1L, 2L, 3L), EdgeBasedGraphTest.getPathIds(dataHandler, edgeGraph, 1, 4));
+	}
+	
+	/**
+	 * Test method for {@link Route#calc()} on an {@link EdgeBasedGraph}
+	 * without restrictions, which has to find paths as long as the ones on the
+	 * {@link RoutingGraph}.
+	 * 
+	 * @throws Exception if the calculation failed
+	 */
+	@Test
+	public void testRoute()
+	throws Exception
+	{
+		DataHandler dataHandler = RoutingGraphTest.createGrid(8, 3);
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		EdgeBasedGraph edgeGraph = EdgeBasedGraph.compile(dataHandler, graph);
+		
+		for (long destId : new long[] {1, 8, 29, 57, 64})
+		{
+			Route nodeRoute = new Route(dataHandler, graph, dataHandler.getNode(10), dataHandler.getNode(destId));
+			Route edgeRoute = new Route(dataHandler, edgeGraph, dataHandler.getNode(10), dataHandler.getNode(destId));
+			Assert.assertEquals(nodeRoute.calc(), edgeRoute.calc());
+			Assert.assertEquals(nodeRoute.getLength(), edgeRoute.getLength(), 0.1);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+package me.chrisswr1.parroute.graph;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.entities.ModeOfTransport;
+
+/**
+ * tests methods of {@link GraphSnapshot}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class GraphSnapshotTest
+{
+	/**
+	 * checks if two {@link RoutingGraph}s are equal
+	 * 
+	 * @param expected the expected {@link RoutingGraph}
+	 * @param actual the {@link RoutingGraph} to check
+	 */
+	private static void assertGraphEquals(RoutingGraph expected, RoutingGraph actual)
+	{
+		int nodeCount = expected.getNodeCount();
+		Assert.assertEquals(nodeCount, actual.getNodeCount());
+		Assert.assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+		Assert.assertEquals(expected.getWayCount(), actual.getWayCount());
+		Assert.assertEquals(expected.getRestrictionCount(), actual.getRestrictionCount());
+		
+		for (int node = 0; node < nodeCount; node++)
+		{
+			long id = expected.getNodeId(node);
+			Assert.assertEquals(id, actual.getNodeId(node));
+			Assert.assertEquals(node, actual.indexOf(id));
+			Assert.assertEquals(expected.getCoordinates().getLatitude(node), actual.getCoordinates().getLatitude(node), 0);
+			Assert.assertEquals(expected.getCoordinates().getLongitude(node), actual.getCoordinates().getLongitude(node), 0);
+			Assert.assertEquals(expected.getFirstEdge(node), actual.getFirstEdge(node));
+			Assert.assertEquals(expected.getFirstRestriction(node), actual.getFirstRestriction(node));
+		}
+		for (int edge = 0; edge < expected.getEdgeCount(); edge++)
+		{
+			Assert.assertEquals(expected.getTarget(edge), actual.getTarget(edge));
+			Assert.assertEquals(expected.getWeight(edge), actual.getWeight(edge), 0);
+			Assert.assertEquals(expected.getFlags(edge), actual.getFlags(edge));
+			Assert.assertEquals(expected.getWay(edge), actual.getWay(edge));
+		}
+		for (int way = 0; way < expected.getWayCount(); way++)
+		{
+			Assert.assertEquals(expected.getWayId(way), actual.getWayId(way));
+		}
+		for (int restriction = 0; restriction < expected.getRestrictionCount(); restriction++)
+		{
+			Assert.assertEquals(expected.getRestrictionFrom(restriction), actual.getRestrictionFrom(restriction));
+			Assert.assertEquals(expected.getRestrictionTo(restriction), actual.getRestrictionTo(restriction));
+			Assert.assertEquals(expected.isRestrictionOnly(restriction), actual.isRestrictionOnly(restriction));
+		}
+	}
+	
+	/**
+	 * Test method for {@link GraphSnapshot#write(RoutingGraph, File)} and
+	 * {@link GraphSnapshot#load(File)}.
+	 * 
+	 * @throws Exception if the snapshot couldn't be written or loaded
+	 */
+	@Test
+	public void testWriteAndLoad()
+	throws Exception
+	{
+		File file = File.createTempFile("parroute-test", ".graph");
+		file.deleteOnExit();
+		
+		DataHandler dataHandler = RoutingGraphTest.createDataHandler(true);
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		Assert.assertTrue(graph.getRestrictionCount() > 0);
+		GraphSnapshot.write(graph, file);
+		GraphSnapshotTest.assertGraphEquals(graph, GraphSnapshot.load(file));
+		
+		graph = RoutingGraph.compile(RoutingGraphTest.createGrid(12, 42));
+		GraphSnapshot.write(graph, file);
+		GraphSnapshotTest.assertGraphEquals(graph, GraphSnapshot.load(file));
+	}
+	
+	/**
+	 * Test method for {@link GraphSnapshot#write(RoutingGraph, File)} and
+	 * {@link GraphSnapshot#load(File, List)} with {@link RoutingProfile}s.
+	 * 
+	 * @throws Exception if the snapshot couldn't be written or loaded
+	 */
+	@Test
+	public void testWriteAndLoadProfiles()
+	throws Exception
+	{
+		File file = File.createTempFile("parroute-test", ".graph");
+		file.deleteOnExit();
+		
+		List<RoutingProfile> profiles = Arrays.asList(new RoutingProfile(ModeOfTransport.MOTORCAR), new RoutingProfile(ModeOfTransport.FOOT));
+		DataHandler dataHandler = RoutingGraphTest.createDataHandler(true);
+		dataHandler.setProfiles(profiles);
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		GraphSnapshot.write(graph, file);
+		
+		RoutingGraph loaded = GraphSnapshot.load(file, profiles);
+		GraphSnapshotTest.assertGraphEquals(graph, loaded);
+		Assert.assertEquals(profiles, loaded.getProfiles());
+		for (RoutingProfile profile : profiles)
+		{
+			GraphSnapshotTest.assertGraphEquals(graph.getProfileGraph(profile), loaded.getProfileGraph(profile));
+		}
+		
+		Assert.assertTrue(GraphSnapshot.load(file).getProfiles().isEmpty());
+		
+		try
+		{
+			GraphSnapshot.load(file, Arrays.asList(profiles.get(1), profiles.get(0)));
+			Assert.fail("Swapped routing profiles were accepted!");
+		}
+		catch (IllegalArgumentException e)
+		{
+		}
+		
+		try
+		{
+			GraphSnapshot.write(graph.getProfileGraph(profiles.get(0)), file);
+			Assert.fail("The view of a routing profile was written!");
+		}
+		catch (IllegalArgumentException e)
+		{
+		}
+	}
+	
+	/**
+	 * Test method for {@link GraphSnapshot#load(File)} with a truncated file.
+	 * 
+	 * @throws Exception if the snapshot couldn't be written
+	 */
+	@Test(expected = IOException.class)
+	public void testLoadTruncated()
+	throws Exception
+	{
+		File file = File.createTempFile("parroute-test", ".graph");
+		file.deleteOnExit();
+		
+		GraphSnapshot.write(RoutingGraph.compile(RoutingGraphTest.createGrid(4, 42)), file);
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+		{
+			raf.setLength(raf.length() - 1);
+		}
+		
+		GraphSnapshot.load(file);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,255 @@
+package me.chrisswr1.parroute.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openstreetmap.osmosis.core.domain.v0_6.CommonEntityData;
+import org.openstreetmap.osmosis.core.domain.v0_6.EntityType;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+import org.openstreetmap.osmosis.core.domain.v0_6.OsmUser;
+import org.openstreetmap.osmosis.core.domain.v0_6.Relation;
+import org.openstreetmap.osmosis.core.domain.v0_6.RelationMember;
+import org.openstreetmap.osmosis.core.domain.v0_6.Tag;
+import org.openstreetmap.osmosis.core.domain.v0_6.Way;
+import org.openstreetmap.osmosis.core.domain.v0_6.WayNode;
+
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.io.DataReceiver;
+import me.chrisswr1.parroute.route.Route;
+
+/**
+ * tests methods of {@link RoutingGraph}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class RoutingGraphTest
+{
+	/**
+	 * creates a {@link DataHandler} with four {@link Node}s, which are
+	 * connected by a two-way {@link Way} 1-2-3, a oneway {@link Way} 4-3 and a
+	 * two-way {@link Way} 1-4<br>
+	 * The shortest path from 1 to 3 leads over 4.
+	 * 
+	 * @param restricted should a straight on from {@link Way} 1-4 into
+	 *            {@link Way} 4-3 be forbidden?
+	 * @return the filled {@link DataHandler}
+	 */
+	public static DataHandler createDataHandler(boolean restricted)
+	{
+		DataReceiver receiver = Mockito.mock(DataReceiver.class);
+		Mockito.when(receiver.isAllStored()).thenReturn(true);
+		
+		DataHandler res = new DataHandler(receiver);
+		res.store(RoutingGraphTest.createNode(1, 0, 0));
+		res.store(RoutingGraphTest.createNode(2, -0.001, 0.001));
+		res.store(RoutingGraphTest.createNode(3, 0.001, 0.002));
+		res.store(RoutingGraphTest.createNode(4, 0.001, 0));
+		
+		res.store(RoutingGraphTest.createWay(10, Collections.<Tag> emptyList(), 1, 2, 3));
+		res.store(RoutingGraphTest.createWay(11, Arrays.asList(new Tag("oneway", "yes")), 4, 3));
+		res.store(RoutingGraphTest.createWay(12, Collections.<Tag> emptyList(), 1, 4));
+		
+		if (restricted)
+		{
+			List<Tag> tags = Arrays.asList(new Tag("type", "restriction"), new Tag("restriction", "no_straight_on"));
+			List<RelationMember> members = Arrays.asList(new RelationMember(12, EntityType.Way, "from"), new RelationMember(4, EntityType.Node, "via"), new RelationMember(11, EntityType.Way, "to"));
+			res.store(new Relation(new CommonEntityData(20, 1, new Date(), OsmUser.NONE, 0, tags), members));
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * creates a {@link DataHandler} with a grid of {@link Node}s with jittered
+	 * coordinates, which are connected by a {@link Way} per row and column
+	 * <br>
+	 * Every third {@link Way} is a oneway. The ids of the {@link Node}s are
+	 * <code>1</code> up to <code>size * size</code>.
+	 * 
+	 * @param size the count of rows and columns
+	 * @param seed the seed of the jitter
+	 * @return the filled {@link DataHandler}
+	 */
+	public static DataHandler createGrid(int size, long seed)
+	{
+		DataReceiver receiver = Mockito.mock(DataReceiver.class);
+		Mockito.when(receiver.isAllStored()).thenReturn(true);
+		
+		DataHandler res = new DataHandler(receiver);
+		Random random = new Random(seed);
+		for (int row = 0; row < size; row++)
+		{
+			for (int col = 0; col < size; col++)
+			{
+				double lat = 51.9 + row * 0.001 + random.nextDouble() * 0.0006;
+				double lon = 7.6 + col * 0.0015 + random.nextDouble() * 0.0009;
+				res.store(RoutingGraphTest.createNode(row * size + col + 1, lat, lon));
+			}
+		}
+		
+		long wayId = 1;
+		for (int line = 0; line < size; line++)
+		{
+			long[] rowNodes = new long[size];
+			long[] colNodes = new long[size];
+			for (int i = 0; i < size; i++)
+			{
+				rowNodes[i] = line * size + i + 1;
+				colNodes[i] = i * size + line + 1;
+			}
+			
+			List<Tag> tags = line % 3 == 1 ? Arrays.asList(new Tag("oneway", line % 2 == 0 ? "yes" : "-1")) : Collections.<Tag> emptyList();
+			res.store(RoutingGraphTest.createWay(wayId++, tags, rowNodes));
+			res.store(RoutingGraphTest.createWay(wayId++, tags, colNodes));
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * creates a {@link Node}
+	 * 
+	 * @param id the id of the {@link Node}
+	 * @param lat the latitude of the {@link Node}
+	 * @param lon the longitude of the {@link Node}
+	 * @return the new {@link Node}
+	 */
+	public static Node createNode(long id, double lat, double lon)
+	{
+		return new Node(new CommonEntityData(id, 1, new Date(), OsmUser.NONE, 0), lat, lon);
+	}
+	
+	/**
+	 * creates a {@link Way}
+	 * 
+	 * @param id the id of the {@link Way}
+	 * @param tags the {@link Tag}s of the {@link Way}
+	 * @param nodeIds the ids of the {@link Node}s of the {@link Way}
+	 * @return the new {@link Way}
+	 */
+	public static Way createWay(long id, List<Tag> tags, long... nodeIds)
+	{
+		List<WayNode> wayNodes = new ArrayList<>();
+		for (long nodeId : nodeIds)
+		{
+			wayNodes.add(new WayNode(nodeId));
+		}
+		
+		return new Way(new CommonEntityData(id, 1, new Date(), OsmUser.NONE, 0, tags), wayNodes);
+	}
+	
+	/**
+	 * gives the ids of the path of a calculated {@link Route}
+	 * 
+	 * @param route the calculated {@link Route}
+	 * @return the ids of {@link Route#getPath()}
+	 */
+	public static List<Long> getPathIds(Route route)
+	{
+		List<Long> res = new ArrayList<>();
+		for (Node node : route.getPath())
+		{
+			res.add(node.getId());
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * Test method for {@link RoutingGraph#compile(DataHandler)}.
+	 */
+	@Test
+	public void testCompile()
+	{
+		RoutingGraph graph = RoutingGraph.compile(RoutingGraphTest.createDataHandler(false));
+		
+		Assert.assertEquals(4, graph.getNodeCount());
+		Assert.assertEquals(8, graph.getEdgeCount());
+		
+		int node4 = graph.indexOf(4);
+		int node3 = graph.indexOf(3);
+		int end = graph.getFirstEdge(node4 + 1);
+		boolean found = false;
+		for (int edge = graph.getFirstEdge(node4); edge < end; edge++)
+		{
+			if (graph.getTarget(edge) == node3)
+			{
+				Assert.assertTrue(graph.isForward(edge));
+				Assert.assertFalse(graph.isBackward(edge));
+				Assert.assertEquals(11, graph.getWayId(graph.getWay(edge)));
+				Assert.assertTrue(graph.getWeight(edge) > 0);
+				found = true;
+			}
+		}
+		Assert.assertTrue(found);
+	}
+	
+	/**
+	 * Test method for {@link Route#calc()} on a {@link RoutingGraph}.
+	 * 
+	 * @throws Exception if the calculation failed
+	 */
+	@Test
+	public void testRoute()
+	throws Exception
+	{
+		DataHandler dataHandler = RoutingGraphTest.createDataHandler(false);
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		
+		Route route = new Route(dataHandler, graph, dataHandler.getNode(1), dataHandler.getNode(3));
+		Assert.assertTrue(route.calc());
+		Assert.assertEquals(Arrays.asList(1L, 4L), RoutingGraphTest.getPathIds(route));
+		
+		route = new Route(dataHandler, graph, dataHandler.getNode(3), dataHandler.getNode(1));
+		Assert.assertTrue(route.calc());
+		Assert.assertEquals(Arrays.asList(3L, 2L), RoutingGraphTest.getPathIds(route));
+	}
+	
+	/**
+	 * Test method for {@link RoutingGraph#isTurnAllowed(int, int, int)}.
+	 * 
+	 * @throws Exception if the calculation failed
+	 */
+	@Test
+	public void testTurnRestriction()
+	throws Exception
+	{
+		DataHandler dataHandler = RoutingGraphTest.createDataHandler(true);
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		
+		Route route = new Route(dataHandler, graph, dataHandler.getNode(1), dataHandler.getNode(3));
+		Assert.assertTrue(route.calc());
+		Assert.assertEquals(Arrays.asList(1L, 2L), RoutingGraphTest.getPathIds(route));
+	}
+	
+	/**
+	 * Test method for {@link RoutingGraph#compile(DataHandler)} with a
+	 * restriction {@link Relation} without a restriction {@link Tag} and a
+	 * {@link Relation} without a type, which have to be ignored.
+	 * 
+	 * @throws Exception if the calculation failed
+	 */
+	@Test
+	public void testCompileInvalidRestrictions()
+	throws Exception
+	{
+		DataHandler dataHandler = RoutingGraphTest.createDataHandler(false);
+		List<RelationMember> members = Arrays.asList(new RelationMember(12, EntityType.Way, "from"), new RelationMember(4, EntityType.Node, "via"), new RelationMember(11, EntityType.Way, "to"));
+		dataHandler.store(new Relation(new CommonEntityData(20, 1, new Date(), OsmUser.NONE, 0, Arrays.asList(new Tag("type", "restriction"))), members));
+		dataHandler.store(new Relation(new CommonEntityData(21, 1, new Date(), OsmUser.NONE, 0), members));
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		
+		Route route = new Route(dataHandler, graph, dataHandler.getNode(1), dataHandler.getNode(3));
+		Assert.assertTrue(route.calc());
+		Assert.assertEquals(Arrays.asList(1L, 4L), RoutingGraphTest.getPathIds(route));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package me.chrisswr1.parroute.graph;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openstreetmap.osmosis.core.domain.v0_6.Tag;
+import org.openstreetmap.osmosis.core.domain.v0_6.Way;
+
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.entities.ModeOfTransport;
+import me.chrisswr1.parroute.io.DataReceiver;
+import me.chrisswr1.parroute.route.Route;
+
+/**
+ * tests methods of {@link RoutingProfile}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class RoutingProfileTest
+{
+	/**
+	 * Test method for {@link RoutingProfile#evaluate(Way)}.
+	 */
+	@Test
+	public void testEvaluate()
+	{
+		RoutingProfile car = new RoutingProfile(ModeOfTransport.MOTORCAR);
+		RoutingProfile bicycle = new RoutingProfile(ModeOfTransport.BICYCLE);
+		RoutingProfile foot = new RoutingProfile(ModeOfTransport.FOOT);
+		
+		Way oneway = RoutingGraphTest.createWay(1, Arrays.asList(new Tag("highway", "residential"), new Tag("oneway", "yes"), new Tag("oneway:bicycle", "no")), 1, 2);
+		Assert.assertEquals(RoutingGraph.FORWARD, RoutingProfile.getFlags(car.evaluate(oneway)));
+		Assert.assertEquals(30, RoutingProfile.getSpeed(car.evaluate(oneway)));
+		Assert.assertEquals(RoutingGraph.FORWARD | RoutingGraph.BACKWARD, RoutingProfile.getFlags(bicycle.evaluate(oneway)));
+		Assert.assertEquals(RoutingGraph.FORWARD | RoutingGraph.BACKWARD, RoutingProfile.getFlags(foot.evaluate(oneway)));
+		
+		Way footway = RoutingGraphTest.createWay(2, Arrays.asList(new Tag("highway", "footway")), 1, 2);
+		Assert.assertEquals(0, car.evaluate(footway));
+		Assert.assertEquals(0, bicycle.evaluate(footway));
+		Assert.assertEquals(5, RoutingProfile.getSpeed(foot.evaluate(footway)));
+		
+		Way primary = RoutingGraphTest.createWay(3, Arrays.asList(new Tag("highway", "primary"), new Tag("maxspeed", "30 mph"), new Tag("junction", "roundabout")), 1, 2);
+		Assert.assertEquals(48, RoutingProfile.getSpeed(car.evaluate(primary)));
+		Assert.assertEquals(RoutingGraph.FORWARD, RoutingProfile.getFlags(car.evaluate(primary)));
+		Assert.assertEquals(15, RoutingProfile.getSpeed(bicycle.evaluate(primary)));
+		
+		Way secondary = RoutingGraphTest.createWay(4, Arrays.asList(new Tag("highway", "secondary"), new Tag("maxspeed:hgv", "30"), new Tag("junction:ref", "roundabout")), 1, 2);
+		Assert.assertEquals(RoutingProfile.getSpeed(car.evaluate(RoutingGraphTest.createWay(5, Arrays.asList(new Tag("highway", "secondary")), 1, 2))), RoutingProfile.getSpeed(car.evaluate(secondary)));
+		Assert.assertEquals(RoutingGraph.FORWARD | RoutingGraph.BACKWARD, RoutingProfile.getFlags(car.evaluate(secondary)));
+		
+		Assert.assertEquals(-1, RoutingProfile.parseMaxSpeed("DE:urban"));
+		Assert.assertEquals(-1, RoutingProfile.parseMaxSpeed(null));
+		Assert.assertEquals(50, RoutingProfile.parseMaxSpeed(" 50 km/h"));
+	}
+	
+	/**
+	 * Test method for {@link RoutingGraph#getProfileGraph(RoutingProfile)},
+	 * which has to let a car use a longer but faster road, while a pedestrian
+	 * takes the shorter footway.
+	 * 
+	 * @throws Exception if the calculation failed
+	 */
+	@Test
+	public void testProfileGraph()
+	throws Exception
+	{
+		RoutingProfile car = new RoutingProfile(ModeOfTransport.MOTORCAR);
+		RoutingProfile foot = new RoutingProfile(ModeOfTransport.FOOT);
+		
+		DataReceiver receiver = Mockito.mock(DataReceiver.class);
+		Mockito.when(receiver.isAllStored()).thenReturn(true);
+		DataHandler dataHandler = new DataHandler(receiver);
+		dataHandler.store(RoutingGraphTest.createNode(1, 0, 0));
+		dataHandler.store(RoutingGraphTest.createNode(2, 0, 0.01));
+		dataHandler.store(RoutingGraphTest.createNode(3, 0.004, 0.005));
+		dataHandler.store(RoutingGraphTest.createNode(4, 0.0001, 0.005));
+		dataHandler.store(RoutingGraphTest.createWay(10, Arrays.asList(new Tag("highway", "trunk")), 1, 3, 2));
+		dataHandler.setProfiles(Arrays.asList(car, foot));
+		dataHandler.store(RoutingGraphTest.createWay(11, Arrays.asList(new Tag("highway", "residential"), new Tag("maxspeed", "10")), 1, 4, 2));
+		dataHandler.store(RoutingGraphTest.createWay(12, Arrays.asList(new Tag("highway", "trunk"), new Tag("oneway", "-1")), 3, 4));
+		
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		Assert.assertEquals(Arrays.asList(car, foot), graph.getProfiles());
+		Assert.assertNull(graph.getProfile());
+		
+		List<Long> shortest = RoutingGraphTest.getPathIds(RoutingProfileTest.calc(dataHandler, graph, 1, 2));
+		Assert.assertEquals(Arrays.asList(1L, 4L), shortest);
+		
+		RoutingGraph carGraph = graph.getProfileGraph(car);
+		Assert.assertSame(car, carGraph.getProfile());
+		Assert.assertEquals(graph.getEdgeCount(), carGraph.getEdgeCount());
+		Assert.assertEquals(Arrays.asList(1L, 3L), RoutingGraphTest.getPathIds(RoutingProfileTest.calc(dataHandler, carGraph, 1, 2)));
+		// the way 3-4 is a oneway against its direction, which only applies to vehicles
+		Assert.assertEquals(Arrays.asList(4L), RoutingGraphTest.getPathIds(RoutingProfileTest.calc(dataHandler, carGraph, 4, 3)));
+		Assert.assertEquals(2, RoutingGraphTest.getPathIds(RoutingProfileTest.calc(dataHandler, carGraph, 3, 4)).size());
+		
+		RoutingGraph footGraph = graph.getProfileGraph(foot);
+		Assert.assertEquals(shortest, RoutingGraphTest.getPathIds(RoutingProfileTest.calc(dataHandler, footGraph, 1, 2)));
+		Assert.assertEquals(Collections.<Long> emptyList(), RoutingGraphTest.getPathIds(RoutingProfileTest.calc(dataHandler, footGraph, 3, 3)));
+		Assert.assertEquals(Arrays.asList(3L), RoutingGraphTest.getPathIds(RoutingProfileTest.calc(dataHandler, footGraph, 3, 4)));
+		
+		try
+		{
+			carGraph.getProfileGraph(new RoutingProfile(ModeOfTransport.BICYCLE));
+			Assert.fail("An unknown profile has to be rejected!");
+		}
+		catch (IllegalArgumentException e)
+		{
+		}
+	}
+	
+	/**
+	 * calculates a {@link Route} on a {@link RoutingGraph}
+	 * 
+	 * @param dataHandler the {@link DataHandler}, which contains the
+	 *            {@link org.openstreetmap.osmosis.core.domain.v0_6.Node}s
+	 * @param graph the {@link RoutingGraph} to search on
+	 * @param startId the id of the start
+	 * @param destId the id of the destination
+	 * @return the calculated {@link Route}
+	 * @throws Exception if the calculation failed
+	 */
+	private static Route calc(DataHandler dataHandler, RoutingGraph graph, long startId, long destId)
+	throws Exception
+	{
+		Route route = new Route(dataHandler, graph, dataHandler.getNode(startId), dataHandler.getNode(destId));
+		Assert.assertTrue(route.calc());
+		
+		return route;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package me.chrisswr1.parroute.io;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openstreetmap.osmosis.core.domain.v0_6.CommonEntityData;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+import org.openstreetmap.osmosis.core.domain.v0_6.OsmUser;
+
+/**
+ * tests methods of {@link AsyncReceiverAdapter}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class AsyncReceiverAdapterTest
+{
+	/**
+	 * the {@link ScheduledExecutorService}, which runs the requests
+	 * 
+	 * @since 0.0.1
+	 */
+	private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+	
+	/**
+	 * shuts the {@link ScheduledExecutorService} down
+	 * 
+	 * @since 0.0.1
+	 */
+	@After
+	public void tearDown()
+	{
+		this.executor.shutdownNow();
+	}
+	
+	/**
+	 * Test method for {@link AsyncReceiverAdapter#getNode(long)}, which has to
+	 * schedule a new attempt after a {@link RetryableException}.
+	 * 
+	 * @throws Exception if the request failed
+	 */
+	@Test
+	public void testGetNode()
+	throws Exception
+	{
+		Node node = new Node(new CommonEntityData(1, 1, new Date(), OsmUser.NONE, 0), 50, 7);
+		
+		DataReceiver receiver = Mockito.mock(DataReceiver.class);
+		Mockito.when(receiver.getNode(1)).thenThrow(new RetryableException("busy", 0)).thenReturn(node);
+		
+		AsyncReceiverAdapter adapter = new AsyncReceiverAdapter(receiver, this.executor, new RetryPolicy(2, 1, 0, 0));
+		Future<Node> future = adapter.getNode(1);
+		
+		Assert.assertSame(node, AsyncReceiverAdapter.getResult(future));
+		Mockito.verify(receiver, Mockito.times(2)).getNode(1);
+	}
+	
+	/**
+	 * Test method for {@link AsyncReceiverAdapter#getNode(long)}, which has to
+	 * fail without a retry on a permanent error or after the last attempt.
+	 * 
+	 * @throws Exception if the request failed unexpectedly
+	 */
+	@Test
+	public void testGetNodeFailed()
+	throws Exception
+	{
+		IOException error = new IOException("invalid");
+		RetryableException busy = new RetryableException("busy", 0);
+		
+		DataReceiver receiver = Mockito.mock(DataReceiver.class);
+		Mockito.when(receiver.getNode(1)).thenThrow(error);
+		Mockito.when(receiver.getNode(2)).thenThrow(busy);
+		
+		AsyncReceiverAdapter adapter = new AsyncReceiverAdapter(receiver, this.executor, new RetryPolicy(3, 1, 0, 0));
+		
+		try
+		{
+			adapter.getNode(1).get();
+			Assert.fail("The request has to fail!");
+		}
+		catch (ExecutionException e)
+		{
+			Assert.assertSame(error, e.getCause());
+		}
+		
+		try
+		{
+			AsyncReceiverAdapter.getResult(adapter.getNode(2));
+			Assert.fail("The request has to fail!");
+		}
+		catch (RetryableException e)
+		{
+			Assert.assertSame(busy, e);
+		}
+		
+		Mockito.verify(receiver, Mockito.times(1)).getNode(1);
+		Mockito.verify(receiver, Mockito.times(3)).getNode(2);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,172 @@
+package me.chrisswr1.parroute.io;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openstreetmap.osmosis.core.domain.v0_6.CommonEntityData;
+import org.openstreetmap.osmosis.core.domain.v0_6.Entity;
+import org.openstreetmap.osmosis.core.domain.v0_6.EntityType;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+import org.openstreetmap.osmosis.core.domain.v0_6.OsmUser;
+import org.openstreetmap.osmosis.core.domain.v0_6.Relation;
+import org.openstreetmap.osmosis.core.domain.v0_6.RelationMember;
+import org.openstreetmap.osmosis.core.domain.v0_6.Tag;
+import org.openstreetmap.osmosis.core.domain.v0_6.Way;
+import org.openstreetmap.osmosis.core.domain.v0_6.WayNode;
+
+/**
+ * tests methods of {@link EntityCache}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class EntityCacheTest
+{
+	/**
+	 * the temporary directories of the caches
+	 * 
+	 * @since 0.0.1
+	 */
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+	
+	/**
+	 * creates {@link Entity}s of every type
+	 * 
+	 * @since 0.0.1
+	 * 
+	 * @return a {@link Node}, a {@link Way} and a {@link Relation}
+	 */
+	private static List<Entity> createEntities()
+	{
+		CommonEntityData nodeData = new CommonEntityData(-5, 2, new Date(1000000), new OsmUser(42, "mapper"), 7);
+		nodeData.getTags().add(new Tag("highway", "traffic_signals"));
+		Node node = new Node(nodeData, 50.1234567, -7.7654321);
+		
+		CommonEntityData wayData = new CommonEntityData(3, 1, new Date(2000000), OsmUser.NONE, 0);
+		wayData.getTags().add(new Tag("name", "Straße \"A\""));
+		Way way = new Way(wayData, Arrays.asList(new WayNode(1000000000L), new WayNode(5), new WayNode(-5)));
+		
+		CommonEntityData relData = new CommonEntityData(9, 1, (Date)null, OsmUser.NONE, 0);
+		relData.getTags().add(new Tag("type", "restriction"));
+		Relation rel = new Relation(relData, Arrays.asList(new RelationMember(3, EntityType.Way, "from"), new RelationMember(-5, EntityType.Node, "via")));
+		
+		List<Entity> res = new ArrayList<>();
+		res.add(node);
+		res.add(way);
+		res.add(rel);
+		
+		return res;
+	}
+	
+	/**
+	 * Test method for {@link EntityCache#get(String)}.
+	 * 
+	 * @throws Exception if the cache couldn't be created
+	 */
+	@Test
+	public void testGet()
+	throws Exception
+	{
+		File directory = this.folder.newFolder();
+		List<Entity> entities = EntityCacheTest.createEntities();
+		
+		EntityCache cache = new EntityCache(directory);
+		Assert.assertNull(cache.get("node(1);"));
+		cache.put("node(1);", entities);
+		
+		// a new instance has to find the entries of the directory
+		List<Entity> cached = new EntityCache(directory).get("node(1);");
+		Assert.assertNotNull(cached);
+		Assert.assertEquals(entities.size(), cached.size());
+		
+		Node node = (Node)cached.get(0);
+		Assert.assertEquals(-5, node.getId());
+		Assert.assertEquals(2, node.getVersion());
+		Assert.assertEquals(new Date(1000000), node.getTimestamp());
+		Assert.assertEquals(new OsmUser(42, "mapper"), node.getUser());
+		Assert.assertEquals(7, node.getChangesetId());
+		Assert.assertEquals(50.1234567, node.getLatitude(), 1E-7);
+		Assert.assertEquals(-7.7654321, node.getLongitude(), 1E-7);
+		Tag tag = node.getTags().iterator().next();
+		Assert.assertEquals("highway", tag.getKey());
+		Assert.assertEquals("traffic_signals", tag.getValue());
+		
+		Way way = (Way)cached.get(1);
+		Assert.assertEquals(3, way.getId());
+		Assert.assertEquals(OsmUser.NONE, way.getUser());
+		Assert.assertEquals("Straße \"A\"", way.getTags().iterator().next().getValue());
+		Assert.assertEquals(3, way.getWayNodes().size());
+		Assert.assertEquals(1000000000L, way.getWayNodes().get(0).getNodeId());
+		Assert.assertEquals(5, way.getWayNodes().get(1).getNodeId());
+		Assert.assertEquals(-5, way.getWayNodes().get(2).getNodeId());
+		
+		Relation rel = (Relation)cached.get(2);
+		Assert.assertEquals(9, rel.getId());
+		Assert.assertNull(rel.getTimestamp());
+		Assert.assertEquals(2, rel.getMembers().size());
+		Assert.assertEquals(3, rel.getMembers().get(0).getMemberId());
+		Assert.assertEquals(EntityType.Way, rel.getMembers().get(0).getMemberType());
+		Assert.assertEquals(-5, rel.getMembers().get(1).getMemberId());
+		Assert.assertEquals(EntityType.Node, rel.getMembers().get(1).getMemberType());
+		Assert.assertEquals("via", rel.getMembers().get(1).getMemberRole());
+		
+		// an expired entry has to be removed
+		EntityCache expiredCache = new EntityCache(directory, EntityCache.DEFAULT_MAX_SIZE, 0);
+		Assert.assertNull(expiredCache.get("node(1);"));
+		Assert.assertEquals(0, expiredCache.getSize());
+		Assert.assertEquals(0, directory.listFiles().length);
+	}
+	
+	/**
+	 * Test method for {@link EntityCache#put(String, java.util.Collection)},
+	 * which has to evict the least recently used entry.
+	 * 
+	 * @throws Exception if the cache couldn't be created
+	 */
+	@Test
+	public void testPut()
+	throws Exception
+	{
+		List<Entity> entities = EntityCacheTest.createEntities();
+		
+		EntityCache sizeCache = new EntityCache(this.folder.newFolder());
+		sizeCache.put("a", entities);
+		long entrySize = sizeCache.getSize();
+		Assert.assertTrue(entrySize > 0);
+		
+		File directory = this.folder.newFolder();
+		EntityCache cache = new EntityCache(directory, entrySize * 5 / 2, EntityCache.DEFAULT_TTL);
+		cache.put("a", entities);
+		cache.put("b", entities);
+		Assert.assertNotNull(cache.get("a"));
+		cache.put("c", entities);
+		
+		Assert.assertNotNull(cache.get("a"));
+		Assert.assertNull(cache.get("b"));
+		Assert.assertNotNull(cache.get("c"));
+		
+		// the sizes differ by some bytes, since the creation time is compressed, too
+		File[] files = directory.listFiles();
+		Assert.assertEquals(2, files.length);
+		Assert.assertEquals(files[0].length() + files[1].length(), cache.getSize());
+	}
+	
+	/**
+	 * Test method for {@link EntityCache#normalize(String)}.
+	 */
+	@Test
+	public void testNormalize()
+	{
+		Assert.assertEquals("node(1); <;", EntityCache.normalize("  node(1);\r\n\t <;  "));
+		Assert.assertEquals("way[name=\"A  B\"];", EntityCache.normalize("way[name=\"A  B\"];"));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,224 @@
+package me.chrisswr1.parroute.io;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openstreetmap.osmosis.core.domain.v0_6.Entity;
+import org.openstreetmap.osmosis.core.domain.v0_6.EntityType;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+import org.openstreetmap.osmosis.core.domain.v0_6.Way;
+import org.openstreetmap.osmosis.xml.common.CompressionMethod;
+
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.entities.ModeOfTransport;
+
+/**
+ * tests methods of {@link OsmFileReceiver}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class OsmFileReceiverTest
+{
+	/**
+	 * writes a small OpenStreetMap XML file
+	 * 
+	 * @return the temporary {@link File}
+	 * @throws IOException if the {@link File} couldn't be written
+	 */
+	private static File createFile()
+	throws IOException
+	{
+		File file = File.createTempFile("parroute-test", ".osm");
+		file.deleteOnExit();
+		
+		try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))
+		{
+			writer.write("<?xml version='1.0' encoding='UTF-8'?>\n");
+			writer.write("<osm version='0.6'>\n");
+			for (int id = 1; id <= 5; id++)
+			{
+				writer.write("<node id='" + id + "' version='1' timestamp='2016-01-01T00:00:00Z' lat='50.0' lon='7.00" + id + "'/>\n");
+			}
+			writer.write("<way id='10' version='1' timestamp='2016-01-01T00:00:00Z'><nd ref='1'/><nd ref='2'/><tag k='highway' v='residential'/></way>\n");
+			writer.write("<way id='11' version='1' timestamp='2016-01-01T00:00:00Z'><nd ref='2'/><nd ref='3'/><tag k='highway' v='footway'/></way>\n");
+			writer.write("<way id='12' version='1' timestamp='2016-01-01T00:00:00Z'><nd ref='4'/><nd ref='5'/><nd ref='4'/><tag k='building' v='yes'/></way>\n");
+			writer.write("<relation id='20' version='1' timestamp='2016-01-01T00:00:00Z'><member type='way' ref='10' role='from'/><tag k='type' v='restriction'/></relation>\n");
+			writer.write("<relation id='21' version='1' timestamp='2016-01-01T00:00:00Z'><member type='way' ref='12' role='outer'/><tag k='type' v='multipolygon'/></relation>\n");
+			writer.write("</osm>\n");
+		}
+		
+		return file;
+	}
+	
+	/**
+	 * creates an {@link OsmFileReceiver} with its own {@link DataHandler}
+	 * 
+	 * @param file the {@link File} to read
+	 * @param indexed <code>true</code>, if the {@link OsmFileReceiver} should
+	 *            use indexes
+	 * @return the created {@link OsmFileReceiver}
+	 */
+	private static OsmFileReceiver createReceiver(File file, boolean indexed)
+	{
+		OsmFileReceiver receiver = new OsmFileReceiver(file, OsmFileFormat.XML, CompressionMethod.None, indexed);
+		receiver.setStore(new DataHandler(receiver));
+		
+		return receiver;
+	}
+	
+	/**
+	 * gives the IDs of {@link Entity}s
+	 * 
+	 * @param entities the {@link Entity}s
+	 * @return the IDs of {@code entities}
+	 */
+	private static Set<Long> getIds(Collection<? extends Entity> entities)
+	{
+		Set<Long> res = new HashSet<>();
+		for (Entity entity : entities)
+		{
+			res.add(entity.getId());
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * Test method for
+	 * {@link OsmFileReceiver#storeRoutable(RoutableFilter)}.
+	 * 
+	 * @throws Exception if the test file couldn't be written or read
+	 */
+	@Test
+	public void testStoreRoutable()
+	throws Exception
+	{
+		File file = OsmFileReceiverTest.createFile();
+		
+		OsmFileReceiver receiver = new OsmFileReceiver(file, OsmFileFormat.XML, CompressionMethod.None);
+		DataHandler dataHandler = new DataHandler(receiver);
+		receiver.setStore(dataHandler);
+		receiver.storeRoutable(new RoutableFilter(ModeOfTransport.MOTORCAR));
+		
+		Assert.assertTrue(receiver.isAllStored());
+		Assert.assertNotNull(dataHandler.getWay(10));
+		Assert.assertNull(dataHandler.getWay(11));
+		Assert.assertNull(dataHandler.getWay(12));
+		Assert.assertNotNull(dataHandler.getRel(20));
+		Assert.assertNull(dataHandler.getRel(21));
+		Assert.assertNotNull(dataHandler.getNode(1));
+		Assert.assertNotNull(dataHandler.getNode(2));
+		Assert.assertNull(dataHandler.getNode(3));
+		Assert.assertNull(dataHandler.getNode(4));
+	}
+	
+	/**
+	 * Test method for {@link OsmFileReceiver#getWaysOf(long[])} without
+	 * indexes, which has to stream the {@link java.io.File} into the
+	 * {@link DataHandler}.
+	 * 
+	 * @throws Exception if the test file couldn't be written or read
+	 */
+	@Test
+	public void testGetWaysOf()
+	throws Exception
+	{
+		OsmFileReceiver receiver = new OsmFileReceiver(OsmFileReceiverTest.createFile(), OsmFileFormat.XML, CompressionMethod.None);
+		DataHandler dataHandler = new DataHandler(receiver);
+		receiver.setStore(dataHandler);
+		
+		Set<Long> wayIds = new HashSet<>();
+		for (Way way : receiver.getWaysOf(new long[] {2}))
+		{
+			wayIds.add(way.getId());
+		}
+		
+		Assert.assertEquals(2, wayIds.size());
+		Assert.assertTrue(wayIds.contains(10L));
+		Assert.assertTrue(wayIds.contains(11L));
+		
+		Assert.assertTrue(receiver.isAllStored());
+		Assert.assertNotNull(dataHandler.getNode(5));
+		Assert.assertNotNull(dataHandler.getWay(12));
+		Assert.assertNotNull(dataHandler.getRel(21));
+	}
+	
+	/**
+	 * Test method for
+	 * {@link OsmFileReceiver#OsmFileReceiver(File, OsmFileFormat, CompressionMethod, boolean)},
+	 * which has to give the same results with and without indexes.
+	 * 
+	 * @throws Exception if the test file couldn't be written or read
+	 */
+	@Test
+	public void testIndexed()
+	throws Exception
+	{
+		File file = OsmFileReceiverTest.createFile();
+		OsmFileReceiver streaming = OsmFileReceiverTest.createReceiver(file, false);
+		OsmFileReceiver indexed = OsmFileReceiverTest.createReceiver(file, true);
+		Assert.assertFalse(streaming.isIndexed());
+		Assert.assertTrue(indexed.isIndexed());
+		
+		long[] nodeIds = {1, 2, 3, 99};
+		long[] wayIds = {10, 11, 12, 99};
+		
+		Set<Long> nodes = OsmFileReceiverTest.getIds(streaming.getNodes(nodeIds));
+		Assert.assertEquals(3, nodes.size());
+		Assert.assertEquals(nodes, OsmFileReceiverTest.getIds(indexed.getNodes(nodeIds)));
+		
+		Set<Long> ways = OsmFileReceiverTest.getIds(streaming.getWays(wayIds));
+		Assert.assertEquals(3, ways.size());
+		Assert.assertEquals(ways, OsmFileReceiverTest.getIds(indexed.getWays(wayIds)));
+		
+		for (long nodeId : nodeIds)
+		{
+			Node node = streaming.getNode(nodeId);
+			Assert.assertEquals(node, indexed.getNode(nodeId));
+			
+			if (node != null)
+			{
+				Set<Long> waysOf = OsmFileReceiverTest.getIds(streaming.getWaysOf(node));
+				Assert.assertFalse(waysOf.isEmpty());
+				Assert.assertEquals(waysOf, OsmFileReceiverTest.getIds(indexed.getWaysOf(node)));
+				Assert.assertEquals(OsmFileReceiverTest.getIds(streaming.getRelsOf(node)), OsmFileReceiverTest.getIds(indexed.getRelsOf(node)));
+			}
+		}
+		
+		Set<Long> waysOf = OsmFileReceiverTest.getIds(streaming.getWaysOf(nodeIds));
+		Assert.assertEquals(2, waysOf.size());
+		Assert.assertEquals(waysOf, OsmFileReceiverTest.getIds(indexed.getWaysOf(nodeIds)));
+		
+		for (long wayId : wayIds)
+		{
+			Way way = streaming.getWay(wayId);
+			Assert.assertEquals(way, indexed.getWay(wayId));
+			
+			if (way != null)
+			{
+				Assert.assertEquals(OsmFileReceiverTest.getIds(streaming.getRelsOf(way)), OsmFileReceiverTest.getIds(indexed.getRelsOf(way)));
+			}
+		}
+		
+		Set<Long> relsOf = OsmFileReceiverTest.getIds(streaming.getRelsOf(EntityType.Way, wayIds));
+		Assert.assertEquals(2, relsOf.size());
+		Assert.assertEquals(relsOf, OsmFileReceiverTest.getIds(indexed.getRelsOf(EntityType.Way, wayIds)));
+		Assert.assertTrue(indexed.getRelsOf(EntityType.Node, nodeIds).isEmpty());
+		Assert.assertTrue(streaming.getRelsOf(EntityType.Node, nodeIds).isEmpty());
+		
+		Assert.assertEquals(streaming.getRel(20), indexed.getRel(20));
+		Assert.assertNull(indexed.getRel(99));
+		Assert.assertNull(streaming.getRel(99));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package me.chrisswr1.parroute.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openstreetmap.osmosis.core.domain.v0_6.CommonEntityData;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+import org.openstreetmap.osmosis.core.domain.v0_6.OsmUser;
+import org.openstreetmap.osmosis.core.domain.v0_6.Way;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import me.chrisswr1.parroute.DataHandler;
+
+/**
+ * tests methods of {@link OverpassReceiver}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class OverpassReceiverTest
+{
+	/**
+	 * Test method for {@link OverpassReceiver#getTile(double, double)}.
+	 */
+	@Test
+	public void testGetTile()
+	{
+		OverpassReceiver receiver = new OverpassReceiver();
+		Assert.assertEquals(-1, receiver.getTile(50.5, 7.5));
+		
+		receiver.setTileSize(1);
+		Assert.assertEquals((140L << 32) | 187, receiver.getTile(50.5, 7.5));
+		Assert.assertEquals((140L << 32) | 187, receiver.getTile(50, 7));
+		Assert.assertEquals((89L << 32) | 179, receiver.getTile(-0.5, -0.5));
+		Assert.assertFalse(receiver.isTileLoaded(50.5, 7.5));
+	}	
+	/**
+	 * Test method for {@link OverpassReceiver#getWaysOf(Node)}.
+	 * 
+	 * @throws IOException if the server couldn't be started
+	 */
+	@Test
+	public void testGetWaysOfLoadedTile()
+	throws IOException
+	{
+		final String response = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><osm version=\"0.6\">" + "<node id=\"1\" version=\"1\" timestamp=\"2016-01-01T00:00:00Z\" uid=\"1\" user=\"test\" changeset=\"1\" lat=\"50.5\" lon=\"7.5\"/>" + "<node id=\"2\" version=\"1\" timestamp=\"2016-01-01T00:00:00Z\" uid=\"1\" user=\"test\" changeset=\"1\" lat=\"50.6\" lon=\"7.6\"/>" + "<way id=\"10\" version=\"1\" timestamp=\"2016-01-01T00:00:00Z\" uid=\"1\" user=\"test\" changeset=\"1\"><nd ref=\"1\"/><nd ref=\"2\"/><tag k=\"highway\" v=\"residential\"/></way>" + "</osm>";
+		final AtomicInteger requests = new AtomicInteger();
+		
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/api/", new HttpHandler()
+		{
+			@Override
+			public void handle(HttpExchange exchange)
+			throws IOException
+			{
+				requests.incrementAndGet();
+				
+				byte[] body = response.getBytes(StandardCharsets.UTF_8);
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream os = exchange.getResponseBody())
+				{
+					os.write(body);
+				}
+			}
+		});
+		server.start();
+		
+		try
+		{
+			OverpassReceiver receiver = new OverpassReceiver(new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/api/"));
+			receiver.setStore(new DataHandler(receiver));
+			receiver.setTileSize(1);
+			
+			Node node1 = new Node(new CommonEntityData(1, 1, new Date(), OsmUser.NONE, 0), 50.5, 7.5);
+			Node node2 = new Node(new CommonEntityData(2, 1, new Date(), OsmUser.NONE, 0), 50.6, 7.6);
+			
+			Set<Way> ways = receiver.getWaysOf(node1);
+			Assert.assertEquals(1, ways.size());
+			Assert.assertEquals(10, ways.iterator().next().getId());
+			Assert.assertEquals(1, requests.get());
+			Assert.assertTrue(receiver.isTileLoaded(50.6, 7.6));
+			
+			// answered from the already loaded tile
+			ways = receiver.getWaysOf(node2);
+			Assert.assertEquals(1, ways.size());
+			Assert.assertEquals(10, ways.iterator().next().getId());
+			Assert.assertEquals(1, requests.get());
+		}
+		finally
+		{
+			server.stop(0);
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package me.chrisswr1.parroute.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openstreetmap.osmosis.core.container.v0_6.EntityContainer;
+import org.openstreetmap.osmosis.core.container.v0_6.NodeContainer;
+import org.openstreetmap.osmosis.core.container.v0_6.WayContainer;
+import org.openstreetmap.osmosis.core.domain.v0_6.CommonEntityData;
+import org.openstreetmap.osmosis.core.domain.v0_6.Entity;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+import org.openstreetmap.osmosis.core.domain.v0_6.OsmUser;
+import org.openstreetmap.osmosis.core.domain.v0_6.Tag;
+import org.openstreetmap.osmosis.core.domain.v0_6.Way;
+import org.openstreetmap.osmosis.core.domain.v0_6.WayNode;
+import org.openstreetmap.osmosis.core.task.v0_6.Sink;
+import org.openstreetmap.osmosis.osmbinary.file.BlockOutputStream;
+
+import crosby.binary.osmosis.OsmosisSerializer;
+
+/**
+ * tests methods of {@link ParallelPbfReader}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class ParallelPbfReaderTest
+{
+	/**
+	 * Test method for {@link ParallelPbfReader#run()}.
+	 * 
+	 * @throws Exception if the PBF data couldn't be written or read
+	 */
+	@Test
+	public void testRun()
+	throws Exception
+	{
+		// more entities than fit into one blob of the serializer
+		int nodeCount = 20000;
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		OsmosisSerializer serializer = new OsmosisSerializer(new BlockOutputStream(out));
+		serializer.initialize(Collections.<String, Object> emptyMap());
+		List<WayNode> wayNodes = new ArrayList<>();
+		for (int i = 1; i <= nodeCount; i++)
+		{
+			CommonEntityData data = new CommonEntityData(i, 1, new Date(0), OsmUser.NONE, 0);
+			serializer.process(new NodeContainer(new Node(data, 50 + i * 1E-5, 7 + i * 1E-5)));
+			
+			if (i % 100 == 0)
+			{
+				wayNodes.add(new WayNode(i));
+			}
+		}
+		CommonEntityData data = new CommonEntityData(1, 1, new Date(0), OsmUser.NONE, 0);
+		data.getTags().add(new Tag("highway", "residential"));
+		serializer.process(new WayContainer(new Way(data, wayNodes)));
+		serializer.complete();
+		serializer.release();
+		
+		final List<Entity> entities = new ArrayList<>();
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try
+		{
+			ParallelPbfReader reader = new ParallelPbfReader(new ByteArrayInputStream(out.toByteArray()), executor, 3);
+			reader.setSink(new Sink()
+			{
+				@Override
+				public void release()
+				{
+				}
+				
+				@Override
+				public void complete()
+				{
+				}
+				
+				@Override
+				public void initialize(Map<String, Object> metaData)
+				{
+				}
+				
+				@Override
+				public void process(EntityContainer entityContainer)
+				{
+					entities.add(entityContainer.getEntity());
+				}
+			});
+			reader.run();
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+		
+		Assert.assertEquals(nodeCount + 1, entities.size());
+		for (int i = 1; i <= nodeCount; i++)
+		{
+			Node node = (Node)entities.get(i - 1);
+			Assert.assertEquals(i, node.getId());
+			Assert.assertEquals(50 + i * 1E-5, node.getLatitude(), 1E-6);
+		}
+		
+		Way way = (Way)entities.get(nodeCount);
+		Assert.assertEquals(1, way.getId());
+		Assert.assertEquals(nodeCount / 100, way.getWayNodes().size());
+		Assert.assertEquals(100, way.getWayNodes().get(0).getNodeId());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package me.chrisswr1.parroute.io;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * tests methods of {@link RetryPolicy}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class RetryPolicyTest
+{
+	/**
+	 * Test method for {@link RetryPolicy#getDelay(int, long)}.
+	 */
+	@Test
+	public void testGetDelay()
+	{
+		RetryPolicy retryPolicy = new RetryPolicy(5, 25, 1000, 5000);
+		
+		for (int i = 0; i < 100; i++)
+		{
+			long delay = retryPolicy.getDelay(0, -1);
+			Assert.assertTrue(delay >= 500 && delay <= 1000);
+			
+			delay = retryPolicy.getDelay(2, -1);
+			Assert.assertTrue(delay >= 2000 && delay <= 4000);
+			
+			// capped at the maximum delay
+			delay = retryPolicy.getDelay(40, -1);
+			Assert.assertTrue(delay >= 2500 && delay <= 5000);
+			
+			// the delay of the server with jitter
+			delay = retryPolicy.getDelay(0, 2000);
+			Assert.assertTrue(delay >= 2000 && delay <= 3000);
+			
+			// capped at the maximum delay, even if the server requests more
+			Assert.assertEquals(5000, retryPolicy.getDelay(0, 7000));
+			Assert.assertEquals(5000, retryPolicy.getDelay(0, Long.MAX_VALUE));
+			delay = retryPolicy.getDelay(0, 4000);
+			Assert.assertTrue(delay >= 4000 && delay <= 5000);
+		}
+		
+		Assert.assertEquals(0, retryPolicy.getDelay(0, 0));
+	}
+	
+	/**
+	 * Test method for {@link RetryPolicy#parseRetryAfter(String)}.
+	 */
+	@Test
+	public void testParseRetryAfter()
+	{
+		Assert.assertEquals(-1, RetryPolicy.parseRetryAfter(null));
+		Assert.assertEquals(-1, RetryPolicy.parseRetryAfter("soon"));
+		Assert.assertEquals(120000, RetryPolicy.parseRetryAfter(" 120 "));
+		Assert.assertEquals(Long.MAX_VALUE, RetryPolicy.parseRetryAfter(String.valueOf(Long.MAX_VALUE)));
+		Assert.assertEquals(0, RetryPolicy.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT"));
+		
+		SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+		format.setTimeZone(TimeZone.getTimeZone("GMT"));
+		long delay = RetryPolicy.parseRetryAfter(format.format(new Date(System.currentTimeMillis() + 60000)));
+		Assert.assertTrue(delay > 55000 && delay <= 60000);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+package me.chrisswr1.parroute.io;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openstreetmap.osmosis.core.domain.v0_6.CommonEntityData;
+import org.openstreetmap.osmosis.core.domain.v0_6.OsmUser;
+import org.openstreetmap.osmosis.core.domain.v0_6.Relation;
+import org.openstreetmap.osmosis.core.domain.v0_6.RelationMember;
+import org.openstreetmap.osmosis.core.domain.v0_6.Tag;
+import org.openstreetmap.osmosis.core.domain.v0_6.Way;
+import org.openstreetmap.osmosis.core.domain.v0_6.WayNode;
+
+import me.chrisswr1.parroute.entities.ModeOfTransport;
+
+/**
+ * tests methods of {@link RoutableFilter}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class RoutableFilterTest
+{
+	/**
+	 * creates a {@link Way} with some {@link Tag}s
+	 * 
+	 * @param tags the keys and values of the {@link Tag}s in alternating order
+	 * @return the new {@link Way}
+	 */
+	private static Way createWay(String... tags)
+	{
+		List<Tag> tagList = new ArrayList<>();
+		for (int i = 0; i < tags.length; i += 2)
+		{
+			tagList.add(new Tag(tags[i], tags[i + 1]));
+		}
+		
+		return new Way(new CommonEntityData(1, 1, new Date(), OsmUser.NONE, 0, tagList), Arrays.asList(new WayNode(1), new WayNode(2)));
+	}
+	
+	/**
+	 * creates a {@link Relation} with some {@link Tag}s
+	 * 
+	 * @param tags the keys and values of the {@link Tag}s in alternating order
+	 * @return the new {@link Relation}
+	 */
+	private static Relation createRel(String... tags)
+	{
+		List<Tag> tagList = new ArrayList<>();
+		for (int i = 0; i < tags.length; i += 2)
+		{
+			tagList.add(new Tag(tags[i], tags[i + 1]));
+		}
+		
+		return new Relation(new CommonEntityData(1, 1, new Date(), OsmUser.NONE, 0, tagList), new ArrayList<RelationMember>());
+	}
+	
+	/**
+	 * Test method for {@link RoutableFilter#isRoutable(Way)}.
+	 */
+	@Test
+	public void testIsRoutableWay()
+	{
+		RoutableFilter car = new RoutableFilter(ModeOfTransport.MOTORCAR);
+		RoutableFilter foot = new RoutableFilter(ModeOfTransport.FOOT);
+		RoutableFilter bicycle = new RoutableFilter(ModeOfTransport.BICYCLE);
+		
+		Way residential = RoutableFilterTest.createWay("highway", "residential");
+		Assert.assertTrue(car.isRoutable(residential));
+		Assert.assertTrue(foot.isRoutable(residential));
+		
+		Way footway = RoutableFilterTest.createWay("highway", "footway");
+		Assert.assertFalse(car.isRoutable(footway));
+		Assert.assertFalse(bicycle.isRoutable(footway));
+		Assert.assertTrue(foot.isRoutable(footway));
+		Assert.assertTrue(bicycle.isRoutable(RoutableFilterTest.createWay("highway", "footway", "bicycle", "yes")));
+		
+		Way motorway = RoutableFilterTest.createWay("highway", "motorway");
+		Assert.assertTrue(car.isRoutable(motorway));
+		Assert.assertFalse(foot.isRoutable(motorway));
+		
+		Way privateRoad = RoutableFilterTest.createWay("highway", "service", "access", "private", "foot", "yes");
+		Assert.assertFalse(car.isRoutable(privateRoad));
+		Assert.assertTrue(foot.isRoutable(privateRoad));
+		Assert.assertFalse(car.isRoutable(RoutableFilterTest.createWay("highway", "residential", "motor_vehicle", "no")));
+		
+		Assert.assertFalse(car.isRoutable(RoutableFilterTest.createWay("highway", "construction")));
+		Assert.assertFalse(car.isRoutable(RoutableFilterTest.createWay("building", "yes")));
+		Assert.assertTrue(new RoutableFilter(ModeOfTransport.TRAIN).isRoutable(RoutableFilterTest.createWay("railway", "rail")));
+		Assert.assertFalse(new RoutableFilter(ModeOfTransport.TRAIN).isRoutable(residential));
+	}
+	
+	/**
+	 * Test method for {@link RoutableFilter#isRoutable(Relation)}.
+	 */
+	@Test
+	public void testIsRoutableRelation()
+	{
+		RoutableFilter car = new RoutableFilter(ModeOfTransport.MOTORCAR);
+		RoutableFilter hgv = new RoutableFilter(ModeOfTransport.HGV);
+		
+		Assert.assertTrue(car.isRoutable(RoutableFilterTest.createRel("type", "restriction", "restriction", "no_left_turn")));
+		Assert.assertFalse(car.isRoutable(RoutableFilterTest.createRel("type", "multipolygon")));
+		Assert.assertFalse(car.isRoutable(RoutableFilterTest.createRel("type", "restriction:hgv", "restriction", "no_left_turn")));
+		Assert.assertTrue(hgv.isRoutable(RoutableFilterTest.createRel("type", "restriction:hgv", "restriction", "no_left_turn")));
+		Assert.assertFalse(car.isRoutable(RoutableFilterTest.createRel("type", "restriction", "restriction", "no_left_turn", "except", "psv;motorcar")));
+	}
+}
\ No newline at end of file
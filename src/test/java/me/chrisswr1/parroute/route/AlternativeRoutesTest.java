@@ -0,0 +1,70 @@
+package me.chrisswr1.parroute.route;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openstreetmap.osmosis.core.domain.v0_6.CommonEntityData;
+import org.openstreetmap.osmosis.core.domain.v0_6.Node;
+import org.openstreetmap.osmosis.core.domain.v0_6.OsmUser;
+
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.graph.RoutingGraph;
+import me.chrisswr1.parroute.graph.RoutingGraphTest;
+
+/**
+ * tests methods of {@link AlternativeRoutes}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class AlternativeRoutesTest
+{
+	/**
+	 * Test method for {@link AlternativeRoutes#calc()}.
+	 * 
+	 * @throws Exception if the calculation failed
+	 */
+	@Test
+	public void testCalc()
+	throws Exception
+	{
+		DataHandler dataHandler = RoutingGraphTest.createGrid(10, 5);
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		Node start = dataHandler.getNode(12);
+		Node dest = dataHandler.getNode(89);
+		
+		Route shortest = new Route(dataHandler, graph, start, dest);
+		Assert.assertTrue(shortest.calc());
+		double shortestLength = shortest.getLength();
+		
+		AlternativeRoutes alternatives = new AlternativeRoutes(dataHandler, graph, start, dest);
+		alternatives.setMaxAlternatives(3);
+		int count = alternatives.calc();
+		List<Route> routes = alternatives.getRoutes();
+		Assert.assertEquals(count, routes.size());
+		Assert.assertTrue(count > 1);
+		Assert.assertTrue(count <= 4);
+		Assert.assertEquals(shortestLength, routes.get(0).getLength(), 0.1);
+		
+		List<List<Node>> paths = new ArrayList<>();
+		for (Route route : routes)
+		{
+			Assert.assertTrue(route.isCalc());
+			Assert.assertTrue(route.getLength() <= shortestLength * (1 + alternatives.getMaxStretch()) + 0.1);
+			
+			List<Node> path = new ArrayList<>(route.getPath());
+			Assert.assertEquals(start, path.get(0));
+			Assert.assertFalse(path.contains(dest));
+			Assert.assertFalse(paths.contains(path));
+			paths.add(path);
+		}
+		
+		AlternativeRoutes unknown = new AlternativeRoutes(dataHandler, graph, start, new Node(new CommonEntityData(1000, 1, new Date(), OsmUser.NONE, 0), 50, 7));
+		Assert.assertEquals(0, unknown.calc());
+		Assert.assertTrue(unknown.getRoutes().isEmpty());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package me.chrisswr1.parroute.route;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.graph.RoutingGraph;
+import me.chrisswr1.parroute.graph.RoutingGraphTest;
+
+/**
+ * tests methods of {@link BidirectionalRoute}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class BidirectionalRouteTest
+{
+	/**
+	 * Test method for {@link BidirectionalRoute#calc()}.
+	 * 
+	 * @throws Exception if the calculation failed
+	 */
+	@Test
+	public void testCalc()
+	throws Exception
+	{
+		DataHandler dataHandler = RoutingGraphTest.createGrid(12, 42);
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		Random random = new Random(42);
+		int found = 0;
+		
+		for (int i = 0; i < 50; i++)
+		{
+			long startId = random.nextInt(144) + 1;
+			long destId = random.nextInt(144) + 1;
+			
+			Route route = new Route(dataHandler, graph, dataHandler.getNode(startId), dataHandler.getNode(destId));
+			BidirectionalRoute biRoute = new BidirectionalRoute(dataHandler, graph, dataHandler.getNode(startId), dataHandler.getNode(destId));
+			
+			boolean calc = route.calc();
+			Assert.assertEquals(calc, biRoute.calc());
+			Assert.assertEquals(route.getLength(), biRoute.getLength(), 1E-6);
+			
+			if (calc)
+			{
+				found++;
+			}
+		}
+		Assert.assertTrue(found > 25);
+	}
+	
+	/**
+	 * Test method for {@link BidirectionalRoute#calc()} with a turn
+	 * restriction.
+	 * 
+	 * @throws Exception if the calculation failed
+	 */
+	@Test
+	public void testTurnRestriction()
+	throws Exception
+	{
+		DataHandler dataHandler = RoutingGraphTest.createDataHandler(true);
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		
+		BidirectionalRoute route = new BidirectionalRoute(dataHandler, graph, dataHandler.getNode(1), dataHandler.getNode(3));
+		Assert.assertTrue(route.calc());
+		Assert.assertEquals(Arrays.asList(1L, 2L), RoutingGraphTest.getPathIds(route));
+		
+		route = new BidirectionalRoute(dataHandler, graph, dataHandler.getNode(3), dataHandler.getNode(1));
+		Assert.assertTrue(route.calc());
+		Assert.assertEquals(Arrays.asList(3L, 2L), RoutingGraphTest.getPathIds(route));
+	}
+}
\ No newline at end of file
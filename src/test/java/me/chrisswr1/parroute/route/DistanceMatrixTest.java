@@ -0,0 +1,75 @@
+package me.chrisswr1.parroute.route;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.graph.ContractionHierarchy;
+import me.chrisswr1.parroute.graph.RoutingGraph;
+import me.chrisswr1.parroute.graph.RoutingGraphTest;
+
+/**
+ * tests methods of {@link DistanceMatrix}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class DistanceMatrixTest
+{
+	/**
+	 * Test method for {@link DistanceMatrix#calc(ExecutorService)}.
+	 * 
+	 * @throws Exception if the calculation failed
+	 */
+	@Test
+	public void testCalc()
+	throws Exception
+	{
+		DataHandler dataHandler = RoutingGraphTest.createGrid(12, 3);
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		
+		Random random = new Random(3);
+		long[] sourceIds = new long[10];
+		for (int i = 0; i < sourceIds.length; i++)
+		{
+			sourceIds[i] = random.nextInt(144) + 1;
+		}
+		long[] targetIds = new long[9];
+		for (int i = 0; i < targetIds.length - 1; i++)
+		{
+			targetIds[i] = random.nextInt(144) + 1;
+		}
+		targetIds[targetIds.length - 1] = 1000;
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		DistanceMatrix matrix;
+		try
+		{
+			matrix = new DistanceMatrix(dataHandler, ContractionHierarchy.build(graph, executor), sourceIds, targetIds);
+			matrix.calc(executor);
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+		
+		Assert.assertEquals(sourceIds.length * targetIds.length, matrix.getCosts().length);
+		for (int source = 0; source < sourceIds.length; source++)
+		{
+			for (int target = 0; target < targetIds.length - 1; target++)
+			{
+				Route route = new Route(dataHandler, graph, dataHandler.getNode(sourceIds[source]), dataHandler.getNode(targetIds[target]));
+				Assert.assertTrue(route.calc());
+				Assert.assertEquals(route.getLength(), matrix.getCosts(source, target), 0.1);
+				Assert.assertEquals(route.getLength(), matrix.getRoute(source, target).getLength(), 1E-6);
+			}
+			
+			Assert.assertEquals(Double.POSITIVE_INFINITY, matrix.getCosts(source, targetIds.length - 1), 0);
+		}
+	}
+}
\ No newline at end of file
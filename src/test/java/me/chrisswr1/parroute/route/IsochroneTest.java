@@ -0,0 +1,151 @@
+package me.chrisswr1.parroute.route;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openstreetmap.osmosis.core.domain.v0_6.Tag;
+
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.entities.ModeOfTransport;
+import me.chrisswr1.parroute.graph.CoordinateStore;
+import me.chrisswr1.parroute.graph.RoutingGraph;
+import me.chrisswr1.parroute.graph.RoutingGraphTest;
+import me.chrisswr1.parroute.graph.RoutingProfile;
+import me.chrisswr1.parroute.io.DataReceiver;
+
+/**
+ * tests methods of {@link Isochrone}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class IsochroneTest
+{
+	/**
+	 * Test method for {@link Isochrone#calc(long, double)}.
+	 * 
+	 * @throws Exception if the calculation failed
+	 */
+	@Test
+	public void testCalc()
+	throws Exception
+	{
+		DataHandler dataHandler = RoutingGraphTest.createGrid(10, 5);
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		Isochrone isochrone = new Isochrone(graph);
+		double limit = 600;
+		
+		Assert.assertEquals(0, isochrone.calc(1000, limit));
+		
+		// the second origin checks, that the results of the first one are reset
+		for (long originId : new long[] {45, 12})
+		{
+			int size = isochrone.calc(originId, limit);
+			Assert.assertEquals(size, isochrone.getNodeIds().length);
+			
+			double[] reachedCosts = new double[101];
+			Arrays.fill(reachedCosts, -1);
+			long[] nodeIds = isochrone.getNodeIds();
+			double[] costs = isochrone.getCosts();
+			for (int i = 0; i < size; i++)
+			{
+				reachedCosts[(int)nodeIds[i]] = costs[i];
+				Assert.assertTrue(costs[i] <= limit);
+				Assert.assertTrue(i == 0 || costs[i - 1] <= costs[i]);
+			}
+			Assert.assertEquals(originId, nodeIds[0]);
+			
+			for (long id = 1; id <= 100; id++)
+			{
+				Route route = new Route(dataHandler, graph, dataHandler.getNode(originId), dataHandler.getNode(id));
+				route.calc();
+				double length = route.getLength();
+				
+				if (length < limit - 1)
+				{
+					Assert.assertEquals(length, reachedCosts[(int)id], 0.1);
+				}
+				else if (length > limit + 1)
+				{
+					Assert.assertEquals(-1, reachedCosts[(int)id], 0);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Test method for {@link Isochrone#calcByTime(long, double)}.
+	 */
+	@Test
+	public void testCalcByTime()
+	{
+		RoutingProfile foot = new RoutingProfile(ModeOfTransport.FOOT);
+		DataReceiver receiver = Mockito.mock(DataReceiver.class);
+		Mockito.when(receiver.isAllStored()).thenReturn(true);
+		DataHandler dataHandler = new DataHandler(receiver);
+		dataHandler.setProfiles(Arrays.asList(foot));
+		
+		// a footway of 20 nodes with a distance of about 111 meters
+		long[] nodeIds = new long[20];
+		for (int i = 0; i < nodeIds.length; i++)
+		{
+			nodeIds[i] = i + 1;
+			dataHandler.store(RoutingGraphTest.createNode(i + 1, 0, i * 0.001));
+		}
+		dataHandler.store(RoutingGraphTest.createWay(100, Arrays.asList(new Tag("highway", "footway")), nodeIds));
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		
+		try
+		{
+			new Isochrone(graph).calcByTime(1, 5);
+			Assert.fail("A graph without a profile has no travel times!");
+		}
+		catch (IllegalStateException e)
+		{
+		}
+		
+		Isochrone isochrone = new Isochrone(graph.getProfileGraph(foot));
+		int size = isochrone.calcByTime(1, 5);
+		Assert.assertTrue(size > 1 && size < nodeIds.length);
+		Assert.assertEquals(size, isochrone.calc(1, foot.toWeight(300)));
+		
+		for (double costs : isochrone.getCosts())
+		{
+			Assert.assertTrue(foot.toSeconds(costs) <= 300 + 1E-6);
+		}
+	}
+	
+	/**
+	 * Test method for {@link Isochrone#getPolygon()}.
+	 */
+	@Test
+	public void testGetPolygon()
+	{
+		DataHandler dataHandler = RoutingGraphTest.createGrid(10, 5);
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		CoordinateStore coordinates = graph.getCoordinates();
+		
+		Isochrone isochrone = new Isochrone(graph);
+		isochrone.calc(45, 400);
+		double[] polygon = isochrone.getPolygon();
+		int corners = polygon.length / 2;
+		Assert.assertTrue(corners >= 3);
+		
+		for (int node : isochrone.getNodes())
+		{
+			double lat = coordinates.getLatitude(node);
+			double lon = coordinates.getLongitude(node);
+			
+			// every node has to be left of or on every edge of the hull
+			for (int i = 0; i < corners; i++)
+			{
+				int next = (i + 1) % corners;
+				double cross = (polygon[2 * next + 1] - polygon[2 * i + 1]) * (lat - polygon[2 * i]) - (polygon[2 * next] - polygon[2 * i]) * (lon - polygon[2 * i + 1]);
+				Assert.assertTrue(cross >= -1E-12);
+			}
+		}
+	}
+}
\ No newline at end of file
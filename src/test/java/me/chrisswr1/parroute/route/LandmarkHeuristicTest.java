@@ -0,0 +1,82 @@
+package me.chrisswr1.parroute.route;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.chrisswr1.parroute.DataHandler;
+import me.chrisswr1.parroute.graph.RoutingGraph;
+import me.chrisswr1.parroute.graph.RoutingGraphTest;
+
+/**
+ * tests methods of {@link LandmarkHeuristic}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class LandmarkHeuristicTest
+{
+	/**
+	 * Test method for {@link LandmarkHeuristic#create(RoutingGraph, int)}.
+	 */
+	@Test
+	public void testCreate()
+	{
+		DataHandler dataHandler = RoutingGraphTest.createGrid(12, 42);
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		
+		int[] landmarks = LandmarkHeuristic.create(graph, 4).getLandmarks();
+		Assert.assertEquals(4, landmarks.length);
+		for (int i = 0; i < landmarks.length; i++)
+		{
+			for (int j = i + 1; j < landmarks.length; j++)
+			{
+				Assert.assertNotEquals(landmarks[i], landmarks[j]);
+			}
+		}
+		
+		Assert.assertEquals(graph.getNodeCount(), LandmarkHeuristic.create(graph, Integer.MAX_VALUE).getLandmarks().length);
+	}
+	
+	/**
+	 * Test method for {@link LandmarkHeuristic#getEstimate(int, int)}.
+	 * 
+	 * @throws Exception if the calculation failed
+	 */
+	@Test
+	public void testGetEstimate()
+	throws Exception
+	{
+		DataHandler dataHandler = RoutingGraphTest.createGrid(12, 42);
+		RoutingGraph graph = RoutingGraph.compile(dataHandler);
+		LandmarkHeuristic heuristic = LandmarkHeuristic.create(graph, 4);
+		Random random = new Random(42);
+		
+		for (int i = 0; i < 50; i++)
+		{
+			long startId = random.nextInt(144) + 1;
+			long destId = random.nextInt(144) + 1;
+			
+			Route route = new Route(dataHandler, graph, dataHandler.getNode(startId), dataHandler.getNode(destId));
+			Route altRoute = new Route(dataHandler, graph, dataHandler.getNode(startId), dataHandler.getNode(destId));
+			altRoute.setHeuristic(heuristic);
+			BidirectionalRoute biRoute = new BidirectionalRoute(dataHandler, graph, dataHandler.getNode(startId), dataHandler.getNode(destId));
+			biRoute.setHeuristic(heuristic);
+			
+			boolean calc = route.calc();
+			Assert.assertEquals(calc, altRoute.calc());
+			Assert.assertEquals(calc, biRoute.calc());
+			Assert.assertEquals(route.getLength(), altRoute.getLength(), 1E-6);
+			Assert.assertEquals(route.getLength(), biRoute.getLength(), 1E-6);
+			
+			if (calc)
+			{
+				double estimate = heuristic.getEstimate(graph.indexOf(startId), graph.indexOf(destId));
+				// the edge weights are based on the fixed-point coordinates of the graph
+				Assert.assertTrue(estimate <= route.getLength() + 1E-1);
+			}
+		}
+	}
+}
\ No newline at end of file
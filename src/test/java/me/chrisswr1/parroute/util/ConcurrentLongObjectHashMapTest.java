@@ -0,0 +1,140 @@
+package me.chrisswr1.parroute.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * tests methods of {@link ConcurrentLongObjectHashMap}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class ConcurrentLongObjectHashMapTest
+{
+	/**
+	 * Test method for {@link ConcurrentLongObjectHashMap#put(long, Object)}.
+	 */
+	@Test
+	public void testPut()
+	{
+		ConcurrentLongObjectHashMap<String> map = new ConcurrentLongObjectHashMap<>();
+		Map<Long, String> expected = new HashMap<>();
+		Random random = new Random(42);
+		
+		for (int i = 0; i < 10000; i++)
+		{
+			long key = random.nextInt(5000) - 2500;
+			String value = "v" + i;
+			
+			Assert.assertEquals(expected.put(key, value), map.put(key, value));
+		}
+		
+		Assert.assertEquals(expected.size(), map.size());
+		for (Map.Entry<Long, String> entry : expected.entrySet())
+		{
+			Assert.assertTrue(map.containsKey(entry.getKey()));
+			Assert.assertEquals(entry.getValue(), map.get(entry.getKey()));
+		}
+		Assert.assertNull(map.get(3000));
+		Assert.assertFalse(map.containsKey(3000));
+		
+		long[] keys = map.keys();
+		Arrays.sort(keys);
+		Assert.assertEquals(expected.size(), keys.length);
+		for (long key : keys)
+		{
+			Assert.assertTrue(expected.containsKey(key));
+		}
+		
+		try
+		{
+			map.put(1, null);
+			Assert.fail("A null value has to be rejected!");
+		}
+		catch (IllegalArgumentException e)
+		{
+		}
+		
+		map.clear();
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertNull(map.get(0));
+	}
+	
+	/**
+	 * Test method for {@link ConcurrentLongObjectHashMap#get(long)}, while
+	 * another {@link Thread} writes into the map and resizes it.
+	 * 
+	 * @throws Exception if a reader failed
+	 */
+	@Test
+	public void testConcurrentGet()
+	throws Exception
+	{
+		final ConcurrentLongObjectHashMap<Long> map = new ConcurrentLongObjectHashMap<>();
+		final AtomicLong written = new AtomicLong(0);
+		final long count = 200000;
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try
+		{
+			List<Future<Void>> readers = new ArrayList<>();
+			for (int i = 0; i < 3; i++)
+			{
+				readers.add(executor.submit(new Callable<Void>()
+				{
+					@Override
+					public Void call()
+					{
+						Random random = new Random();
+						
+						long last;
+						do
+						{
+							last = written.get();
+							if (last > 0)
+							{
+								// every key, which was written before, has to be found
+								long key = 1 + (long)(random.nextDouble() * last);
+								Assert.assertEquals(Long.valueOf(key), map.get(key));
+							}
+							Assert.assertNull(map.get(-1));
+						}
+						while (last < count);
+						
+						return null;
+					}
+				}));
+			}
+			
+			for (long key = 1; key <= count; key++)
+			{
+				map.put(key, key);
+				written.set(key);
+			}
+			
+			for (Future<Void> reader : readers)
+			{
+				reader.get();
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+		
+		Assert.assertEquals(count, map.size());
+	}
+}
@@ -0,0 +1,45 @@
+package me.chrisswr1.parroute.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * tests methods of {@link GeoUtils}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class GeoUtilsTest
+{
+	/**
+	 * Test method for
+	 * {@link GeoUtils#getHaversineDistance(double, double, double, double)}.
+	 */
+	@Test
+	public void testGetHaversineDistance()
+	{
+		Assert.assertEquals(0, GeoUtils.getHaversineDistance(51.34, 12.37, 51.34, 12.37), 0);
+		Assert.assertEquals(Math.PI * GeoUtils.EARTH_RADIUS / 180, GeoUtils.getHaversineDistance(0, 0, 1, 0), 1E-6);
+		Assert.assertEquals(Math.PI * GeoUtils.EARTH_RADIUS, GeoUtils.getHaversineDistance(0, 0, 0, 180), 1E-6);
+	}
+	
+	/**
+	 * Test method for
+	 * {@link GeoUtils#getEquirectangularDistance(double, double, double, double)}
+	 * .
+	 */
+	@Test
+	public void testGetEquirectangularDistance()
+	{
+		double[][] coords = { {51.34, 12.37, 51.97, 13.40}, {-33.9, 18.4, -34.5, 19.1}, {69.6, 18.9, 69.2, 19.5}, {0, 179.9, 0.3, -179.9}};
+		
+		for (double[] coord : coords)
+		{
+			double exact = GeoUtils.getHaversineDistance(coord[0], coord[1], coord[2], coord[3]);
+			double approx = DistanceMode.EQUIRECTANGULAR.getDistance(coord[0], coord[1], coord[2], coord[3]);
+			
+			Assert.assertEquals(exact, approx, exact * 0.001);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package me.chrisswr1.parroute.util;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * tests methods of {@link LongMinHeap}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class LongMinHeapTest
+{
+	/**
+	 * Test method for {@link LongMinHeap#poll()}.
+	 */
+	@Test
+	public void testPoll()
+	{
+		LongMinHeap heap = new LongMinHeap(2);
+		Random random = new Random(42);
+		
+		for (long key = -500; key < 500; key++)
+		{
+			heap.put(key, random.nextDouble());
+		}
+		Assert.assertEquals(1000, heap.size());
+		
+		double last = Double.NEGATIVE_INFINITY;
+		while ( ! (heap.isEmpty()))
+		{
+			double priority = heap.peekPriority();
+			long key = heap.poll();
+			
+			Assert.assertTrue(priority >= last);
+			Assert.assertFalse(heap.contains(key));
+			last = priority;
+		}
+	}
+	
+	/**
+	 * Test method for {@link LongMinHeap#put(long, double)}.
+	 */
+	@Test
+	public void testDecreaseKey()
+	{
+		LongMinHeap heap = new LongMinHeap();
+		heap.put(962137765L, 10);
+		heap.put(42907635L, 5);
+		heap.put(0L, 7);
+		
+		Assert.assertFalse(heap.put(962137765L, 1));
+		Assert.assertEquals(1, heap.getPriority(962137765L), 0);
+		Assert.assertEquals(962137765L, heap.peek());
+		
+		Assert.assertFalse(heap.put(962137765L, 8));
+		Assert.assertEquals(42907635L, heap.poll());
+		Assert.assertEquals(0L, heap.poll());
+		Assert.assertEquals(962137765L, heap.poll());
+		Assert.assertTrue(heap.isEmpty());
+		Assert.assertTrue(Double.isNaN(heap.getPriority(0L)));
+	}
+	
+	/**
+	 * Test method for {@link LongMinHeap#remove(long)}.
+	 */
+	@Test
+	public void testRemove()
+	{
+		LongMinHeap heap = new LongMinHeap();
+		for (long key = 1; key <= 100; key++)
+		{
+			heap.put(key, 100 - key);
+		}
+		
+		for (long key = 2; key <= 100; key += 2)
+		{
+			Assert.assertTrue(heap.remove(key));
+		}
+		Assert.assertFalse(heap.remove(2));
+		Assert.assertEquals(50, heap.size());
+		
+		long expected = 99;
+		while ( ! (heap.isEmpty()))
+		{
+			Assert.assertEquals(expected, heap.poll());
+			expected -= 2;
+		}
+	}
+}
\ No newline at end of file
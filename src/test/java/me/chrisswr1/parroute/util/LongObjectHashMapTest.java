@@ -0,0 +1,87 @@
+package me.chrisswr1.parroute.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * tests methods of {@link LongObjectHashMap} and {@link LongSetMultimap}
+ * 
+ * @version 0.0.1
+ * @author ChrissW-R1
+ * @since 0.0.1
+ */
+public class LongObjectHashMapTest
+{
+	/**
+	 * Test method for {@link LongObjectHashMap#put(long, Object)}.
+	 */
+	@Test
+	public void testPut()
+	{
+		LongObjectHashMap<String> map = new LongObjectHashMap<>();
+		Map<Long, String> expected = new HashMap<>();
+		Random random = new Random(42);
+		
+		for (int i = 0; i < 10000; i++)
+		{
+			long key = random.nextInt(5000) - 2500;
+			String value = "v" + i;
+			
+			Assert.assertEquals(expected.put(key, value), map.put(key, value));
+		}
+		
+		Assert.assertEquals(expected.size(), map.size());
+		for (Map.Entry<Long, String> entry : expected.entrySet())
+		{
+			Assert.assertTrue(map.containsKey(entry.getKey()));
+			Assert.assertEquals(entry.getValue(), map.get(entry.getKey()));
+		}
+		Assert.assertNull(map.get(3000));
+		Assert.assertFalse(map.containsKey(3000));
+		
+		long[] keys = map.keys();
+		Arrays.sort(keys);
+		Assert.assertEquals(expected.size(), keys.length);
+		for (long key : keys)
+		{
+			Assert.assertTrue(expected.containsKey(key));
+		}
+		
+		map.clear();
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertNull(map.get(0));
+	}
+	
+	/**
+	 * Test method for {@link LongSetMultimap#put(long, long)}.
+	 */
+	@Test
+	public void testMultimap()
+	{
+		LongSetMultimap map = new LongSetMultimap();
+		
+		Assert.assertTrue(map.put(42907635L, 269636333L));
+		Assert.assertTrue(map.put(42907635L, 5881250L));
+		Assert.assertFalse(map.put(42907635L, 269636333L));
+		Assert.assertTrue(map.put(0L, 1L));
+		
+		long[] values = map.get(42907635L).clone();
+		Arrays.sort(values);
+		Assert.assertArrayEquals(new long[]
+		{
+				5881250L,
+				269636333L
+		}, values);
+		Assert.assertArrayEquals(new long[]
+		{
+				1L
+		}, map.get(0L));
+		Assert.assertEquals(0, map.get(1L).length);
+		Assert.assertEquals(2, map.keyCount());
+	}
+}
\ No newline at end of file